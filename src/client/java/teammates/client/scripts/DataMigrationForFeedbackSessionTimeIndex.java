@@ -0,0 +1,44 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.util.List;
+
+import teammates.client.remoteapi.RemoteApiClient;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackSession;
+
+/**
+ * Script to store the start and end time of legacy feedback sessions as UTC instants,
+ * so that they can be found by the range queries over those times
+ * (e.g. in the admin sessions page and the closing reminders).
+ * 
+ * Uses low level DB calls for efficiency.
+ */
+public class DataMigrationForFeedbackSessionTimeIndex extends RemoteApiClient {
+    
+    public static void main(String[] args) throws IOException {
+        DataMigrationForFeedbackSessionTimeIndex migrator = new DataMigrationForFeedbackSessionTimeIndex();
+        migrator.doOperationRemotely();
+    }
+
+    @Override
+    protected void doOperation() {
+        Datastore.initialize();
+        
+        String query = "select from " + FeedbackSession.class.getName();
+        @SuppressWarnings("unchecked")
+        List<FeedbackSession> sessionList = (List<FeedbackSession>) Datastore.getPersistenceManager()
+                .newQuery(query).execute();
+        int i = 0;
+        for (FeedbackSession session : sessionList) {
+            if (session.getStartAndEndTimeUtc() == null) {
+                session.setStartAndEndTimeUtcIfNull();
+                System.out.println(++i + ". Added UTC start and end time for "
+                                   + session.getCourseId() + ": " + session.getFeedbackSessionName());
+            }
+        }
+        
+        Datastore.getPersistenceManager().close();
+        System.out.println("Processed " + i + " feedback sessions");
+    }
+}
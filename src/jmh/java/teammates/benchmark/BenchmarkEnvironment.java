@@ -0,0 +1,45 @@
+package teammates.benchmark;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.logic.backdoor.BackDoorLogic;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.datastore.EntitiesCache;
+import teammates.test.driver.GaeSimulation;
+
+/**
+ * Sets up the in-memory GAE simulation with a synthetic course for the benchmarks that need the datastore.<br>
+ * The simulation is bound to the thread that sets it up, so it has to be set up and torn down
+ * in the trial-level setup and teardown of a {@code Scope.Thread} state.<br>
+ * Benchmarks that read the datastore in every invocation call {@link #finishRequest()} after each invocation,
+ * so that they measure cold reads rather than reads served by the entities cache.
+ */
+public final class BenchmarkEnvironment {
+
+    private BenchmarkEnvironment() {
+        // utility class
+    }
+
+    /**
+     * Sets up the simulation and persists a {@link SyntheticDataBundle} of the given size.
+     */
+    public static DataBundle setUp(int numOfStudents) throws Exception {
+        GaeSimulation.inst().setup();
+        DataBundle dataBundle = SyntheticDataBundle.create(numOfStudents);
+        new BackDoorLogic().persistDataBundle(dataBundle);
+        return dataBundle;
+    }
+
+    /**
+     * Ends the current request as the servlet filters do, and empties the shared tier of the entities cache,
+     * so that the next invocation reads from the datastore again.
+     */
+    public static void finishRequest() {
+        EntitiesCache.finishRequest();
+        EntitiesCache.clear();
+        Datastore.finishRequest();
+    }
+
+    public static void tearDown() {
+        GaeSimulation.inst().tearDown();
+    }
+}
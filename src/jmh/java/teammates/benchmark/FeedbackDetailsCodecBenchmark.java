@@ -0,0 +1,91 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import teammates.common.datatransfer.FeedbackDetailsCodec;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.util.Utils;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Measures parsing the details of all the responses to one question, for each question type with JSON details:
+ * with a new Gson from {@link Utils#getTeammatesGson()} per response as before, with the shared
+ * {@link FeedbackDetailsCodec}, and through {@link FeedbackResponseAttributes#getResponseDetails()}
+ * when the details are parsed for the first time and when they are already memoized.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedbackDetailsCodecBenchmark {
+
+    @Param({"MCQ", "MSQ", "NUMSCALE", "CONSTSUM", "CONTRIB", "RUBRIC", "RANK_OPTIONS", "RANK_RECIPIENTS"})
+    public FeedbackQuestionType questionType;
+
+    @Param({"100"})
+    public int numOfStudents;
+
+    private List<FeedbackResponseAttributes> responses;
+
+    @Setup
+    public void setUp() {
+        responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : SyntheticDataBundle.create(numOfStudents).feedbackResponses.values()) {
+            if (response.feedbackQuestionType == questionType) {
+                responses.add(response);
+                response.getResponseDetails();
+            }
+        }
+    }
+
+    @Benchmark
+    public void decodeWithTeammatesGson(Blackhole blackhole) {
+        for (FeedbackResponseAttributes response : responses) {
+            blackhole.consume(Utils.getTeammatesGson().fromJson(response.responseMetaData.getValue(),
+                                                                questionType.getResponseDetailsClass()));
+        }
+    }
+
+    @Benchmark
+    public void decodeWithCodec(Blackhole blackhole) {
+        for (FeedbackResponseAttributes response : responses) {
+            blackhole.consume(FeedbackDetailsCodec.decode(response.responseMetaData.getValue(),
+                                                          questionType.getResponseDetailsClass()));
+        }
+    }
+
+    @Benchmark
+    public void getResponseDetailsFirstCall(Blackhole blackhole) {
+        for (FeedbackResponseAttributes response : responses) {
+            // a new metadata object makes the memoized details outdated
+            response.responseMetaData = new Text(response.responseMetaData.getValue());
+            blackhole.consume(response.getResponseDetails());
+        }
+    }
+
+    @Benchmark
+    public void getResponseDetailsMemoized(Blackhole blackhole) {
+        for (FeedbackResponseAttributes response : responses) {
+            blackhole.consume(response.getResponseDetails());
+        }
+    }
+}
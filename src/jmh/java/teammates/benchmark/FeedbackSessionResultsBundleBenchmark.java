@@ -0,0 +1,131 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.logic.core.FeedbackSessionsLogic;
+
+/**
+ * Measures the construction of {@link FeedbackSessionResultsBundle} and the sorted views built from it.<br>
+ * The inputs of the bundle are loaded from the datastore once per trial; every invocation then works on
+ * fresh copies of them, as the bundle modifies the responses and name tables it is given.
+ * The datastore reads are therefore not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedbackSessionResultsBundleBenchmark {
+
+    @Param({"100", "300"})
+    public int numOfStudents;
+
+    private FeedbackSessionResultsBundle source;
+
+    private List<FeedbackResponseAttributes> responses;
+    private Map<String, String> emailNameTable;
+    private Map<String, String> emailLastNameTable;
+    private Map<String, String> emailTeamNameTable;
+    private FeedbackSessionResultsBundle bundle;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
+        BenchmarkEnvironment.setUp(numOfStudents);
+        source = FeedbackSessionsLogic.inst().getFeedbackSessionResultsForInstructor(
+                SyntheticDataBundle.SESSION_NAME, SyntheticDataBundle.COURSE_ID,
+                SyntheticDataBundle.INSTRUCTOR_EMAIL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        BenchmarkEnvironment.tearDown();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : source.actualResponses) {
+            responses.add(new FeedbackResponseAttributes(response));
+        }
+        emailNameTable = new HashMap<String, String>(source.emailNameTable);
+        emailLastNameTable = new HashMap<String, String>(source.emailLastNameTable);
+        emailTeamNameTable = new HashMap<String, String>(source.emailTeamNameTable);
+
+        // the bundle for the sorting benchmarks, so that they do not get the views cached by an earlier invocation
+        bundle = newBundle(new ArrayList<FeedbackResponseAttributes>(responses),
+                           new HashMap<String, String>(emailNameTable),
+                           new HashMap<String, String>(emailLastNameTable),
+                           new HashMap<String, String>(emailTeamNameTable));
+    }
+
+    @Benchmark
+    public FeedbackSessionResultsBundle constructBundle() {
+        return newBundle(responses, emailNameTable, emailLastNameTable, emailTeamNameTable);
+    }
+
+    @Benchmark
+    public List<FeedbackResponseAttributes> sortByGiverRecipientQuestion() {
+        Collections.sort(responses, bundle.compareByGiverRecipientQuestion);
+        return responses;
+    }
+
+    @Benchmark
+    public Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> questionResponseMap() {
+        return bundle.getQuestionResponseMap();
+    }
+
+    @Benchmark
+    public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
+            responsesSortedByGiverQuestionRecipient() {
+        return bundle.getResponsesSortedByGiverQuestionRecipient(true);
+    }
+
+    @Benchmark
+    public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
+            responsesSortedByRecipientQuestionGiver() {
+        return bundle.getResponsesSortedByRecipientQuestionGiver(true);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, List<FeedbackResponseAttributes>>> responsesSortedByGiverRecipientQuestion() {
+        return bundle.getResponsesSortedByGiverRecipientQuestion(true);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, List<FeedbackResponseAttributes>>> responsesSortedByRecipientGiverQuestion() {
+        return bundle.getResponsesSortedByRecipientGiverQuestion(true);
+    }
+
+    private FeedbackSessionResultsBundle newBundle(List<FeedbackResponseAttributes> responses,
+                                                   Map<String, String> emailNameTable,
+                                                   Map<String, String> emailLastNameTable,
+                                                   Map<String, String> emailTeamNameTable) {
+        return new FeedbackSessionResultsBundle(source.feedbackSession, responses, source.questions,
+                                                emailNameTable, emailLastNameTable, emailTeamNameTable,
+                                                source.sectionTeamNameTable, source.visibilityTable,
+                                                source.responseStatus, source.roster, source.responseComments);
+    }
+}
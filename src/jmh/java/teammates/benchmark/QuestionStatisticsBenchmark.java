@@ -0,0 +1,72 @@
+package teammates.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.logic.core.FeedbackSessionsLogic;
+
+/**
+ * Measures the statistics table shown above the responses of one question in the instructor results page,
+ * for each question type.<br>
+ * The results bundle is loaded from the datastore once per trial, so the datastore reads are not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionStatisticsBenchmark {
+
+    @Param({"TEXT", "MCQ", "MSQ", "NUMSCALE", "CONSTSUM", "CONTRIB", "RUBRIC", "RANK_OPTIONS", "RANK_RECIPIENTS"})
+    public FeedbackQuestionType questionType;
+
+    @Param({"100", "300"})
+    public int numOfStudents;
+
+    private FeedbackSessionResultsBundle bundle;
+    private FeedbackQuestionAttributes question;
+    private List<FeedbackResponseAttributes> responses;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkEnvironment.setUp(numOfStudents);
+        bundle = FeedbackSessionsLogic.inst().getFeedbackSessionResultsForInstructor(
+                SyntheticDataBundle.SESSION_NAME, SyntheticDataBundle.COURSE_ID,
+                SyntheticDataBundle.INSTRUCTOR_EMAIL);
+        for (FeedbackQuestionAttributes candidate : bundle.questions.values()) {
+            if (candidate.questionType == questionType) {
+                question = candidate;
+            }
+        }
+        responses = bundle.getResponsesForQuestion(question.getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.tearDown();
+    }
+
+    @Benchmark
+    public String getQuestionResultStatisticsHtml() {
+        return question.getQuestionDetails().getQuestionResultStatisticsHtml(
+                responses, question, SyntheticDataBundle.INSTRUCTOR_EMAIL, bundle, "question");
+    }
+}
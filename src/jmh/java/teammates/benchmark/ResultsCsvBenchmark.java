@@ -0,0 +1,59 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.logic.core.FeedbackSessionsLogic;
+
+/**
+ * Measures the download of the results of a whole session as CSV, including the datastore reads
+ * against the local datastore simulation. The entities cache is emptied after every invocation,
+ * so every download reads the datastore as on a cold cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultsCsvBenchmark {
+
+    // the CSV download of a whole session refuses sessions with more than 10000 responses
+    @Param({"100", "300"})
+    public int numOfStudents;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkEnvironment.setUp(numOfStudents);
+    }
+
+    @TearDown(Level.Invocation)
+    public void finishRequest() {
+        BenchmarkEnvironment.finishRequest();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.tearDown();
+    }
+
+    @Benchmark
+    public String getResultsSummaryAsCsv() throws Exception {
+        return FeedbackSessionsLogic.inst().getFeedbackSessionResultsSummaryAsCsv(
+                SyntheticDataBundle.SESSION_NAME, SyntheticDataBundle.COURSE_ID,
+                SyntheticDataBundle.INSTRUCTOR_EMAIL);
+    }
+}
@@ -0,0 +1,66 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Sanitizer;
+import teammates.common.util.StringHelper;
+
+/**
+ * Measures the string helpers that are called once per cell or per link when rendering results pages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SanitizerBenchmark {
+
+    private static final String TEXT_FRAGMENT = "Team 1.1 <b>\"great\"</b> work & 'effort', see <a href=\"x\">link</a>\n";
+
+    @Param({"64", "1024"})
+    public int textLength;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < textLength) {
+            builder.append(TEXT_FRAGMENT);
+        }
+        text = builder.substring(0, textLength);
+    }
+
+    @Benchmark
+    public String sanitizeForHtml() {
+        return Sanitizer.sanitizeForHtml(text);
+    }
+
+    @Benchmark
+    public String sanitizeForCsv() {
+        return Sanitizer.sanitizeForCsv(text);
+    }
+
+    @Benchmark
+    public String sanitizeForJs() {
+        return Sanitizer.sanitizeForJs(text);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return StringHelper.encrypt(text);
+    }
+}
@@ -0,0 +1,219 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.TimeHelper;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Generates a data bundle of one course of the given size, for benchmarking.<br>
+ * The course has one session with one question of each question type. Every question is answered
+ * by every student for each of the other members of the student's team (and the student as well,
+ * for the contribution question), so the number of responses grows linearly with the course size.
+ */
+public final class SyntheticDataBundle {
+
+    public static final String COURSE_ID = "BM.synthetic.course";
+    public static final String SESSION_NAME = "Synthetic session";
+    public static final String INSTRUCTOR_GOOGLE_ID = "BM.synthetic.instr";
+    public static final String INSTRUCTOR_EMAIL = "instr@BM.synthetic.tmt";
+
+    public static final int TEAM_SIZE = 4;
+    public static final int TEAMS_PER_SECTION = 25;
+
+    /**
+     * The question types in the order of their question numbers.
+     */
+    public static final List<FeedbackQuestionType> QUESTION_TYPES = Arrays.asList(
+            FeedbackQuestionType.TEXT, FeedbackQuestionType.MCQ, FeedbackQuestionType.MSQ,
+            FeedbackQuestionType.NUMSCALE, FeedbackQuestionType.CONSTSUM, FeedbackQuestionType.CONTRIB,
+            FeedbackQuestionType.RUBRIC, FeedbackQuestionType.RANK_OPTIONS, FeedbackQuestionType.RANK_RECIPIENTS);
+
+    private SyntheticDataBundle() {
+        // utility class
+    }
+
+    /**
+     * @param numOfStudents rounded down to a multiple of {@link #TEAM_SIZE}
+     */
+    public static DataBundle create(int numOfStudents) {
+        DataBundle dataBundle = new DataBundle();
+
+        dataBundle.accounts.put("instructor", new AccountAttributes(INSTRUCTOR_GOOGLE_ID, "Synthetic Instructor",
+                true, INSTRUCTOR_EMAIL, "Synthetic University"));
+        dataBundle.courses.put("course", new CourseAttributes(COURSE_ID, "Synthetic Course"));
+        dataBundle.instructors.put("instructor", new InstructorAttributes(INSTRUCTOR_GOOGLE_ID, COURSE_ID,
+                                                                          "Synthetic Instructor", INSTRUCTOR_EMAIL));
+
+        List<List<StudentAttributes>> teams = new ArrayList<List<StudentAttributes>>();
+        for (int teamIndex = 0; teamIndex < numOfStudents / TEAM_SIZE; teamIndex++) {
+            String section = "Section " + (teamIndex / TEAMS_PER_SECTION + 1);
+            String team = "Team " + (teamIndex + 1);
+            List<StudentAttributes> members = new ArrayList<StudentAttributes>();
+            for (int memberIndex = 0; memberIndex < TEAM_SIZE; memberIndex++) {
+                int studentIndex = teamIndex * TEAM_SIZE + memberIndex + 1;
+                StudentAttributes student = new StudentAttributes(section, team, "Student " + studentIndex,
+                        "student" + studentIndex + "@BM.synthetic.tmt", "", COURSE_ID);
+                dataBundle.students.put("student" + studentIndex, student);
+                members.add(student);
+            }
+            teams.add(members);
+        }
+
+        dataBundle.feedbackSessions.put("session", createSession());
+
+        for (int i = 0; i < QUESTION_TYPES.size(); i++) {
+            FeedbackQuestionType questionType = QUESTION_TYPES.get(i);
+            int questionNumber = i + 1;
+            dataBundle.feedbackQuestions.put("qn" + questionNumber, createQuestion(questionType, questionNumber));
+
+            for (List<StudentAttributes> members : teams) {
+                for (StudentAttributes giver : members) {
+                    for (StudentAttributes recipient : members) {
+                        if (giver == recipient && questionType != FeedbackQuestionType.CONTRIB) {
+                            continue;
+                        }
+                        FeedbackResponseAttributes response =
+                                createResponse(questionType, questionNumber, giver, recipient);
+                        dataBundle.feedbackResponses.put(
+                                "qn" + questionNumber + "%" + giver.email + "%" + recipient.email, response);
+                    }
+                }
+            }
+        }
+
+        return dataBundle;
+    }
+
+    private static FeedbackSessionAttributes createSession() {
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes();
+        session.setFeedbackSessionName(SESSION_NAME);
+        session.setCourseId(COURSE_ID);
+        session.setCreatorEmail(INSTRUCTOR_EMAIL);
+        session.setInstructions(new Text("Please answer all the questions."));
+        session.setCreatedTime(TimeHelper.getDateOffsetToCurrentTime(-10));
+        session.setSessionVisibleFromTime(TimeHelper.getDateOffsetToCurrentTime(-10));
+        session.setStartTime(TimeHelper.getDateOffsetToCurrentTime(-9));
+        session.setEndTime(TimeHelper.getDateOffsetToCurrentTime(-1));
+        session.setResultsVisibleFromTime(Const.TIME_REPRESENTS_LATER);
+        session.setTimeZone(8.0);
+        session.setGracePeriod(10);
+        session.setFeedbackSessionType(FeedbackSessionType.STANDARD);
+        return session;
+    }
+
+    private static FeedbackQuestionAttributes createQuestion(FeedbackQuestionType questionType, int questionNumber) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.feedbackSessionName = SESSION_NAME;
+        question.courseId = COURSE_ID;
+        question.creatorEmail = INSTRUCTOR_EMAIL;
+        question.questionNumber = questionNumber;
+        question.questionType = questionType;
+        question.questionMetaData = new Text(getQuestionMetaData(questionType));
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = questionType == FeedbackQuestionType.CONTRIB
+                                ? FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF
+                                : FeedbackParticipantType.OWN_TEAM_MEMBERS;
+        question.numberOfEntitiesToGiveFeedbackTo = Const.MAX_POSSIBLE_RECIPIENTS;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(
+                FeedbackParticipantType.INSTRUCTORS, FeedbackParticipantType.RECEIVER));
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(
+                FeedbackParticipantType.INSTRUCTORS));
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(
+                FeedbackParticipantType.INSTRUCTORS, FeedbackParticipantType.RECEIVER));
+        return question;
+    }
+
+    private static FeedbackResponseAttributes createResponse(FeedbackQuestionType questionType, int questionNumber,
+                                                             StudentAttributes giver, StudentAttributes recipient) {
+        // the question number is replaced by the question id when the bundle is persisted
+        return new FeedbackResponseAttributes(SESSION_NAME, COURSE_ID, String.valueOf(questionNumber), questionType,
+                                              giver.email, giver.section, recipient.email, recipient.section,
+                                              new Text(getResponseMetaData(questionType, giver, recipient)));
+    }
+
+    private static String getQuestionMetaData(FeedbackQuestionType questionType) {
+        switch (questionType) {
+        case TEXT:
+            return "Comment on the work of your team member.";
+        case MCQ:
+            return "{\"questionText\":\"How did your team member perform?\", \"questionType\":\"MCQ\","
+                   + " \"numOfMcqChoices\":3, \"mcqChoices\":[\"Well\", \"Adequately\", \"Poorly\"],"
+                   + " \"otherEnabled\":false, \"generateOptionsFor\":\"NONE\"}";
+        case MSQ:
+            return "{\"questionText\":\"What did your team member do?\", \"questionType\":\"MSQ\","
+                   + " \"numOfMsqChoices\":3, \"msqChoices\":[\"Design\", \"Coding\", \"Testing\"],"
+                   + " \"otherEnabled\":false, \"generateOptionsFor\":\"NONE\"}";
+        case NUMSCALE:
+            return "{\"questionText\":\"Rate your team member.\", \"questionType\":\"NUMSCALE\","
+                   + " \"minScale\":1, \"maxScale\":5, \"step\":0.5}";
+        case CONSTSUM:
+            return "{\"questionText\":\"Split the effort of your team member.\", \"questionType\":\"CONSTSUM\","
+                   + " \"numOfConstSumOptions\":2, \"constSumOptions\":[\"Design\", \"Coding\"],"
+                   + " \"distributeToRecipients\":false, \"pointsPerOption\":false, \"points\":100}";
+        case CONTRIB:
+            return "{\"questionText\":\"Rate the contribution of your team members and yourself.\","
+                   + " \"questionType\":\"CONTRIB\", \"isNotSureAllowed\":true}";
+        case RUBRIC:
+            return "{\"questionText\":\"Assess your team member.\", \"questionType\":\"RUBRIC\","
+                   + " \"numOfRubricChoices\":2, \"numOfRubricSubQuestions\":2, \"rubricChoices\":[\"Yes\", \"No\"],"
+                   + " \"rubricSubQuestions\":[\"Did a good job.\", \"Tried their best.\"],"
+                   + " \"rubricDescriptions\":[[\"Most of the time\", \"Rarely\"], [\"Most of the time\", \"Rarely\"]]}";
+        case RANK_OPTIONS:
+            return "{\"questionText\":\"Rank the strengths of your team member.\", \"questionType\":\"RANK_OPTIONS\","
+                   + " \"options\":[\"Teamwork\", \"Time management\", \"Quality control\"],"
+                   + " \"areDuplicatesAllowed\":false}";
+        case RANK_RECIPIENTS:
+            return "{\"questionText\":\"Rank your team members.\", \"questionType\":\"RANK_RECIPIENTS\","
+                   + " \"areDuplicatesAllowed\":false}";
+        default:
+            throw new IllegalArgumentException("Unsupported question type: " + questionType);
+        }
+    }
+
+    private static String getResponseMetaData(FeedbackQuestionType questionType,
+                                              StudentAttributes giver, StudentAttributes recipient) {
+        // vary the answers with the giver and the recipient so that the statistics are not trivial
+        int seed = Math.abs((giver.email + recipient.email).hashCode());
+        switch (questionType) {
+        case TEXT:
+            return "Feedback from " + giver.name + " to " + recipient.name + ", with <b>markup</b> & \"quotes\".";
+        case MCQ:
+            return "{\"questionType\":\"MCQ\", \"answer\":\"" + new String[] {"Well", "Adequately", "Poorly"}[seed % 3]
+                   + "\", \"otherFieldContent\":\"\"}";
+        case MSQ:
+            return "{\"questionType\":\"MSQ\", \"answers\":" + (seed % 2 == 0 ? "[\"Design\", \"Testing\"]"
+                                                                               : "[\"Coding\"]") + "}";
+        case NUMSCALE:
+            return "{\"questionType\":\"NUMSCALE\", \"answer\":" + (1 + seed % 9 * 0.5) + "}";
+        case CONSTSUM:
+            int points = seed % 101;
+            return "{\"questionType\":\"CONSTSUM\", \"answers\":[" + points + ", " + (100 - points) + "]}";
+        case CONTRIB:
+            return "{\"questionType\":\"CONTRIB\", \"answer\":" + (70 + seed % 61) + "}";
+        case RUBRIC:
+            return "{\"questionType\":\"RUBRIC\", \"answer\":[" + seed % 2 + ", " + seed / 2 % 2 + "]}";
+        case RANK_OPTIONS:
+            return "{\"questionType\":\"RANK_OPTIONS\", \"answers\":" + (seed % 2 == 0 ? "[1, 2, 3]" : "[3, 1, 2]") + "}";
+        case RANK_RECIPIENTS:
+            return "{\"questionType\":\"RANK_RECIPIENTS\", \"answer\":" + (1 + seed % (TEAM_SIZE - 1)) + "}";
+        default:
+            throw new IllegalArgumentException("Unsupported question type: " + questionType);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package teammates.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Const;
+import teammates.logic.core.TeamEvalResult;
+
+/**
+ * Measures the contribution calculation of one team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamEvalResultBenchmark {
+
+    @Param({"4", "8", "16"})
+    public int teamSize;
+
+    private int[][] claims;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(teamSize);
+        claims = new int[teamSize][teamSize];
+        for (int giver = 0; giver < teamSize; giver++) {
+            for (int recipient = 0; recipient < teamSize; recipient++) {
+                // mostly regular claims, with some of the special values the calculation has to handle
+                int roll = random.nextInt(20);
+                if (roll == 0) {
+                    claims[giver][recipient] = Const.POINTS_NOT_SUBMITTED;
+                } else if (roll == 1) {
+                    claims[giver][recipient] = Const.POINTS_NOT_SURE;
+                } else {
+                    claims[giver][recipient] = 50 + random.nextInt(101);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public TeamEvalResult constructTeamEvalResult() {
+        return new TeamEvalResult(claims);
+    }
+}
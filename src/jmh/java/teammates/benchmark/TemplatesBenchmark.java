@@ -0,0 +1,94 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Const;
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+import teammates.common.util.Templates.FeedbackQuestionFormTemplates;
+
+/**
+ * Compares {@link Templates#populateTemplate(String, String...)}, which populates a template compiled when
+ * it was read, with populating the template by one {@link String#replace} pass per placeholder, as it was
+ * done before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplatesBenchmark {
+
+    /**
+     * An option of an MCQ question in the submission form, populated once per option of each question,
+     * and the email sent to each student when a session opens.
+     */
+    @Param({"MCQ_SUBMISSION_FORM_OPTIONFRAGMENT", "RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT", "USER_FEEDBACK_SESSION"})
+    public String templateName;
+
+    private String template;
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+        if ("MCQ_SUBMISSION_FORM_OPTIONFRAGMENT".equals(templateName)) {
+            template = FeedbackQuestionFormTemplates.MCQ_SUBMISSION_FORM_OPTIONFRAGMENT;
+            values = new String[] {
+                    "${qnIdx}", "3",
+                    "${responseIdx}", "12",
+                    "${disabled}", "",
+                    "${checked}", "checked",
+                    "${Const.ParamsNames.FEEDBACK_RESPONSE_TEXT}", Const.ParamsNames.FEEDBACK_RESPONSE_TEXT,
+                    "${mcqChoiceValue}", "Strongly agree" };
+        } else if ("RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT".equals(templateName)) {
+            template = FeedbackQuestionFormTemplates.RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT;
+            values = new String[] {
+                    "${qnIndex}", "3",
+                    "${respIndex}", "12",
+                    "${col}", "2",
+                    "${row}", "1",
+                    "${disabled}", "",
+                    "${description}", "Contributes to discussions most of the time",
+                    "${checked}", "checked",
+                    "${Const.ParamsNames.FEEDBACK_QUESTION_RUBRICCHOICE}", Const.ParamsNames.FEEDBACK_QUESTION_RUBRIC_CHOICE };
+        } else {
+            template = EmailTemplates.USER_FEEDBACK_SESSION;
+            values = new String[] {
+                    "${userName}", "Student 42",
+                    "${courseName}", "Software Engineering",
+                    "${courseId}", SyntheticDataBundle.COURSE_ID,
+                    "${feedbackSessionName}", SyntheticDataBundle.SESSION_NAME,
+                    "${deadline}", "Sun, 01 Jan 2017, 11:59 PM",
+                    "${instructorFragment}", "",
+                    "${submitUrl}", "http://localhost:8888/page/studentFeedbackSubmissionEditPage?courseid=bench.course",
+                    "${reportUrl}", "http://localhost:8888/page/studentFeedbackResultsPage?courseid=bench.course" };
+        }
+    }
+
+    @Benchmark
+    public String populateTemplate() {
+        return Templates.populateTemplate(template, values);
+    }
+
+    @Benchmark
+    public String populateTemplateByReplacing() {
+        String populatedTemplate = template;
+        for (int i = 0; i < values.length; i += 2) {
+            populatedTemplate = populatedTemplate.replace(values[i], values[i + 1]);
+        }
+        return populatedTemplate;
+    }
+}
@@ -5,6 +5,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import teammates.common.util.Const;
+
 /**
  * Contains a list of students and instructors in a course. Useful for caching
  * a copy of student and instructor details of a course instead of reading
@@ -14,6 +16,7 @@ public class CourseRoster {
     
     Map<String, StudentAttributes> studentListByEmail = new HashMap<String, StudentAttributes>();
     Map<String, InstructorAttributes> instructorListByEmail = new HashMap<String, InstructorAttributes>();
+    Map<String, String> sectionByTeam = new HashMap<String, String>();
     
     public CourseRoster(List<StudentAttributes> students, List<InstructorAttributes> instructors) {
         populateStuentListByEmail(students);
@@ -61,6 +64,14 @@ public class CourseRoster {
         return instructorListByEmail.get(email);
     }
     
+    /**
+     * @return the section of the team, or {@link Const#DEFAULT_SECTION} if the team has no students.
+     */
+    public String getSectionForTeam(String teamName) {
+        String section = sectionByTeam.get(teamName);
+        return section == null ? Const.DEFAULT_SECTION : section;
+    }
+    
     private void populateStuentListByEmail(List<StudentAttributes> students) {
         
         if (students == null) {
@@ -69,6 +80,9 @@ public class CourseRoster {
         
         for (StudentAttributes s : students) {
             studentListByEmail.put(s.email, s);
+            if (!sectionByTeam.containsKey(s.team)) {
+                sectionByTeam.put(s.team, s.section);
+            }
         }
     }
     
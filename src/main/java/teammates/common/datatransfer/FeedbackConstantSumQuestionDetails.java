@@ -287,6 +287,7 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
             String optionFragment =
                     Templates.populateTemplate(optionFragmentTemplate,
                             "${i}", Integer.toString(i),
+                            "${questionNumber}", Integer.toString(questionNumber),
                             "${constSumOptionValue}", Sanitizer.sanitizeForHtml(constSumOptions.get(i)),
                             "${Const.ParamsNames.FEEDBACK_QUESTION_CONSTSUMOPTION}",
                                     Const.ParamsNames.FEEDBACK_QUESTION_CONSTSUMOPTION);
@@ -3,6 +3,7 @@ package teammates.common.datatransfer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +18,7 @@ import teammates.common.util.Templates;
 import teammates.common.util.Templates.FeedbackQuestionFormTemplates;
 import teammates.common.util.Utils;
 import teammates.logic.core.TeamEvalResult;
+import teammates.logic.core.TeamEvalResultCache;
 import teammates.ui.template.InstructorFeedbackResultsResponseRow;
 
 public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails {
@@ -175,18 +177,9 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         //Each team's member(email) list
         Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
         
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-        
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
         //Each team's contribution question results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(
+                question, actualResponses, bundle, teamNames, teamMembersEmail);
 
         TeamEvalResult currentUserTeamResults = teamResults.get(currentUserTeam);
         if (currentUserTeamResults == null) {
@@ -233,18 +226,9 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         //Each team's member(email) list
         Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
         
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-        
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
         //Each team's eval results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(
+                question, actualResponses, bundle, teamNames, teamMembersEmail);
         
         //Each person's results summary
         Map<String, StudentResultSummary> studentResults = getStudentResults(
@@ -323,18 +307,9 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         //Each team's member(email) list
         Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
 
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-        
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
         //Each team's eval results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(
+                question, actualResponses, bundle, teamNames, teamMembersEmail);
         
         //Each person's results summary
         Map<String, StudentResultSummary> studentResults = getStudentResults(
@@ -437,13 +412,7 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         
         Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
         
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                responses, bundle, teamNames);
-        
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(question, responses, bundle, teamNames, teamMembersEmail);
         
         return getStudentResults(teamMembersEmail, teamResults);
     }
@@ -460,13 +429,7 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         
         Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
         
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                responses, bundle, teamNames);
-        
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(question, responses, bundle, teamNames, teamMembersEmail);
         
         return teamResults;
     }
@@ -494,17 +457,45 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         return studentResults;
     }
 
-    protected Map<String, TeamEvalResult> getTeamResults(List<String> teamNames,
-            Map<String, int[][]> teamSubmissionArray, Map<String, List<String>> teamMembersEmail) {
+    /**
+     * Calculates the results of the given teams from the actual responses to the question.<br>
+     * The result of a team is only calculated again if its responses changed since it was last calculated
+     * (see {@link TeamEvalResultCache}), so the results must not be modified.
+     */
+    protected Map<String, TeamEvalResult> getTeamResults(FeedbackQuestionAttributes question,
+            List<FeedbackResponseAttributes> actualResponses, FeedbackSessionResultsBundle bundle,
+            List<String> teamNames, Map<String, List<String>> teamMembersEmail) {
+        
+        //Each team's responses
+        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
+                actualResponses, bundle, teamNames);
+        
+        //Get each team's submission array. -> int[teamSize][teamSize]
+        //Where int[0][1] refers points from student 0 to student 1
+        //Where student 0 is the 0th student in the list in teamMembersEmail
+        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
+                teamNames, teamMembersEmail, teamResponses);
+        
         Map<String, TeamEvalResult> teamResults = new LinkedHashMap<String, TeamEvalResult>();
         for (String team : teamNames) {
-            TeamEvalResult teamEvalResult = new TeamEvalResult(teamSubmissionArray.get(team));
-            teamEvalResult.studentEmails = teamMembersEmail.get(team);
+            TeamEvalResult teamEvalResult = TeamEvalResultCache.getTeamEvalResult(
+                    question.getId(), team, getLastUpdatedTime(teamResponses.get(team)),
+                    teamMembersEmail.get(team), teamSubmissionArray.get(team));
             teamResults.put(team, teamEvalResult);
         }
         return teamResults;
     }
 
+    private static Date getLastUpdatedTime(List<FeedbackResponseAttributes> responses) {
+        Date lastUpdated = Const.TIME_REPRESENTS_DEFAULT_TIMESTAMP;
+        for (FeedbackResponseAttributes response : responses) {
+            if (response.getUpdatedAt().after(lastUpdated)) {
+                lastUpdated = response.getUpdatedAt();
+            }
+        }
+        return lastUpdated;
+    }
+
     private Map<String, int[][]> getTeamSubmissionArray(List<String> teamNames,
             Map<String, List<String>> teamMembersEmail,
             Map<String, List<FeedbackResponseAttributes>> teamResponses) {
@@ -0,0 +1,67 @@
+package teammates.common.datatransfer;
+
+import teammates.common.util.Const.SystemParams;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Converts the details of feedback questions and responses to and from the JSON stored in
+ * {@link FeedbackQuestionAttributes#questionMetaData} and {@link FeedbackResponseAttributes#responseMetaData}.<br>
+ * A single {@link Gson}, which is thread-safe, is shared by all conversions. The type adapters of
+ * the details classes of every {@link FeedbackQuestionType} are created when this class is loaded,
+ * and the JSON is written without pretty printing. Pretty-printed JSON that is already stored is
+ * still read as before.
+ */
+public final class FeedbackDetailsCodec {
+
+    private static final Gson GSON = new GsonBuilder()
+            .setDateFormat(SystemParams.DEFAULT_DATE_TIME_FORMAT)
+            .create();
+
+    static {
+        for (FeedbackQuestionType questionType : FeedbackQuestionType.values()) {
+            GSON.getAdapter(questionType.getQuestionDetailsClass());
+            GSON.getAdapter(questionType.getResponseDetailsClass());
+        }
+    }
+
+    private FeedbackDetailsCodec() {
+        // utility class
+    }
+
+    public static String encode(Object details, Class<?> detailsClass) {
+        return GSON.toJson(details, detailsClass);
+    }
+
+    public static <T> T decode(String json, Class<T> detailsClass) {
+        return GSON.fromJson(json, detailsClass);
+    }
+
+    /**
+     * Details parsed from the metadata of an attributes object, kept so that they are parsed only once.
+     * They are valid as long as the metadata and the question type of the object are the ones they
+     * were parsed from; both are replaced rather than modified, so they are compared by reference.<br>
+     * Not part of the state of the object: it is left out when the object is serialized.
+     */
+    public static final class ParsedDetails<T> {
+        private final Text metaData;
+        private final FeedbackQuestionType questionType;
+        private final T details;
+
+        ParsedDetails(Text metaData, FeedbackQuestionType questionType, T details) {
+            this.metaData = metaData;
+            this.questionType = questionType;
+            this.details = details;
+        }
+
+        boolean isParsedFrom(Text metaData, FeedbackQuestionType questionType) {
+            return this.metaData == metaData && this.questionType == questionType;
+        }
+
+        T getDetails() {
+            return details;
+        }
+    }
+}
@@ -230,9 +230,9 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
             optionList = mcqChoices;
             break;
         case STUDENTS:
-            List<StudentAttributes> studentList = StudentsLogic.inst().getStudentsForCourse(courseId);
+            List<StudentRosterEntry> studentList = StudentsLogic.inst().getStudentRosterEntriesForCourse(courseId);
 
-            for (StudentAttributes student : studentList) {
+            for (StudentRosterEntry student : studentList) {
                 optionList.add(student.name + " (" + student.team + ")");
             }
             
@@ -278,6 +278,7 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
             String optionFragment =
                     Templates.populateTemplate(optionFragmentTemplate,
                             "${i}", Integer.toString(i),
+                            "${questionNumber}", Integer.toString(questionNumber),
                             "${mcqChoiceValue}", Sanitizer.sanitizeForHtml(mcqChoices.get(i)),
                             "${Const.ParamsNames.FEEDBACK_QUESTION_MCQCHOICE}", Const.ParamsNames.FEEDBACK_QUESTION_MCQCHOICE);
 
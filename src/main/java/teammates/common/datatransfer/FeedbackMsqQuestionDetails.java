@@ -254,10 +254,10 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
             optionList = msqChoices;
             break;
         case STUDENTS:
-            List<StudentAttributes> studentList =
-                    StudentsLogic.inst().getStudentsForCourse(courseId);
+            List<StudentRosterEntry> studentList =
+                    StudentsLogic.inst().getStudentRosterEntriesForCourse(courseId);
 
-            for (StudentAttributes student : studentList) {
+            for (StudentRosterEntry student : studentList) {
                 optionList.add(student.name + " (" + student.team + ")");
             }
             
@@ -304,6 +304,7 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
             String optionFragment =
                     Templates.populateTemplate(optionFragmentTemplate,
                             "${i}", Integer.toString(i),
+                            "${questionNumber}", Integer.toString(questionNumber),
                             "${msqChoiceValue}", Sanitizer.sanitizeForHtml(msqChoices.get(i)),
                             "${Const.ParamsNames.FEEDBACK_QUESTION_MSQCHOICE}", Const.ParamsNames.FEEDBACK_QUESTION_MSQCHOICE);
 
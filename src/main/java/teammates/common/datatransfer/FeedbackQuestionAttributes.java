@@ -11,7 +11,6 @@ import teammates.common.util.Utils;
 import teammates.storage.entity.FeedbackQuestion;
 
 import com.google.appengine.api.datastore.Text;
-import com.google.gson.Gson;
 
 public class FeedbackQuestionAttributes extends EntityAttributes implements Comparable<FeedbackQuestionAttributes> {
     public String feedbackSessionName;
@@ -34,6 +33,7 @@ public class FeedbackQuestionAttributes extends EntityAttributes implements Comp
     protected transient Date createdAt;
     protected transient Date updatedAt;
     private String feedbackQuestionId;
+    private transient FeedbackDetailsCodec.ParsedDetails<FeedbackQuestionDetails> parsedQuestionDetails;
 
     public FeedbackQuestionAttributes() {
         // attributes to be set after construction
@@ -516,24 +516,32 @@ public class FeedbackQuestionAttributes extends EntityAttributes implements Comp
         if (questionDetails.getQuestionType() == FeedbackQuestionType.TEXT) {
             questionMetaData = new Text(questionDetails.getQuestionText());
         } else {
-            Gson gson = Utils.getTeammatesGson();
-            questionMetaData = new Text(gson.toJson(questionDetails, getFeedbackQuestionDetailsClass()));
+            questionMetaData = new Text(FeedbackDetailsCodec.encode(questionDetails, getFeedbackQuestionDetailsClass()));
         }
     }
 
     /** 
-     * This method retrieves the Feedback*QuestionDetails object for this question
+     * This method retrieves the Feedback*QuestionDetails object for this question.
+     * The details are parsed once and the same object is returned until {@code questionMetaData}
+     * or {@code questionType} is replaced, so it should not be modified.
      * 
      * @return The Feedback*QuestionDetails object representing the question's details
      */
     public FeedbackQuestionDetails getQuestionDetails() {
+        if (parsedQuestionDetails == null || !parsedQuestionDetails.isParsedFrom(questionMetaData, questionType)) {
+            parsedQuestionDetails = new FeedbackDetailsCodec.ParsedDetails<FeedbackQuestionDetails>(
+                    questionMetaData, questionType, parseQuestionDetails());
+        }
+        return parsedQuestionDetails.getDetails();
+    }
+    
+    private FeedbackQuestionDetails parseQuestionDetails() {
         // For Text questions, the questionText simply contains the question, not a JSON
         // This is due to legacy data in the data store before there are multiple question types
         if (questionType == FeedbackQuestionType.TEXT) {
             return new FeedbackTextQuestionDetails(questionMetaData.getValue());
         }
-        Gson gson = Utils.getTeammatesGson();
-        return gson.fromJson(questionMetaData.getValue(), getFeedbackQuestionDetailsClass());
+        return FeedbackDetailsCodec.decode(questionMetaData.getValue(), getFeedbackQuestionDetailsClass());
     }
 
     /** 
@@ -13,7 +13,6 @@ import teammates.common.util.Utils;
 import teammates.storage.entity.FeedbackResponse;
 
 import com.google.appengine.api.datastore.Text;
-import com.google.gson.Gson;
 
 public class FeedbackResponseAttributes extends EntityAttributes {
     public String feedbackSessionName;
@@ -43,6 +42,7 @@ public class FeedbackResponseAttributes extends EntityAttributes {
     protected transient Date createdAt;
     protected transient Date updatedAt;
     private String feedbackResponseId;
+    private transient FeedbackDetailsCodec.ParsedDetails<FeedbackResponseDetails> parsedResponseDetails;
     
     public FeedbackResponseAttributes() {
         // attributes to be set after construction
@@ -186,8 +186,6 @@ public class FeedbackResponseAttributes extends EntityAttributes {
      * @param responseDetails
      */
     public void setResponseDetails(FeedbackResponseDetails responseDetails) {
-        Gson gson = Utils.getTeammatesGson();
-        
         if (responseDetails == null) {
             // There was error extracting response data from http request
             responseMetaData = new Text("");
@@ -196,11 +194,13 @@ public class FeedbackResponseAttributes extends EntityAttributes {
             // This is due to legacy data in the data store before there were multiple question types
             responseMetaData = new Text(responseDetails.getAnswerString());
         } else {
-            responseMetaData = new Text(gson.toJson(responseDetails, getFeedbackResponseDetailsClass()));
+            responseMetaData = new Text(FeedbackDetailsCodec.encode(responseDetails, getFeedbackResponseDetailsClass()));
         }
     }
     
-    /** This method retrieves the Feedback*ResponseDetails object for this response
+    /** This method retrieves the Feedback*ResponseDetails object for this response.
+     * The details are parsed once and the same object is returned until {@code responseMetaData}
+     * or {@code feedbackQuestionType} is replaced, so it should not be modified.
      * @return The Feedback*ResponseDetails object representing the response's details
      */
     public FeedbackResponseDetails getResponseDetails() {
@@ -209,6 +209,15 @@ public class FeedbackResponseAttributes extends EntityAttributes {
             return null;
         }
         
+        if (parsedResponseDetails == null
+                || !parsedResponseDetails.isParsedFrom(responseMetaData, feedbackQuestionType)) {
+            parsedResponseDetails = new FeedbackDetailsCodec.ParsedDetails<FeedbackResponseDetails>(
+                    responseMetaData, feedbackQuestionType, parseResponseDetails());
+        }
+        return parsedResponseDetails.getDetails();
+    }
+    
+    private FeedbackResponseDetails parseResponseDetails() {
         Class<? extends FeedbackResponseDetails> responseDetailsClass = getFeedbackResponseDetailsClass();
         
         if (responseDetailsClass == FeedbackTextResponseDetails.class) {
@@ -216,8 +225,7 @@ public class FeedbackResponseAttributes extends EntityAttributes {
             // This is due to legacy data in the data store before there are multiple question types
             return new FeedbackTextResponseDetails(responseMetaData.getValue());
         }
-        Gson gson = Utils.getTeammatesGson();
-        return gson.fromJson(responseMetaData.getValue(), responseDetailsClass);
+        return FeedbackDetailsCodec.decode(responseMetaData.getValue(), responseDetailsClass);
     }
     
     /** This method gets the appropriate class type for the Feedback*ResponseDetails object
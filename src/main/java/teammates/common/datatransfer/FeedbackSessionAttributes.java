@@ -39,6 +39,7 @@ public class FeedbackSessionAttributes extends EntityAttributes implements Sessi
     private boolean isPublishedEmailEnabled;
     private Set<String> respondingInstructorList;
     private Set<String> respondingStudentList;
+    private Integer expectedTotal;
 
     public FeedbackSessionAttributes() {
         this.isOpeningEmailEnabled = true;
@@ -70,6 +71,7 @@ public class FeedbackSessionAttributes extends EntityAttributes implements Sessi
                                                                                  : fs.getRespondingInstructorList();
         this.respondingStudentList = fs.getRespondingStudentList() == null ? new HashSet<String>()
                                                                            : fs.getRespondingStudentList();
+        this.expectedTotal = fs.getExpectedTotal();
     }
 
     public FeedbackSessionAttributes(String feedbackSessionName, String courseId, String creatorId,
@@ -667,4 +669,17 @@ public class FeedbackSessionAttributes extends EntityAttributes implements Sessi
     public void setRespondingStudentList(Set<String> respondingStudentList) {
         this.respondingStudentList = respondingStudentList;
     }
+
+    /**
+     * Returns the stored number of users expected to respond to the session,
+     * or null if it is not known. It is maintained by the storage layer only,
+     * and is not written when the session is created or updated.
+     */
+    public Integer getExpectedTotal() {
+        return expectedTotal;
+    }
+
+    public void setExpectedTotal(Integer expectedTotal) {
+        this.expectedTotal = expectedTotal;
+    }
 }
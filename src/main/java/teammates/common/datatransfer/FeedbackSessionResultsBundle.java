@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,11 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
     private static final Logger log = Utils.getLogger();
     
     public FeedbackSessionAttributes feedbackSession;
+    /**
+     * The responses of the bundle. To change them, assign a new list rather than modifying this one in place,
+     * as the indexes and grouped views built from the responses are only discarded when the list is replaced
+     * or resized.
+     */
     public List<FeedbackResponseAttributes> responses;
     public Map<String, FeedbackQuestionAttributes> questions;
     public Map<String, String> emailNameTable;
@@ -66,6 +72,17 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
      * it can only be used for instructor pages and not for student pages
     */
     public Map<String, Set<String>> sectionTeamNameTable;
+    
+    /*
+     * Secondary index of the responses by question and the grouped views built from the responses.
+     * Each of them is built on first use only, and is discarded if the responses list is replaced or resized.
+     */
+    private List<FeedbackResponseAttributes> indexedResponses;
+    private int indexedResponsesSize;
+    private Map<String, List<FeedbackResponseAttributes>> responsesByQuestion;
+    private Map<Comparator<FeedbackResponseAttributes>, List<FeedbackResponseAttributes>> sortedResponses =
+            new IdentityHashMap<Comparator<FeedbackResponseAttributes>, List<FeedbackResponseAttributes>>();
+    private Map<String, Object> groupedViews = new HashMap<String, Object>();
 
     // Sorts by giverName > recipientName > qnNumber
     // General questions and team questions at the bottom.
@@ -1680,68 +1697,49 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
      *         {@link FeedbackResponseAttributes} as a {@code List}.
      */
     public Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> getQuestionResponseMap() {
-        if (questions == null || responses == null) {
-            return null;
-        }
-
-        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> sortedMap =
-                new LinkedHashMap<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>();
-        List<FeedbackQuestionAttributes> sortedQuestions = new ArrayList<>(questions.values());
-        // sorts the questions by its natural ordering, which is by question number
-        Collections.sort(sortedQuestions);
-        for (FeedbackQuestionAttributes question : sortedQuestions) {
-            sortedMap.put(question, new ArrayList<FeedbackResponseAttributes>());
-        }
-
-        for (FeedbackResponseAttributes response : responses) {
-            FeedbackQuestionAttributes question = questions.get(response.feedbackQuestionId);
-            List<FeedbackResponseAttributes> responsesForQuestion = sortedMap.get(question);
-            responsesForQuestion.add(response);
-        }
-
-        for (List<FeedbackResponseAttributes> responsesForQuestion : sortedMap.values()) {
-            Collections.sort(responsesForQuestion, compareByGiverRecipient);
-        }
-
-        return sortedMap;
+        return getQuestionResponseMap("QuestionGiverRecipient", compareByGiverRecipient);
     }
     
     public Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> getQuestionResponseMapSortedByRecipient() {
+        return getQuestionResponseMap("QuestionRecipientGiver", compareByRecipientNameEmailGiverNameEmail);
+    }
+    
+    private Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> getQuestionResponseMap(
+            String viewName, Comparator<FeedbackResponseAttributes> comparator) {
         if (questions == null || responses == null) {
             return null;
         }
-
-        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> sortedMap =
-                new LinkedHashMap<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>();
-
+        
+        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> sortedMap = getGroupedView(viewName);
+        if (sortedMap != null) {
+            return sortedMap;
+        }
+        
+        sortedMap = new LinkedHashMap<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>();
         List<FeedbackQuestionAttributes> sortedQuestions = new ArrayList<>(questions.values());
         // sorts the questions by its natural ordering, which is by question number
         Collections.sort(sortedQuestions);
         for (FeedbackQuestionAttributes question : sortedQuestions) {
-            sortedMap.put(question, new ArrayList<FeedbackResponseAttributes>());
-        }
-
-        for (FeedbackResponseAttributes response : responses) {
-            FeedbackQuestionAttributes question = questions.get(response.feedbackQuestionId);
-            List<FeedbackResponseAttributes> responsesForQuestion = sortedMap.get(question);
-            responsesForQuestion.add(response);
-        }
-
-        for (List<FeedbackResponseAttributes> responsesForQuestion : sortedMap.values()) {
-            Collections.sort(responsesForQuestion, compareByRecipientNameEmailGiverNameEmail);
+            List<FeedbackResponseAttributes> responsesForQuestion =
+                    new ArrayList<FeedbackResponseAttributes>(getResponsesForQuestion(question.getId()));
+            Collections.sort(responsesForQuestion, comparator);
+            sortedMap.put(question, responsesForQuestion);
         }
-
-        return sortedMap;
+        
+        return putGroupedView(viewName, unmodifiableGroups(sortedMap));
     }
 
-    public LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
+    public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
             getQuestionResponseMapByRecipientTeam() {
-        LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
-                new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
-
-        Collections.sort(responses, compareByTeamQuestionRecipientTeamGiver);
+        String viewName = "RecipientTeamQuestion";
+        Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
+                getGroupedView(viewName);
+        if (sortedMap != null) {
+            return sortedMap;
+        }
+        sortedMap = new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : getResponsesSortedBy(compareByTeamQuestionRecipientTeamGiver)) {
             String recipientTeam = getTeamNameForEmail(response.recipient);
             if (recipientTeam.isEmpty()) {
                 recipientTeam = getNameForEmail(response.recipient);
@@ -1764,19 +1762,20 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             responsesForOneRecipientOneQuestion.add(response);
         }
 
-        return sortedMap;
+        return putGroupedView(viewName, unmodifiableNestedGroups(sortedMap));
     }
 
-    public LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
+    public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
             getQuestionResponseMapByGiverTeam() {
-        LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
-                new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
-        
-
-        Collections.sort(responses, compareByTeamQuestionGiverTeamRecipient);
-
+        String viewName = "GiverTeamQuestion";
+        Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
+                getGroupedView(viewName);
+        if (sortedMap != null) {
+            return sortedMap;
+        }
+        sortedMap = new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : getResponsesSortedBy(compareByTeamQuestionGiverTeamRecipient)) {
             String giverTeam = getTeamNameForEmail(response.giver);
             if (giverTeam.isEmpty()) {
                 giverTeam = getNameForEmail(response.giver);
@@ -1798,7 +1797,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             responsesFromOneGiverOneQuestion.add(response);
         }
     
-        return sortedMap;
+        return putGroupedView(viewName, unmodifiableNestedGroups(sortedMap));
     }
     
     /**
@@ -1809,16 +1808,19 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
      */
     public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
             getResponsesSortedByRecipientQuestionGiver(boolean sortByTeam) {
+        String viewName = "RecipientQuestionGiver" + sortByTeam;
         Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
-                new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
-
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamRecipientQuestionTeamGiver);
-        } else {
-            Collections.sort(responses, compareByRecipientQuestionTeamGiver);
+                getGroupedView(viewName);
+        if (sortedMap != null) {
+            return sortedMap;
         }
+        sortedMap = new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
+
+        List<FeedbackResponseAttributes> sortedResponses =
+                getResponsesSortedBy(sortByTeam ? compareByTeamRecipientQuestionTeamGiver
+                                                : compareByRecipientQuestionTeamGiver);
         
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             String recipientEmail = response.recipient;
             if (!sortedMap.containsKey(recipientEmail)) {
                 sortedMap.put(recipientEmail,
@@ -1837,7 +1839,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         }
  
 
-        return sortedMap;
+        return putGroupedView(viewName, unmodifiableNestedGroups(sortedMap));
     }
 
     /**
@@ -1857,16 +1859,18 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
 
     public Map<String, Map<String, List<FeedbackResponseAttributes>>>
             getResponsesSortedByRecipient(boolean sortByTeam) {
-        Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
-                new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
-        
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamRecipientGiverQuestion);
-        } else {
-            Collections.sort(responses, compareByRecipientGiverQuestion);
+        String viewName = "RecipientNameGiverName" + sortByTeam;
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap = getGroupedView(viewName);
+        if (sortedMap != null) {
+            return sortedMap;
         }
+        sortedMap = new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
         
-        for (FeedbackResponseAttributes response : responses) {
+        List<FeedbackResponseAttributes> sortedResponses =
+                getResponsesSortedBy(sortByTeam ? compareByTeamRecipientGiverQuestion
+                                                : compareByRecipientGiverQuestion);
+        
+        for (FeedbackResponseAttributes response : sortedResponses) {
             String recipientName = this.getRecipientNameForResponse(response);
             String recipientTeamName = this.getTeamNameForEmail(response.recipient);
             String recipientNameWithTeam = this.appendTeamNameToName(recipientName, recipientTeamName);
@@ -1888,7 +1892,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             responsesFromOneGiverToOneRecipient.add(response);
         }
         
-        return sortedMap;
+        return putGroupedView(viewName, unmodifiableNestedGroups(sortedMap));
     }
     
     /**
@@ -1903,19 +1907,21 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
      * @return The responses in this bundle sorted by recipient identifier > giver identifier > question number.
      * @see {@link getResponsesSortedByRecipient}.
      */
-    public LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>
+    public Map<String, Map<String, List<FeedbackResponseAttributes>>>
             getResponsesSortedByRecipientGiverQuestion(boolean sortByTeam) {
         
-        LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
-                new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
-
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamRecipientGiverQuestion);
-        } else {
-            Collections.sort(responses, compareByRecipientGiverQuestion);
+        String viewName = "RecipientGiverQuestion" + sortByTeam;
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap = getGroupedView(viewName);
+        if (sortedMap != null) {
+            return sortedMap;
         }
+        sortedMap = new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
+
+        List<FeedbackResponseAttributes> sortedResponses =
+                getResponsesSortedBy(sortByTeam ? compareByTeamRecipientGiverQuestion
+                                                : compareByRecipientGiverQuestion);
         
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             String recipientEmail = response.recipient;
             if (!sortedMap.containsKey(recipientEmail)) {
                 sortedMap.put(recipientEmail,
@@ -1933,7 +1939,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             responsesFromOneGiverToOneRecipient.add(response);
         }
         
-        return sortedMap;
+        return putGroupedView(viewName, unmodifiableNestedGroups(sortedMap));
     }
 
     /**
@@ -1944,16 +1950,19 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
      */
     public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
                 getResponsesSortedByGiverQuestionRecipient(boolean sortByTeam) {
+        String viewName = "GiverQuestionRecipient" + sortByTeam;
         Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
-                new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
-
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamGiverQuestionTeamRecipient);
-        } else {
-            Collections.sort(responses, compareByGiverQuestionTeamRecipient);
+                getGroupedView(viewName);
+        if (sortedMap != null) {
+            return sortedMap;
         }
+        sortedMap = new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
-        for (FeedbackResponseAttributes response : responses) {
+        List<FeedbackResponseAttributes> sortedResponses =
+                getResponsesSortedBy(sortByTeam ? compareByTeamGiverQuestionTeamRecipient
+                                                : compareByGiverQuestionTeamRecipient);
+
+        for (FeedbackResponseAttributes response : sortedResponses) {
             String giverEmail = response.giver;
             if (!sortedMap.containsKey(giverEmail)) {
                 sortedMap.put(giverEmail,
@@ -1971,7 +1980,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             responsesFromOneGiverOneQuestion.add(response);
         }
 
-        return sortedMap;
+        return putGroupedView(viewName, unmodifiableNestedGroups(sortedMap));
     }
     
     /**
@@ -1991,17 +2000,18 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
 
     public Map<String, Map<String, List<FeedbackResponseAttributes>>>
             getResponsesSortedByGiver(boolean sortByTeam) {
-        Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
-                new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
-        
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamGiverRecipientQuestion);
-        } else {
-            Collections.sort(responses, compareByGiverRecipientQuestion);
+        String viewName = "GiverNameRecipientName" + sortByTeam;
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap = getGroupedView(viewName);
+        if (sortedMap != null) {
+            return sortedMap;
         }
+        sortedMap = new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
         
+        List<FeedbackResponseAttributes> sortedResponses =
+                getResponsesSortedBy(sortByTeam ? compareByTeamGiverRecipientQuestion
+                                                : compareByGiverRecipientQuestion);
         
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             String giverName = this.getGiverNameForResponse(response);
             String giverTeamName = this.getTeamNameForEmail(response.giver);
             String giverNameWithTeam = this.appendTeamNameToName(giverName, giverTeamName);
@@ -2023,7 +2033,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             responsesFromOneGiverToOneRecipient.add(response);
         }
         
-        return sortedMap;
+        return putGroupedView(viewName, unmodifiableNestedGroups(sortedMap));
     }
     
     /**
@@ -2040,16 +2050,18 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
      */
     public Map<String, Map<String, List<FeedbackResponseAttributes>>>
                 getResponsesSortedByGiverRecipientQuestion(boolean sortByTeam) {
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamGiverRecipientQuestion);
-        } else {
-            Collections.sort(responses, compareByGiverRecipientQuestion);
+        String viewName = "GiverRecipientQuestion" + sortByTeam;
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap = getGroupedView(viewName);
+        if (sortedMap != null) {
+            return sortedMap;
         }
+        sortedMap = new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
         
-        Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
-                                        new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
+        List<FeedbackResponseAttributes> sortedResponses =
+                getResponsesSortedBy(sortByTeam ? compareByTeamGiverRecipientQuestion
+                                                : compareByGiverRecipientQuestion);
         
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             String giverEmail = response.giver;
             if (!sortedMap.containsKey(giverEmail)) {
                 sortedMap.put(giverEmail,
@@ -2067,7 +2079,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             responsesFromOneGiverToOneRecipient.add(response);
         }
         
-        return sortedMap;
+        return putGroupedView(viewName, unmodifiableNestedGroups(sortedMap));
     }
 
     public boolean isStudentHasSomethingNewToSee(StudentAttributes student) {
@@ -2194,6 +2206,97 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         return responseAnswer1.compareTo(responseAnswer2);
     }
 
+    /**
+     * @return the responses to the question with {@code questionId}, in no particular order.
+     */
+    public List<FeedbackResponseAttributes> getResponsesForQuestion(String questionId) {
+        ensureIndexesAreCurrent();
+        if (responsesByQuestion == null) {
+            responsesByQuestion = new HashMap<String, List<FeedbackResponseAttributes>>();
+            for (FeedbackResponseAttributes response : responses) {
+                addToIndex(responsesByQuestion, response.feedbackQuestionId, response);
+            }
+        }
+        return getFromIndex(responsesByQuestion, questionId);
+    }
+    
+    /**
+     * @return a copy of the responses sorted by {@code comparator}. The copy is made once per comparator.
+     */
+    private List<FeedbackResponseAttributes> getResponsesSortedBy(Comparator<FeedbackResponseAttributes> comparator) {
+        ensureIndexesAreCurrent();
+        List<FeedbackResponseAttributes> sorted = sortedResponses.get(comparator);
+        if (sorted == null) {
+            sorted = new ArrayList<FeedbackResponseAttributes>(responses);
+            Collections.sort(sorted, comparator);
+            sortedResponses.put(comparator, sorted);
+        }
+        return sorted;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T getGroupedView(String viewName) {
+        ensureIndexesAreCurrent();
+        return (T) groupedViews.get(viewName);
+    }
+    
+    private <T> T putGroupedView(String viewName, T view) {
+        groupedViews.put(viewName, view);
+        return view;
+    }
+    
+    /**
+     * Wraps {@code groups} and its lists in unmodifiable views, as a memoized view is shared by every caller.
+     */
+    private static <K> Map<K, List<FeedbackResponseAttributes>> unmodifiableGroups(
+            Map<K, List<FeedbackResponseAttributes>> groups) {
+        for (Map.Entry<K, List<FeedbackResponseAttributes>> group : groups.entrySet()) {
+            group.setValue(Collections.unmodifiableList(group.getValue()));
+        }
+        return Collections.unmodifiableMap(groups);
+    }
+    
+    private static <K, L> Map<K, Map<L, List<FeedbackResponseAttributes>>> unmodifiableNestedGroups(
+            Map<K, Map<L, List<FeedbackResponseAttributes>>> groups) {
+        for (Map.Entry<K, Map<L, List<FeedbackResponseAttributes>>> group : groups.entrySet()) {
+            group.setValue(unmodifiableGroups(group.getValue()));
+        }
+        return Collections.unmodifiableMap(groups);
+    }
+    
+    /**
+     * Discards the indexes and grouped views if the responses list was replaced or resized since they were built.
+     */
+    private void ensureIndexesAreCurrent() {
+        if (indexedResponses == responses && indexedResponsesSize == responses.size()) {
+            return;
+        }
+        indexedResponses = responses;
+        indexedResponsesSize = responses.size();
+        responsesByQuestion = null;
+        sortedResponses.clear();
+        groupedViews.clear();
+    }
+    
+    private static void addToIndex(Map<String, List<FeedbackResponseAttributes>> index, String key,
+                                   FeedbackResponseAttributes response) {
+        List<FeedbackResponseAttributes> responsesForKey = index.get(key);
+        if (responsesForKey == null) {
+            responsesForKey = new ArrayList<FeedbackResponseAttributes>();
+            index.put(key, responsesForKey);
+        }
+        responsesForKey.add(response);
+    }
+    
+    private static List<FeedbackResponseAttributes> getFromIndex(Map<String, List<FeedbackResponseAttributes>> index,
+                                                                 String key) {
+        List<FeedbackResponseAttributes> responsesForKey = index.get(key);
+        if (responsesForKey == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(responsesForKey);
+    }
+
     public FeedbackSessionAttributes getFeedbackSession() {
         return feedbackSession;
     }
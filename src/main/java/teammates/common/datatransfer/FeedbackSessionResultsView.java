@@ -0,0 +1,50 @@
+package teammates.common.datatransfer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents the results of a published feedback session as seen by one user,
+ * after the responses and comments have been filtered by visibility and anonymized.
+ * <br> It holds what a {@link FeedbackSessionResultsBundle} is built from, except for the session and the roster,
+ * so that the results can be kept and the bundle rebuilt without querying and filtering the responses again.
+ */
+public class FeedbackSessionResultsView {
+    public List<FeedbackResponseAttributes> responses;
+    public Map<String, FeedbackQuestionAttributes> questions;
+    public Map<String, String> emailNameTable;
+    public Map<String, String> emailLastNameTable;
+    public Map<String, String> emailTeamNameTable;
+    public Map<String, Set<String>> sectionTeamNameTable;
+    public Map<String, boolean[]> visibilityTable;
+    public Map<String, List<FeedbackResponseCommentAttributes>> responseComments;
+
+    public FeedbackSessionResultsView(List<FeedbackResponseAttributes> responses,
+                                      Map<String, FeedbackQuestionAttributes> questions,
+                                      Map<String, String> emailNameTable,
+                                      Map<String, String> emailLastNameTable,
+                                      Map<String, String> emailTeamNameTable,
+                                      Map<String, Set<String>> sectionTeamNameTable,
+                                      Map<String, boolean[]> visibilityTable,
+                                      Map<String, List<FeedbackResponseCommentAttributes>> responseComments) {
+        this.responses = responses;
+        this.questions = questions;
+        this.emailNameTable = emailNameTable;
+        this.emailLastNameTable = emailLastNameTable;
+        this.emailTeamNameTable = emailTeamNameTable;
+        this.sectionTeamNameTable = sectionTeamNameTable;
+        this.visibilityTable = visibilityTable;
+        this.responseComments = responseComments;
+    }
+
+    /**
+     * Builds the bundle of the results. The bundle takes over the collections of this view.
+     */
+    public FeedbackSessionResultsBundle toBundle(FeedbackSessionAttributes session, CourseRoster roster) {
+        return new FeedbackSessionResultsBundle(
+                session, responses, questions, emailNameTable,
+                emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
+                visibilityTable, new FeedbackSessionResponseStatus(), roster, responseComments);
+    }
+}
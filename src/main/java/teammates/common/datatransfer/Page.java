@@ -0,0 +1,34 @@
+package teammates.common.datatransfer;
+
+import java.util.List;
+
+/**
+ * Represents one page of the results of a query.
+ * <br> Contains:
+ * <br> * The results in the page.
+ * <br> * An opaque cursor to get the next page with, which can be passed across requests.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String cursor;
+
+    public Page(List<T> items, String cursor) {
+        this.items = items;
+        this.cursor = cursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the cursor to get the next page with, or null if this is the last page.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean hasNextPage() {
+        return cursor != null;
+    }
+}
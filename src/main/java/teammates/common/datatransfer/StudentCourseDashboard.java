@@ -0,0 +1,51 @@
+package teammates.common.datatransfer;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents what the home page of a student shows for one of the student's courses:
+ * the course, its feedback sessions and whether the student has submitted each of them.<br>
+ * Whether a session is open, closed, published or visible is not kept here, as it changes with time;
+ * it is read from the {@link FeedbackSessionAttributes} whenever the page is shown.
+ */
+public class StudentCourseDashboard {
+    public CourseAttributes course;
+    /**
+     * The sessions of the course. When cached, these are all the sessions of the course, as sessions become
+     * visible with time; when returned by the logic, only the sessions viewable to the student.
+     */
+    public List<FeedbackSessionAttributes> feedbackSessions;
+    /** Whether the student is also an instructor of the course, who can view sessions before they are visible */
+    public boolean isInstructorOfCourse;
+    /** Names of the sessions with questions for students, or with responses visible to students */
+    public Set<String> sessionNamesForStudents;
+    /** Names of the sessions the student has submitted, or which have no questions for students */
+    public Set<String> submittedSessionNames;
+    
+    public StudentCourseDashboard(CourseAttributes course, List<FeedbackSessionAttributes> feedbackSessions,
+                                  boolean isInstructorOfCourse, Set<String> sessionNamesForStudents,
+                                  Set<String> submittedSessionNames) {
+        this.course = course;
+        this.feedbackSessions = feedbackSessions;
+        this.isInstructorOfCourse = isInstructorOfCourse;
+        this.sessionNamesForStudents = sessionNamesForStudents;
+        this.submittedSessionNames = submittedSessionNames;
+    }
+    
+    public boolean isForStudents(FeedbackSessionAttributes session) {
+        return sessionNamesForStudents.contains(session.getFeedbackSessionName());
+    }
+    
+    public boolean hasSubmitted(FeedbackSessionAttributes session) {
+        return submittedSessionNames.contains(session.getFeedbackSessionName());
+    }
+    
+    public CourseDetailsBundle toCourseDetailsBundle() {
+        CourseDetailsBundle courseDetails = new CourseDetailsBundle(course);
+        for (FeedbackSessionAttributes session : feedbackSessions) {
+            courseDetails.feedbackSessions.add(new FeedbackSessionDetailsBundle(session));
+        }
+        return courseDetails;
+    }
+}
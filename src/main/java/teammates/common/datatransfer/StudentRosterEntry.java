@@ -0,0 +1,34 @@
+package teammates.common.datatransfer;
+
+import teammates.common.util.Const;
+import teammates.common.util.Sanitizer;
+import teammates.storage.entity.Student;
+
+/**
+ * Represents the fields of a student that roster lookups need.
+ * <br> Use this instead of {@link StudentAttributes} when only the identity, name, team or section
+ * of the students is needed, as it is smaller to cache, copy and hold in memory.
+ */
+public class StudentRosterEntry {
+    public String email;
+    public String name;
+    public String lastName;
+    public String team;
+    public String section;
+    public String googleId;
+
+    public StudentRosterEntry(Student student) {
+        // normalized in the same way as in StudentAttributes
+        this.email = student.getEmail();
+        this.name = student.getName();
+        this.lastName = student.getLastName();
+        this.team = Sanitizer.sanitizeTitle(student.getTeamName());
+        this.section = (student.getSectionName() == null) ? Const.DEFAULT_SECTION
+                                                          : Sanitizer.sanitizeTitle(student.getSectionName());
+        this.googleId = (student.getGoogleId() == null) ? "" : student.getGoogleId();
+    }
+
+    public boolean isRegistered() {
+        return googleId != null && !googleId.isEmpty();
+    }
+}
@@ -21,6 +21,7 @@ public class ActivityLogEntry {
     
     public static String[] automatedActions = {
             Const.AutomatedActionNames.AUTOMATED_LOG_COMPILATION,
+            Const.AutomatedActionNames.AUTOMATED_PERFORMANCE_DIGEST,
             Const.AutomatedActionNames.AUTOMATED_FEEDBACKSESSION_CLOSING_MAIL_ACTION,
             Const.AutomatedActionNames.AUTOMATED_FEEDBACKSESSION_OPENING_MAIL_ACTION,
             Const.AutomatedActionNames.AUTOMATED_FEEDBACKSESSION_PUBLISHED_MAIL_ACTION,
@@ -33,7 +34,8 @@ public class ActivityLogEntry {
     
     // The following constants describe the positions of the attributes
     // in the log message. i.e
-    // TEAMMATESLOG|||SERVLET_NAME|||ACTION|||TO_SHOW|||ROLE|||NAME|||GOOGLE_ID|||EMAIL|||MESSAGE(IN HTML)|||URL|||TIME_TAKEN
+    // TEAMMATESLOG|||SERVLET_NAME|||ACTION|||TO_SHOW|||ROLE|||NAME|||GOOGLE_ID|||EMAIL|||MESSAGE(IN HTML)|||URL|||ID
+    // |||TIME_TAKEN|||REQUEST_METRICS
     public static final int POSITION_OF_SERVLETNAME = 1;
     public static final int POSITION_OF_ACTION = 2;
     public static final int POSITION_OF_TOSHOW = 3;
@@ -45,6 +47,7 @@ public class ActivityLogEntry {
     public static final int POSITION_OF_URL = 9;
     public static final int POSITION_OF_ID = 10;
     public static final int POSITION_OF_TIMETAKEN = 11;
+    public static final int POSITION_OF_REQUEST_METRICS = 12;
     
     private static final int POSITION_OF_TIMETAKEN_IN_OLD_LOGS = 10;
 
@@ -63,6 +66,7 @@ public class ActivityLogEntry {
     private String message;
     private String url;
     private Long timeTaken;
+    private RequestMetrics requestMetrics;
     private String id;  // id can be in the form of <googleId>%<time> e.g. bamboo3250%20151103170618465
                         // or <studentemail>%<courseId>%<time> (for unregistered students)
                         //     e.g. bamboo@gmail.tmt%instructor.ema-demo%20151103170618465
@@ -237,10 +241,14 @@ public class ActivityLogEntry {
                 timeTaken = Long.parseLong(tokens[POSITION_OF_TIMETAKEN_IN_OLD_LOGS].trim());
             } else {
                 // TEAMMATESLOG|||SERVLET_NAME|||ACTION|||TO_SHOW|||ROLE|||NAME|||GOOGLE_ID|||EMAIL|||
-                // MESSAGE(IN HTML)|||URL|||ID|||TIME_TAKEN
+                // MESSAGE(IN HTML)|||URL|||ID|||TIME_TAKEN|||REQUEST_METRICS
+                // where the time taken and request metrics are absent from some logs
                 id = tokens[POSITION_OF_ID];
-                timeTaken = tokens.length == 12 ? Long.parseLong(tokens[POSITION_OF_TIMETAKEN].trim())
-                                                : null;
+                timeTaken = tokens.length > POSITION_OF_TIMETAKEN ? Long.parseLong(tokens[POSITION_OF_TIMETAKEN].trim())
+                                                                  : null;
+                requestMetrics = tokens.length > POSITION_OF_REQUEST_METRICS
+                               ? RequestMetrics.fromLogString(tokens[POSITION_OF_REQUEST_METRICS])
+                               : null;
             }
         }
     }
@@ -456,6 +464,10 @@ public class ActivityLogEntry {
         return servletName;
     }
     
+    public String getUrl() {
+        return url;
+    }
+    
     public String getAction() {
         return action;
     }
@@ -481,6 +493,13 @@ public class ActivityLogEntry {
         return timeTaken;
     }
     
+    /**
+     * @return the metrics of the request logged by this entry, or null if they were not logged
+     */
+    public RequestMetrics getRequestMetrics() {
+        return requestMetrics;
+    }
+    
     /**
      * Generates the ID for the log. If the googleId is unknown or unregistered,
      * the email and course of the {@code student} will be used to construct the id.
@@ -604,9 +623,31 @@ public class ActivityLogEntry {
                          + "<div>" + getMessageInfo() + "</div>"
                      + "</form>"
                  + "</td>"
+                 + getRequestMetricsForTableRowAsHtml()
              + "</tr>";
     }
     
+    /**
+     * @return a cell for each of the request metrics, empty if the metrics were not logged.
+     *         The storage cell lists the time of each storage method in its tooltip.
+     */
+    private String getRequestMetricsForTableRowAsHtml() {
+        if (requestMetrics == null) {
+            return "<td></td><td></td><td></td><td></td><td></td><td></td><td></td><td></td>";
+        }
+        Long cpuMillis = requestMetrics.getCpuMillis();
+        return "<td>" + requestMetrics.getQueries() + "</td>"
+             + "<td>" + requestMetrics.getEntitiesRead() + "</td>"
+             + "<td>" + requestMetrics.getEntitiesWritten() + "</td>"
+             + "<td>" + requestMetrics.getSearchCalls() + "</td>"
+             + "<td>" + requestMetrics.getTaskEnqueues() + "</td>"
+             + "<td>" + requestMetrics.getEmails() + "</td>"
+             + "<td title=\"" + StringHelper.toString(requestMetrics.getStorageCallsSlowestFirst(), "&#10;") + "\">"
+                 + requestMetrics.getStorageMillis()
+             + "</td>"
+             + "<td>" + (cpuMillis == null ? "" : cpuMillis) + "</td>";
+    }
+    
     private String getAvailableIdenficationString() {
         if (!getGoogleId().contentEquals("Unregistered") && !getGoogleId().contentEquals("Unknown")) {
             return getGoogleId();
@@ -0,0 +1,83 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template that has been split once at its <code>${...}</code> placeholders, so that it can be
+ * populated many times (e.g. once per email recipient) without searching the template again.<br>
+ * Placeholders for which no value is given are kept as they are, so that they can be filled in later.
+ */
+public final class CompiledTemplate {
+
+    private static final String PLACEHOLDER_START = "${";
+    private static final char PLACEHOLDER_END = '}';
+
+    /** The text before each placeholder, followed by the text after the last placeholder. */
+    private final String[] literals;
+
+    /** The placeholders, including the enclosing <code>${</code> and <code>}</code>. */
+    private final String[] placeholders;
+
+    private final int literalsLength;
+
+    private CompiledTemplate(List<String> literals, List<String> placeholders) {
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.placeholders = placeholders.toArray(new String[placeholders.size()]);
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    public static CompiledTemplate compile(String template) {
+        List<String> literals = new ArrayList<String>();
+        List<String> placeholders = new ArrayList<String>();
+
+        int literalStart = 0;
+        int placeholderStart = template.indexOf(PLACEHOLDER_START);
+        while (placeholderStart != -1) {
+            int placeholderEnd = template.indexOf(PLACEHOLDER_END, placeholderStart + PLACEHOLDER_START.length());
+            if (placeholderEnd == -1) {
+                break;
+            }
+            literals.add(template.substring(literalStart, placeholderStart));
+            placeholders.add(template.substring(placeholderStart, placeholderEnd + 1));
+            literalStart = placeholderEnd + 1;
+            placeholderStart = template.indexOf(PLACEHOLDER_START, literalStart);
+        }
+        literals.add(template.substring(literalStart));
+
+        return new CompiledTemplate(literals, placeholders);
+    }
+
+    /**
+     * Populates the template in one pass over it.
+     * @param buffer The buffer to populate the template in. It is cleared first, so that
+     *                   callers populating the template many times can reuse it.
+     * @param values Array of a variable, even number of key-value pairs, as in
+     *                   {@link Templates#populateTemplate(String, String...)}
+     * @return The populated template
+     */
+    public String populate(StringBuilder buffer, String... values) {
+        Assumption.assertTrue("The number of values passed in must be even", values.length % 2 == 0);
+        buffer.setLength(0);
+        buffer.ensureCapacity(literalsLength);
+        for (int i = 0; i < placeholders.length; i++) {
+            buffer.append(literals[i]).append(getValue(placeholders[i], values));
+        }
+        buffer.append(literals[placeholders.length]);
+        return buffer.toString();
+    }
+
+    private static String getValue(String placeholder, String... values) {
+        for (int i = 0; i < values.length; i += 2) {
+            if (placeholder.equals(values[i])) {
+                return values[i + 1];
+            }
+        }
+        return placeholder;
+    }
+
+}
@@ -26,6 +26,15 @@ public final class Config {
     /** The value of the "app.persistence.checkduration" in build.properties file */
     public static final int PERSISTENCE_CHECK_DURATION;
     
+    /** The value of the "app.cache.shared.backend" in build.properties file, "local" if absent */
+    public static final String SHARED_CACHE_BACKEND;
+    
+    /** The value of the "app.cache.shared.size" in build.properties file, 0 if absent */
+    public static final int SHARED_CACHE_SIZE;
+    
+    /** The value of the "app.cache.shared.expiry" in build.properties file, 3600 if absent */
+    public static final int SHARED_CACHE_EXPIRY_SECONDS;
+    
     /** The value of the "app.crashreport.email" in build.properties file */
     public static final String SUPPORT_EMAIL;
     
@@ -50,6 +59,9 @@ public final class Config {
         GCS_BUCKETNAME = properties.getProperty("app.gcs.bucketname");
         ENCRYPTION_KEY = properties.getProperty("app.encryption.key");
         PERSISTENCE_CHECK_DURATION = Integer.valueOf(properties.getProperty("app.persistence.checkduration"));
+        SHARED_CACHE_BACKEND = properties.getProperty("app.cache.shared.backend", "local").trim();
+        SHARED_CACHE_SIZE = Integer.valueOf(properties.getProperty("app.cache.shared.size", "0").trim());
+        SHARED_CACHE_EXPIRY_SECONDS = Integer.valueOf(properties.getProperty("app.cache.shared.expiry", "3600").trim());
         SUPPORT_EMAIL = properties.getProperty("app.crashreport.email");
         STUDENT_MOTD_URL = properties.getProperty("app.student.motd.url");
         SENDGRID_USERNAME = properties.getProperty("app.sendgrid.username");
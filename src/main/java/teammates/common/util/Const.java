@@ -154,6 +154,7 @@ public final class Const {
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_TASK_QUEUE =
                 "feedback-remind-email-particular-users-queue";
         public static final String SEND_EMAIL_TASK_QUEUE = "send-email-queue";
+        public static final String SEARCH_DOCUMENT_TASK_QUEUE = "search-document";
         
         public static final String QUEUE_XML_PATH = "src/main/webapp/WEB-INF/queue.xml";
         public static final String DEFAULT_PROFILE_PICTURE_PATH = "/images/profile_picture_default.png";
@@ -181,6 +182,9 @@ public final class Const {
         
         public static final String COURSE_BACKUP_LOG_MSG = "Recently modified course::";
         
+        /** Number of entities fetched at a time when walking through all the entities of a course or session */
+        public static final int DATASTORE_PAGE_SIZE = 500;
+        
         private SystemParams() {
             // utility class
         }
@@ -740,6 +744,8 @@ public final class Const {
         public static final String ENROLLMENT_DETAILS = "enrollmentdetails";
         
         public static final String SEARCH_KEY = "searchkey";
+        public static final String SEARCH_INDEX_NAME = "searchindexname";
+        public static final String SEARCH_DOCUMENT_ENTITY_ID = "searchdocumententityid";
         public static final String DISPLAY_ARCHIVE = "displayarchive";
         
         //Parameters for checking persistence of data during Eventual Consistency
@@ -941,11 +947,13 @@ public final class Const {
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_WORKER =
                                     "/feedbackRemindEmailParticularUsersWorker";
         public static final String SEND_EMAIL_WORKER = "/sendEmailWorker";
+        public static final String SEARCH_DOCUMENT_WORKER = "/searchDocumentWorker";
     }
     
     public class AutomatedActionNames {
         //real servlet names to be logged for automated actions, not for url pattern recognition
         public static final String AUTOMATED_LOG_COMPILATION = "logCompilation";
+        public static final String AUTOMATED_PERFORMANCE_DIGEST = "performanceDigest";
         public static final String AUTOMATED_FEEDBACKSESSION_CLOSING_MAIL_ACTION = "feedbackSessionClosingMailAction";
         public static final String AUTOMATED_FEEDBACKSESSION_OPENING_MAIL_ACTION = "feedbackSessionOpeningMailAction";
         public static final String AUTOMATED_FEEDBACKSESSION_PUBLISHED_MAIL_ACTION = "feedbackSessionPublishedMailAction";
@@ -0,0 +1,319 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.appengine.api.quota.QuotaService;
+import com.google.appengine.api.quota.QuotaServiceFactory;
+
+/**
+ * Collects what a request costs: the datastore queries it runs, the entities it reads and writes,
+ * its search API calls, task enqueues and emails, and the time spent in API calls made by
+ * each method of the storage layer (the *Db classes).<br>
+ * Each request has its own metrics, started by {@link #startRequest()} and finished by {@link #finishRequest()}.
+ * Counts made outside of a request are ignored.<br>
+ * The metrics are appended to the activity log line of the request (see {@link #toLogString()})
+ * and shown in the admin activity log.
+ */
+public class RequestMetrics {
+
+    private static final String FIELD_SEPARATOR = ";";
+    private static final String KEY_VALUE_SEPARATOR = "=";
+    private static final String CALL_SEPARATOR = ",";
+    private static final String CALL_FIELD_SEPARATOR = ":";
+
+    private static final ThreadLocal<RequestMetrics> PER_REQUEST_METRICS = new ThreadLocal<RequestMetrics>();
+
+    private long queries;
+    private long entitiesRead;
+    private long entitiesWritten;
+    private long searchCalls;
+    private long taskEnqueues;
+    private long emails;
+    /** CPU time of the request, null if it cannot be measured */
+    private Long cpuMillis;
+    /** Number of calls and total time in milliseconds, for each storage method */
+    private final Map<String, long[]> storageCalls = new LinkedHashMap<String, long[]>();
+
+    private final long startCpuMegaCycles;
+
+    private RequestMetrics(long startCpuMegaCycles) {
+        this.startCpuMegaCycles = startCpuMegaCycles;
+    }
+
+    public static void startRequest() {
+        PER_REQUEST_METRICS.set(new RequestMetrics(getCpuMegaCycles()));
+    }
+
+    /**
+     * @return the metrics of the current request, or null if there is no current request
+     */
+    public static RequestMetrics current() {
+        return PER_REQUEST_METRICS.get();
+    }
+
+    /**
+     * Makes {@code metrics}, the metrics of a request, also collect what the current thread does,
+     * e.g. when the thread makes reads on behalf of the request. Does nothing if {@code metrics} is null.
+     */
+    public static void continueRequest(RequestMetrics metrics) {
+        if (metrics != null) {
+            PER_REQUEST_METRICS.set(metrics);
+        }
+    }
+
+    /**
+     * Ends the metrics of the current request. To be called at the end of every request.
+     */
+    public static void finishRequest() {
+        PER_REQUEST_METRICS.remove();
+    }
+
+    public static void countQuery() {
+        RequestMetrics metrics = current();
+        if (metrics != null) {
+            metrics.addQueries(1);
+        }
+    }
+
+    public static void countEntityRead() {
+        RequestMetrics metrics = current();
+        if (metrics != null) {
+            metrics.addEntitiesRead(1);
+        }
+    }
+
+    public static void countEntityWritten() {
+        RequestMetrics metrics = current();
+        if (metrics != null) {
+            metrics.addEntitiesWritten(1);
+        }
+    }
+
+    public static void countSearchCall() {
+        RequestMetrics metrics = current();
+        if (metrics != null) {
+            metrics.addSearchCalls(1);
+        }
+    }
+
+    public static void countTaskEnqueues(int tasks) {
+        RequestMetrics metrics = current();
+        if (metrics != null) {
+            metrics.addTaskEnqueues(tasks);
+        }
+    }
+
+    public static void countEmail() {
+        RequestMetrics metrics = current();
+        if (metrics != null) {
+            metrics.addEmails(1);
+        }
+    }
+
+    private synchronized void addQueries(long count) {
+        queries += count;
+    }
+
+    private synchronized void addEntitiesRead(long count) {
+        entitiesRead += count;
+    }
+
+    private synchronized void addEntitiesWritten(long count) {
+        entitiesWritten += count;
+    }
+
+    private synchronized void addSearchCalls(long count) {
+        searchCalls += count;
+    }
+
+    private synchronized void addTaskEnqueues(long count) {
+        taskEnqueues += count;
+    }
+
+    private synchronized void addEmails(long count) {
+        emails += count;
+    }
+
+    /**
+     * Adds a call that took {@code millis} to the storage method {@code method}.
+     * May be called from a thread other than the one of the request, e.g. when an asynchronous call completes.
+     */
+    public synchronized void addStorageCall(String method, long millis) {
+        long[] callsAndMillis = storageCalls.get(method);
+        if (callsAndMillis == null) {
+            callsAndMillis = new long[2];
+            storageCalls.put(method, callsAndMillis);
+        }
+        callsAndMillis[0]++;
+        callsAndMillis[1] += millis;
+    }
+
+    public synchronized long getQueries() {
+        return queries;
+    }
+
+    public synchronized long getEntitiesRead() {
+        return entitiesRead;
+    }
+
+    public synchronized long getEntitiesWritten() {
+        return entitiesWritten;
+    }
+
+    public synchronized long getSearchCalls() {
+        return searchCalls;
+    }
+
+    public synchronized long getTaskEnqueues() {
+        return taskEnqueues;
+    }
+
+    public synchronized long getEmails() {
+        return emails;
+    }
+
+    /**
+     * @return the CPU time of the request in milliseconds, or null if it was not measured
+     */
+    public synchronized Long getCpuMillis() {
+        return cpuMillis;
+    }
+
+    /**
+     * @return the total time in milliseconds of the API calls made by the storage methods
+     */
+    public synchronized long getStorageMillis() {
+        long storageMillis = 0;
+        for (long[] callsAndMillis : storageCalls.values()) {
+            storageMillis += callsAndMillis[1];
+        }
+        return storageMillis;
+    }
+
+    /**
+     * @return the storage methods called, with their number of calls and total time,
+     *         e.g. "StudentsDb.getStudentsForCourse: 2 calls, 35 ms", slowest first
+     */
+    public synchronized List<String> getStorageCallsSlowestFirst() {
+        List<Map.Entry<String, long[]>> calls = new ArrayList<Map.Entry<String, long[]>>(storageCalls.entrySet());
+        Collections.sort(calls, new Comparator<Map.Entry<String, long[]>>() {
+            @Override
+            public int compare(Map.Entry<String, long[]> call1, Map.Entry<String, long[]> call2) {
+                return Long.compare(call2.getValue()[1], call1.getValue()[1]);
+            }
+        });
+        List<String> callDescriptions = new ArrayList<String>();
+        for (Map.Entry<String, long[]> call : calls) {
+            callDescriptions.add(call.getKey() + ": " + call.getValue()[0] + " calls, " + call.getValue()[1] + " ms");
+        }
+        return callDescriptions;
+    }
+
+    /**
+     * @return the metrics in the form used in the activity log, which contains no "|||". e.g.
+     *         {@code queries=3;read=40;written=2;search=0;tasks=1;emails=0;cpu=120;calls=StudentsDb.getStudents:2:35}
+     *         The CPU time of the current request is measured when this is called.
+     */
+    public synchronized String toLogString() {
+        if (cpuMillis == null && startCpuMegaCycles >= 0) {
+            long cpuMegaCycles = getCpuMegaCycles();
+            if (cpuMegaCycles >= 0) {
+                double cpuSeconds = QuotaServiceFactory.getQuotaService()
+                                                       .convertMegacyclesToCpuSeconds(cpuMegaCycles - startCpuMegaCycles);
+                cpuMillis = Math.round(1000 * cpuSeconds);
+            }
+        }
+
+        StringBuilder calls = new StringBuilder();
+        for (Map.Entry<String, long[]> call : storageCalls.entrySet()) {
+            if (calls.length() > 0) {
+                calls.append(CALL_SEPARATOR);
+            }
+            calls.append(call.getKey()).append(CALL_FIELD_SEPARATOR).append(call.getValue()[0])
+                 .append(CALL_FIELD_SEPARATOR).append(call.getValue()[1]);
+        }
+
+        return "queries" + KEY_VALUE_SEPARATOR + queries + FIELD_SEPARATOR
+               + "read" + KEY_VALUE_SEPARATOR + entitiesRead + FIELD_SEPARATOR
+               + "written" + KEY_VALUE_SEPARATOR + entitiesWritten + FIELD_SEPARATOR
+               + "search" + KEY_VALUE_SEPARATOR + searchCalls + FIELD_SEPARATOR
+               + "tasks" + KEY_VALUE_SEPARATOR + taskEnqueues + FIELD_SEPARATOR
+               + "emails" + KEY_VALUE_SEPARATOR + emails + FIELD_SEPARATOR
+               + "cpu" + KEY_VALUE_SEPARATOR + (cpuMillis == null ? "" : cpuMillis) + FIELD_SEPARATOR
+               + "calls" + KEY_VALUE_SEPARATOR + calls;
+    }
+
+    /**
+     * Parses metrics in the form produced by {@link #toLogString()}. Unknown or malformed fields are ignored.
+     */
+    public static RequestMetrics fromLogString(String logString) {
+        RequestMetrics metrics = new RequestMetrics(-1);
+        for (String field : logString.trim().split(FIELD_SEPARATOR)) {
+            String[] keyValue = field.split(KEY_VALUE_SEPARATOR, 2);
+            if (keyValue.length != 2 || keyValue[1].isEmpty()) {
+                continue;
+            }
+            try {
+                metrics.setField(keyValue[0], keyValue[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                // malformed field, e.g. from a log line that was cut off
+            }
+        }
+        return metrics;
+    }
+
+    private void setField(String key, String value) {
+        switch (key) {
+        case "queries":
+            queries = Long.parseLong(value);
+            break;
+        case "read":
+            entitiesRead = Long.parseLong(value);
+            break;
+        case "written":
+            entitiesWritten = Long.parseLong(value);
+            break;
+        case "search":
+            searchCalls = Long.parseLong(value);
+            break;
+        case "tasks":
+            taskEnqueues = Long.parseLong(value);
+            break;
+        case "emails":
+            emails = Long.parseLong(value);
+            break;
+        case "cpu":
+            cpuMillis = Long.parseLong(value);
+            break;
+        case "calls":
+            for (String call : value.split(CALL_SEPARATOR)) {
+                String[] callFields = call.split(CALL_FIELD_SEPARATOR);
+                storageCalls.put(callFields[0], new long[] { Long.parseLong(callFields[1]),
+                                                             Long.parseLong(callFields[2]) });
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * @return the CPU megacycles used so far by the current request, or -1 if they cannot be measured
+     */
+    private static long getCpuMegaCycles() {
+        try {
+            QuotaService quotaService = QuotaServiceFactory.getQuotaService();
+            if (quotaService.supports(QuotaService.DataType.CPU_TIME_IN_MEGACYCLES)) {
+                return quotaService.getCpuTimeInMegaCycles();
+            }
+        } catch (RuntimeException e) {
+            // e.g. outside of the App Engine environment
+        }
+        return -1;
+    }
+}
@@ -1,7 +1,17 @@
 package teammates.common.util;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public final class Templates {
     
+    /**
+     * The templates read from resource files, compiled when they are read.
+     * Only templates loaded through {@link #loadTemplate(String)} are kept, so this does not grow
+     * with the templates built at runtime.
+     */
+    private static final Map<String, CompiledTemplate> COMPILED_TEMPLATES = new ConcurrentHashMap<String, CompiledTemplate>();
+    
     public static final String INSTRUCTOR_SAMPLE_DATA = FileHelper.readResourceFile("InstructorSampleData.json");
     
     private Templates() {
@@ -10,183 +20,195 @@ public final class Templates {
     
     /**
      * Populates the HTML templates by replacing variables in the template string
-     * with the given value string.
+     * with the given value string.<br>
+     * The template is populated in one pass over it, so placeholders that appear in the
+     * given values are not replaced.
      * @param template The template html to be populated
      * @param values Array of a variable, even number of key-value pairs:
-     *                   { "key1", "val1", "key2", "val2", ... }
+     *                   { "${key1}", "val1", "${key2}", "val2", ... }
      * @return The populated template
      */
     public static String populateTemplate(String template, String... values) {
-        Assumption.assertTrue("The number of values passed in must be even", values.length % 2 == 0);
-        String populatedTemplate = template;
-        for (int i = 0; i < values.length; i += 2) {
-            populatedTemplate = populatedTemplate.replace(values[i], values[i + 1]);
-        }
-        return populatedTemplate;
+        return getCompiledTemplate(template).populate(new StringBuilder(), values);
+    }
+    
+    /**
+     * Returns the compiled form of the template, which is only compiled now if
+     * the template was not read from a resource file.
+     */
+    public static CompiledTemplate getCompiledTemplate(String template) {
+        CompiledTemplate compiledTemplate = COMPILED_TEMPLATES.get(template);
+        return compiledTemplate == null ? CompiledTemplate.compile(template) : compiledTemplate;
+    }
+    
+    private static String loadTemplate(String file) {
+        String template = FileHelper.readResourceFile(file);
+        COMPILED_TEMPLATES.put(template, CompiledTemplate.compile(template));
+        return template;
     }
     
     public static class EmailTemplates {
         public static final String USER_COURSE_JOIN =
-                FileHelper.readResourceFile("userEmailTemplate-courseJoin.html");
+                loadTemplate("userEmailTemplate-courseJoin.html");
         public static final String FRAGMENT_STUDENT_COURSE_JOIN =
-                FileHelper.readResourceFile("studentEmailFragment-courseJoin.html");
+                loadTemplate("studentEmailFragment-courseJoin.html");
         public static final String FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET =
-                FileHelper.readResourceFile("studentEmailFragment-googleIdReset.html");
+                loadTemplate("studentEmailFragment-googleIdReset.html");
         public static final String FRAGMENT_INSTRUCTOR_COURSE_JOIN =
-                FileHelper.readResourceFile("instructorEmailFragment-courseJoin.html");
+                loadTemplate("instructorEmailFragment-courseJoin.html");
         public static final String USER_FEEDBACK_SESSION =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSession.html");
+                loadTemplate("userEmailTemplate-feedbackSession.html");
         public static final String USER_FEEDBACK_SESSION_CLOSING =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSessionClosing.html");
+                loadTemplate("userEmailTemplate-feedbackSessionClosing.html");
         public static final String USER_FEEDBACK_SESSION_PUBLISHED =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSessionPublished.html");
+                loadTemplate("userEmailTemplate-feedbackSessionPublished.html");
         public static final String USER_PENDING_COMMENTS_CLEARED =
-                FileHelper.readResourceFile("userEmailTemplate-pendingCommentsCleared.html");
+                loadTemplate("userEmailTemplate-pendingCommentsCleared.html");
         public static final String SYSTEM_ERROR =
-                FileHelper.readResourceFile("systemErrorEmailTemplate.html");
+                loadTemplate("systemErrorEmailTemplate.html");
         public static final String NEW_INSTRUCTOR_ACCOUNT_WELCOME =
-                FileHelper.readResourceFile("newInstructorAccountWelcome.html");
+                loadTemplate("newInstructorAccountWelcome.html");
     }
     
     public static class FeedbackQuestionFormTemplates {
         public static final String FEEDBACK_QUESTION_ADDITIONAL_INFO =
-                FileHelper.readResourceFile("feedbackQuestionAdditionalInfoTemplate.html");
+                loadTemplate("feedbackQuestionAdditionalInfoTemplate.html");
 
         public static final String TEXT_SUBMISSION_FORM =
-                FileHelper.readResourceFile("feedbackQuestionTextSubmissionFormTemplate.html");
+                loadTemplate("feedbackQuestionTextSubmissionFormTemplate.html");
         public static final String TEXT_RESULT_STATS =
-                FileHelper.readResourceFile("feedbackQuestionTextResultStatsTemplate.html");
+                loadTemplate("feedbackQuestionTextResultStatsTemplate.html");
         
         public static final String MCQ_SUBMISSION_FORM =
-                FileHelper.readResourceFile("feedbackQuestionMcqSubmissionFormTemplate.html");
+                loadTemplate("feedbackQuestionMcqSubmissionFormTemplate.html");
         public static final String MCQ_SUBMISSION_FORM_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionMcqSubmissionFormOptionFragment.html");
+                loadTemplate("feedbackQuestionMcqSubmissionFormOptionFragment.html");
         public static final String MCQ_SUBMISSION_FORM_OTHEROPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionMcqSubmissionFormOtherOptionFragment.html");
+                loadTemplate("feedbackQuestionMcqSubmissionFormOtherOptionFragment.html");
         public static final String MCQ_EDIT_FORM =
-                FileHelper.readResourceFile("feedbackQuestionMcqEditFormTemplate.html");
+                loadTemplate("feedbackQuestionMcqEditFormTemplate.html");
         public static final String MCQ_EDIT_FORM_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionMcqEditFormOptionFragment.html");
+                loadTemplate("feedbackQuestionMcqEditFormOptionFragment.html");
         public static final String MCQ_ADDITIONAL_INFO_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionMcqAdditionalInfoFragment.html");
+                loadTemplate("feedbackQuestionMcqAdditionalInfoFragment.html");
         public static final String MCQ_ADDITIONAL_INFO =
-                FileHelper.readResourceFile("feedbackQuestionMcqAdditionalInfoTemplate.html");
+                loadTemplate("feedbackQuestionMcqAdditionalInfoTemplate.html");
         public static final String MCQ_RESULT_STATS =
-                FileHelper.readResourceFile("feedbackQuestionMcqResultStatsTemplate.html");
+                loadTemplate("feedbackQuestionMcqResultStatsTemplate.html");
         public static final String MCQ_RESULT_STATS_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionMcqResultStatsOptionFragment.html");
+                loadTemplate("feedbackQuestionMcqResultStatsOptionFragment.html");
         
         public static final String MSQ_SUBMISSION_FORM =
-                FileHelper.readResourceFile("feedbackQuestionMsqSubmissionFormTemplate.html");
+                loadTemplate("feedbackQuestionMsqSubmissionFormTemplate.html");
         public static final String MSQ_SUBMISSION_FORM_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionMsqSubmissionFormOptionFragment.html");
+                loadTemplate("feedbackQuestionMsqSubmissionFormOptionFragment.html");
         public static final String MSQ_SUBMISSION_FORM_OTHEROPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionMsqSubmissionFormOtherOptionFragment.html");
+                loadTemplate("feedbackQuestionMsqSubmissionFormOtherOptionFragment.html");
         public static final String MSQ_EDIT_FORM =
-                FileHelper.readResourceFile("feedbackQuestionMsqEditFormTemplate.html");
+                loadTemplate("feedbackQuestionMsqEditFormTemplate.html");
         public static final String MSQ_EDIT_FORM_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionMsqEditFormOptionFragment.html");
+                loadTemplate("feedbackQuestionMsqEditFormOptionFragment.html");
         public static final String MSQ_ADDITIONAL_INFO_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionMsqAdditionalInfoFragment.html");
+                loadTemplate("feedbackQuestionMsqAdditionalInfoFragment.html");
         public static final String MSQ_ADDITIONAL_INFO =
-                FileHelper.readResourceFile("feedbackQuestionMsqAdditionalInfoTemplate.html");
+                loadTemplate("feedbackQuestionMsqAdditionalInfoTemplate.html");
         
         public static final String NUMSCALE_EDIT_FORM =
-                FileHelper.readResourceFile("feedbackQuestionNumScaleEditFormTemplate.html");
+                loadTemplate("feedbackQuestionNumScaleEditFormTemplate.html");
         public static final String NUMSCALE_SUBMISSION_FORM =
-                FileHelper.readResourceFile("feedbackQuestionNumScaleSubmissionFormTemplate.html");
+                loadTemplate("feedbackQuestionNumScaleSubmissionFormTemplate.html");
         public static final String NUMSCALE_RESULT_STATS =
-                FileHelper.readResourceFile("feedbackQuestionNumScaleResultStatsTemplate.html");
+                loadTemplate("feedbackQuestionNumScaleResultStatsTemplate.html");
         public static final String NUMSCALE_RESULTS_STATS_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionNumScaleResultsStatsFragment.html");
+                loadTemplate("feedbackQuestionNumScaleResultsStatsFragment.html");
         public static final String NUMSCALE_RESULT_STATS_WITH_SELF_RESPONSE =
-                FileHelper.readResourceFile("feedbackQuestionNumScaleResultStatsTemplateWithSelfResponse.html");
+                loadTemplate("feedbackQuestionNumScaleResultStatsTemplateWithSelfResponse.html");
         public static final String NUMSCALE_RESULTS_STATS_FRAGMENT_WITH_SELF_RESPONSE =
-                FileHelper.readResourceFile("feedbackQuestionNumScaleResultsStatsFragmentWithSelfResponse.html");
+                loadTemplate("feedbackQuestionNumScaleResultsStatsFragmentWithSelfResponse.html");
         
         public static final String CONSTSUM_SUBMISSION_FORM =
-                FileHelper.readResourceFile("feedbackQuestionConstSumSubmissionFormTemplate.html");
+                loadTemplate("feedbackQuestionConstSumSubmissionFormTemplate.html");
         public static final String CONSTSUM_SUBMISSION_FORM_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionConstSumSubmissionFormOptionFragment.html");
+                loadTemplate("feedbackQuestionConstSumSubmissionFormOptionFragment.html");
         public static final String CONSTSUM_EDIT_FORM =
-                FileHelper.readResourceFile("feedbackQuestionConstSumEditFormTemplate.html");
+                loadTemplate("feedbackQuestionConstSumEditFormTemplate.html");
         public static final String CONSTSUM_EDIT_FORM_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionConstSumEditFormOptionFragment.html");
+                loadTemplate("feedbackQuestionConstSumEditFormOptionFragment.html");
         public static final String CONSTSUM_RESULT_OPTION_STATS =
-                FileHelper.readResourceFile("feedbackQuestionConstSumResultStatsTemplate.html");
+                loadTemplate("feedbackQuestionConstSumResultStatsTemplate.html");
         public static final String CONSTSUM_RESULT_STATS_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionConstSumResultStatsOptionFragment.html");
+                loadTemplate("feedbackQuestionConstSumResultStatsOptionFragment.html");
         public static final String CONSTSUM_RESULT_RECIPIENT_STATS =
-                FileHelper.readResourceFile("feedbackQuestionConstSumResultStatsRecipientTemplate.html");
+                loadTemplate("feedbackQuestionConstSumResultStatsRecipientTemplate.html");
         public static final String CONSTSUM_RESULT_STATS_RECIPIENTFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionConstSumResultStatsRecipientFragment.html");
+                loadTemplate("feedbackQuestionConstSumResultStatsRecipientFragment.html");
         
         public static final String CONTRIB_ADDITIONAL_INFO =
-                FileHelper.readResourceFile("feedbackQuestionContribAdditionalInfoTemplate.html");
+                loadTemplate("feedbackQuestionContribAdditionalInfoTemplate.html");
         public static final String CONTRIB_EDIT_FORM =
-                FileHelper.readResourceFile("feedbackQuestionContribEditFormTemplate.html");
+                loadTemplate("feedbackQuestionContribEditFormTemplate.html");
         public static final String CONTRIB_SUBMISSION_FORM =
-                FileHelper.readResourceFile("feedbackQuestionContribSubmissionFormTemplate.html");
+                loadTemplate("feedbackQuestionContribSubmissionFormTemplate.html");
         public static final String CONTRIB_RESULT_STATS =
-                FileHelper.readResourceFile("feedbackQuestionContribResultStatsTemplate.html");
+                loadTemplate("feedbackQuestionContribResultStatsTemplate.html");
         public static final String CONTRIB_RESULT_STATS_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionContribResultStatsFragment.html");
+                loadTemplate("feedbackQuestionContribResultStatsFragment.html");
         public static final String CONTRIB_RESULT_STATS_STUDENT =
-                FileHelper.readResourceFile("feedbackQuestionContribResultStatsStudentViewTemplate.html");
+                loadTemplate("feedbackQuestionContribResultStatsStudentViewTemplate.html");
         public static final String CONTRIB_RESULT_STATS_STUDENT_INFO =
-                FileHelper.readResourceFile("feedbackQuestionContribResultStatsStudentViewAdditionalInfo.html");
+                loadTemplate("feedbackQuestionContribResultStatsStudentViewAdditionalInfo.html");
         
         public static final String RUBRIC_SUBMISSION_FORM =
-                FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormTemplate.html");
+                loadTemplate("feedbackQuestionRubricSubmissionFormTemplate.html");
         public static final String RUBRIC_SUBMISSION_FORM_MOBILE_PANEL_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormMobilePanelFragment.html");
+                loadTemplate("feedbackQuestionRubricSubmissionFormMobilePanelFragment.html");
         public static final String RUBRIC_SUBMISSION_FORM_MOBILE_PANEL =
-                FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormMobilePanel.html");
+                loadTemplate("feedbackQuestionRubricSubmissionFormMobilePanel.html");
         public static final String RUBRIC_SUBMISSION_FORM_HEADER_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormHeaderFragment.html");
+                loadTemplate("feedbackQuestionRubricSubmissionFormHeaderFragment.html");
         public static final String RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormBodyFragment.html");
+                loadTemplate("feedbackQuestionRubricSubmissionFormBodyFragment.html");
         public static final String RUBRIC_SUBMISSION_FORM_BODY =
-                FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormBody.html");
+                loadTemplate("feedbackQuestionRubricSubmissionFormBody.html");
         public static final String RUBRIC_EDIT_FORM =
-                FileHelper.readResourceFile("feedbackQuestionRubricEditFormTemplate.html");
+                loadTemplate("feedbackQuestionRubricEditFormTemplate.html");
         public static final String RUBRIC_EDIT_FORM_HEADER_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRubricEditFormHeaderFragment.html");
+                loadTemplate("feedbackQuestionRubricEditFormHeaderFragment.html");
         public static final String RUBRIC_EDIT_FORM_WEIGHT_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRubricEditFormWeightFragment.html");
+                loadTemplate("feedbackQuestionRubricEditFormWeightFragment.html");
         public static final String RUBRIC_EDIT_FORM_BODY_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRubricEditFormBodyFragment.html");
+                loadTemplate("feedbackQuestionRubricEditFormBodyFragment.html");
         public static final String RUBRIC_EDIT_FORM_BODY =
-                FileHelper.readResourceFile("feedbackQuestionRubricEditFormBody.html");
+                loadTemplate("feedbackQuestionRubricEditFormBody.html");
         public static final String RUBRIC_RESULT_STATS =
-                FileHelper.readResourceFile("feedbackQuestionRubricResultStatsTemplate.html");
+                loadTemplate("feedbackQuestionRubricResultStatsTemplate.html");
         public static final String RUBRIC_RESULT_STATS_HEADER_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRubricResultStatsHeaderFragment.html");
+                loadTemplate("feedbackQuestionRubricResultStatsHeaderFragment.html");
         public static final String RUBRIC_RESULT_STATS_BODY_FRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRubricResultStatsBodyFragment.html");
+                loadTemplate("feedbackQuestionRubricResultStatsBodyFragment.html");
         public static final String RUBRIC_RESULT_STATS_BODY =
-                FileHelper.readResourceFile("feedbackQuestionRubricResultStatsBody.html");
+                loadTemplate("feedbackQuestionRubricResultStatsBody.html");
         public static final String RUBRIC_ADDITIONAL_INFO =
-                FileHelper.readResourceFile("feedbackQuestionRubricAdditionalInfoTemplate.html");
+                loadTemplate("feedbackQuestionRubricAdditionalInfoTemplate.html");
         
         public static final String RANK_SUBMISSION_FORM =
-                FileHelper.readResourceFile("feedbackQuestionRankSubmissionFormTemplate.html");
+                loadTemplate("feedbackQuestionRankSubmissionFormTemplate.html");
         public static final String RANK_SUBMISSION_FORM_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRankSubmissionFormOptionFragment.html");
+                loadTemplate("feedbackQuestionRankSubmissionFormOptionFragment.html");
         public static final String RANK_EDIT_RECIPIENTS_FORM =
-                FileHelper.readResourceFile("feedbackQuestionRankRecipientsEditFormTemplate.html");
+                loadTemplate("feedbackQuestionRankRecipientsEditFormTemplate.html");
         public static final String RANK_EDIT_OPTIONS_FORM =
-                FileHelper.readResourceFile("feedbackQuestionRankOptionsEditFormTemplate.html");
+                loadTemplate("feedbackQuestionRankOptionsEditFormTemplate.html");
         public static final String RANK_EDIT_FORM_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRankEditFormOptionFragment.html");
+                loadTemplate("feedbackQuestionRankEditFormOptionFragment.html");
         public static final String RANK_RESULT_OPTION_STATS =
-                FileHelper.readResourceFile("feedbackQuestionRankResultStatsTemplate.html");
+                loadTemplate("feedbackQuestionRankResultStatsTemplate.html");
         public static final String RANK_RESULT_STATS_OPTIONFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRankResultStatsOptionFragment.html");
+                loadTemplate("feedbackQuestionRankResultStatsOptionFragment.html");
         public static final String RANK_RESULT_RECIPIENT_STATS =
-                FileHelper.readResourceFile("feedbackQuestionRankResultStatsRecipientTemplate.html");
+                loadTemplate("feedbackQuestionRankResultStatsRecipientTemplate.html");
         public static final String RANK_RESULT_STATS_RECIPIENTFRAGMENT =
-                FileHelper.readResourceFile("feedbackQuestionRankResultStatsRecipientFragment.html");
+                loadTemplate("feedbackQuestionRankResultStatsRecipientFragment.html");
     }
     
     // TODO: Consider adding instructions for the feedback session into template?
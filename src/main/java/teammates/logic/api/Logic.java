@@ -1,5 +1,8 @@
 package teammates.logic.api;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -33,6 +36,7 @@ import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.InstructorSearchResultBundle;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentCourseDashboard;
 import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.datatransfer.StudentSearchResultBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
@@ -55,6 +59,7 @@ import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.InstructorsLogic;
+import teammates.logic.core.SearchDocumentsLogic;
 import teammates.logic.core.StudentsLogic;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -85,6 +90,7 @@ public class Logic {
     protected static FeedbackResponsesLogic feedbackResponsesLogic = FeedbackResponsesLogic.inst();
     protected static FeedbackResponseCommentsLogic feedbackResponseCommentsLogic = FeedbackResponseCommentsLogic.inst();
     protected static AdminEmailsLogic adminEmailsLogic = AdminEmailsLogic.inst();
+    protected static SearchDocumentsLogic searchDocumentsLogic = SearchDocumentsLogic.inst();
     
 
     /**
@@ -761,6 +767,21 @@ public class Logic {
         return coursesLogic.getCourseDetailsListForStudent(googleId);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * 
+     * @return What the home page of the student shows for each course the student is in:
+     *         the feedback sessions viewable to the student and whether the student has
+     *         submitted each of them.
+     */
+    public List<StudentCourseDashboard> getStudentCourseDashboards(String googleId)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
+        return feedbackSessionsLogic.getStudentCourseDashboards(googleId);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1539,6 +1560,28 @@ public class Logic {
                                                                                     section);
     }
     
+    /**
+     * Writes summary results (without comments) in CSV format to {@code out}, one question at a time.
+     * Unlike {@link #getFeedbackSessionResultSummaryAsCsv}, there is no limit on the number of responses. <br>
+     * Nothing is written if the export cannot be made. <br>
+     * Preconditions: <br>
+     * * All parameters except {@code section} are non-null. <br>
+     * * {@code session} exists and {@code instructor} can access it. <br>
+     * @param section the section to export, or null to export all sections
+     */
+    public void writeFeedbackSessionResultSummaryInSectionAsCsv(FeedbackSessionAttributes session,
+                                                                InstructorAttributes instructor,
+                                                                String section,
+                                                                Writer out)
+            throws IOException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, session);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, instructor);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, out);
+        
+        feedbackSessionsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(session, instructor, section, out);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -2116,6 +2159,21 @@ public class Logic {
         feedbackResponsesLogic.updateFeedbackResponse(feedbackResponse);
     }
     
+    /**
+     * Creates the new responses and updates the existing ones in {@code feedbackResponses}
+     * in one batch. A response that cannot be saved does not stop the others from being saved.
+     * See {@link FeedbackResponsesLogic#createOrUpdateFeedbackResponses}.<br>
+     * @return the exceptions of the responses that were not saved.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<Exception> createOrUpdateFeedbackResponses(Collection<FeedbackResponseAttributes> feedbackResponses)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackResponses);
+        return feedbackResponsesLogic.createOrUpdateFeedbackResponses(feedbackResponses);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -2125,6 +2183,17 @@ public class Logic {
         feedbackResponsesLogic.deleteFeedbackResponseAndCascade(feedbackResponse);
     }
     
+    /**
+     * Deletes the responses, which must all have ids, and their comments with batched datastore calls.
+     * See {@link FeedbackResponsesLogic#deleteFeedbackResponsesAndCascade}.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void deleteFeedbackResponses(Collection<FeedbackResponseAttributes> feedbackResponses) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackResponses);
+        feedbackResponsesLogic.deleteFeedbackResponsesAndCascade(feedbackResponses);
+    }
+    
     
     /**
      * Create a feedback response comment, and return the created comment
@@ -2195,6 +2264,16 @@ public class Logic {
         feedbackResponseCommentsLogic.putDocument(comment);
     }
     
+    /**
+     * Schedule the document for the given FeedbackResponseComment to be created or updated
+     * by the search document task queue.
+     * @param comment to be put into documents
+     */
+    public void schedulePutDocument(FeedbackResponseCommentAttributes comment) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, comment);
+        searchDocumentsLogic.scheduleDocumentUpdate(comment);
+    }
+    
     /**
      * Remove document for the given FeedbackResponseComment
      * @param comment to be removed from documents
@@ -2292,6 +2371,25 @@ public class Logic {
         commentsLogic.putDocument(comment);
     }
     
+    /**
+     * Schedule the document for the given Comment to be created or updated
+     * by the search document task queue.
+     * @param comment to be put into documents
+     */
+    public void schedulePutDocument(CommentAttributes comment) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, comment);
+        searchDocumentsLogic.scheduleDocumentUpdate(comment);
+    }
+    
+    /**
+     * Schedule all the documents of the given course to be rebuilt
+     * by the search document task queue.
+     */
+    public void scheduleSearchDocumentsRebuildForCourse(String courseId) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        searchDocumentsLogic.scheduleDocumentsRebuildForCourse(courseId);
+    }
+    
     /**
      * Remove document for the given Comment
      * @param comment to be removed from the documents
@@ -1,6 +1,8 @@
 package teammates.logic.automated;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Logger;
@@ -8,6 +10,7 @@ import java.util.logging.Logger;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 
+import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.Utils;
 import teammates.logic.core.Emails;
 
@@ -21,10 +24,13 @@ import com.google.appengine.api.log.RequestLogs;
 public class CompileLogs {
     private static final Logger log = Utils.getLogger();
     
+    /** Length of the window of requests summarized by the performance digest, matching its hourly timer */
+    private static final long PERFORMANCE_DIGEST_WINDOW = 1000 * 60 * 60;
+    
     public String doLogExam() {
         LogService logService = LogServiceFactory.getLogService();
 
-        long endTime = new java.util.Date().getTime();
+        long endTime = new Date().getTime();
         // Sets the range to 6 minutes to slightly overlap the 5 minute email timer
         long queryRange = 1000 * 60 * 6;
         long startTime = endTime - queryRange;
@@ -59,6 +65,42 @@ public class CompileLogs {
         return message.toString();
     }
 
+    /**
+     * Summarizes the time taken by the requests of the past hour, as logged in the activity log,
+     * and compares it against the hour before (see {@link PerformanceDigest}).
+     * @return the digest in HTML, or an empty string if no request was logged with its time taken
+     */
+    public String doPerformanceDigest() {
+        long endTime = new Date().getTime();
+        long startTime = endTime - PERFORMANCE_DIGEST_WINDOW;
+
+        PerformanceDigest digest = new PerformanceDigest(getActivityLogs(startTime, endTime),
+                                                         getActivityLogs(startTime - PERFORMANCE_DIGEST_WINDOW,
+                                                                         startTime - 1));
+        return digest.isEmpty() ? "" : digest.toHtml();
+    }
+    
+    private List<ActivityLogEntry> getActivityLogs(long startTime, long endTime) {
+        LogService logService = LogServiceFactory.getLogService();
+        LogQuery q = LogQuery.Builder.withDefaults()
+                                     .includeAppLogs(true)
+                                     .batchSize(1000)
+                                     .startTimeMillis(startTime)
+                                     .endTimeMillis(endTime)
+                                     .minLogLevel(LogLevel.INFO);
+        
+        List<ActivityLogEntry> activityLogs = new ArrayList<ActivityLogEntry>();
+        for (RequestLogs requestLogs : logService.fetch(q)) {
+            for (AppLogLine appLog : requestLogs.getAppLogLines()) {
+                String logMessage = appLog.getLogMessage();
+                if (logMessage != null && logMessage.contains("TEAMMATESLOG")) {
+                    activityLogs.add(new ActivityLogEntry(appLog));
+                }
+            }
+        }
+        return activityLogs;
+    }
+
     public void sendEmail(String logs) {
         // Do not send any emails if there are no severe logs; prevents spamming
         if (!logs.isEmpty()) {
@@ -72,4 +114,18 @@ public class CompileLogs {
             }
         }
     }
+
+    public void sendPerformanceDigest(String digest) {
+        // Do not send any emails if there were no requests to summarize
+        if (!digest.isEmpty()) {
+            Emails emails = new Emails();
+            MimeMessage message;
+            try {
+                message = emails.generatePerformanceDigestEmail(digest);
+                emails.sendLogReport(message);
+            } catch (UnsupportedEncodingException | MessagingException e) {
+                log.severe(e.getMessage());
+            }
+        }
+    }
 }
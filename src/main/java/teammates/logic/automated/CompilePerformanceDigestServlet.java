@@ -0,0 +1,22 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Const;
+
+@SuppressWarnings("serial")
+public class CompilePerformanceDigestServlet extends AutomatedRemindersServlet {
+    
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = Const.AutomatedActionNames.AUTOMATED_PERFORMANCE_DIGEST;
+        action = "send performance digest";
+
+        String message = "Compiling request latencies for performance digest";
+        logMessage(req, message);
+        
+        CompileLogs compileLog = new CompileLogs();
+        compileLog.sendPerformanceDigest(compileLog.doPerformanceDigest());
+    }
+}
@@ -1,17 +1,22 @@
 package teammates.logic.automated;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.Page;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.Utils;
 import teammates.logic.core.FeedbackResponsesLogic;
@@ -34,9 +39,9 @@ public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
                 .getValueFromRequestParameterMap(request, ParamsNames.COURSE_ID);
         Assumption.assertNotNull(courseId);
         
+        // null if the responses of all sessions in the course are to be adjusted
         this.sessionName = HttpRequestHelper
                 .getValueFromRequestParameterMap(request, ParamsNames.FEEDBACK_SESSION_NAME);
-        Assumption.assertNotNull(sessionName);
         
         this.enrollmentDetails = HttpRequestHelper
                 .getValueFromRequestParameterMap(request, ParamsNames.ENROLLMENT_DETAILS);
@@ -49,8 +54,8 @@ public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
         this.courseId = paramMap.get(ParamsNames.COURSE_ID);
         Assumption.assertNotNull(courseId);
         
+        // null if the responses of all sessions in the course are to be adjusted
         this.sessionName = paramMap.get(ParamsNames.FEEDBACK_SESSION_NAME);
-        Assumption.assertNotNull(sessionName);
         
         this.enrollmentDetails = paramMap.get(ParamsNames.ENROLLMENT_DETAILS);
         Assumption.assertNotNull(enrollmentDetails);
@@ -59,36 +64,57 @@ public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
     @Override
     public boolean execute() {
         
-
-        log.info("Adjusting submissions for feedback session :" + sessionName
-                 + "in course : " + courseId);
-        
-        FeedbackSessionAttributes feedbackSession = FeedbackSessionsLogic.inst()
-                .getFeedbackSession(sessionName, courseId);
-        
         String errorString =
                 "Error encountered while adjusting feedback session responses of %s in course : %s : %s\n%s";
         
-        if (feedbackSession == null) {
-            log.severe(String.format(errorString, sessionName, courseId, "feedback session is null", ""));
-            return false;
+        List<FeedbackSessionAttributes> feedbackSessions;
+        if (sessionName == null) {
+            log.info("Adjusting submissions for all feedback sessions in course : " + courseId);
+            feedbackSessions = FeedbackSessionsLogic.inst().getFeedbackSessionsForCourse(courseId);
+        } else {
+            log.info("Adjusting submissions for feedback session :" + sessionName
+                     + "in course : " + courseId);
+            FeedbackSessionAttributes feedbackSession = FeedbackSessionsLogic.inst()
+                    .getFeedbackSession(sessionName, courseId);
+            
+            if (feedbackSession == null) {
+                log.severe(String.format(errorString, sessionName, courseId, "feedback session is null", ""));
+                return false;
+            }
+            feedbackSessions = Arrays.asList(feedbackSession);
         }
         
-        List<FeedbackResponseAttributes> allResponses =
-                                        FeedbackResponsesLogic.inst().getFeedbackResponsesForSession(
-                                                                        feedbackSession.getFeedbackSessionName(),
-                                                                        feedbackSession.getCourseId());
         Gson gsonParser = Utils.getTeammatesGson();
         ArrayList<StudentEnrollDetails> enrollmentList =
                 gsonParser.fromJson(enrollmentDetails, new TypeToken<ArrayList<StudentEnrollDetails>>(){}.getType());
-        for (FeedbackResponseAttributes response : allResponses) {
-            try {
-                StudentsLogic.inst().adjustFeedbackResponseForEnrollments(enrollmentList, response);
-            } catch (Exception e) {
-                log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
-                                                ActivityLogEntry.generateServletActionFailureLogMessage(request, e)));
-                return false;
-            }
+        Set<String> enrolledEmails = new HashSet<String>();
+        for (StudentEnrollDetails enrollment : enrollmentList) {
+            enrolledEmails.add(enrollment.email);
+        }
+        
+        for (FeedbackSessionAttributes feedbackSession : feedbackSessions) {
+            // the responses are walked through a page at a time so that large sessions fit in memory
+            String cursor = null;
+            do {
+                Page<FeedbackResponseAttributes> responses =
+                        FeedbackResponsesLogic.inst().getFeedbackResponsesForSession(
+                                feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                                cursor, SystemParams.DATASTORE_PAGE_SIZE);
+                for (FeedbackResponseAttributes response : responses.getItems()) {
+                    if (!enrolledEmails.contains(response.giver) && !enrolledEmails.contains(response.recipient)) {
+                        continue;
+                    }
+                    try {
+                        StudentsLogic.inst().adjustFeedbackResponseForEnrollments(enrollmentList, response);
+                    } catch (Exception e) {
+                        log.severe(String.format(errorString, feedbackSession.getFeedbackSessionName(), courseId,
+                                                 e.getMessage(),
+                                                 ActivityLogEntry.generateServletActionFailureLogMessage(request, e)));
+                        return false;
+                    }
+                }
+                cursor = responses.getCursor();
+            } while (cursor != null);
         }
         return true;
            
@@ -0,0 +1,201 @@
+package teammates.logic.automated;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.Const;
+import teammates.common.util.Sanitizer;
+
+/**
+ * Summarizes the time taken by the requests logged in the activity log over a window of time:
+ * the p50/p95/p99 latency of each action URI, the slowest requests, and the action URIs whose
+ * p95 latency regressed against the previous window of the same length.<br>
+ * Requests logged without their time taken are not counted.
+ */
+public class PerformanceDigest {
+
+    public static final int NUMBER_OF_SLOWEST_REQUESTS = 10;
+
+    /** Ratio of p95 latencies, current over previous window, above which an action URI is flagged */
+    public static final double P95_REGRESSION_RATIO = 1.5;
+
+    /** Minimum number of requests in each window for the p95 latency of an action URI to be compared */
+    public static final int MIN_REQUESTS_TO_COMPARE = 5;
+
+    private static final Pattern COURSE_ID_PARAM =
+            Pattern.compile("[?&]" + Const.ParamsNames.COURSE_ID + "=([^&]*)");
+
+    /** Times taken by the requests of each action URI in the current window, sorted ascending */
+    private final Map<String, List<Long>> currentTimesTaken;
+    /** Times taken by the requests of each action URI in the previous window, sorted ascending */
+    private final Map<String, List<Long>> previousTimesTaken;
+    private final List<ActivityLogEntry> slowestRequests;
+
+    public PerformanceDigest(List<ActivityLogEntry> currentWindowLogs, List<ActivityLogEntry> previousWindowLogs) {
+        currentTimesTaken = groupTimesTakenByActionUri(currentWindowLogs);
+        previousTimesTaken = groupTimesTakenByActionUri(previousWindowLogs);
+        slowestRequests = getSlowestRequests(currentWindowLogs);
+    }
+
+    public boolean isEmpty() {
+        return currentTimesTaken.isEmpty();
+    }
+
+    /**
+     * @return the action URIs with requests in the current window, the slowest at p95 first
+     */
+    public List<String> getActionUris() {
+        List<String> actionUris = new ArrayList<String>(currentTimesTaken.keySet());
+        Collections.sort(actionUris, new Comparator<String>() {
+            @Override
+            public int compare(String actionUri1, String actionUri2) {
+                int result = Long.compare(getPercentile(actionUri2, 95), getPercentile(actionUri1, 95));
+                return result == 0 ? actionUri1.compareTo(actionUri2) : result;
+            }
+        });
+        return actionUris;
+    }
+
+    public int getRequestCount(String actionUri) {
+        List<Long> timesTaken = currentTimesTaken.get(actionUri);
+        return timesTaken == null ? 0 : timesTaken.size();
+    }
+
+    /**
+     * @return the {@code percentile}-th percentile, by the nearest-rank method, of the times taken
+     *         by the requests of the action URI in the current window, or 0 if there are no such requests
+     */
+    public long getPercentile(String actionUri, int percentile) {
+        return getPercentile(currentTimesTaken.get(actionUri), percentile);
+    }
+
+    /**
+     * @return the p95 latency of the action URI in the previous window, or null if there were too few
+     *         requests in either window to compare them
+     */
+    public Long getPreviousP95(String actionUri) {
+        List<Long> previous = previousTimesTaken.get(actionUri);
+        if (getRequestCount(actionUri) < MIN_REQUESTS_TO_COMPARE
+                || previous == null || previous.size() < MIN_REQUESTS_TO_COMPARE) {
+            return null;
+        }
+        return getPercentile(previous, 95);
+    }
+
+    public boolean isP95Regressed(String actionUri) {
+        Long previousP95 = getPreviousP95(actionUri);
+        return previousP95 != null && getPercentile(actionUri, 95) > previousP95 * P95_REGRESSION_RATIO;
+    }
+
+    /**
+     * @return the slowest requests of the current window, slowest first
+     */
+    public List<ActivityLogEntry> getSlowestRequests() {
+        return slowestRequests;
+    }
+
+    /**
+     * @return the digest as HTML, for the email to the support team
+     */
+    public String toHtml() {
+        StringBuilder html = new StringBuilder(1000);
+        html.append("<b>Latency per action (ms)</b><br/>"
+                    + "<table border=\"1\" cellpadding=\"3\" style=\"border-collapse:collapse\">"
+                    + "<tr><th>Action</th><th>Requests</th><th>p50</th><th>p95</th><th>p99</th>"
+                    + "<th>Previous p95</th></tr>");
+        for (String actionUri : getActionUris()) {
+            Long previousP95 = getPreviousP95(actionUri);
+            boolean isRegressed = isP95Regressed(actionUri);
+            html.append("<tr><td>" + Sanitizer.sanitizeForHtml(actionUri) + "</td>"
+                        + "<td>" + getRequestCount(actionUri) + "</td>"
+                        + "<td>" + getPercentile(actionUri, 50) + "</td>"
+                        + "<td>" + (isRegressed ? "<b style=\"color:red\">" : "") + getPercentile(actionUri, 95)
+                                 + (isRegressed ? " (regressed)</b>" : "") + "</td>"
+                        + "<td>" + getPercentile(actionUri, 99) + "</td>"
+                        + "<td>" + (previousP95 == null ? "-" : previousP95) + "</td></tr>");
+        }
+        html.append("</table><br/>");
+
+        html.append("<b>Slowest requests</b><br/>"
+                    + "<table border=\"1\" cellpadding=\"3\" style=\"border-collapse:collapse\">"
+                    + "<tr><th>Time taken (ms)</th><th>Action</th><th>Course</th><th>Time</th><th>User</th></tr>");
+        for (ActivityLogEntry request : slowestRequests) {
+            String courseId = getCourseId(request);
+            html.append("<tr><td>" + request.getTimeTaken() + "</td>"
+                        + "<td>" + Sanitizer.sanitizeForHtml(getActionUri(request)) + "</td>"
+                        + "<td>" + (courseId == null ? "-" : Sanitizer.sanitizeForHtml(courseId)) + "</td>"
+                        + "<td>" + request.getDateInfo() + "</td>"
+                        + "<td>" + Sanitizer.sanitizeForHtml(request.getGoogleId()) + "</td></tr>");
+        }
+        html.append("</table>");
+        return html.toString();
+    }
+
+    /**
+     * @return the URL of the request without its query string, e.g. /page/instructorCourseDetailsPage
+     */
+    public static String getActionUri(ActivityLogEntry logEntry) {
+        String url = logEntry.getUrl();
+        int queryStart = url.indexOf('?');
+        return queryStart == -1 ? url : url.substring(0, queryStart);
+    }
+
+    /**
+     * @return the course id parameter of the request, or null if it has none
+     */
+    public static String getCourseId(ActivityLogEntry logEntry) {
+        Matcher matcher = COURSE_ID_PARAM.matcher(logEntry.getUrl());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static Map<String, List<Long>> groupTimesTakenByActionUri(List<ActivityLogEntry> logEntries) {
+        Map<String, List<Long>> timesTaken = new HashMap<String, List<Long>>();
+        for (ActivityLogEntry logEntry : logEntries) {
+            if (logEntry.getTimeTaken() == null) {
+                continue;
+            }
+            String actionUri = getActionUri(logEntry);
+            List<Long> timesTakenOfAction = timesTaken.get(actionUri);
+            if (timesTakenOfAction == null) {
+                timesTakenOfAction = new ArrayList<Long>();
+                timesTaken.put(actionUri, timesTakenOfAction);
+            }
+            timesTakenOfAction.add(logEntry.getTimeTaken());
+        }
+        for (List<Long> timesTakenOfAction : timesTaken.values()) {
+            Collections.sort(timesTakenOfAction);
+        }
+        return timesTaken;
+    }
+
+    private static List<ActivityLogEntry> getSlowestRequests(List<ActivityLogEntry> logEntries) {
+        List<ActivityLogEntry> requests = new ArrayList<ActivityLogEntry>();
+        for (ActivityLogEntry logEntry : logEntries) {
+            if (logEntry.getTimeTaken() != null) {
+                requests.add(logEntry);
+            }
+        }
+        Collections.sort(requests, new Comparator<ActivityLogEntry>() {
+            @Override
+            public int compare(ActivityLogEntry request1, ActivityLogEntry request2) {
+                return Long.compare(request2.getTimeTaken(), request1.getTimeTaken());
+            }
+        });
+        return new ArrayList<ActivityLogEntry>(requests.subList(0, Math.min(NUMBER_OF_SLOWEST_REQUESTS, requests.size())));
+    }
+
+    private static long getPercentile(List<Long> sortedTimesTaken, int percentile) {
+        if (sortedTimesTaken == null || sortedTimesTaken.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedTimesTaken.size());
+        return sortedTimesTaken.get(Math.max(rank, 1) - 1);
+    }
+}
@@ -0,0 +1,37 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.SearchDocumentsLogic;
+
+/**
+ * Updates the search documents of the given entities of a course,
+ * or rebuilds all the search documents of the course if no index is given.
+ */
+@SuppressWarnings("serial")
+public class SearchDocumentWorkerServlet extends WorkerServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        String courseId = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+
+        String indexName = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.SEARCH_INDEX_NAME);
+
+        if (indexName == null) {
+            SearchDocumentsLogic.inst().rebuildDocumentsForCourse(courseId);
+            return;
+        }
+
+        String[] entityIds = HttpRequestHelper
+                .getValuesFromRequestParameterMap(req, ParamsNames.SEARCH_DOCUMENT_ENTITY_ID);
+        Assumption.assertNotNull(entityIds);
+
+        SearchDocumentsLogic.inst().updateDocuments(indexName, courseId, entityIds);
+    }
+
+}
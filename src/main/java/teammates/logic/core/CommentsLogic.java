@@ -1,12 +1,15 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.CommentAttributes;
@@ -28,6 +31,7 @@ import teammates.common.util.Sanitizer;
 import teammates.common.util.Utils;
 import teammates.storage.api.CommentsDb;
 import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.ParallelReads;
 import teammates.storage.api.StudentsDb;
 
 /**
@@ -219,17 +223,27 @@ public class CommentsLogic {
         verifyIsInstructorOfCourse(instructor.courseId, instructor.email);
         HashSet<String> commentsVisitedSet = new HashSet<String>();
         
+        // Every comment visible to instructors is visible to each of them, so there is nothing to narrow down;
+        // the two queries do not depend on each other and are made at the same time instead
+        final String courseId = instructor.courseId;
+        Future<List<CommentAttributes>> commentsForOtherInstructorResult = ParallelReads.start(
+                new Callable<List<CommentAttributes>>() {
+                    @Override
+                    public List<CommentAttributes> call() {
+                        return commentsDb.getCommentsForCommentViewer(courseId, CommentParticipantType.INSTRUCTOR);
+                    }
+                });
+        
         //When the given instructor is the comment giver,
-        List<CommentAttributes> comments = getCommentsForGiverAndStatus(instructor.courseId,
-                                                                        instructor.email,
-                                                                        CommentStatus.FINAL);
+        List<CommentAttributes> comments = commentsDb.getCommentsForGiverAndStatus(instructor.courseId,
+                                                                                   instructor.email,
+                                                                                   CommentStatus.FINAL);
         for (CommentAttributes c : comments) {
             preventAppendingThisCommentAgain(commentsVisitedSet, c);
         }
         
         //When other giver's comments are visible to the given instructor
-        List<CommentAttributes> commentsForOtherInstructor = getCommentsForCommentViewer(instructor.courseId,
-                                                                 CommentParticipantType.INSTRUCTOR);
+        List<CommentAttributes> commentsForOtherInstructor = ParallelReads.get(commentsForOtherInstructorResult);
         removeNonVisibleCommentsForInstructor(commentsForOtherInstructor, commentsVisitedSet, comments);
         
         java.util.Collections.sort(comments);
@@ -253,14 +267,6 @@ public class CommentsLogic {
         return commentsDb.getCommentsForCommentViewer(courseId, commentViewerType);
     }
     
-    private List<CommentAttributes> getCommentsForGiverAndStatus(String courseId,
-                                                                 String giverEmail,
-                                                                 CommentStatus status)
-                                                                 throws EntityDoesNotExistException {
-        verifyIsCoursePresent(courseId, "get");
-        return commentsDb.getCommentsForGiverAndStatus(courseId, giverEmail, status);
-    }
-    
     /************ Get Comments For a Student ************/
     
     /**
@@ -289,13 +295,30 @@ public class CommentsLogic {
         removeNonVisibleCommentsForStudent(commentsForStudent, commentsVisitedSet, comments);
         
         //Get comments visible to the given student's teammates
-        List<CommentAttributes> commentsForTeam = getCommentsForCommentViewer(student.course,
-                                                                              CommentParticipantType.TEAM);
+        // Only comments given to the team or its members can be visible to it; the members are checked in memory,
+        // as matching each of their emails in the query would cost an index scan per email
+        List<CommentAttributes> commentsForTeam = commentsDb.getCommentsForCommentViewerAndRecipientType(
+                                                          student.course, CommentParticipantType.TEAM,
+                                                          CommentParticipantType.PERSON);
+        commentsForTeam.addAll(commentsDb.getCommentsForCommentViewerAndRecipients(
+                                       student.course, CommentParticipantType.TEAM, CommentParticipantType.TEAM,
+                                       Arrays.asList(student.team)));
         removeNonVisibleCommentsForTeam(commentsForTeam, student, teammatesEmails, commentsVisitedSet, comments);
         
         //Get comments visible to the given student's section
-        List<CommentAttributes> commentsForSection = getCommentsForCommentViewer(student.course,
-                                                                                 CommentParticipantType.SECTION);
+        // Only comments given to the section, its teams or its students can be visible to it; as for the team,
+        // the students are checked in memory
+        Set<String> sectionTeams = new HashSet<String>(teamsInThisSection);
+        sectionTeams.add(student.team);
+        List<CommentAttributes> commentsForSection = commentsDb.getCommentsForCommentViewerAndRecipientType(
+                                                             student.course, CommentParticipantType.SECTION,
+                                                             CommentParticipantType.PERSON);
+        commentsForSection.addAll(commentsDb.getCommentsForCommentViewerAndRecipients(
+                                          student.course, CommentParticipantType.SECTION, CommentParticipantType.TEAM,
+                                          sectionTeams));
+        commentsForSection.addAll(commentsDb.getCommentsForCommentViewerAndRecipients(
+                                          student.course, CommentParticipantType.SECTION,
+                                          CommentParticipantType.SECTION, Arrays.asList(student.section)));
         removeNonVisibleCommentsForSection(commentsForSection, student, teammatesEmails,
                                            sectionStudentsEmails, teamsInThisSection,
                                            commentsVisitedSet, comments);
@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.AccountAttributes;
@@ -19,6 +20,7 @@ import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentRosterEntry;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -31,6 +33,7 @@ import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
 import teammates.storage.api.CoursesDb;
+import teammates.storage.api.ParallelReads;
 
 /**
  * Handles operations related to courses.
@@ -239,10 +242,10 @@ public class CoursesLogic {
         if (!isCourseVerified) {
             verifyCourseIsPresent(courseId);
         }
-        List<StudentAttributes> studentDataList = studentsLogic.getStudentsForCourse(courseId);
+        List<StudentRosterEntry> studentDataList = studentsLogic.getStudentRosterEntriesForCourse(courseId);
         
         Set<String> sectionNameSet = new HashSet<String>();
-        for (StudentAttributes sd : studentDataList) {
+        for (StudentRosterEntry sd : studentDataList) {
             if (!sd.section.equals(Const.DEFAULT_SECTION)) {
                 sectionNameSet.add(sd.section);
             }
@@ -467,11 +470,11 @@ public class CoursesLogic {
 
     public int getNumberOfTeams(String courseId) throws EntityDoesNotExistException {
         verifyCourseIsPresent(courseId);
-        List<StudentAttributes> studentDataList = studentsLogic.getStudentsForCourse(courseId);
+        List<StudentRosterEntry> studentDataList = studentsLogic.getStudentRosterEntriesForCourse(courseId);
 
         List<String> teamNameList = new ArrayList<String>();
 
-        for (StudentAttributes sd : studentDataList) {
+        for (StudentRosterEntry sd : studentDataList) {
             if (!teamNameList.contains(sd.team)) {
                 teamNameList.add(sd.team);
             }
@@ -482,7 +485,7 @@ public class CoursesLogic {
 
     public int getTotalEnrolledInCourse(String courseId) throws EntityDoesNotExistException {
         verifyCourseIsPresent(courseId);
-        return studentsLogic.getStudentsForCourse(courseId).size();
+        return studentsLogic.getStudentRosterEntriesForCourse(courseId).size();
     }
 
     public int getTotalUnregisteredInCourse(String courseId) throws EntityDoesNotExistException {
@@ -672,8 +675,18 @@ public class CoursesLogic {
             log.severe("Course(s) was deleted but the instructor still exists: " + Const.EOL + courseIdList.toString());
         }
         
-        for (CourseAttributes ca : courseList) {
-            courseSummaryList.put(ca.getId(), getCourseSummary(ca));
+        // The summaries of the courses do not depend on each other, so they are read at the same time
+        List<Callable<CourseDetailsBundle>> summaryReads = new ArrayList<Callable<CourseDetailsBundle>>();
+        for (final CourseAttributes ca : courseList) {
+            summaryReads.add(new Callable<CourseDetailsBundle>() {
+                @Override
+                public CourseDetailsBundle call() {
+                    return getCourseSummary(ca);
+                }
+            });
+        }
+        for (CourseDetailsBundle courseSummary : ParallelReads.readAll(summaryReads)) {
+            courseSummaryList.put(courseSummary.course.getId(), courseSummary);
         }
         
         return courseSummaryList;
@@ -877,8 +890,8 @@ public class CoursesLogic {
     public boolean hasIndicatedSections(String courseId) throws EntityDoesNotExistException {
         verifyCourseIsPresent(courseId);
         
-        List<StudentAttributes> studentList = studentsLogic.getStudentsForCourse(courseId);
-        for (StudentAttributes student : studentList) {
+        List<StudentRosterEntry> studentList = studentsLogic.getStudentRosterEntriesForCourse(courseId);
+        for (StudentRosterEntry student : studentList) {
             if (!student.section.equals(Const.DEFAULT_SECTION)) {
                 return true;
             }
@@ -29,12 +29,14 @@ import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.UserType;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.TeammatesException;
+import teammates.common.util.CompiledTemplate;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.SystemParams;
 import teammates.common.util.EmailLogEntry;
 import teammates.common.util.HttpRequestHelper;
+import teammates.common.util.RequestMetrics;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Templates;
 import teammates.common.util.Templates.EmailTemplates;
@@ -190,7 +192,6 @@ public class Emails {
             FeedbackSessionAttributes session)
                     throws MessagingException, IOException, EntityDoesNotExistException {
         
-        StudentsLogic studentsLogic = StudentsLogic.inst();
         CoursesLogic coursesLogic = CoursesLogic.inst();
         InstructorsLogic instructorsLogic = InstructorsLogic.inst();
         FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
@@ -204,15 +205,7 @@ public class Emails {
         List<StudentAttributes> students = new ArrayList<StudentAttributes>();
 
         if (fsLogic.isFeedbackSessionForStudentsToAnswer(session)) {
-            List<StudentAttributes> allStudents = studentsLogic.getStudentsForCourse(session.getCourseId());
-
-            for (StudentAttributes student : allStudents) {
-                if (!fsLogic.isFeedbackSessionFullyCompletedByStudent(
-                        session.getFeedbackSessionName(), session.getCourseId(),
-                        student.email)) {
-                    students.add(student);
-                }
-            }
+            students = fsLogic.getStudentsWhoHaveNotFullyCompletedFeedbackSession(session);
         }
         emails = generateFeedbackSessionEmailBases(
                 course, session, students, instructors, template);
@@ -319,14 +312,16 @@ public class Emails {
             String template)
                     throws MessagingException, UnsupportedEncodingException {
         
+        CompiledTemplate compiledTemplate = Templates.getCompiledTemplate(template);
+        StringBuilder buffer = new StringBuilder();
         ArrayList<MimeMessage> emails = new ArrayList<MimeMessage>();
         for (StudentAttributes s : students) {
             emails.add(generateFeedbackSessionEmailBaseForStudents(course, session, s,
-                    template));
+                    compiledTemplate, buffer));
         }
         for (InstructorAttributes i : instructors) {
             emails.add(generateFeedbackSessionEmailBaseForInstructors(course,
-                    session, i, template));
+                    session, i, compiledTemplate, buffer));
         }
         return emails;
     }
@@ -338,10 +333,12 @@ public class Emails {
             String template)
                     throws MessagingException, UnsupportedEncodingException {
         
+        CompiledTemplate compiledTemplate = Templates.getCompiledTemplate(template);
+        StringBuilder buffer = new StringBuilder();
         ArrayList<MimeMessage> emails = new ArrayList<MimeMessage>();
         for (InstructorAttributes i : instructors) {
             emails.add(generateFeedbackSessionEmailBaseForInstructorReminders(course, session, i,
-                    template));
+                    compiledTemplate, buffer));
         }
         return emails;
     }
@@ -352,6 +349,17 @@ public class Emails {
             StudentAttributes s,
             String template)
                     throws MessagingException, UnsupportedEncodingException {
+        return generateFeedbackSessionEmailBaseForStudents(c, fs, s, Templates.getCompiledTemplate(template),
+                new StringBuilder());
+    }
+
+    private MimeMessage generateFeedbackSessionEmailBaseForStudents(
+            CourseAttributes c,
+            FeedbackSessionAttributes fs,
+            StudentAttributes s,
+            CompiledTemplate template,
+            StringBuilder buffer)
+                    throws MessagingException, UnsupportedEncodingException {
 
         MimeMessage message = getEmptyEmailAddressedToEmail(s.email);
 
@@ -359,21 +367,23 @@ public class Emails {
                 .format("${subjectPrefix} [Course: %s][Feedback Session: %s]",
                         c.getName(), fs.getFeedbackSessionName()));
 
+        String encryptedKey = StringHelper.encrypt(s.key);
+
         String submitUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE)
                             .withCourseId(c.getId())
                             .withSessionName(fs.getFeedbackSessionName())
-                            .withRegistrationKey(StringHelper.encrypt(s.key))
+                            .withRegistrationKey(encryptedKey)
                             .withStudentEmail(s.email)
                             .toAbsoluteString();
 
         String reportUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_FEEDBACK_RESULTS_PAGE)
                             .withCourseId(c.getId())
                             .withSessionName(fs.getFeedbackSessionName())
-                            .withRegistrationKey(StringHelper.encrypt(s.key))
+                            .withRegistrationKey(encryptedKey)
                             .withStudentEmail(s.email)
                             .toAbsoluteString();
 
-        String emailBody = Templates.populateTemplate(template,
+        String emailBody = template.populate(buffer,
                 "${userName}", s.name,
                 "${courseName}", c.getName(),
                 "${courseId}", c.getId(),
@@ -394,6 +404,17 @@ public class Emails {
             InstructorAttributes i,
             String template)
                     throws MessagingException, UnsupportedEncodingException {
+        return generateFeedbackSessionEmailBaseForInstructors(c, fs, i, Templates.getCompiledTemplate(template),
+                new StringBuilder());
+    }
+
+    private MimeMessage generateFeedbackSessionEmailBaseForInstructors(
+            CourseAttributes c,
+            FeedbackSessionAttributes fs,
+            InstructorAttributes i,
+            CompiledTemplate template,
+            StringBuilder buffer)
+                    throws MessagingException, UnsupportedEncodingException {
 
         MimeMessage message = getEmptyEmailAddressedToEmail(i.email);
 
@@ -405,7 +426,7 @@ public class Emails {
         
         String reportUrl = "{The student's unique results url appears here}";
 
-        String emailBody = Templates.populateTemplate(template,
+        String emailBody = template.populate(buffer,
                 "${userName}", i.name,
                 "${courseName}", c.getName(),
                 "${courseId}", c.getId(),
@@ -427,6 +448,17 @@ public class Emails {
             InstructorAttributes i,
             String template)
                     throws MessagingException, UnsupportedEncodingException {
+        return generateFeedbackSessionEmailBaseForInstructorReminders(c, fs, i, Templates.getCompiledTemplate(template),
+                new StringBuilder());
+    }
+
+    private MimeMessage generateFeedbackSessionEmailBaseForInstructorReminders(
+            CourseAttributes c,
+            FeedbackSessionAttributes fs,
+            InstructorAttributes i,
+            CompiledTemplate template,
+            StringBuilder buffer)
+                    throws MessagingException, UnsupportedEncodingException {
 
         MimeMessage message = getEmptyEmailAddressedToEmail(i.email);
 
@@ -444,7 +476,7 @@ public class Emails {
                                         .withSessionName(fs.getFeedbackSessionName())
                                         .toAbsoluteString();
         
-        String emailBody = Templates.populateTemplate(template,
+        String emailBody = template.populate(buffer,
                 "${userName}", i.name,
                 "${courseName}", c.getName(),
                 "${courseId}", c.getId(),
@@ -624,29 +656,43 @@ public class Emails {
         return message;
     }
     
+    public MimeMessage generatePerformanceDigestEmail(String digest)
+            throws AddressException, MessagingException, UnsupportedEncodingException {
+        
+        MimeMessage message = getEmptyEmailAddressedToEmail(Config.SUPPORT_EMAIL);
+        message.setSubject("Performance Digest");
+        message.setContent(digest, "text/html");
+        return message;
+    }
+    
     public void sendEmails(List<MimeMessage> messages) {
         if (messages.isEmpty()) {
             return;
         }
         
         // Equally spread out the emails to be sent over 1 hour
-        int numberOfEmailsSent = 0;
         int emailIntervalMillis = (1000 * 60 * 60) / messages.size();
 
         // Sets interval to a maximum of 5 seconds if the interval is too large
         int maxIntervalMillis = 5000;
         emailIntervalMillis = emailIntervalMillis > maxIntervalMillis ? maxIntervalMillis : emailIntervalMillis;
 
+        List<HashMap<String, String>> paramMaps = new ArrayList<HashMap<String, String>>();
         for (MimeMessage m : messages) {
             try {
-                long emailDelayTimer = numberOfEmailsSent * emailIntervalMillis;
-                addEmailToTaskQueue(m, emailDelayTimer);
-                numberOfEmailsSent++;
-            } catch (MessagingException e) {
+                paramMaps.add(getEmailTaskParamMap(m));
+            } catch (MessagingException | IOException e) {
                 logSevereForErrorInSendingItem("message", m, e);
             }
         }
-
+        
+        try {
+            TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+            taskQueueLogic.createAndAddDeferredTasks(SystemParams.SEND_EMAIL_TASK_QUEUE,
+                    Const.ActionURIs.SEND_EMAIL_WORKER, paramMaps, emailIntervalMillis);
+        } catch (Exception e) {
+            log.severe("Error when adding emails to task queue: " + TeammatesException.toStringWithStackTrace(e));
+        }
     }
 
     public void addEmailToTaskQueue(MimeMessage message, long emailDelayTimer) throws MessagingException {
@@ -655,12 +701,7 @@ public class Emails {
         String emailReceiver = message.getRecipients(Message.RecipientType.TO)[0].toString();
         String emailReplyToAddress = message.getReplyTo()[0].toString();
         try {
-            HashMap<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.EMAIL_SUBJECT, emailSubject);
-            paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent().toString());
-            paramMap.put(ParamsNames.EMAIL_SENDER, emailSender);
-            paramMap.put(ParamsNames.EMAIL_RECEIVER, emailReceiver);
-            paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, emailReplyToAddress);
+            HashMap<String, String> paramMap = getEmailTaskParamMap(message);
             
             TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
             taskQueueLogic.createAndAddDeferredTask(SystemParams.SEND_EMAIL_TASK_QUEUE,
@@ -675,6 +716,16 @@ public class Emails {
         
     }
     
+    private HashMap<String, String> getEmailTaskParamMap(MimeMessage message) throws MessagingException, IOException {
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.EMAIL_SUBJECT, message.getSubject());
+        paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent().toString());
+        paramMap.put(ParamsNames.EMAIL_SENDER, message.getFrom()[0].toString());
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, message.getRecipients(Message.RecipientType.TO)[0].toString());
+        paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, message.getReplyTo()[0].toString());
+        return paramMap;
+    }
+    
     public void sendEmailWithLogging(MimeMessage message) throws MessagingException, JSONException, IOException {
         sendEmail(message, true);
     }
@@ -731,6 +782,7 @@ public class Emails {
     private void sendUsingGae(MimeMessage message) throws MessagingException {
         log.info(getEmailInfo(message));
         Transport.send(message);
+        RequestMetrics.countEmail();
     }
 
     private void sendUsingSendgrid(MimeMessage message) throws MessagingException, JSONException, IOException {
@@ -743,6 +795,7 @@ public class Emails {
             log.severe("Sendgrid failed, sending with GAE mail");
             Transport.send(message);
         }
+        RequestMetrics.countEmail();
     }
     
     private void generateLogReport(Sendgrid message) {
@@ -811,8 +864,8 @@ public class Emails {
                        : Config.getAppUrl(s.getRegistrationUrl()).toAbsoluteString();
         
         return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN,
-                "${joinUrl}", joinUrl);
+                "${joinFragment}", Templates.populateTemplate(EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN,
+                                                              "${joinUrl}", joinUrl));
     }
 
     private String fillUpStudentRejoinAfterGoogleIdResetFragment(StudentAttributes s, String emailBody) {
@@ -821,8 +874,8 @@ public class Emails {
                        : Config.getAppUrl(s.getRegistrationUrl()).toAbsoluteString();
         
         return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
-                "${joinUrl}", joinUrl);
+                "${joinFragment}", Templates.populateTemplate(EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
+                                                              "${joinUrl}", joinUrl));
     }
 
     private String fillUpInstructorJoinFragment(InstructorAttributes instructor, String emailBody) {
@@ -833,8 +886,8 @@ public class Emails {
                                .toAbsoluteString();
 
         return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN,
-                "${joinUrl}", joinUrl);
+                "${joinFragment}", Templates.populateTemplate(EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN,
+                                                              "${joinUrl}", joinUrl));
     }
 
     private MimeMessage getEmptyEmailAddressedToEmail(String email)
@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -109,8 +110,8 @@ public class FeedbackResponseCommentsLogic {
                 getFeedbackResponseCommentForResponse(oldResponseId);
         for (FeedbackResponseCommentAttributes responseComment : responseComments) {
             responseComment.feedbackResponseId = newResponseId;
-            updateFeedbackResponseComment(responseComment);
         }
+        frcDb.updateFeedbackResponseComments(responseComments);
     }
     
     public void updateFeedbackResponseCommentsGiverEmail(String courseId, String oldEmail, String updatedEmail) {
@@ -125,8 +126,8 @@ public class FeedbackResponseCommentsLogic {
         for (FeedbackResponseCommentAttributes comment : comments) {
             comment.giverSection = response.giverSection;
             comment.receiverSection = response.recipientSection;
-            frcDb.updateFeedbackResponseComment(comment);
         }
+        frcDb.updateFeedbackResponseComments(comments);
     }
 
     public FeedbackResponseCommentAttributes updateFeedbackResponseComment(
@@ -191,6 +192,11 @@ public class FeedbackResponseCommentsLogic {
         frcDb.deleteFeedbackResponseCommentsForResponse(responseId);
     }
     
+    public void deleteFeedbackResponseCommentsForResponses(String courseId, String feedbackSessionName,
+                                                           Collection<String> responseIds) {
+        frcDb.deleteFeedbackResponseCommentsForResponses(courseId, feedbackSessionName, responseIds);
+    }
+    
     public void deleteFeedbackResponseComment(FeedbackResponseCommentAttributes feedbackResponseComment) {
         frcDb.deleteEntity(feedbackResponseComment);
     }
@@ -1,8 +1,11 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,6 +15,7 @@ import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.Page;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.UserType;
@@ -72,6 +76,11 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId);
     }
     
+    public Page<FeedbackResponseAttributes> getFeedbackResponsesForSession(
+            String feedbackSessionName, String courseId, String cursorString, int pageSize) {
+        return frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId, cursorString, pageSize);
+    }
+    
     public List<FeedbackResponseAttributes> getFeedbackResponsesForSessionInSection(
             String feedbackSessionName, String courseId, String section) {
         if (section == null) {
@@ -413,10 +422,114 @@ public class FeedbackResponsesLogic {
             throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
         Assumption.assertNotNull(oldResponseEntity);
         
+        FeedbackResponseAttributes oldResponse = new FeedbackResponseAttributes(oldResponseEntity);
+        FeedbackResponseAttributes newResponse = getUpdatedResponse(updatedResponse, oldResponse);
+    
+        if (newResponse.recipient.equals(oldResponse.recipient)
+                && newResponse.giver.equals(oldResponse.giver)) {
+            try {
+                frDb.updateFeedbackResponseOptimized(newResponse, oldResponseEntity);
+            } catch (EntityDoesNotExistException e) {
+                Assumption.fail();
+            }
+        } else {
+            // Recreate response to prevent possible future id conflict.
+            recreateResponse(newResponse, oldResponse);
+        }
+    }
+
+    /**
+     * Creates or updates all of {@code responses}, like {@link #createFeedbackResponse} and
+     * {@link #updateFeedbackResponse(FeedbackResponseAttributes)} do for a single response,
+     * but looks up the existing responses with one batch get and writes them in one batch.
+     * Responses are identified by their id if it is given, or by question, giver and recipient otherwise.
+     * Responses whose giver or recipient is changed are recreated one by one.<br>
+     * Each response is validated on its own. A response that is invalid, or that cannot be recreated
+     * because the changed giver/recipient clashes with an existing response, is not saved,
+     * but the other responses still are.
+     * @return the {@link InvalidParametersException} or {@link EntityAlreadyExistsException} of each
+     *         response that was not saved. Empty if all of them were saved.
+     * @throws EntityDoesNotExistException if any of the responses with an id does not exist,
+     *                                     in which case nothing is written.
+     */
+    public List<Exception> createOrUpdateFeedbackResponses(Collection<FeedbackResponseAttributes> responses)
+            throws EntityDoesNotExistException {
+        
+        Map<String, FeedbackResponseAttributes> responsesToSave = new LinkedHashMap<String, FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : responses) {
+            // Create a copy.
+            FeedbackResponseAttributes responseToSave = new FeedbackResponseAttributes(response);
+            if (responseToSave.getId() == null) {
+                responseToSave.sanitizeForSaving();
+                responsesToSave.put(FeedbackResponse.generateId(responseToSave.feedbackQuestionId,
+                                                                responseToSave.giver, responseToSave.recipient),
+                                    responseToSave);
+            } else {
+                responsesToSave.put(responseToSave.getId(), responseToSave);
+            }
+        }
+        
+        Map<String, FeedbackResponse> existingEntities = frDb.getFeedbackResponseEntities(responsesToSave.keySet());
+        
+        List<Exception> failures = new ArrayList<Exception>();
+        List<FeedbackResponseAttributes> responsesToCreate = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> responsesToUpdate = new ArrayList<FeedbackResponseAttributes>();
+        Map<FeedbackResponseAttributes, FeedbackResponseAttributes> responsesToRecreate =
+                new LinkedHashMap<FeedbackResponseAttributes, FeedbackResponseAttributes>();
+        for (Map.Entry<String, FeedbackResponseAttributes> responseToSave : responsesToSave.entrySet()) {
+            FeedbackResponse oldResponseEntity = existingEntities.get(responseToSave.getKey());
+            if (oldResponseEntity == null) {
+                if (responseToSave.getValue().getId() != null) {
+                    throw new EntityDoesNotExistException(
+                            "Trying to update a feedback response that does not exist.");
+                }
+                if (responseToSave.getValue().isValid()) {
+                    responsesToCreate.add(responseToSave.getValue());
+                } else {
+                    failures.add(new InvalidParametersException(responseToSave.getValue().getInvalidityInfo()));
+                }
+                continue;
+            }
+            
+            FeedbackResponseAttributes oldResponse = new FeedbackResponseAttributes(oldResponseEntity);
+            FeedbackResponseAttributes newResponse = getUpdatedResponse(responseToSave.getValue(), oldResponse);
+            if (!newResponse.recipient.equals(oldResponse.recipient)
+                    || !newResponse.giver.equals(oldResponse.giver)) {
+                // validated when it is recreated
+                responsesToRecreate.put(newResponse, oldResponse);
+            } else if (newResponse.isValid()) {
+                newResponse.setId(responseToSave.getKey());
+                responsesToUpdate.add(newResponse);
+            } else {
+                failures.add(new InvalidParametersException(newResponse.getInvalidityInfo()));
+            }
+        }
+        
+        try {
+            frDb.createAndUpdateFeedbackResponses(responsesToCreate, responsesToUpdate, existingEntities);
+        } catch (InvalidParametersException e) {
+            Assumption.fail("Responses were validated before they were saved: " + e.getMessage());
+        }
+        
+        for (Map.Entry<FeedbackResponseAttributes, FeedbackResponseAttributes> responseToRecreate
+                : responsesToRecreate.entrySet()) {
+            try {
+                recreateResponse(responseToRecreate.getKey(), responseToRecreate.getValue());
+            } catch (InvalidParametersException | EntityAlreadyExistsException e) {
+                failures.add(e);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * @return a copy of {@code updatedResponse} in which the values that cannot be changed are taken
+     *         from {@code oldResponse}, as are the values that are not given.
+     */
+    private FeedbackResponseAttributes getUpdatedResponse(
+            FeedbackResponseAttributes updatedResponse, FeedbackResponseAttributes oldResponse) {
         // Create a copy.
         FeedbackResponseAttributes newResponse = new FeedbackResponseAttributes(updatedResponse);
-        
-        FeedbackResponseAttributes oldResponse = new FeedbackResponseAttributes(oldResponseEntity);
 
         // Copy values that cannot be changed to defensively avoid invalid
         // parameters.
@@ -440,18 +553,7 @@ public class FeedbackResponsesLogic {
         if (newResponse.recipientSection == null) {
             newResponse.recipientSection = oldResponse.recipientSection;
         }
-    
-        if (newResponse.recipient.equals(oldResponse.recipient)
-                && newResponse.giver.equals(oldResponse.giver)) {
-            try {
-                frDb.updateFeedbackResponseOptimized(newResponse, oldResponseEntity);
-            } catch (EntityDoesNotExistException e) {
-                Assumption.fail();
-            }
-        } else {
-            // Recreate response to prevent possible future id conflict.
-            recreateResponse(newResponse, oldResponse);
-        }
+        return newResponse;
     }
 
     private void recreateResponse(
@@ -642,6 +744,32 @@ public class FeedbackResponsesLogic {
         frDb.deleteEntity(responseToDelete);
     }
 
+    /**
+     * Deletes the responses and their comments, like {@link #deleteFeedbackResponseAndCascade} does
+     * for a single response, but with batched datastore calls.<br>
+     * Preconditions: <br>
+     * * All the responses have ids.
+     */
+    public void deleteFeedbackResponsesAndCascade(Collection<FeedbackResponseAttributes> responsesToDelete) {
+        // comments are looked up by session, so the responses are grouped by session
+        Map<List<String>, List<String>> responseIdsBySession = new HashMap<List<String>, List<String>>();
+        for (FeedbackResponseAttributes response : responsesToDelete) {
+            List<String> session = Arrays.asList(response.courseId, response.feedbackSessionName);
+            List<String> responseIds = responseIdsBySession.get(session);
+            if (responseIds == null) {
+                responseIds = new ArrayList<String>();
+                responseIdsBySession.put(session, responseIds);
+            }
+            responseIds.add(response.getId());
+        }
+        for (Map.Entry<List<String>, List<String>> sessionResponseIds : responseIdsBySession.entrySet()) {
+            List<String> session = sessionResponseIds.getKey();
+            frcLogic.deleteFeedbackResponseCommentsForResponses(session.get(0), session.get(1),
+                                                                sessionResponseIds.getValue());
+        }
+        frDb.deleteFeedbackResponses(responsesToDelete);
+    }
+
     public void deleteFeedbackResponsesForQuestionAndCascade(
             String feedbackQuestionId, boolean hasResponseRateUpdate) {
         List<FeedbackResponseAttributes> responsesForQuestion =
@@ -1,5 +1,7 @@
 package teammates.logic.core;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
@@ -11,6 +13,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 import javax.mail.internet.MimeMessage;
@@ -27,9 +31,12 @@ import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
 import teammates.common.datatransfer.FeedbackSessionResponseStatus;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackSessionResultsView;
 import teammates.common.datatransfer.FeedbackSessionType;
 import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.Page;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentCourseDashboard;
 import teammates.common.datatransfer.UserType;
 import teammates.common.datatransfer.UserType.Role;
 import teammates.common.exception.EntityAlreadyExistsException;
@@ -45,8 +52,11 @@ import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.Utils;
+import teammates.storage.api.FeedbackSessionResultsViewsDb;
 import teammates.storage.api.FeedbackSessionsDb;
 import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.ParallelReads;
+import teammates.storage.api.StudentCourseDashboardsDb;
 import teammates.storage.api.StudentsDb;
 
 public class FeedbackSessionsLogic {
@@ -56,6 +66,8 @@ public class FeedbackSessionsLogic {
     private static final Logger log = Utils.getLogger();
 
     private static final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private static final FeedbackSessionResultsViewsDb resultsViewsDb = new FeedbackSessionResultsViewsDb();
+    private static final StudentCourseDashboardsDb dashboardsDb = new StudentCourseDashboardsDb();
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
     private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
@@ -171,6 +183,72 @@ public class FeedbackSessionsLogic {
         return viewableSessions;
     }
 
+    /**
+     * Gets what the home page of the student shows for each of the student's courses: the feedback
+     * sessions of the course viewable to the student, and whether the student has submitted them.<br>
+     * The dashboard of each course is kept in the cache (see {@link StudentCourseDashboardsDb}) until the
+     * next write to the course, so that the page does not read the sessions and questions of every course.
+     * Courses that no longer exist are left out.
+     * 
+     * @throws EntityDoesNotExistException if the Google ID is not of a student
+     */
+    public List<StudentCourseDashboard> getStudentCourseDashboards(String googleId)
+            throws EntityDoesNotExistException {
+        List<StudentAttributes> students = studentsLogic.getStudentsForGoogleId(googleId);
+        if (students.isEmpty()) {
+            throw new EntityDoesNotExistException("Student with Google ID " + googleId + " does not exist");
+        }
+
+        List<StudentCourseDashboard> dashboards = new ArrayList<StudentCourseDashboard>();
+        for (StudentAttributes student : students) {
+            StudentCourseDashboard dashboard = dashboardsDb.getDashboard(student.course, student.email);
+            if (dashboard == null) {
+                dashboard = createStudentCourseDashboard(student);
+                if (dashboard == null) {
+                    continue;
+                }
+                dashboardsDb.putDashboard(student.course, student.email, dashboard);
+            }
+
+            List<FeedbackSessionAttributes> viewableSessions = new ArrayList<FeedbackSessionAttributes>();
+            for (FeedbackSessionAttributes session : dashboard.feedbackSessions) {
+                if (isFeedbackSessionViewableTo(session, student.email, dashboard)) {
+                    viewableSessions.add(session);
+                }
+            }
+            dashboard.feedbackSessions = viewableSessions;
+            dashboards.add(dashboard);
+        }
+        return dashboards;
+    }
+
+    /**
+     * @return the dashboard of the student with all the sessions of the course,
+     *         or null if the course does not exist
+     */
+    private StudentCourseDashboard createStudentCourseDashboard(StudentAttributes student) {
+        CourseAttributes course = coursesLogic.getCourse(student.course);
+        if (course == null) {
+            return null;
+        }
+
+        List<FeedbackSessionAttributes> sessions = getFeedbackSessionsForCourse(student.course);
+        boolean isInstructorOfCourse = !sessions.isEmpty()
+                && instructorsLogic.getInstructorForEmail(student.course, student.email) != null;
+        Set<String> sessionNamesForStudents = new HashSet<String>();
+        Set<String> submittedSessionNames = new HashSet<String>();
+        for (FeedbackSessionAttributes session : sessions) {
+            if (hasQuestionsForStudentsOrResponsesVisibleToStudents(session)) {
+                sessionNamesForStudents.add(session.getFeedbackSessionName());
+            }
+            if (isFeedbackSessionCompletedByStudent(session, student.email)) {
+                submittedSessionNames.add(session.getFeedbackSessionName());
+            }
+        }
+        return new StudentCourseDashboard(course, sessions, isInstructorOfCourse,
+                                          sessionNamesForStudents, submittedSessionNames);
+    }
+
     /**
      * Returns a {@code List} of all feedback sessions bundled with their
      * response statistics for a instructor given by his googleId.<br>
@@ -552,8 +630,7 @@ public class FeedbackSessionsLogic {
         List<FeedbackQuestionAttributes> allQuestions = fqLogic.getFeedbackQuestionsForSession(feedbackSessionName,
                         courseId);
         
-        CourseRoster roster = new CourseRoster(new StudentsDb().getStudentsForCourse(courseId),
-                                               new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         return getFeedbackSessionResponseStatus(session, roster, allQuestions);
     }
 
@@ -569,9 +646,7 @@ public class FeedbackSessionsLogic {
         // Load details of students and instructors once and pass it to callee
         // methods
         // (rather than loading them many times).
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put("isIncludeResponseStatus", "true");
         params.put("inSection", "false");
@@ -594,9 +669,7 @@ public class FeedbackSessionsLogic {
                                                 String questionId, String selectedSection)
                                         throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put("isIncludeResponseStatus", "true");
         params.put("inSection", "true");
@@ -629,9 +702,7 @@ public class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range, String viewType)
             throws EntityDoesNotExistException {
         
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put("isIncludeResponseStatus", "true");
         params.put("inSection", "true");
@@ -655,9 +726,7 @@ public class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range)
             throws EntityDoesNotExistException {
         
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put("isIncludeResponseStatus", "true");
         params.put("inSection", "false");
@@ -679,9 +748,7 @@ public class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range)
             throws EntityDoesNotExistException {
         
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put("isIncludeResponseStatus", "true");
         params.put("inSection", "false");
@@ -714,9 +781,7 @@ public class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
         
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put("isIncludeResponseStatus", "true");
         params.put("inSection", "true");
@@ -736,9 +801,7 @@ public class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put("isIncludeResponseStatus", "false");
         params.put("inSection", "false");
@@ -758,9 +821,7 @@ public class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put("isIncludeResponseStatus", "true");
         params.put("inSection", "false");
@@ -834,12 +895,110 @@ public class FeedbackSessionsLogic {
         Collections.sort(results.responses,
                 results.compareByGiverRecipientQuestion);
         
+        StringBuilder exportBuilder = getFeedbackSessionResultsHeaderInCsvFormat(results.feedbackSession, section);
+
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry : results
+                .getQuestionResponseMap().entrySet()) {
+            exportBuilder.append(getFeedbackSessionResultsForQuestionInCsvFormat(results, entry));
+        }
+        return exportBuilder.toString();
+        
+    }
+    
+    /**
+     * Writes the summary results of a feedback session in CSV format to {@code out}, one question at a time. <br>
+     * Only the responses of the question being written are held in memory, hence unlike
+     * {@link #getFeedbackSessionResultsSummaryInSectionAsCsv} there is no limit on the number of responses. <br>
+     * Everything that can fail is read and checked before the first character is written, so that a failure
+     * does not leave a truncated file in a response that is already committed.
+     * @param session an existing session, which the instructor has been verified to be able to access
+     * @param section the section to export, or null to export all sections
+     */
+    public void writeFeedbackSessionResultsSummaryInSectionAsCsv(
+            FeedbackSessionAttributes session, InstructorAttributes instructor, String section, Writer out)
+            throws IOException {
+        
+        String courseId = session.getCourseId();
+        // Load details of students and instructors once and reuse them for every question
+        CourseRoster roster = getCourseRoster(courseId);
+        
+        List<FeedbackQuestionAttributes> questions =
+                fqLogic.getFeedbackQuestionsForSession(session.getFeedbackSessionName(), courseId);
+        Collections.sort(questions);
+        for (FeedbackQuestionAttributes question : questions) {
+            // parsed here so that a question that cannot be parsed fails the export before it starts
+            Assumption.assertNotNull("Question details cannot be parsed: " + question.getId(),
+                                     question.getQuestionDetails());
+        }
+        
+        out.write(getFeedbackSessionResultsHeaderInCsvFormat(session, section).toString());
+        
+        for (FeedbackQuestionAttributes question : questions) {
+            FeedbackSessionResultsBundle results = getFeedbackSessionResultsForQuestionForCsv(
+                    session, question, instructor.email, instructor, section, roster);
+            Collections.sort(results.responses, results.compareByGiverRecipientQuestion);
+            
+            for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry : results
+                    .getQuestionResponseMap().entrySet()) {
+                out.write(getFeedbackSessionResultsForQuestionInCsvFormat(results, entry).toString());
+            }
+            out.flush();
+        }
+    }
+    
+    /**
+     * Gets the results of a single question to show to an instructor, without response comments
+     * and response status. The visibility rules are the same as in {@link #getFeedbackSessionResultsForUserWithParams}.
+     */
+    private FeedbackSessionResultsBundle getFeedbackSessionResultsForQuestionForCsv(
+            FeedbackSessionAttributes session, FeedbackQuestionAttributes question, String userEmail,
+            InstructorAttributes instructor, String section, CourseRoster roster) {
+        
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        Map<String, FeedbackQuestionAttributes> relevantQuestions = new HashMap<String, FeedbackQuestionAttributes>();
+        Map<String, String> emailNameTable = new HashMap<String, String>();
+        Map<String, String> emailLastNameTable = new HashMap<String, String>();
+        Map<String, String> emailTeamNameTable = new HashMap<String, String>();
+        Map<String, Set<String>> sectionTeamNameTable = new HashMap<String, Set<String>>();
+        Map<String, boolean[]> visibilityTable = new HashMap<String, boolean[]>();
+        Map<String, List<FeedbackResponseCommentAttributes>> responseComments =
+                new HashMap<String, List<FeedbackResponseCommentAttributes>>();
+        
+        relevantQuestions.put(question.getId(), question);
+        
+        boolean isPrivateSessionNotCreatedByThisUser = session.isPrivateSession() && !session.isCreator(userEmail);
+        if (!isPrivateSessionNotCreatedByThisUser) {
+            Set<String> noTeamMembers = new HashSet<String>();
+            for (FeedbackResponseAttributes response : frLogic.getFeedbackResponsesForQuestionInSection(
+                                                                       question.getId(), section)) {
+                boolean isVisibleResponse = isResponseVisibleForUser(userEmail, Role.INSTRUCTOR, null,
+                                                                     noTeamMembers, response, question, instructor);
+                if (isVisibleResponse) {
+                    responses.add(response);
+                    addEmailNamePairsToTable(emailNameTable, response, question, roster);
+                    addEmailLastNamePairsToTable(emailLastNameTable, response, question, roster);
+                    addEmailTeamNamePairsToTable(emailTeamNameTable, response, question, roster);
+                    addVisibilityToTable(visibilityTable, question, response, userEmail, Role.INSTRUCTOR, roster);
+                }
+            }
+            addSectionTeamNamesToTable(sectionTeamNameTable, roster, session.getCourseId(), userEmail,
+                                       Role.INSTRUCTOR, session.getFeedbackSessionName(), section);
+        }
+        
+        return new FeedbackSessionResultsBundle(
+                session, responses, relevantQuestions, emailNameTable,
+                emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
+                visibilityTable, null, roster, responseComments, true);
+    }
+    
+    private StringBuilder getFeedbackSessionResultsHeaderInCsvFormat(FeedbackSessionAttributes session,
+                                                                      String section) {
         StringBuilder exportBuilder = new StringBuilder(100);
 
-        exportBuilder.append(String.format("Course,%s", Sanitizer.sanitizeForCsv(results.feedbackSession.getCourseId())))
+        exportBuilder.append(String.format("Course,%s", Sanitizer.sanitizeForCsv(session.getCourseId())))
                      .append(Const.EOL)
                      .append(String.format("Session Name,%s",
-                             Sanitizer.sanitizeForCsv(results.feedbackSession.getFeedbackSessionName())))
+                             Sanitizer.sanitizeForCsv(session.getFeedbackSessionName())))
                      .append(Const.EOL);
         
         if (section != null) {
@@ -848,13 +1007,7 @@ public class FeedbackSessionsLogic {
         }
 
         exportBuilder.append(Const.EOL).append(Const.EOL);
-
-        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry : results
-                .getQuestionResponseMap().entrySet()) {
-            exportBuilder.append(getFeedbackSessionResultsForQuestionInCsvFormat(results, entry));
-        }
-        return exportBuilder.toString();
-        
+        return exportBuilder;
     }
 
     private StringBuilder getFeedbackSessionResultsForQuestionInCsvFormat(
@@ -1182,6 +1335,8 @@ public class FeedbackSessionsLogic {
         for (FeedbackSessionAttributes session : feedbackSessions) {
             fsDb.updateInstructorRespondant(oldEmail, newEmail, session);
         }
+        // the questions an instructor is expected to answer depend on whether the instructor is the creator
+        fsDb.clearExpectedTotalsForCourse(courseId);
     }
 
     public void updateRespondantsForStudent(String oldEmail, String newEmail, String courseId)
@@ -1235,6 +1390,22 @@ public class FeedbackSessionsLogic {
         addStudentRespondants(new ArrayList<String>(respondingStudentList), feedbackSessionName, courseId);
     }
 
+    /**
+     * Clears the stored response statistics of the sessions in the course
+     * that depend on its roster, to be recounted when they are next read.
+     */
+    public void clearExpectedTotalsForCourse(String courseId) {
+        fsDb.clearExpectedTotalsForCourse(courseId);
+    }
+
+    /**
+     * Clears the stored response statistics of the session
+     * that depend on its questions, to be recounted when they are next read.
+     */
+    public void clearExpectedTotal(String feedbackSessionName, String courseId) {
+        fsDb.clearExpectedTotal(courseId, feedbackSessionName);
+    }
+
     public void deleteInstructorFromRespondantsList(InstructorAttributes instructor) {
         if (instructor == null || instructor.email == null) {
             return;
@@ -1249,6 +1420,7 @@ public class FeedbackSessionsLogic {
                 Assumption.fail("Fail to delete instructor respondant for " + session.getFeedbackSessionName());
             }
         }
+        fsDb.clearExpectedTotalsForCourse(instructor.courseId);
     }
 
     public void deleteStudentFromRespondantsList(StudentAttributes student) {
@@ -1265,6 +1437,7 @@ public class FeedbackSessionsLogic {
                 Assumption.fail("Fail to delete instructor respondant for " + session.getFeedbackSessionName());
             }
         }
+        fsDb.clearExpectedTotalsForCourse(student.course);
     }
 
     public void addInstructorRespondant(String email, String feedbackSessionName, String courseId)
@@ -1479,20 +1652,26 @@ public class FeedbackSessionsLogic {
         List<InstructorAttributes> instructorList = instructorsLogic
                 .getInstructorsForCourse(courseId);
 
+        // The questions are read once for all users, as in isFeedbackSessionCompletedByStudent/Instructor
+        List<FeedbackQuestionAttributes> allQuestions =
+                fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+
         // Filter out students who have submitted the feedback session
         List<StudentAttributes> studentsToRemindList = new ArrayList<StudentAttributes>();
-        for (StudentAttributes student : studentList) {
-            if (!isFeedbackSessionCompletedByStudent(session, student.email)) {
-                studentsToRemindList.add(student);
+        if (!fqLogic.getFeedbackQuestionsForStudents(allQuestions).isEmpty()) {
+            for (StudentAttributes student : studentList) {
+                if (!session.getRespondingStudentList().contains(student.email)) {
+                    studentsToRemindList.add(student);
+                }
             }
         }
 
         // Filter out instructors who have submitted the feedback session
         List<InstructorAttributes> instructorsToRemindList = new ArrayList<InstructorAttributes>();
         for (InstructorAttributes instructor : instructorList) {
-            if (!isFeedbackSessionCompletedByInstructor(
-                    session.getFeedbackSessionName(), session.getCourseId(),
-                    instructor.email)) {
+            boolean hasQuestionsToAnswer = !fqLogic.getFeedbackQuestionsForInstructor(
+                    allQuestions, session.isCreator(instructor.email)).isEmpty();
+            if (hasQuestionsToAnswer && !session.getRespondingInstructorList().contains(instructor.email)) {
                 instructorsToRemindList.add(instructor);
             }
         }
@@ -1525,18 +1704,17 @@ public class FeedbackSessionsLogic {
         
         List<InstructorAttributes> instructorList = instructorsLogic
                 .getInstructorsForCourse(courseId);
+        CourseRoster roster = new CourseRoster(studentsLogic.getStudentsForCourse(courseId), instructorList);
         List<StudentAttributes> studentsToRemindList = new ArrayList<StudentAttributes>();
         List<InstructorAttributes> instructorsToRemindList = new ArrayList<InstructorAttributes>();
 
         for (String userEmail : usersToRemind) {
-            StudentAttributes student = studentsLogic
-                    .getStudentForEmail(courseId, userEmail);
+            StudentAttributes student = roster.getStudentForEmail(userEmail);
             if (student != null) {
                 studentsToRemindList.add(student);
             }
 
-            InstructorAttributes instructor = instructorsLogic
-                    .getInstructorForEmail(courseId, userEmail);
+            InstructorAttributes instructor = roster.getInstructorForEmail(userEmail);
             if (instructor != null) {
                 instructorsToRemindList.add(instructor);
             }
@@ -1595,11 +1773,17 @@ public class FeedbackSessionsLogic {
         ArrayList<FeedbackSessionAttributes> requiredSessions = new
                 ArrayList<FeedbackSessionAttributes>();
 
-        List<FeedbackSessionAttributes> nonPrivateSessions = fsDb
-                .getNonPrivateFeedbackSessions();
-
-        for (FeedbackSessionAttributes session : nonPrivateSessions) {
-            if (session.isClosingWithinTimeLimit(SystemParams.NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT)
+        // only sessions ending about NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT hours from now can be closing within
+        // the time limit; the range is padded by an hour as the exact check below takes the current time again
+        long hourInMillis = 60 * 60 * 1000L;
+        long nowMillis = System.currentTimeMillis();
+        List<FeedbackSessionAttributes> sessionsEndingSoon = fsDb.getFeedbackSessionsStartingOrEndingWithin(
+                new Date(nowMillis + (SystemParams.NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT - 2) * hourInMillis),
+                new Date(nowMillis + (SystemParams.NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT + 1) * hourInMillis));
+
+        for (FeedbackSessionAttributes session : sessionsEndingSoon) {
+            if (session.getFeedbackSessionType() != FeedbackSessionType.PRIVATE
+                    && session.isClosingWithinTimeLimit(SystemParams.NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT)
                     && session.isClosingEmailEnabled()) {
                 requiredSessions.add(session);
             }
@@ -1682,24 +1866,9 @@ public class FeedbackSessionsLogic {
         
         switch (fsa.getFeedbackSessionType()) {
         case STANDARD:
-            List<StudentAttributes> students = studentsLogic.getStudentsForCourse(fsa.getCourseId());
-            List<InstructorAttributes> instructors = instructorsLogic.getInstructorsForCourse(fsa.getCourseId());
-            List<FeedbackQuestionAttributes> questions =
-                    fqLogic.getFeedbackQuestionsForSession(fsa.getFeedbackSessionName(), fsa.getCourseId());
-            List<FeedbackQuestionAttributes> studentQns = fqLogic.getFeedbackQuestionsForStudents(questions);
-
-            if (!studentQns.isEmpty()) {
-                details.stats.expectedTotal += students.size();
-            }
-        
-            for (InstructorAttributes instructor : instructors) {
-                List<FeedbackQuestionAttributes> instructorQns =
-                        fqLogic.getFeedbackQuestionsForInstructor(questions, fsa.isCreator(instructor.email));
-                if (!instructorQns.isEmpty()) {
-                    details.stats.expectedTotal += 1;
-                }
-            }
-            
+            // the stored total is cleared whenever the roster or the givers of the questions change
+            details.stats.expectedTotal = fsa.getExpectedTotal() == null ? countAndStoreExpectedTotal(fsa)
+                                                                         : fsa.getExpectedTotal();
             details.stats.submittedTotal += fsa.getRespondingStudentList().size() + fsa.getRespondingInstructorList().size();
 
             break;
@@ -1729,6 +1898,46 @@ public class FeedbackSessionsLogic {
         return details;
     }
     
+    private int countAndStoreExpectedTotal(FeedbackSessionAttributes fsa) throws EntityDoesNotExistException {
+        // the count is only stored if it started long enough after the total was last cleared
+        Date countStartTime = new Date();
+        List<StudentAttributes> students = studentsLogic.getStudentsForCourse(fsa.getCourseId());
+        List<InstructorAttributes> instructors = instructorsLogic.getInstructorsForCourse(fsa.getCourseId());
+        List<FeedbackQuestionAttributes> questions =
+                fqLogic.getFeedbackQuestionsForSession(fsa.getFeedbackSessionName(), fsa.getCourseId());
+        List<FeedbackQuestionAttributes> studentQns = fqLogic.getFeedbackQuestionsForStudents(questions);
+
+        int expectedTotal = 0;
+        if (!studentQns.isEmpty()) {
+            expectedTotal += students.size();
+        }
+
+        for (InstructorAttributes instructor : instructors) {
+            List<FeedbackQuestionAttributes> instructorQns =
+                    fqLogic.getFeedbackQuestionsForInstructor(questions, fsa.isCreator(instructor.email));
+            if (!instructorQns.isEmpty()) {
+                expectedTotal += 1;
+            }
+        }
+
+        fsDb.storeExpectedTotal(fsa.getCourseId(), fsa.getFeedbackSessionName(), expectedTotal, countStartTime);
+        return expectedTotal;
+    }
+
+    /**
+     * Reads the students and the instructors of the course at the same time.
+     */
+    private CourseRoster getCourseRoster(final String courseId) {
+        Future<List<StudentAttributes>> students = ParallelReads.start(new Callable<List<StudentAttributes>>() {
+            @Override
+            public List<StudentAttributes> call() {
+                return new StudentsDb().getStudentsForCourse(courseId);
+            }
+        });
+        List<InstructorAttributes> instructors = new InstructorsDb().getInstructorsForCourse(courseId);
+        return new CourseRoster(ParallelReads.get(students), instructors);
+    }
+
     /* Get the feedback results for user in a section iterated by questions */
     private FeedbackSessionResultsBundle getFeedbackSessionResultsForUserInSectionByQuestions(
             String feedbackSessionName, String courseId, String userEmail,
@@ -1737,18 +1946,20 @@ public class FeedbackSessionsLogic {
         // Load details of students and instructors once and pass it to callee
         // methods
         // (rather than loading them many times).
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = getCourseRoster(courseId);
         
         return getFeedbackSessionResultsForUserInSectionByQuestions(
                 feedbackSessionName, courseId, userEmail, role, section, roster);
     }
 
-    /* Get the feedback results for user in a section iterated by questions */
+    /*
+     * Get the feedback results for user in a section iterated by questions.
+     * The results of published sessions are kept as a view of the results for the user,
+     * which is reused until a write to the course invalidates it.
+     */
     private FeedbackSessionResultsBundle getFeedbackSessionResultsForUserInSectionByQuestions(
-            String feedbackSessionName, String courseId, String userEmail,
-            UserType.Role role, String section, CourseRoster roster)
+            final String feedbackSessionName, final String courseId, final String userEmail,
+            final UserType.Role role, final String section, CourseRoster roster)
             throws EntityDoesNotExistException {
 
         FeedbackSessionAttributes session = fsDb.getFeedbackSession(
@@ -1758,6 +1969,16 @@ public class FeedbackSessionsLogic {
             throw new EntityDoesNotExistException(
                     "Trying to view non-existent feedback session.");
         }
+        
+        // published sessions are never private, so the view does not depend on the creator of the session
+        boolean isResultsViewKept = session.isPublished();
+        if (isResultsViewKept) {
+            FeedbackSessionResultsView resultsView =
+                    resultsViewsDb.getResultsView(feedbackSessionName, courseId, userEmail, role, section);
+            if (resultsView != null) {
+                return resultsView.toBundle(session, roster);
+            }
+        }
 
         // create empty data containers to store results
         List<FeedbackResponseAttributes> responses =
@@ -1789,23 +2010,39 @@ public class FeedbackSessionsLogic {
                     visibilityTable, responseStatus, roster, responseComments);
         }
 
+        // The comments and the responses of each question do not depend on each other, so they are read at the same time
+        Future<List<FeedbackResponseCommentAttributes>> allResponseCommentsResult = ParallelReads.start(
+                new Callable<List<FeedbackResponseCommentAttributes>>() {
+                    @Override
+                    public List<FeedbackResponseCommentAttributes> call() {
+                        return frcLogic.getFeedbackResponseCommentForSession(courseId, feedbackSessionName);
+                    }
+                });
+        
         List<FeedbackQuestionAttributes> allQuestions = fqLogic.getFeedbackQuestionsForSession(
                                                                     feedbackSessionName, courseId);
+        final boolean isPrivateSessionCreatedByThisUser = session
+                .isCreator(userEmail) && session.isPrivateSession();
+        List<Callable<List<FeedbackResponseAttributes>>> responseReads =
+                new ArrayList<Callable<List<FeedbackResponseAttributes>>>();
+        for (final FeedbackQuestionAttributes question : allQuestions) {
+            responseReads.add(new Callable<List<FeedbackResponseAttributes>>() {
+                @Override
+                public List<FeedbackResponseAttributes> call() {
+                    if (isPrivateSessionCreatedByThisUser) {
+                        return frLogic.getFeedbackResponsesForQuestion(question.getId());
+                    }
+                    return frLogic.getViewableFeedbackResponsesForQuestionInSection(
+                            question, userEmail, role, section);
+                }
+            });
+        }
+        List<List<FeedbackResponseAttributes>> responsesOfQuestions = ParallelReads.readAll(responseReads);
+        
         Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
-        for (FeedbackQuestionAttributes question : allQuestions) {
-
-            List<FeedbackResponseAttributes> responsesForThisQn;
-
-            boolean isPrivateSessionCreatedByThisUser = session
-                    .isCreator(userEmail) && session.isPrivateSession();
-            if (isPrivateSessionCreatedByThisUser) {
-                responsesForThisQn = frLogic
-                        .getFeedbackResponsesForQuestion(question.getId());
-            } else {
-                responsesForThisQn = frLogic
-                        .getViewableFeedbackResponsesForQuestionInSection(
-                                question, userEmail, role, section);
-            }
+        for (int i = 0; i < allQuestions.size(); i++) {
+            FeedbackQuestionAttributes question = allQuestions.get(i);
+            List<FeedbackResponseAttributes> responsesForThisQn = responsesOfQuestions.get(i);
 
             boolean thisQuestionHasResponses = !responsesForThisQn.isEmpty();
             if (thisQuestionHasResponses) {
@@ -1841,9 +2078,7 @@ public class FeedbackSessionsLogic {
             instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
         }
         
-        List<FeedbackResponseCommentAttributes> allResponseComments =
-                frcLogic.getFeedbackResponseCommentForSession(courseId,
-                        feedbackSessionName);
+        List<FeedbackResponseCommentAttributes> allResponseComments = ParallelReads.get(allResponseCommentsResult);
         for (FeedbackResponseCommentAttributes frc : allResponseComments) {
             FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
             FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
@@ -1871,13 +2106,15 @@ public class FeedbackSessionsLogic {
         
         addSectionTeamNamesToTable(sectionTeamNameTable, roster, courseId, userEmail, role, feedbackSessionName, section);
 
-        FeedbackSessionResultsBundle results =
-                new FeedbackSessionResultsBundle(
-                        session, responses, relevantQuestions, emailNameTable,
-                        emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
-                        visibilityTable, responseStatus, roster, responseComments);
+        FeedbackSessionResultsView resultsView = new FeedbackSessionResultsView(
+                responses, relevantQuestions, emailNameTable, emailLastNameTable,
+                emailTeamNameTable, sectionTeamNameTable, visibilityTable, responseComments);
+        if (isResultsViewKept) {
+            // kept before the bundle is built, as building the bundle modifies the responses
+            resultsViewsDb.putResultsView(feedbackSessionName, courseId, userEmail, role, section, resultsView);
+        }
 
-        return results;
+        return resultsView.toBundle(session, roster);
     }
 
     private FeedbackSessionResultsBundle getFeedbackSessionResultsForUserWithParams(
@@ -2493,6 +2730,97 @@ public class FeedbackSessionsLogic {
         return true;
     }
 
+    /**
+     * Gets the students of the course who have not fully completed the session, i.e. who have not answered
+     * some question for students as in {@link #isFeedbackSessionFullyCompletedByStudent}.<br>
+     * The questions, the roster and the responses of the session are each read only once for all students,
+     * so this should be used instead of checking the students one by one.
+     */
+    public List<StudentAttributes> getStudentsWhoHaveNotFullyCompletedFeedbackSession(FeedbackSessionAttributes session) {
+        Assumption.assertNotNull(session);
+        String feedbackSessionName = session.getFeedbackSessionName();
+        String courseId = session.getCourseId();
+
+        List<StudentAttributes> incompleteStudents = new ArrayList<StudentAttributes>();
+        List<FeedbackQuestionAttributes> questions = fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName, courseId);
+        if (questions.isEmpty()) {
+            return incompleteStudents;
+        }
+
+        List<StudentAttributes> students = studentsLogic.getStudentsForCourse(courseId);
+        Set<String> instructorEmails = new HashSet<String>();
+        for (InstructorAttributes instructor : instructorsLogic.getInstructorsForCourse(courseId)) {
+            instructorEmails.add(instructor.email);
+        }
+        Map<String, Integer> teamSizes = new HashMap<String, Integer>();
+        for (StudentAttributes student : students) {
+            Integer teamSize = teamSizes.get(student.team);
+            teamSizes.put(student.team, teamSize == null ? 1 : teamSize + 1);
+        }
+
+        // number of responses given by each giver, by question; only one page of responses is held at a time
+        Map<String, Map<String, Integer>> responseCounts = new HashMap<String, Map<String, Integer>>();
+        String cursor = null;
+        do {
+            Page<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForSession(
+                    feedbackSessionName, courseId, cursor, SystemParams.DATASTORE_PAGE_SIZE);
+            for (FeedbackResponseAttributes response : responses.getItems()) {
+                Map<String, Integer> countsForQuestion = responseCounts.get(response.feedbackQuestionId);
+                if (countsForQuestion == null) {
+                    countsForQuestion = new HashMap<String, Integer>();
+                    responseCounts.put(response.feedbackQuestionId, countsForQuestion);
+                }
+                Integer count = countsForQuestion.get(response.giver);
+                countsForQuestion.put(response.giver, count == null ? 1 : count + 1);
+            }
+            cursor = responses.getCursor();
+        } while (cursor != null);
+
+        for (StudentAttributes student : students) {
+            for (FeedbackQuestionAttributes question : questions) {
+                Map<String, Integer> countsForQuestion = responseCounts.get(question.getId());
+                Integer numberOfResponsesGiven = countsForQuestion == null ? null : countsForQuestion.get(student.email);
+                int numberOfResponsesNeeded = question.numberOfEntitiesToGiveFeedbackTo;
+                if (numberOfResponsesNeeded == Const.MAX_POSSIBLE_RECIPIENTS) {
+                    numberOfResponsesNeeded = getNumberOfRecipientsForStudent(
+                            question, student, students.size(), instructorEmails, teamSizes);
+                }
+                if ((numberOfResponsesGiven == null ? 0 : numberOfResponsesGiven) < numberOfResponsesNeeded) {
+                    incompleteStudents.add(student);
+                    break;
+                }
+            }
+        }
+        return incompleteStudents;
+    }
+
+    /**
+     * Counts the recipients that the student can give feedback to for the question, like
+     * {@link FeedbackQuestionsLogic#getRecipientsForQuestion} but from the given details of the course.
+     */
+    private int getNumberOfRecipientsForStudent(FeedbackQuestionAttributes question, StudentAttributes student,
+                                                int numberOfStudents, Set<String> instructorEmails,
+                                                Map<String, Integer> teamSizes) {
+        switch (question.recipientType) {
+        case SELF:
+        case OWN_TEAM:
+        case NONE:
+            return 1;
+        case STUDENTS:
+            return numberOfStudents - 1;
+        case INSTRUCTORS:
+            return instructorEmails.contains(student.email) ? instructorEmails.size() - 1 : instructorEmails.size();
+        case TEAMS:
+            return teamSizes.size() - 1;
+        case OWN_TEAM_MEMBERS:
+            return teamSizes.get(student.team) - 1;
+        case OWN_TEAM_MEMBERS_INCLUDING_SELF:
+            return teamSizes.get(student.team);
+        default:
+            return 0;
+        }
+    }
+
     private boolean isFeedbackSessionFullyCompletedByInstructor(
             String feedbackSessionName,
             String courseId, String userEmail)
@@ -2540,14 +2868,34 @@ public class FeedbackSessionsLogic {
         return isFeedbackSessionViewableToStudents(session);
     }
 
+    /**
+     * Same as {@link #isFeedbackSessionViewableTo(FeedbackSessionAttributes, String, boolean)},
+     * with the questions of the session looked up in the dashboard of the student instead.
+     */
+    private boolean isFeedbackSessionViewableTo(
+            FeedbackSessionAttributes session,
+            String studentEmail,
+            StudentCourseDashboard dashboard) {
+
+        if (session.getFeedbackSessionType() == FeedbackSessionType.PRIVATE) {
+            return session.getCreatorEmail().equals(studentEmail);
+        }
+
+        return dashboard.isInstructorOfCourse || session.isVisible() && dashboard.isForStudents(session);
+    }
+
     public boolean isFeedbackSessionViewableToStudents(
             FeedbackSessionAttributes session) {
+        return session.isVisible() && hasQuestionsForStudentsOrResponsesVisibleToStudents(session);
+    }
+
+    private boolean hasQuestionsForStudentsOrResponsesVisibleToStudents(FeedbackSessionAttributes session) {
         // Allow students to view the feedback session if there are questions for them
         List<FeedbackQuestionAttributes> questionsToAnswer =
                 fqLogic.getFeedbackQuestionsForStudents(
                         session.getFeedbackSessionName(), session.getCourseId());
         
-        if (session.isVisible() && !questionsToAnswer.isEmpty()) {
+        if (!questionsToAnswer.isEmpty()) {
             return true;
         }
         
@@ -2563,7 +2911,7 @@ public class FeedbackSessionsLogic {
             }
         }
         
-        return session.isVisible() && !questionsWithVisibleResponses.isEmpty();
+        return !questionsWithVisibleResponses.isEmpty();
     }
     
     /**
@@ -0,0 +1,174 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.CommentAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.Page;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.common.util.Utils;
+import teammates.storage.api.CommentsDb;
+import teammates.storage.api.FeedbackResponseCommentsDb;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+import teammates.storage.search.SearchManager;
+
+/**
+ * Handles the maintenance of search documents through the search document task queue.<br>
+ * Changes are scheduled with the ids of the changed entities rather than with their documents,
+ * so that the worker always indexes the latest state of an entity and a document that is
+ * scheduled several times is indexed correctly whichever task runs last.
+ * The ids are those that identify an entity in its course: the email of a student or an instructor,
+ * and the id of a comment or a feedback response comment.
+ */
+public class SearchDocumentsLogic {
+
+    private static SearchDocumentsLogic instance;
+
+    private static final Logger log = Utils.getLogger();
+
+    private static final StudentsDb studentsDb = new StudentsDb();
+    private static final InstructorsDb instructorsDb = new InstructorsDb();
+    private static final CommentsDb commentsDb = new CommentsDb();
+    private static final FeedbackResponseCommentsDb frcDb = new FeedbackResponseCommentsDb();
+
+    public static SearchDocumentsLogic inst() {
+        if (instance == null) {
+            instance = new SearchDocumentsLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * Schedules the search documents of the given entities of a course to be created or updated.
+     * Repeated ids are coalesced, and the ids are split into tasks of at most
+     * {@link SearchManager#MAX_DOCUMENTS_PER_PUT} documents each.
+     */
+    public void scheduleDocumentUpdates(String indexName, String courseId, Collection<String> entityIds) {
+        Assumption.assertNotNull(indexName);
+        Assumption.assertNotNull(courseId);
+
+        List<String> uniqueEntityIds = new ArrayList<String>(new LinkedHashSet<String>(entityIds));
+        for (int start = 0; start < uniqueEntityIds.size(); start += SearchManager.MAX_DOCUMENTS_PER_PUT) {
+            int end = Math.min(start + SearchManager.MAX_DOCUMENTS_PER_PUT, uniqueEntityIds.size());
+            List<String> batch = uniqueEntityIds.subList(start, end);
+
+            HashMap<String, String[]> paramMap = new HashMap<String, String[]>();
+            paramMap.put(ParamsNames.COURSE_ID, new String[] { courseId });
+            paramMap.put(ParamsNames.SEARCH_INDEX_NAME, new String[] { indexName });
+            paramMap.put(ParamsNames.SEARCH_DOCUMENT_ENTITY_ID, batch.toArray(new String[batch.size()]));
+
+            TaskQueuesLogic.inst().createAndAddTaskMultisetParam(SystemParams.SEARCH_DOCUMENT_TASK_QUEUE,
+                    Const.ActionURIs.SEARCH_DOCUMENT_WORKER, paramMap);
+        }
+    }
+
+    public void scheduleDocumentUpdate(CommentAttributes comment) {
+        scheduleDocumentUpdates(Const.SearchIndex.COMMENT, comment.courseId,
+                                Arrays.asList(comment.getCommentId().toString()));
+    }
+
+    public void scheduleDocumentUpdate(FeedbackResponseCommentAttributes comment) {
+        scheduleDocumentUpdates(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, comment.courseId,
+                                Arrays.asList(comment.getId().toString()));
+    }
+
+    /**
+     * Schedules all the search documents of the course to be rebuilt.
+     */
+    public void scheduleDocumentsRebuildForCourse(String courseId) {
+        Assumption.assertNotNull(courseId);
+
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.COURSE_ID, courseId);
+
+        TaskQueuesLogic.inst().createAndAddTask(SystemParams.SEARCH_DOCUMENT_TASK_QUEUE,
+                Const.ActionURIs.SEARCH_DOCUMENT_WORKER, paramMap);
+    }
+
+    /**
+     * Creates or updates the search documents of the given entities of a course in batches.
+     * Entities that no longer exist are skipped, as their documents are deleted together with them.
+     */
+    public void updateDocuments(String indexName, String courseId, String[] entityIds) {
+        Set<String> uniqueEntityIds = new LinkedHashSet<String>(Arrays.asList(entityIds));
+
+        if (Const.SearchIndex.STUDENT.equals(indexName)) {
+            // one query for the course instead of one query per email
+            Map<String, StudentAttributes> studentsByEmail = new HashMap<String, StudentAttributes>();
+            for (StudentAttributes student : studentsDb.getStudentsForCourse(courseId)) {
+                studentsByEmail.put(student.email, student);
+            }
+            List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+            for (String email : uniqueEntityIds) {
+                StudentAttributes student = studentsByEmail.get(email);
+                if (student != null) {
+                    students.add(student);
+                }
+            }
+            studentsDb.putDocuments(students);
+        } else if (Const.SearchIndex.INSTRUCTOR.equals(indexName)) {
+            Map<String, InstructorAttributes> instructorsByEmail = new HashMap<String, InstructorAttributes>();
+            for (InstructorAttributes instructor : instructorsDb.getInstructorsForCourse(courseId)) {
+                instructorsByEmail.put(instructor.email, instructor);
+            }
+            List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+            for (String email : uniqueEntityIds) {
+                InstructorAttributes instructor = instructorsByEmail.get(email);
+                if (instructor != null) {
+                    instructors.add(instructor);
+                }
+            }
+            instructorsDb.putDocuments(instructors);
+        } else if (Const.SearchIndex.COMMENT.equals(indexName)) {
+            List<CommentAttributes> comments = new ArrayList<CommentAttributes>();
+            for (String commentId : uniqueEntityIds) {
+                CommentAttributes comment = commentsDb.getComment(Long.valueOf(commentId));
+                if (comment != null) {
+                    comments.add(comment);
+                }
+            }
+            commentsDb.putDocuments(comments);
+        } else if (Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT.equals(indexName)) {
+            List<FeedbackResponseCommentAttributes> comments = new ArrayList<FeedbackResponseCommentAttributes>();
+            for (String commentId : uniqueEntityIds) {
+                FeedbackResponseCommentAttributes comment = frcDb.getFeedbackResponseComment(Long.valueOf(commentId));
+                if (comment != null) {
+                    comments.add(comment);
+                }
+            }
+            frcDb.putDocuments(comments);
+        } else {
+            log.severe("Unknown search index: " + indexName);
+        }
+    }
+
+    /**
+     * Creates or updates all the search documents of the course in batches.
+     */
+    public void rebuildDocumentsForCourse(String courseId) {
+        String cursor = null;
+        do {
+            Page<StudentAttributes> students =
+                    studentsDb.getStudentsForCourse(courseId, cursor, SystemParams.DATASTORE_PAGE_SIZE);
+            studentsDb.putDocuments(students.getItems());
+            cursor = students.getCursor();
+        } while (cursor != null);
+        instructorsDb.putDocuments(instructorsDb.getInstructorsForCourse(courseId));
+        commentsDb.putDocuments(commentsDb.getCommentsForCourse(courseId));
+        frcDb.putDocuments(frcDb.getFeedbackResponseCommentsForCourse(courseId));
+    }
+}
@@ -2,19 +2,22 @@ package teammates.logic.core;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.mail.internet.MimeMessage;
 
 import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
-import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentAttributes.UpdateStatus;
 import teammates.common.datatransfer.StudentAttributesFactory;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.datatransfer.StudentRosterEntry;
 import teammates.common.datatransfer.StudentSearchResultBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EnrollException;
@@ -83,6 +86,7 @@ public class StudentsLogic {
                     "Course does not exist [" + studentData.course + "]");
         }
         
+        fsLogic.clearExpectedTotalsForCourse(studentData.course);
     }
 
     @SuppressWarnings("deprecation")
@@ -110,6 +114,10 @@ public class StudentsLogic {
         return studentsDb.getStudentsForCourse(courseId);
     }
     
+    public List<StudentRosterEntry> getStudentRosterEntriesForCourse(String courseId) {
+        return studentsDb.getStudentRosterEntriesForCourse(courseId);
+    }
+    
     public List<StudentAttributes> getStudentsForTeam(String teamName, String courseId) {
         return studentsDb.getStudentsForTeam(teamName, courseId);
     }
@@ -322,8 +330,6 @@ public class StudentsLogic {
             throw new EnrollException(StringHelper.toString(invalidityInfo, "<br>"));
         }
         
-        ArrayList<StudentAttributes> returnList = new ArrayList<StudentAttributes>();
-        ArrayList<StudentEnrollDetails> enrollmentList = new ArrayList<StudentEnrollDetails>();
         ArrayList<StudentAttributes> studentList = new ArrayList<StudentAttributes>();
         
         String[] linesArray = enrollLines.split(Const.EOL);
@@ -342,34 +348,50 @@ public class StudentsLogic {
         }
 
         verifyIsWithinSizeLimitPerEnrollment(studentList);
-        validateSectionsAndTeams(studentList, courseId);
+        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        validateSectionsAndTeams(studentList, studentsInCourse);
 
-        // TODO: can we use a batch persist operation here?
-        // enroll all students
-        for (StudentAttributes student : studentList) {
-            StudentEnrollDetails enrollmentDetails;
-            
-            enrollmentDetails = enrollStudent(student, hasDocument);
-            student.updateStatus = enrollmentDetails.updateStatus;
-            
-            enrollmentList.add(enrollmentDetails);
-            returnList.add(student);
+        List<StudentEnrollDetails> enrollmentList = enrollStudentList(studentList, courseId, studentsInCourse);
+
+        List<String> emailsOfChangedStudents = new ArrayList<String>();
+        ArrayList<StudentEnrollDetails> enrollmentsToAdjust = new ArrayList<StudentEnrollDetails>();
+        boolean hasNewStudents = false;
+        for (StudentEnrollDetails enrollmentDetails : enrollmentList) {
+            if (enrollmentDetails.updateStatus != UpdateStatus.UNMODIFIED) {
+                emailsOfChangedStudents.add(enrollmentDetails.email);
+            }
+            if (enrollmentDetails.updateStatus == UpdateStatus.NEW) {
+                hasNewStudents = true;
+            }
+            if (enrollmentDetails.oldTeam != null || enrollmentDetails.oldSection != null) {
+                enrollmentsToAdjust.add(enrollmentDetails);
+            }
         }
         
-        //Adjust submissions for all feedback responses within the course
-        List<FeedbackSessionAttributes> feedbackSessions = FeedbackSessionsLogic.inst()
-                .getFeedbackSessionsForCourse(courseId);
+        if (hasNewStudents) {
+            fsLogic.clearExpectedTotalsForCourse(courseId);
+        }
+        
+        // search documents are put in batches by the search document task queue
+        if (hasDocument) {
+            SearchDocumentsLogic.inst().scheduleDocumentUpdates(Const.SearchIndex.STUDENT, courseId,
+                                                                emailsOfChangedStudents);
+        }
         
-        for (FeedbackSessionAttributes session : feedbackSessions) {
-            //Schedule adjustment of submissions for feedback session in course
-            scheduleSubmissionAdjustmentForFeedbackInCourse(enrollmentList, courseId,
-                    session.getFeedbackSessionName());
+        // only the responses of students who changed team or section need to be adjusted
+        if (!enrollmentsToAdjust.isEmpty()) {
+            scheduleSubmissionAdjustmentForCourse(enrollmentsToAdjust, courseId);
         }
 
+        ArrayList<StudentAttributes> returnList = new ArrayList<StudentAttributes>(studentList);
+        
         // add to return list students not included in the enroll list.
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        Set<String> enrolledEmails = new HashSet<String>();
+        for (StudentAttributes student : studentList) {
+            enrolledEmails.add(student.email.toLowerCase());
+        }
         for (StudentAttributes student : studentsInCourse) {
-            if (!isInEnrollList(student, returnList)) {
+            if (!enrolledEmails.contains(student.email.toLowerCase())) {
                 student.updateStatus = StudentAttributes.UpdateStatus.NOT_IN_ENROLL_LIST;
                 returnList.add(student);
             }
@@ -377,6 +399,56 @@ public class StudentsLogic {
 
         return returnList;
     }
+    
+    /**
+     * Diffs the given students against the current students of the course, then creates
+     * the new students and updates the modified ones in one batch.
+     * The update status of each given student is set accordingly.
+     * No search documents are put.
+     * @return the enrollment details of the given students, in the same order
+     */
+    private List<StudentEnrollDetails> enrollStudentList(List<StudentAttributes> studentList, String courseId,
+            List<StudentAttributes> studentsInCourse)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        CourseRoster roster = new CourseRoster(studentsInCourse, null);
+        
+        List<StudentEnrollDetails> enrollmentList = new ArrayList<StudentEnrollDetails>();
+        List<StudentAttributes> studentsToCreate = new ArrayList<StudentAttributes>();
+        List<StudentAttributes> studentsToUpdate = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : studentList) {
+            StudentAttributes originalStudent = roster.getStudentForEmail(student.email);
+            
+            StudentEnrollDetails enrollmentDetails = new StudentEnrollDetails();
+            enrollmentDetails.course = courseId;
+            enrollmentDetails.email = student.email;
+            enrollmentDetails.newTeam = student.team;
+            enrollmentDetails.newSection = student.section;
+            
+            if (student.isEnrollInfoSameAs(originalStudent)) {
+                enrollmentDetails.updateStatus = UpdateStatus.UNMODIFIED;
+            } else if (originalStudent == null) {
+                enrollmentDetails.updateStatus = UpdateStatus.NEW;
+                studentsToCreate.add(student);
+            } else {
+                enrollmentDetails.updateStatus = UpdateStatus.MODIFIED;
+                if (!originalStudent.team.equals(student.team)) {
+                    enrollmentDetails.oldTeam = originalStudent.team;
+                }
+                if (!originalStudent.section.equals(student.section)) {
+                    enrollmentDetails.oldSection = originalStudent.section;
+                }
+                student.updateWithExistingRecord(originalStudent);
+                studentsToUpdate.add(student);
+            }
+            
+            student.updateStatus = enrollmentDetails.updateStatus;
+            enrollmentList.add(enrollmentDetails);
+        }
+        
+        studentsDb.createAndUpdateStudents(courseId, studentsToCreate, studentsToUpdate);
+        
+        return enrollmentList;
+    }
 
     private void verifyIsWithinSizeLimitPerEnrollment(List<StudentAttributes> students) throws EnrollException {
         if (students.size() > SIZE_LIMIT_PER_ENROLLMENT) {
@@ -391,8 +463,13 @@ public class StudentsLogic {
      * @throws EnrollException
      */
     public void validateSectionsAndTeams(List<StudentAttributes> studentList, String courseId) throws EnrollException {
+        validateSectionsAndTeams(studentList, getStudentsForCourse(courseId));
+    }
+    
+    private void validateSectionsAndTeams(List<StudentAttributes> studentList,
+            List<StudentAttributes> studentsInCourse) throws EnrollException {
 
-        List<StudentAttributes> mergedList = getMergedList(studentList, courseId);
+        List<StudentAttributes> mergedList = getMergedList(studentList, studentsInCourse);
 
         if (mergedList.size() < 2) { // no conflicts
             return;
@@ -414,7 +491,7 @@ public class StudentsLogic {
      */
     public void validateTeams(List<StudentAttributes> studentList, String courseId) throws EnrollException {
 
-        List<StudentAttributes> mergedList = getMergedList(studentList, courseId);
+        List<StudentAttributes> mergedList = getMergedList(studentList, getStudentsForCourse(courseId));
 
         if (mergedList.size() < 2) { // no conflicts
             return;
@@ -428,17 +505,19 @@ public class StudentsLogic {
 
     }
     
-    private List<StudentAttributes> getMergedList(List<StudentAttributes> studentList, String courseId) {
+    private List<StudentAttributes> getMergedList(List<StudentAttributes> studentList,
+            List<StudentAttributes> studentsInCourse) {
 
         List<StudentAttributes> mergedList = new ArrayList<StudentAttributes>();
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        Set<String> emailsInList = new HashSet<String>();
 
         for (StudentAttributes student : studentList) {
             mergedList.add(student);
+            emailsInList.add(student.email.toLowerCase());
         }
 
         for (StudentAttributes student : studentsInCourse) {
-            if (!isInEnrollList(student, mergedList)) {
+            if (!emailsInList.contains(student.email.toLowerCase())) {
                 mergedList.add(student);
             }
         }
@@ -512,13 +591,16 @@ public class StudentsLogic {
         return errorMessage.toString();
     }
 
-    private void scheduleSubmissionAdjustmentForFeedbackInCourse(
-            ArrayList<StudentEnrollDetails> enrollmentList, String courseId, String sessionName) {
+    /**
+     * Schedules one task that adjusts the responses of all feedback sessions in the course
+     * for the given enrollments.
+     */
+    private void scheduleSubmissionAdjustmentForCourse(
+            ArrayList<StudentEnrollDetails> enrollmentList, String courseId) {
         // private methods -- should I test this?
         HashMap<String, String> paramMap = new HashMap<String, String>();
         
         paramMap.put(ParamsNames.COURSE_ID, courseId);
-        paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, sessionName);
         
         Gson gsonBuilder = Utils.getTeammatesGson();
         String enrollmentDetails = gsonBuilder.toJson(enrollmentList);
@@ -654,7 +736,8 @@ public class StudentsLogic {
             ArrayList<StudentEnrollDetails> enrollmentList,
             FeedbackResponseAttributes response) throws InvalidParametersException, EntityDoesNotExistException {
         for (StudentEnrollDetails enrollment : enrollmentList) {
-            if (enrollment.updateStatus != UpdateStatus.MODIFIED) {
+            if (enrollment.updateStatus != UpdateStatus.MODIFIED
+                    || !enrollment.email.equals(response.giver) && !enrollment.email.equals(response.recipient)) {
                 continue;
             }
 
@@ -673,38 +756,6 @@ public class StudentsLogic {
         studentsDb.putDocument(student);
     }
     
-    private StudentEnrollDetails enrollStudent(StudentAttributes validStudentAttributes, Boolean hasDocument)
-            throws InvalidParametersException, EntityDoesNotExistException, EntityAlreadyExistsException {
-        StudentAttributes originalStudentAttributes = getStudentForEmail(
-                validStudentAttributes.course, validStudentAttributes.email);
-        
-        StudentEnrollDetails enrollmentDetails = new StudentEnrollDetails();
-        enrollmentDetails.course = validStudentAttributes.course;
-        enrollmentDetails.email = validStudentAttributes.email;
-        enrollmentDetails.newTeam = validStudentAttributes.team;
-        enrollmentDetails.newSection = validStudentAttributes.section;
-
-        boolean isModifyingExistingStudent = originalStudentAttributes != null;
-        if (validStudentAttributes.isEnrollInfoSameAs(originalStudentAttributes)) {
-            enrollmentDetails.updateStatus = UpdateStatus.UNMODIFIED;
-        } else if (isModifyingExistingStudent) {
-            updateStudentCascadeWithSubmissionAdjustmentScheduled(originalStudentAttributes.email, validStudentAttributes, true);
-            enrollmentDetails.updateStatus = UpdateStatus.MODIFIED;
-            
-            if (!originalStudentAttributes.team.equals(validStudentAttributes.team)) {
-                enrollmentDetails.oldTeam = originalStudentAttributes.team;
-            }
-            if (!originalStudentAttributes.section.equals(validStudentAttributes.section)) {
-                enrollmentDetails.oldSection = originalStudentAttributes.section;
-            }
-        } else {
-            createStudentCascade(validStudentAttributes, hasDocument);
-            enrollmentDetails.updateStatus = UpdateStatus.NEW;
-        }
-
-        return enrollmentDetails;
-    }
-    
     /* All empty lines or lines with only white spaces will be skipped.
      * The invalidity info returned are in HTML format.
      */
@@ -760,16 +811,6 @@ public class StudentsLogic {
         return studentEmailList.contains(email);
     }
     
-    private boolean isInEnrollList(StudentAttributes student,
-            List<StudentAttributes> studentInfoList) {
-        for (StudentAttributes studentInfo : studentInfoList) {
-            if (studentInfo.email.equalsIgnoreCase(student.email)) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
     private boolean isTeamChanged(String originalTeam, String newTeam) {
         return newTeam != null && originalTeam != null
                 && !originalTeam.equals(newTeam);
@@ -1,9 +1,17 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.logging.Logger;
+
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.RequestMetrics;
+import teammates.common.util.Utils;
 
 import com.google.appengine.api.taskqueue.Queue;
+import com.google.appengine.api.taskqueue.QueueConstants;
 import com.google.appengine.api.taskqueue.QueueFactory;
 import com.google.appengine.api.taskqueue.TaskOptions;
 
@@ -12,6 +20,8 @@ import com.google.appengine.api.taskqueue.TaskOptions;
  */
 public class TaskQueuesLogic {
 
+    private static final Logger log = Utils.getLogger();
+    
     private static TaskQueuesLogic instance;
     
     public static TaskQueuesLogic inst() {
@@ -34,6 +44,7 @@ public class TaskQueuesLogic {
         }
         
         requiredQueue.add(taskToBeAdded);
+        RequestMetrics.countTaskEnqueues(1);
     }
     
     // TODO Combine this and createAndAddTask and modify task schedulers accordingly?
@@ -52,6 +63,7 @@ public class TaskQueuesLogic {
         }
         
         requiredQueue.add(taskToBeAdded);
+        RequestMetrics.countTaskEnqueues(1);
     }
     
     public void createAndAddDeferredTask(String queueName,
@@ -68,5 +80,59 @@ public class TaskQueuesLogic {
         }
         
         requiredQueue.add(taskToBeAdded);
+        RequestMetrics.countTaskEnqueues(1);
+    }
+    
+    /**
+     * Adds one task for each of the given parameter maps, in as few calls to the task queue as possible.
+     * The n-th task (zero-based) is deferred by n * {@code countdownIntervalMillis}.
+     * A batch that cannot be added is retried one task at a time, and does not stop the other batches
+     * from being added. Tasks that still cannot be added are logged.
+     */
+    public void createAndAddDeferredTasks(String queueName, String workerUrl,
+            List<HashMap<String, String>> paramMaps, long countdownIntervalMillis) {
+        Queue requiredQueue = QueueFactory.getQueue(queueName);
+        int maxTasksPerAdd = QueueConstants.maxTasksPerAdd();
+        List<TaskOptions> tasksToBeAdded = new ArrayList<TaskOptions>(Math.min(paramMaps.size(), maxTasksPerAdd));
+        
+        for (int i = 0; i < paramMaps.size(); i++) {
+            TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl);
+            taskToBeAdded.countdownMillis(i * countdownIntervalMillis);
+            
+            for (Map.Entry<String, String> entry : paramMaps.get(i).entrySet()) {
+                taskToBeAdded = taskToBeAdded.param(entry.getKey(), entry.getValue());
+            }
+            
+            tasksToBeAdded.add(taskToBeAdded);
+            if (tasksToBeAdded.size() == maxTasksPerAdd) {
+                addTasks(requiredQueue, tasksToBeAdded);
+                tasksToBeAdded = new ArrayList<TaskOptions>(maxTasksPerAdd);
+            }
+        }
+        
+        if (!tasksToBeAdded.isEmpty()) {
+            addTasks(requiredQueue, tasksToBeAdded);
+        }
+    }
+    
+    private void addTasks(Queue queue, List<TaskOptions> tasks) {
+        try {
+            queue.add(tasks);
+            RequestMetrics.countTaskEnqueues(tasks.size());
+            return;
+        } catch (Exception e) {
+            log.warning("Error when adding a batch of " + tasks.size() + " tasks to " + queue.getQueueName()
+                        + ", adding them one at a time: " + TeammatesException.toStringWithStackTrace(e));
+        }
+        
+        for (TaskOptions task : tasks) {
+            try {
+                queue.add(task);
+                RequestMetrics.countTaskEnqueues(1);
+            } catch (Exception e) {
+                log.severe("Error when adding a task to " + queue.getQueueName() + ": "
+                           + TeammatesException.toStringWithStackTrace(e));
+            }
+        }
     }
 }
@@ -2,6 +2,7 @@ package teammates.logic.core;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import teammates.common.util.Const;
@@ -44,52 +45,54 @@ public class TeamEvalResult {
          * other methods are set as public for the ease of testing.
          */
 
-        log.fine("==================\n" + "starting result calculation for\n"
-                + pointsToString(submissionValues));
-
         claimed = submissionValues;
 
         normalizedClaimed = normalizeValues(claimed);
 
         int[][] claimedSanitized = sanitizeInput(submissionValues);
-        log.fine("claimed values sanitized :\n"
-                + pointsToString(claimedSanitized));
 
         double[][] claimedSanitizedNormalized = normalizeValues(intToDouble(claimedSanitized));
-        log.fine("claimed values sanitized and normalized :\n"
-                + pointsToString(claimedSanitizedNormalized));
 
         double[][] peerContributionRatioAsDouble = calculatePeerContributionRatio(claimedSanitizedNormalized);
-        log.fine("peerContributionRatio as double :\n"
-                + pointsToString(peerContributionRatioAsDouble));
 
         double[] averagePerceivedAsDouble = averageColumns(peerContributionRatioAsDouble);
-        log.fine("averagePerceived as double:\n"
-                + replaceMagicNumbers(Arrays.toString(averagePerceivedAsDouble)));
 
         double[] normalizedAveragePerceivedAsDouble = normalizeValues(averagePerceivedAsDouble);
-        log.fine("normalizedAveragePerceivedAsDouble as double:\n"
-                + replaceMagicNumbers(Arrays
-                        .toString(normalizedAveragePerceivedAsDouble)));
 
         double[][] normalizedPeerContributionRatioAsDouble =
                 adjustPeerContributionRatioToTallyNormalizedAveragePerceived(peerContributionRatioAsDouble);
-        log.fine("normalizedPeerContributionRatio as double :\n"
-                + pointsToString(peerContributionRatioAsDouble));
 
         normalizedPeerContributionRatio = doubleToInt(normalizedPeerContributionRatioAsDouble);
-        log.fine("normalizedUnbiasedClaimed as int :\n"
-                + pointsToString(normalizedPeerContributionRatio));
 
         denormalizedAveragePerceived = calculatePerceivedForStudents(
                 claimedSanitized, normalizedAveragePerceivedAsDouble);
-        log.fine("perceived to students :\n"
-                + pointsToString(denormalizedAveragePerceived));
 
         normalizedAveragePerceived = doubleToInt(normalizedAveragePerceivedAsDouble);
 
+        // the trace is only built when it is going to be logged, as building it costs more than the calculation
+        if (!log.isLoggable(Level.FINE)) {
+            return;
+        }
+        log.fine("==================\n" + "starting result calculation for\n"
+                + pointsToString(submissionValues));
+        log.fine("claimed values sanitized :\n"
+                + pointsToString(claimedSanitized));
+        log.fine("claimed values sanitized and normalized :\n"
+                + pointsToString(claimedSanitizedNormalized));
+        log.fine("peerContributionRatio as double :\n"
+                + pointsToString(peerContributionRatioAsDouble));
+        log.fine("averagePerceived as double:\n"
+                + replaceMagicNumbers(Arrays.toString(averagePerceivedAsDouble)));
+        log.fine("normalizedAveragePerceivedAsDouble as double:\n"
+                + replaceMagicNumbers(Arrays
+                        .toString(normalizedAveragePerceivedAsDouble)));
+        log.fine("normalizedPeerContributionRatio as double :\n"
+                + pointsToString(peerContributionRatioAsDouble));
+        log.fine("normalizedUnbiasedClaimed as int :\n"
+                + pointsToString(normalizedPeerContributionRatio));
+        log.fine("perceived to students :\n"
+                + pointsToString(denormalizedAveragePerceived));
         log.fine("Final result:\n" + this.toString());
-
         log.fine("==================");
     }
 
@@ -227,8 +230,7 @@ public class TeamEvalResult {
             return 0;
         }
 
-        verify("Unsanitized value in " + Arrays.toString(input),
-                isSanitized(doubleToInt(input)));
+        verifySanitized(input);
 
         double sum = NA;
         for (int i = 0; i < input.length; i++) {
@@ -293,7 +295,9 @@ public class TeamEvalResult {
     
         double idealSum = count * 100.0;
         double factor = actualSum == 0 ? 0 : idealSum / actualSum;
-        log.fine("Factor = " + idealSum + "/" + actualSum + " = " + factor);
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Factor = " + idealSum + "/" + actualSum + " = " + factor);
+        }
         return factor;
     }
 
@@ -334,23 +338,22 @@ public class TeamEvalResult {
         double[] output = new double[input.length];
 
         for (int i = 0; i < input.length; i++) {
-            verify("Unsanitized value in " + Arrays.toString(input[i]),
-                    isSanitized(doubleToInt(input[i])));
+            verifySanitized(input[i]);
             output[i] = averageColumn(input, i);
         }
-        log.fine("Column averages: "
-                + replaceMagicNumbers(Arrays.toString(output)));
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Column averages: "
+                    + replaceMagicNumbers(Arrays.toString(output)));
+        }
         return output;
     }
 
     private static double averageColumn(double[][] array, int columnIndex) {
         double sum = 0;
         int count = 0;
-        StringBuilder values = new StringBuilder();
         for (int j = 0; j < array.length; j++) {
             double value = array[j][columnIndex];
 
-            values.append(value).append(' ');
             if (value == NA) {
                 continue;
             }
@@ -360,8 +363,14 @@ public class TeamEvalResult {
         // omit calculation if no data points
         double average = count == 0 ? NA : (double) (sum / count);
 
-        String logMessage = "Average(" + values.toString().trim() + ") = " + average;
-        log.fine(replaceMagicNumbers(logMessage));
+        if (log.isLoggable(Level.FINE)) {
+            StringBuilder values = new StringBuilder();
+            for (int j = 0; j < array.length; j++) {
+                values.append(array[j][columnIndex]).append(' ');
+            }
+            String logMessage = "Average(" + values.toString().trim() + ") = " + average;
+            log.fine(replaceMagicNumbers(logMessage));
+        }
 
         return average;
     }
@@ -450,4 +459,11 @@ public class TeamEvalResult {
         }
     }
 
+    private static void verifySanitized(double[] input) {
+        // the message is only built on failure, as this is checked for every row of every team
+        if (!isSanitized(doubleToInt(input))) {
+            verify("Unsanitized value in " + Arrays.toString(input), false);
+        }
+    }
+
 }
@@ -0,0 +1,69 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache of the {@link TeamEvalResult} of each team for each contribution question,
+ * shared by all requests served by this instance.<br>
+ * Entries are keyed by question, team and the time the latest response of the team was updated.
+ * As responses can also be deleted, and the responses visible to a user may be a subset of those of the team,
+ * an entry is only used if it was also calculated from the same members and the same claims.<br>
+ * The cached results are shared, so callers must not modify them.
+ */
+public final class TeamEvalResultCache {
+
+    private static final int MAX_CACHED_TEAMS = 2000;
+
+    private static final String KEY_SEPARATOR = "/";
+
+    private static final Map<String, TeamEvalResult> CACHE = new LinkedHashMap<String, TeamEvalResult>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TeamEvalResult> eldest) {
+            return size() > MAX_CACHED_TEAMS;
+        }
+    };
+
+    private TeamEvalResultCache() {
+        // utility class
+    }
+
+    /**
+     * Returns the result of the team for the question, calculating it only if it is not in the cache.
+     *
+     * @param lastUpdated the time the latest response of the team to the question was updated
+     * @param studentEmails emails of the members of the team, in the order used as index of {@code claims}
+     * @param claims points given by the members of the team, in the format [giverIndex][recipientIndex]
+     */
+    public static TeamEvalResult getTeamEvalResult(String questionId, String team, Date lastUpdated,
+                                                   List<String> studentEmails, int[][] claims) {
+        String key = questionId + KEY_SEPARATOR + team + KEY_SEPARATOR + lastUpdated.getTime();
+        synchronized (CACHE) {
+            TeamEvalResult cached = CACHE.get(key);
+            if (cached != null && cached.studentEmails.equals(studentEmails)
+                    && Arrays.deepEquals(cached.claimed, claims)) {
+                return cached;
+            }
+        }
+
+        TeamEvalResult teamEvalResult = new TeamEvalResult(claims);
+        teamEvalResult.studentEmails = Collections.unmodifiableList(new ArrayList<String>(studentEmails));
+        synchronized (CACHE) {
+            CACHE.put(key, teamEvalResult);
+        }
+        return teamEvalResult;
+    }
+
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+}
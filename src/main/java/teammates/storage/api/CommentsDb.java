@@ -3,7 +3,10 @@ package teammates.storage.api;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.jdo.JDOHelper;
@@ -37,6 +40,9 @@ public class CommentsDb extends EntitiesDb {
     
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Comment: ";
     
+    /** Maximum number of values in an IN filter of a datastore query */
+    public static final int MAX_VALUES_PER_IN_FILTER = 30;
+    
     /**
      * This method is for testing only
      * @param commentsToAdd
@@ -212,6 +218,69 @@ public class CommentsDb extends EntitiesDb {
         return commentAttributesList;
     }
     
+    /**
+     * Gets the comments of the course visible to {@code commentViewerType} that are given to
+     * {@code recipientType} recipients and have any of {@code recipients} among their recipients,
+     * e.g. the team names or section names they are given to.
+     * The recipients of comments are indexed, so only the matching comments are read, with one query
+     * for every {@link #MAX_VALUES_PER_IN_FILTER} recipients. Each value costs an index scan, so this is
+     * meant for a few teams or sections rather than the students of a section; for those, see
+     * {@link #getCommentsForCommentViewerAndRecipientType}.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<CommentAttributes> getCommentsForCommentViewerAndRecipients(String courseId,
+            CommentParticipantType commentViewerType, CommentParticipantType recipientType,
+            Collection<String> recipients) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, commentViewerType);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, recipientType);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, recipients);
+        
+        // recipients are stored sanitized; the values as given are also matched, as before sanitization
+        Set<String> recipientValues = new LinkedHashSet<String>();
+        for (String recipient : recipients) {
+            recipientValues.add(recipient);
+            recipientValues.add(Sanitizer.sanitizeForHtml(recipient));
+        }
+        List<String> recipientValueList = new ArrayList<String>(recipientValues);
+        
+        // a comment given to several of the recipients is returned by several queries
+        Map<Long, CommentAttributes> comments = new LinkedHashMap<Long, CommentAttributes>();
+        for (int i = 0; i < recipientValueList.size(); i += MAX_VALUES_PER_IN_FILTER) {
+            List<String> recipientsForQuery =
+                    recipientValueList.subList(i, Math.min(i + MAX_VALUES_PER_IN_FILTER, recipientValueList.size()));
+            for (Comment comment : getCommentEntitiesForCommentViewerAndRecipients(courseId, commentViewerType,
+                                                                                  recipientType, recipientsForQuery)) {
+                if (!comments.containsKey(comment.getId())) {
+                    comments.put(comment.getId(), new CommentAttributes(comment));
+                }
+            }
+        }
+        return new ArrayList<CommentAttributes>(comments.values());
+    }
+    
+    /**
+     * Gets the comments of the course visible to {@code commentViewerType} that are given to
+     * {@code recipientType} recipients, with one query.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<CommentAttributes> getCommentsForCommentViewerAndRecipientType(String courseId,
+            CommentParticipantType commentViewerType, CommentParticipantType recipientType) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, commentViewerType);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, recipientType);
+        
+        List<Comment> comments = getCommentEntitiesForCommentViewerAndRecipientType(courseId, commentViewerType,
+                                                                                    recipientType);
+        List<CommentAttributes> commentAttributesList = new ArrayList<CommentAttributes>();
+        for (Comment comment : comments) {
+            commentAttributesList.add(new CommentAttributes(comment));
+        }
+        return commentAttributesList;
+    }
+    
     /*
      * Get comment for the sending state (SENT|SENDING|PENDING)
      */
@@ -482,6 +551,17 @@ public class CommentsDb extends EntitiesDb {
         putDocument(Const.SearchIndex.COMMENT, new CommentSearchDocument(comment));
     }
     
+    /*
+     * Create or update search documents for the given comments, in batches
+     */
+    public void putDocuments(List<CommentAttributes> comments) {
+        List<CommentSearchDocument> documents = new ArrayList<CommentSearchDocument>();
+        for (CommentAttributes comment : comments) {
+            documents.add(new CommentSearchDocument(comment));
+        }
+        putDocuments(Const.SearchIndex.COMMENT, documents);
+    }
+    
     /**
      * Search for comments
      * @return {@link CommentSearchResultBundle}
@@ -614,6 +694,36 @@ public class CommentsDb extends EntitiesDb {
         return getCommentsWithoutDeletedEntity(commentList);
     }
     
+    private List<Comment> getCommentEntitiesForCommentViewerAndRecipients(String courseId,
+            CommentParticipantType commentViewerType, CommentParticipantType recipientType, List<String> recipients) {
+        Query q = getPm().newQuery(Comment.class);
+        q.declareParameters("String courseIdParam, String commentViewerTypeParam, String recipientTypeParam, "
+                            + "java.util.List recipientsParam");
+        q.setFilter("courseId == courseIdParam "
+                + "&& showCommentTo.contains(commentViewerTypeParam) "
+                + "&& recipientType == recipientTypeParam "
+                + "&& recipientsParam.contains(recipients)");
+        @SuppressWarnings("unchecked")
+        List<Comment> commentList = (List<Comment>) q.executeWithArray(courseId, commentViewerType.toString(),
+                                                                       recipientType.toString(), recipients);
+        
+        return getCommentsWithoutDeletedEntity(commentList);
+    }
+    
+    private List<Comment> getCommentEntitiesForCommentViewerAndRecipientType(String courseId,
+            CommentParticipantType commentViewerType, CommentParticipantType recipientType) {
+        Query q = getPm().newQuery(Comment.class);
+        q.declareParameters("String courseIdParam, String commentViewerTypeParam, String recipientTypeParam");
+        q.setFilter("courseId == courseIdParam "
+                + "&& showCommentTo.contains(commentViewerTypeParam) "
+                + "&& recipientType == recipientTypeParam");
+        @SuppressWarnings("unchecked")
+        List<Comment> commentList =
+                (List<Comment>) q.execute(courseId, commentViewerType.toString(), recipientType.toString());
+        
+        return getCommentsWithoutDeletedEntity(commentList);
+    }
+    
     private List<Comment> getCommentEntitiesForCommentViewer(String courseId,
             CommentParticipantType commentViewerType) {
         Query q = getPm().newQuery(Comment.class);
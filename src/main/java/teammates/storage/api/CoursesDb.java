@@ -52,13 +52,21 @@ public class CoursesDb extends EntitiesDb {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        String cacheKey = getCacheKey(courseId, "course");
+        CourseAttributes cachedCourse = getFromCache(cacheKey, CourseAttributes.class);
+        if (cachedCourse != null) {
+            return cachedCourse;
+        }
+        
         Course c = getCourseEntity(courseId);
 
         if (c == null) {
             return null;
         }
 
-        return new CourseAttributes(c);
+        CourseAttributes course = new CourseAttributes(c);
+        putInCache(cacheKey, course);
+        return course;
     }
     
     public List<CourseAttributes> getCourses(List<String> courseIds) {
@@ -125,6 +133,7 @@ public class CoursesDb extends EntitiesDb {
         
         log.info(courseToUpdate.getBackupIdentifier());
         getPm().close();
+        invalidateCache(courseToUpdate.getId());
     }
     
 
@@ -147,6 +156,11 @@ public class CoursesDb extends EntitiesDb {
     protected Object getEntity(EntityAttributes attributes) {
         return getCourseEntity(((CourseAttributes) attributes).getId());
     }
+    
+    @Override
+    protected void invalidateCache(EntityAttributes attributes) {
+        invalidateCache(((CourseAttributes) attributes).getId());
+    }
 
     private Course getCourseEntity(String courseId) {
         Query q = getPm().newQuery(Course.class);
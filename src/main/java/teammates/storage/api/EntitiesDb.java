@@ -1,27 +1,40 @@
 package teammates.storage.api;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
 
 import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.Page;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.InvalidParametersException;
+import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
-import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 import teammates.storage.datastore.Datastore;
+import teammates.storage.datastore.EntitiesCache;
 import teammates.storage.search.SearchDocument;
 import teammates.storage.search.SearchManager;
 import teammates.storage.search.SearchQuery;
 
 import com.google.appengine.api.blobstore.BlobKey;
 import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
+import com.google.appengine.api.datastore.Cursor;
+import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 import com.google.appengine.api.search.SearchQueryException;
@@ -74,26 +87,7 @@ public abstract class EntitiesDb {
         Object entity = entityToAdd.toEntity();
         getPm().makePersistent(entity);
         getPm().flush();
-
-        // Wait for the operation to persist
-        int elapsedTime = 0;
-        Object createdEntity = getEntity(entityToAdd);
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            while (createdEntity == null
-                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                createdEntity = getEntity(entityToAdd);
-                //check before incrementing to avoid boundary case problem
-                if (createdEntity == null) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: create"
-                        + entityToAdd.getEntityTypeAsString() + "->"
-                        + entityToAdd.getIdentificationString());
-            }
-        }
+        invalidateCache(entityToAdd);
         
         log.info(entityToAdd.getBackupIdentifier());
         
@@ -127,6 +121,7 @@ public abstract class EntitiesDb {
        
         getPm().makePersistentAll(entities);
         getPm().flush();
+        invalidateCache(entitiesToAdd);
  
         return entitiesToUpdate;
 
@@ -159,6 +154,7 @@ public abstract class EntitiesDb {
         
         getPm().makePersistentAll(entities);
         getPm().flush();
+        invalidateCache(entitiesToAdd);
  
         return entities;
 
@@ -185,26 +181,8 @@ public abstract class EntitiesDb {
         Object entity = entityToAdd.toEntity();
         getPm().makePersistent(entity);
         getPm().flush();
-
-        // Wait for the operation to persist
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            Object entityCheck = getEntity(entityToAdd);
-            while (entityCheck == null
-                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                entityCheck = getEntity(entityToAdd);
-                //check before incrementing to avoid boundary case problem
-                if (entityCheck == null) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: create"
-                         + entityToAdd.getEntityTypeAsString() + "->"
-                         + entityToAdd.getIdentificationString());
-            }
-        }
+        invalidateCache(entityToAdd);
+        
         log.info(entityToAdd.getBackupIdentifier());
         
         return entity;
@@ -228,26 +206,8 @@ public abstract class EntitiesDb {
 
         getPm().deletePersistent(entity);
         getPm().flush();
+        invalidateCache(entityToDelete);
         
-        // wait for the operation to persist
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            Object entityCheck = getEntity(entityToDelete);
-            while (entityCheck != null
-                    && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                entityCheck = getEntity(entityToDelete);
-                //check before incrementing to avoid boundary case problem
-                if (entityCheck == null) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: delete"
-                        + entityToDelete.getEntityTypeAsString() + "->"
-                        + entityToDelete.getIdentificationString());
-            }
-        }
         log.info(entityToDelete.getBackupIdentifier());
     }
     
@@ -265,6 +225,7 @@ public abstract class EntitiesDb {
         
         getPm().deletePersistentAll(entities);
         getPm().flush();
+        invalidateCache(entitiesToDelete);
     }
     
     public void commitOutstandingChanges() {
@@ -301,11 +262,143 @@ public abstract class EntitiesDb {
      *             does not already exist in the Datastore.
      */
     protected abstract Object getEntity(EntityAttributes attributes);
-    
+
+    /**
+     * Gets the entities of {@code entityClass} that have the given primary keys
+     * with one {@code getObjectsById} call instead of one query per entity.
+     * @return a map from primary key to entity, in the order of {@code keys}.
+     *         Keys that do not match an existing entity are left out.
+     */
+    protected <K, T> Map<K, T> getEntitiesByKey(Class<T> entityClass, Collection<K> keys) {
+        Map<K, T> entities = new LinkedHashMap<K, T>();
+        if (keys.isEmpty()) {
+            return entities;
+        }
+
+        List<K> keyList = new ArrayList<K>(new LinkedHashSet<K>(keys));
+        List<Object> objectIds = new ArrayList<Object>();
+        for (K key : keyList) {
+            objectIds.add(getPm().newObjectIdInstance(entityClass, key));
+        }
+
+        List<Object> objects;
+        try {
+            objects = new ArrayList<Object>(getPm().getObjectsById(objectIds));
+        } catch (JDOObjectNotFoundException e) {
+            // the whole batch fails if one of the keys is missing; get the rest one by one
+            objects = new ArrayList<Object>();
+            for (Object objectId : objectIds) {
+                try {
+                    objects.add(getPm().getObjectById(objectId));
+                } catch (JDOObjectNotFoundException notFound) {
+                    objects.add(null);
+                }
+            }
+        }
+
+        for (int i = 0; i < keyList.size(); i++) {
+            Object entity = objects.get(i);
+            if (entity != null && !JDOHelper.isDeleted(entity)) {
+                entities.put(keyList.get(i), entityClass.cast(entity));
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Executes {@code query} for the next {@code pageSize} entities after {@code cursorString}.
+     * Only one page of entities is held in memory, hence arbitrarily large results can be walked
+     * through page by page, also across requests.
+     * @param cursorString the cursor of the previous page, or null to get the first page.
+     *         An invalid cursor causes an {@link IllegalArgumentException}.
+     * @return the page of entities, without deleted entities.
+     */
+    protected <T> Page<T> getEntityPage(Query query, String cursorString, int pageSize, Object... parameters) {
+        Assumption.assertTrue("page size must be positive", pageSize > 0);
+        
+        if (cursorString != null) {
+            Map<String, Object> extensions = new HashMap<String, Object>();
+            extensions.put(JDOCursorHelper.CURSOR_EXTENSION, Cursor.fromWebSafeString(cursorString));
+            query.setExtensions(extensions);
+        }
+        query.setRange(0, pageSize);
+        
+        @SuppressWarnings("unchecked")
+        List<T> results = (List<T>) query.executeWithArray(parameters);
+        
+        List<T> entities = new ArrayList<T>();
+        for (T entity : results) {
+            if (!JDOHelper.isDeleted(entity)) {
+                entities.add(entity);
+            }
+        }
+        
+        // a page that is not full is the last one
+        String nextCursor = results.size() < pageSize ? null : JDOCursorHelper.getCursor(results).toWebSafeString();
+        return new Page<T>(entities, nextCursor);
+    }
+
     protected PersistenceManager getPm() {
         return Datastore.getPersistenceManager();
     }
     
+    /*
+     * The following APIs give subclasses access to the EntitiesCache.
+     * Every write to an entity kind that has cached reads must invalidate the affected cache entries.
+     */
+    
+    /**
+     * @return the name under which this class keeps its entries in the {@link EntitiesCache}
+     */
+    protected String getCacheRegion() {
+        return getClass().getSimpleName();
+    }
+    
+    protected String getCacheKey(String courseId, String... qualifiers) {
+        return EntitiesCache.generateKey(getCacheRegion(), courseId, qualifiers);
+    }
+    
+    /**
+     * @return a copy of the value cached under {@code key}, or null if there is no such value.
+     */
+    protected <T> T getFromCache(String key, Type type) {
+        return EntitiesCache.get(key, type);
+    }
+    
+    protected void putInCache(String key, Object value) {
+        EntitiesCache.put(key, value);
+    }
+    
+    /**
+     * Invalidates the cache entries that may be affected by a write to the entity
+     * represented by {@code attributes}. Subclasses that cache reads per course should
+     * override this to only invalidate the entries of the entity's course.
+     */
+    protected void invalidateCache(EntityAttributes attributes) {
+        invalidateCache();
+    }
+    
+    protected void invalidateCache(Collection<? extends EntityAttributes> attributesList) {
+        for (EntityAttributes attributes : attributesList) {
+            invalidateCache(attributes);
+        }
+    }
+    
+    /**
+     * Also invalidates the results views of the course (see {@link FeedbackSessionResultsViewsDb})
+     * and the dashboards of its students (see {@link StudentCourseDashboardsDb}), as a write to any
+     * entity of the course may change what the results of its sessions look like.
+     */
+    protected void invalidateCache(String courseId) {
+        EntitiesCache.invalidate(getCacheRegion(), courseId);
+        EntitiesCache.invalidate(FeedbackSessionResultsViewsDb.CACHE_REGION, courseId);
+        EntitiesCache.invalidate(StudentCourseDashboardsDb.CACHE_REGION, courseId);
+    }
+    
+    protected void invalidateCache() {
+        EntitiesCache.invalidate(getCacheRegion());
+    }
+    
     //the followings APIs are used by Teammates' search engine
     protected void putDocument(String indexName, SearchDocument document) {
         try {
@@ -315,6 +408,19 @@ public abstract class EntitiesDb {
         }
     }
     
+    protected void putDocuments(String indexName, List<? extends SearchDocument> documents) {
+        try {
+            List<Document> builtDocuments = new ArrayList<Document>();
+            for (SearchDocument document : documents) {
+                builtDocuments.add(document.build());
+            }
+            SearchManager.putDocuments(indexName, builtDocuments);
+        } catch (Exception e) {
+            log.info("Failed to put " + documents.size() + " searchable documents in " + indexName
+                     + " e:\n" + TeammatesException.toStringWithStackTrace(e));
+        }
+    }
+    
     protected void getDocument(String indexName, String documentId) {
         SearchManager.getDocument(indexName, documentId);
     }
@@ -1,5 +1,6 @@
 package teammates.storage.api;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -16,9 +17,13 @@ import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.storage.entity.FeedbackQuestion;
 
+import com.google.gson.reflect.TypeToken;
+
 public class FeedbackQuestionsDb extends EntitiesDb {
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Feedback Question : ";
     
+    private static final Type QUESTION_LIST_TYPE = new TypeToken<List<FeedbackQuestionAttributes>>() { }.getType();
+    
     public void createFeedbackQuestions(Collection<FeedbackQuestionAttributes> questionsToAdd) throws InvalidParametersException {
         List<EntityAttributes> questionsToUpdate = createEntities(questionsToAdd);
         for (EntityAttributes entity : questionsToUpdate) {
@@ -93,6 +98,12 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        String cacheKey = getCacheKey(courseId, "questions", feedbackSessionName);
+        List<FeedbackQuestionAttributes> cachedQuestions = getFromCache(cacheKey, QUESTION_LIST_TYPE);
+        if (cachedQuestions != null) {
+            return cachedQuestions;
+        }
+        
         List<FeedbackQuestion> questions = getFeedbackQuestionEntitiesForSession(
                 feedbackSessionName, courseId);
         List<FeedbackQuestionAttributes> fqList = new ArrayList<FeedbackQuestionAttributes>();
@@ -103,6 +114,7 @@ public class FeedbackQuestionsDb extends EntitiesDb {
             }
         }
         
+        putInCache(cacheKey, fqList);
         return fqList;
     }
     
@@ -208,6 +220,7 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
+        invalidateCache(newAttributes.courseId);
     }
     
     public void deleteFeedbackQuestionsForCourse(String courseId) {
@@ -225,6 +238,9 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(feedbackQuestionList);
         getPm().flush();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
     }
     
     private List<FeedbackQuestion> getFeedbackQuestionEntitiesForCourses(List<String> courseIds) {
@@ -332,4 +348,9 @@ public class FeedbackQuestionsDb extends EntitiesDb {
                 feedbackQuestionToGet.courseId,
                 feedbackQuestionToGet.questionNumber);
     }
+    
+    @Override
+    protected void invalidateCache(EntityAttributes attributes) {
+        invalidateCache(((FeedbackQuestionAttributes) attributes).courseId);
+    }
 }
@@ -4,8 +4,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -99,6 +101,24 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return new FeedbackResponseCommentAttributes(frc);
     }
     
+    /**
+     * Gets the comments with the given ids in one batch instead of one query per comment.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the comments that exist, in the order of {@code feedbackResponseCommentIds}.
+     */
+    public List<FeedbackResponseCommentAttributes> getFeedbackResponseComments(
+                                                           Collection<Long> feedbackResponseCommentIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseCommentIds);
+        
+        List<FeedbackResponseCommentAttributes> comments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (FeedbackResponseComment frc
+                : getEntitiesByKey(FeedbackResponseComment.class, feedbackResponseCommentIds).values()) {
+            comments.add(new FeedbackResponseCommentAttributes(frc));
+        }
+        return comments;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -200,8 +220,48 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         
         List<FeedbackResponseComment> frcList = getFeedbackResponseCommentEntitiesForResponse(responseId);
         
+        Set<String> courseIds = new HashSet<String>();
+        for (FeedbackResponseComment frc : frcList) {
+            courseIds.add(frc.getCourseId());
+        }
         getPm().deletePersistentAll(frcList);
         getPm().flush();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
+    }
+    
+    /**
+     * Removes the response comments for the responses with the given ids, which are all in the given session,
+     * with one query for the comments of the session instead of one query per response.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void deleteFeedbackResponseCommentsForResponses(String courseId, String feedbackSessionName,
+                                                           Collection<String> responseIds) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responseIds);
+        
+        if (responseIds.isEmpty()) {
+            return;
+        }
+        
+        Set<String> responseIdSet = new HashSet<String>(responseIds);
+        List<FeedbackResponseComment> frcList = new ArrayList<FeedbackResponseComment>();
+        for (FeedbackResponseComment frc : getFeedbackResponseCommentEntitiesForSession(courseId, feedbackSessionName)) {
+            if (responseIdSet.contains(frc.getFeedbackResponseId())) {
+                frcList.add(frc);
+            }
+        }
+        
+        if (frcList.isEmpty()) {
+            return;
+        }
+        getPm().deletePersistentAll(frcList);
+        getPm().flush();
+        invalidateCache(courseId);
     }
     
     /*
@@ -215,6 +275,9 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(feedbackResponseCommentList);
         getPm().flush();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
     }
     
     public void deleteFeedbackResponseCommentsForCourse(String courseId) {
@@ -322,6 +385,60 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT + newAttributes.toString());
         }
         
+        setUpdatableFields(frc, newAttributes);
+        
+        log.info(newAttributes.getBackupIdentifier());
+        getPm().close();
+        invalidateCache(frc.getCourseId());
+        
+        return new FeedbackResponseCommentAttributes(frc);
+    }
+    
+    /**
+     * Updates all of {@code newAttributesList} as {@link #updateFeedbackResponseComment} does for
+     * a single comment, but gets the comments in one batch and writes them together.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null and all comments have an id.
+     * @throws InvalidParametersException if any of the comments is invalid, in which case nothing is written.
+     * @throws EntityDoesNotExistException if any of the comments does not exist, in which case nothing is written.
+     */
+    public void updateFeedbackResponseComments(Collection<FeedbackResponseCommentAttributes> newAttributesList)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newAttributesList);
+        
+        List<Long> commentIds = new ArrayList<Long>();
+        for (FeedbackResponseCommentAttributes newAttributes : newAttributesList) {
+            Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newAttributes.getId());
+            
+            newAttributes.sanitizeForSaving();
+            
+            if (!newAttributes.isValid()) {
+                throw new InvalidParametersException(newAttributes.getInvalidityInfo());
+            }
+            commentIds.add(newAttributes.getId());
+        }
+        
+        Map<Long, FeedbackResponseComment> comments = getEntitiesByKey(FeedbackResponseComment.class, commentIds);
+        for (FeedbackResponseCommentAttributes newAttributes : newAttributesList) {
+            if (!comments.containsKey(newAttributes.getId())) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT + newAttributes.toString());
+            }
+        }
+        
+        Set<String> courseIds = new HashSet<String>();
+        for (FeedbackResponseCommentAttributes newAttributes : newAttributesList) {
+            FeedbackResponseComment frc = comments.get(newAttributes.getId());
+            setUpdatableFields(frc, newAttributes);
+            courseIds.add(frc.getCourseId());
+            log.info(newAttributes.getBackupIdentifier());
+        }
+        getPm().close();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
+    }
+    
+    private void setUpdatableFields(FeedbackResponseComment frc, FeedbackResponseCommentAttributes newAttributes) {
         frc.setCommentText(newAttributes.commentText);
         frc.setSendingState(newAttributes.sendingState);
         frc.setGiverSection(newAttributes.giverSection);
@@ -335,11 +452,6 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         if (newAttributes.feedbackResponseId != null) {
             frc.setFeedbackResponseId(newAttributes.feedbackResponseId);
         }
-        
-        log.info(newAttributes.getBackupIdentifier());
-        getPm().close();
-        
-        return new FeedbackResponseCommentAttributes(frc);
     }
     
     /*
@@ -363,6 +475,7 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+        invalidateCache(courseId);
     }
     
     /*
@@ -402,6 +515,7 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+        invalidateCache(courseId);
     }
     
     /*
@@ -411,6 +525,17 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         putDocument(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, new FeedbackResponseCommentSearchDocument(comment));
     }
     
+    /*
+     * Create or update search documents for the given comments, in batches
+     */
+    public void putDocuments(List<FeedbackResponseCommentAttributes> comments) {
+        List<FeedbackResponseCommentSearchDocument> documents = new ArrayList<FeedbackResponseCommentSearchDocument>();
+        for (FeedbackResponseCommentAttributes comment : comments) {
+            documents.add(new FeedbackResponseCommentSearchDocument(comment));
+        }
+        putDocuments(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, documents);
+    }
+    
     /**
      * Search for response comments
      * @return {@link FeedbackResponseCommentSearchResultBundle}
@@ -482,6 +607,11 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             feedbackResponseCommentToGet.giverEmail);
     }
     
+    @Override
+    protected void invalidateCache(EntityAttributes attributes) {
+        invalidateCache(((FeedbackResponseCommentAttributes) attributes).courseId);
+    }
+    
     private Object getFeedbackResponseCommentEntity(String courseId, Date createdAt, String giverEmail) {
         List<FeedbackResponseComment> frcList = getFeedbackResponseCommentEntityForGiver(courseId, giverEmail);
         if (frcList.isEmpty()) {
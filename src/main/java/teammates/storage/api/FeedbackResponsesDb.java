@@ -3,14 +3,17 @@ package teammates.storage.api;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.Page;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
@@ -114,6 +117,19 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return (FeedbackResponse) getEntity(response);
     }
     
+    /**
+     * Gets the responses with the given ids in one batch instead of one query per response.
+     * Use {@link FeedbackResponse#generateId} to get the id of a response that is not known yet.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from response id to response. Ids of non-existent responses are left out.
+     */
+    public Map<String, FeedbackResponse> getFeedbackResponseEntities(Collection<String> feedbackResponseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseIds);
+        
+        return getEntitiesByKey(FeedbackResponse.class, feedbackResponseIds);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -212,6 +228,31 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
     
+    /**
+     * Gets the responses of the session one page at a time.
+     * Preconditions: <br>
+     * * {@code feedbackSessionName} and {@code courseId} are non-null.
+     * @param cursorString the cursor of the previous page, or null to get the first page.
+     */
+    public Page<FeedbackResponseAttributes> getFeedbackResponsesForSession(
+            String feedbackSessionName, String courseId, String cursorString, int pageSize) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        
+        Page<FeedbackResponse> frPage = getEntityPage(q, cursorString, pageSize, feedbackSessionName, courseId);
+        
+        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponse fr : frPage.getItems()) {
+            fraList.add(new FeedbackResponseAttributes(fr));
+        }
+        return new Page<FeedbackResponseAttributes>(fraList, frPage.getCursor());
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -633,13 +674,11 @@ public class FeedbackResponsesDb extends EntitiesDb {
         }
         
         fr.keepUpdateTimestamp = keepUpdateTimestamp;
-        fr.setAnswer(newAttributes.responseMetaData);
-        fr.setRecipientEmail(newAttributes.recipient);
-        fr.setGiverSection(newAttributes.giverSection);
-        fr.setRecipientSection(newAttributes.recipientSection);
+        setUpdatableFields(fr, newAttributes);
                 
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
+        invalidateCache(fr.getCourseId());
     }
     
     public void updateFeedbackResponseOptimized(FeedbackResponseAttributes newAttributes, FeedbackResponse fr)
@@ -647,6 +686,96 @@ public class FeedbackResponsesDb extends EntitiesDb {
         updateFeedbackResponseOptimized(newAttributes, fr, false);
     }
     
+    /**
+     * Creates and updates responses in one batch. The new responses are written with a single
+     * {@code makePersistentAll} and the updated ones are written when the persistence manager is closed.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     * * {@code existingEntities} contains the entities of {@code responsesToUpdate},
+     *   as returned by {@link #getFeedbackResponseEntities}.
+     * @throws InvalidParametersException if any of the responses is invalid, in which case nothing is written.
+     * @throws EntityDoesNotExistException if any of the responses to update does not exist,
+     *                                     in which case nothing is written.
+     */
+    public void createAndUpdateFeedbackResponses(Collection<FeedbackResponseAttributes> responsesToCreate,
+            Collection<FeedbackResponseAttributes> responsesToUpdate, Map<String, FeedbackResponse> existingEntities)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responsesToCreate);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responsesToUpdate);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, existingEntities);
+        
+        for (FeedbackResponseAttributes response : responsesToCreate) {
+            response.sanitizeForSaving();
+            if (!response.isValid()) {
+                throw new InvalidParametersException(response.getInvalidityInfo());
+            }
+        }
+        for (FeedbackResponseAttributes response : responsesToUpdate) {
+            if (!response.isValid()) {
+                throw new InvalidParametersException(response.getInvalidityInfo());
+            }
+            FeedbackResponse fr = existingEntities.get(response.getId());
+            if (fr == null || JDOHelper.isDeleted(fr)) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT + response.toString());
+            }
+        }
+        
+        List<Object> entitiesToCreate = new ArrayList<Object>();
+        for (FeedbackResponseAttributes response : responsesToCreate) {
+            entitiesToCreate.add(response.toEntity());
+            log.info(response.getBackupIdentifier());
+        }
+        for (FeedbackResponseAttributes response : responsesToUpdate) {
+            FeedbackResponse fr = existingEntities.get(response.getId());
+            fr.keepUpdateTimestamp = false;
+            setUpdatableFields(fr, response);
+            log.info(response.getBackupIdentifier());
+        }
+        
+        getPm().makePersistentAll(entitiesToCreate);
+        getPm().close();
+        invalidateCache(responsesToCreate);
+        invalidateCache(responsesToUpdate);
+    }
+    
+    private void setUpdatableFields(FeedbackResponse fr, FeedbackResponseAttributes newAttributes) {
+        fr.setAnswer(newAttributes.responseMetaData);
+        fr.setRecipientEmail(newAttributes.recipient);
+        fr.setGiverSection(newAttributes.giverSection);
+        fr.setRecipientSection(newAttributes.recipientSection);
+    }
+    
+    /**
+     * Deletes the responses with one batch get and one batch delete, instead of looking up and
+     * deleting each response separately.<br>
+     * Note: This is a non-cascade delete.<br>
+     * Fails silently for responses that do not exist.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null, and all the responses have ids.
+     */
+    public void deleteFeedbackResponses(Collection<FeedbackResponseAttributes> responsesToDelete) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responsesToDelete);
+        
+        Map<String, FeedbackResponseAttributes> responsesById = new HashMap<String, FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : responsesToDelete) {
+            Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, response.getId());
+            responsesById.put(response.getId(), response);
+        }
+        
+        Map<String, FeedbackResponse> entitiesToDelete = getFeedbackResponseEntities(responsesById.keySet());
+        if (entitiesToDelete.isEmpty()) {
+            return;
+        }
+        for (String responseId : entitiesToDelete.keySet()) {
+            log.info(responsesById.get(responseId).getBackupIdentifier());
+        }
+        
+        getPm().deletePersistentAll(entitiesToDelete.values());
+        getPm().flush();
+        invalidateCache(responsesToDelete);
+    }
+    
     public void deleteFeedbackResponsesForCourse(String courseId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
@@ -663,6 +792,9 @@ public class FeedbackResponsesDb extends EntitiesDb {
         
         getPm().deletePersistentAll(feedbackResponses);
         getPm().flush();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
     }
     
     @SuppressWarnings("unchecked")
@@ -1125,4 +1257,21 @@ public class FeedbackResponsesDb extends EntitiesDb {
             feedbackResponseToGet.giver,
             feedbackResponseToGet.recipient);
     }
+    
+    @Override
+    protected void invalidateCache(EntityAttributes attributes) {
+        invalidateCache(((FeedbackResponseAttributes) attributes).courseId);
+    }
+    
+    @Override
+    protected void invalidateCache(Collection<? extends EntityAttributes> attributesList) {
+        // batches of responses are mostly from one course, which only needs to be invalidated once
+        Set<String> courseIds = new HashSet<String>();
+        for (EntityAttributes attributes : attributesList) {
+            courseIds.add(((FeedbackResponseAttributes) attributes).courseId);
+        }
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
+    }
 }
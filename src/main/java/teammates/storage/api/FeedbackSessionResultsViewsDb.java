@@ -0,0 +1,48 @@
+package teammates.storage.api;
+
+import teammates.common.datatransfer.FeedbackSessionResultsView;
+import teammates.common.datatransfer.UserType;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.datastore.EntitiesCache;
+
+/**
+ * Keeps the {@link FeedbackSessionResultsView} of each user of a published session in the shared tier
+ * of the {@link EntitiesCache}, so that the results can be shown again without querying the responses.<br>
+ * The views of a course are invalidated by every write that {@link EntitiesDb} invalidates for the course
+ * (see {@link EntitiesDb#invalidateCache(String)}), as such writes may change what the results look like.
+ */
+public class FeedbackSessionResultsViewsDb {
+
+    public static final String CACHE_REGION = "FeedbackSessionResultsView";
+
+    /**
+     * @return the view of the results of the session for the user, or null if there is no up-to-date view.
+     *         Preconditions: the parameters other than {@code section} are non-null.
+     */
+    public FeedbackSessionResultsView getResultsView(String feedbackSessionName, String courseId,
+                                                     String userEmail, UserType.Role role, String section) {
+        return EntitiesCache.get(getCacheKey(feedbackSessionName, courseId, userEmail, role, section),
+                                 FeedbackSessionResultsView.class);
+    }
+
+    /**
+     * Keeps a copy of {@code view} as the view of the results of the session for the user.
+     * Preconditions: the parameters other than {@code section} are non-null.
+     */
+    public void putResultsView(String feedbackSessionName, String courseId, String userEmail,
+                               UserType.Role role, String section, FeedbackSessionResultsView view) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, view);
+        EntitiesCache.put(getCacheKey(feedbackSessionName, courseId, userEmail, role, section), view);
+    }
+
+    private String getCacheKey(String feedbackSessionName, String courseId, String userEmail,
+                               UserType.Role role, String section) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, userEmail);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, role);
+        return EntitiesCache.generateKey(CACHE_REGION, courseId, feedbackSessionName, role.name(),
+                                         section == null ? "" : section, userEmail);
+    }
+}
@@ -1,15 +1,19 @@
 package teammates.storage.api;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import javax.jdo.JDOException;
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
+import javax.jdo.Transaction;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
@@ -19,11 +23,21 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.TimeHelper;
+import teammates.storage.datastore.EntitiesCache;
 import teammates.storage.entity.FeedbackSession;
 
+import com.google.gson.reflect.TypeToken;
+
 public class FeedbackSessionsDb extends EntitiesDb {
     
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Feedback Session : ";
+    
+    private static final Type SESSION_LIST_TYPE = new TypeToken<List<FeedbackSessionAttributes>>() { }.getType();
+
+    /** Time allowed for a change to the roster or the questions to be seen by the queries of a recount */
+    private static final long EXPECTED_TOTAL_SETTLING_MILLIS = 10000;
+
+    private static final int MAX_CLEAR_EXPECTED_TOTAL_ATTEMPTS = 3;
 
     public void createFeedbackSessions(Collection<FeedbackSessionAttributes> feedbackSessionsToAdd)
             throws InvalidParametersException {
@@ -40,76 +54,58 @@ public class FeedbackSessionsDb extends EntitiesDb {
         }
     }
        
+    /**
+     * Gets the sessions that start within [{@code start}, {@code end}) or end within ({@code start}, {@code end}],
+     * where the period is given in the time zone {@code zone}.
+     */
     public List<FeedbackSessionAttributes> getAllOpenFeedbackSessions(Date start, Date end, double zone) {
         
-        List<FeedbackSessionAttributes> list = new LinkedList<FeedbackSessionAttributes>();
-        
-        final Query endTimequery = getPm().newQuery("SELECT FROM teammates.storage.entity.FeedbackSession "
-                                                    + "WHERE this.endTime>rangeStart && this.endTime<=rangeEnd "
-                                                    + " PARAMETERS java.util.Date rangeStart, "
-                                                    + "java.util.Date rangeEnd");
-
-        final Query startTimequery = getPm().newQuery("SELECT FROM teammates.storage.entity.FeedbackSession "
-                                                      + "WHERE this.startTime>=rangeStart && this.startTime<rangeEnd "
-                                                      + "PARAMETERS java.util.Date rangeStart, "
-                                                      + "java.util.Date rangeEnd");
-            
-        Calendar startCal = Calendar.getInstance();
-        startCal.setTime(start);
-        Calendar endCal = Calendar.getInstance();
-        endCal.setTime(end);
-
-        Date curStart = TimeHelper.convertToUserTimeZone(startCal, -25).getTime();
-        Date curEnd = TimeHelper.convertToUserTimeZone(endCal, 25).getTime();
-     
-        @SuppressWarnings("unchecked")
-        List<FeedbackSession> endEntities = (List<FeedbackSession>) endTimequery.execute(curStart, curEnd);
-        @SuppressWarnings("unchecked")
-        List<FeedbackSession> startEntities = (List<FeedbackSession>) startTimequery.execute(curStart, curEnd);
-        
-        List<FeedbackSession> endTimeEntities = new ArrayList<FeedbackSession>(endEntities);
-        List<FeedbackSession> startTimeEntities = new ArrayList<FeedbackSession>(startEntities);
+        long zoneOffsetMillis = (long) (60 * 60 * 1000 * zone);
+        Date rangeStart = new Date(start.getTime() - zoneOffsetMillis);
+        Date rangeEnd = new Date(end.getTime() - zoneOffsetMillis);
         
-        endTimeEntities.removeAll(startTimeEntities);
-        startTimeEntities.removeAll(endTimeEntities);
-        endTimeEntities.addAll(startTimeEntities);
-                    
+        List<FeedbackSessionAttributes> list = new ArrayList<FeedbackSessionAttributes>();
         
-        Iterator<FeedbackSession> it = endTimeEntities.iterator();
-
-        while (it.hasNext()) {
-            FeedbackSession feedbackSession = it.next();
-            
-            // Continue to the next element if the current element is deleted
-            if (JDOHelper.isDeleted(feedbackSession)) {
-                continue;
-            }
+        for (FeedbackSession feedbackSession : getFeedbackSessionEntitiesStartingOrEndingWithin(rangeStart, rangeEnd)) {
+            Date startTimeUtc = feedbackSession.getStartAndEndTimeUtc().get(0);
+            Date endTimeUtc = feedbackSession.getStartAndEndTimeUtc().get(1);
             
-            startCal.setTime(start);
-            endCal.setTime(end);
-            FeedbackSessionAttributes fs = new FeedbackSessionAttributes(feedbackSession);
-            
-            Date standardStart = TimeHelper.convertToUserTimeZone(startCal, fs.getTimeZone() - zone).getTime();
-            Date standardEnd = TimeHelper.convertToUserTimeZone(endCal, fs.getTimeZone() - zone).getTime();
-            
-            boolean isStartTimeWithinRange = TimeHelper.isTimeWithinPeriod(standardStart,
-                                                                           standardEnd,
-                                                                           fs.getStartTime(),
+            boolean isStartTimeWithinRange = TimeHelper.isTimeWithinPeriod(rangeStart,
+                                                                           rangeEnd,
+                                                                           startTimeUtc,
                                                                            true,
                                                                            false);
-            boolean isEndTimeWithinRange = TimeHelper.isTimeWithinPeriod(standardStart,
-                                                                         standardEnd,
-                                                                         fs.getEndTime(),
+            boolean isEndTimeWithinRange = TimeHelper.isTimeWithinPeriod(rangeStart,
+                                                                         rangeEnd,
+                                                                         endTimeUtc,
                                                                          false,
                                                                          true);
 
             if (isStartTimeWithinRange || isEndTimeWithinRange) {
-                list.add(fs);
+                list.add(new FeedbackSessionAttributes(feedbackSession));
             }
         }
              
         return list;
     }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return The sessions that start or end within the period, which is given in UTC and includes both ends.
+     *         Legacy sessions without stored UTC start and end times are not found.
+     */
+    public List<FeedbackSessionAttributes> getFeedbackSessionsStartingOrEndingWithin(Date rangeStart, Date rangeEnd) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, rangeStart);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, rangeEnd);
+        
+        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
+        for (FeedbackSession fs : getFeedbackSessionEntitiesStartingOrEndingWithin(rangeStart, rangeEnd)) {
+            fsaList.add(new FeedbackSessionAttributes(fs));
+        }
+        return fsaList;
+    }
 
     
     /**
@@ -122,13 +118,21 @@ public class FeedbackSessionsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        String cacheKey = getCacheKey(courseId, "session", feedbackSessionName);
+        FeedbackSessionAttributes cachedSession = getFromCache(cacheKey, FeedbackSessionAttributes.class);
+        if (cachedSession != null) {
+            return cachedSession;
+        }
+        
         FeedbackSession fs = getFeedbackSessionEntity(feedbackSessionName, courseId);
         
         if (fs == null) {
             log.info("Trying to get non-existent Session: " + feedbackSessionName + "/" + courseId);
             return null;
         }
-        return new FeedbackSessionAttributes(fs);
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes(fs);
+        putInCache(cacheKey, session);
+        return session;
         
     }
     
@@ -176,6 +180,12 @@ public class FeedbackSessionsDb extends EntitiesDb {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        String cacheKey = getCacheKey(courseId, "sessions");
+        List<FeedbackSessionAttributes> cachedSessions = getFromCache(cacheKey, SESSION_LIST_TYPE);
+        if (cachedSessions != null) {
+            return cachedSessions;
+        }
+        
         List<FeedbackSession> fsList = getFeedbackSessionEntitiesForCourse(courseId);
         List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
         
@@ -184,6 +194,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
                 fsaList.add(new FeedbackSessionAttributes(fs));
             }
         }
+        putInCache(cacheKey, fsaList);
         return fsaList;
     }
     
@@ -268,6 +279,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
                 
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
+        invalidateCache(newAttributes.getCourseId());
     }
 
     public void addInstructorRespondant(String email, FeedbackSessionAttributes feedbackSession)
@@ -300,6 +312,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
         
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCache(feedbackSession.getCourseId());
     }
 
     public void updateInstructorRespondant(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession)
@@ -328,6 +341,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
        
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCache(feedbackSession.getCourseId());
     }
 
     public void clearInstructorRespondants(FeedbackSessionAttributes feedbackSession)
@@ -351,6 +365,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCache(feedbackSession.getCourseId());
     }
 
     public void addStudentRespondant(String email, FeedbackSessionAttributes feedbackSession)
@@ -383,6 +398,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCache(feedbackSession.getCourseId());
     }
 
     public void addStudentRespondants(List<String> emails, FeedbackSessionAttributes feedbackSession)
@@ -407,6 +423,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCache(feedbackSession.getCourseId());
     }
 
     public void updateStudentRespondant(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession)
@@ -435,6 +452,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
         
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCache(feedbackSession.getCourseId());
     }
 
     public void clearStudentRespondants(FeedbackSessionAttributes feedbackSession)
@@ -458,6 +476,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCache(feedbackSession.getCourseId());
     }
 
     public void deleteStudentRespondent(String email, FeedbackSessionAttributes feedbackSession)
@@ -482,8 +501,131 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCache(feedbackSession.getCourseId());
     }
     
+    /**
+     * Stores {@code expectedTotal}, counted from reads that started at {@code countStartTime}, as the number
+     * of users expected to respond to the session, so that it need not be recounted until it is cleared.<br>
+     * The count is only stored if the stored number is still cleared, and was cleared long enough before the
+     * count started for the reads of the count to see the change that cleared it, as these reads are
+     * eventually consistent. Otherwise, or if the session is written at the same time, nothing is stored.
+     * Only the number of the session is written.
+     * @return whether the count was stored
+     */
+    public boolean storeExpectedTotal(String courseId, String feedbackSessionName, int expectedTotal,
+                                      Date countStartTime) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, countStartTime);
+
+        // the session is read again in the transaction, so that a concurrent write makes the commit fail
+        getPm().close();
+        PersistenceManager pm = getPm();
+        Transaction tx = pm.currentTransaction();
+        try {
+            tx.begin();
+            FeedbackSession fs = pm.getObjectById(FeedbackSession.class,
+                                                  getFeedbackSessionId(feedbackSessionName, courseId));
+            Date clearedTime = fs.getExpectedTotalClearedTime();
+            if (fs.getExpectedTotal() != null || clearedTime != null
+                    && clearedTime.getTime() > countStartTime.getTime() - EXPECTED_TOTAL_SETTLING_MILLIS) {
+                return false;
+            }
+            fs.setExpectedTotal(expectedTotal);
+            tx.commit();
+        } catch (JDOObjectNotFoundException e) {
+            return false;
+        } catch (JDOException e) {
+            log.info("Expected total of " + feedbackSessionName + "/" + courseId + " not stored: " + e.getMessage());
+            return false;
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            pm.close();
+        }
+
+        // only the sessions of the course are affected, not the results views or dashboards of the course
+        EntitiesCache.invalidate(getCacheRegion(), courseId);
+        return true;
+    }
+
+    /**
+     * Clears the stored number of users expected to respond to the session,
+     * e.g. after its questions change. Fails silently if no such session.
+     */
+    public void clearExpectedTotal(String courseId, String feedbackSessionName) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+
+        getPm().close();
+        if (clearExpectedTotalInTransaction(courseId, feedbackSessionName)) {
+            invalidateCache(courseId);
+        }
+    }
+
+    /**
+     * Clears the stored numbers of users expected to respond to the sessions of the course,
+     * e.g. after students or instructors are added to or removed from the course.
+     */
+    public void clearExpectedTotalsForCourse(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        List<String> feedbackSessionNames = new ArrayList<String>();
+        for (FeedbackSession fs : getFeedbackSessionEntitiesForCourse(courseId)) {
+            if (!JDOHelper.isDeleted(fs)) {
+                feedbackSessionNames.add(fs.getFeedbackSessionName());
+            }
+        }
+        getPm().close();
+
+        boolean isCleared = false;
+        for (String feedbackSessionName : feedbackSessionNames) {
+            isCleared |= clearExpectedTotalInTransaction(courseId, feedbackSessionName);
+        }
+        if (isCleared) {
+            invalidateCache(courseId);
+        }
+    }
+
+    /**
+     * Clears the stored number of users expected to respond to the session, and records when it was cleared,
+     * even if it was already cleared, so that a count made before the change that clears it is not stored.
+     * Only these fields of the session are written; the transaction is retried if the session is written
+     * at the same time.
+     * @return whether the session exists
+     */
+    private boolean clearExpectedTotalInTransaction(String courseId, String feedbackSessionName) {
+        for (int attempt = 1; ; attempt++) {
+            PersistenceManager pm = getPm();
+            Transaction tx = pm.currentTransaction();
+            try {
+                tx.begin();
+                FeedbackSession fs = pm.getObjectById(FeedbackSession.class,
+                                                      getFeedbackSessionId(feedbackSessionName, courseId));
+                fs.clearExpectedTotal();
+                tx.commit();
+                return true;
+            } catch (JDOObjectNotFoundException e) {
+                return false;
+            } catch (JDOException e) {
+                if (attempt == MAX_CLEAR_EXPECTED_TOTAL_ATTEMPTS) {
+                    throw e;
+                }
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                pm.close();
+            }
+        }
+    }
+    
+    private String getFeedbackSessionId(String feedbackSessionName, String courseId) {
+        return feedbackSessionName + "%" + courseId;
+    }
+
     public void deleteFeedbackSessionsForCourse(String courseId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
@@ -499,6 +641,9 @@ public class FeedbackSessionsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(feedbackSessionList);
         getPm().flush();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
     }
     
     @SuppressWarnings("unchecked")
@@ -552,6 +697,24 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return (List<FeedbackSession>) q.execute(false, FeedbackSessionType.PRIVATE);
     }
     
+    private List<FeedbackSession> getFeedbackSessionEntitiesStartingOrEndingWithin(Date rangeStart, Date rangeEnd) {
+        Query q = getPm().newQuery(FeedbackSession.class);
+        q.declareParameters("java.util.Date rangeStart, java.util.Date rangeEnd");
+        q.setFilter("startAndEndTimeUtc >= rangeStart && startAndEndTimeUtc <= rangeEnd");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackSession> fsList = (List<FeedbackSession>) q.execute(rangeStart, rangeEnd);
+        
+        // a session both starting and ending within the period can be returned twice
+        Map<String, FeedbackSession> sessionsByKey = new LinkedHashMap<String, FeedbackSession>();
+        for (FeedbackSession fs : fsList) {
+            if (!JDOHelper.isDeleted(fs)) {
+                sessionsByKey.put(fs.getFeedbackSessionName() + "%" + fs.getCourseId(), fs);
+            }
+        }
+        return new ArrayList<FeedbackSession>(sessionsByKey.values());
+    }
+    
     private FeedbackSession getFeedbackSessionEntity(String feedbackSessionName, String courseId) {
         
         Query q = getPm().newQuery(FeedbackSession.class);
@@ -575,4 +738,9 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return getFeedbackSessionEntity(feedbackSessionToGet.getFeedbackSessionName(),
                                         feedbackSessionToGet.getCourseId());
     }
+    
+    @Override
+    protected void invalidateCache(EntityAttributes attributes) {
+        invalidateCache(((FeedbackSessionAttributes) attributes).getCourseId());
+    }
 }
@@ -1,10 +1,13 @@
 package teammates.storage.api;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -16,7 +19,6 @@ import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
 import teammates.common.util.ThreadHelper;
@@ -26,6 +28,7 @@ import teammates.storage.search.InstructorSearchQuery;
 
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
+import com.google.gson.reflect.TypeToken;
 
 /**
  * Handles CRUD Operations for instructor roles.
@@ -34,6 +37,8 @@ import com.google.appengine.api.search.ScoredDocument;
  */
 public class InstructorsDb extends EntitiesDb {
     
+    private static final Type INSTRUCTOR_LIST_TYPE = new TypeToken<List<InstructorAttributes>>() { }.getType();
+    
     /* =========================================================================
      * Methods related to Google Search API
      * =========================================================================
@@ -50,6 +55,17 @@ public class InstructorsDb extends EntitiesDb {
         }
     }
     
+    public void putDocuments(List<InstructorAttributes> instructors) {
+        List<InstructorSearchDocument> documents = new ArrayList<InstructorSearchDocument>();
+        for (InstructorAttributes instructor : instructors) {
+            // defensive coding for legacy data
+            if (instructor.key != null) {
+                documents.add(new InstructorSearchDocument(instructor));
+            }
+        }
+        putDocuments(Const.SearchIndex.INSTRUCTOR, documents);
+    }
+    
     public void deleteDocument(InstructorAttributes instructorToDelete) {
         if (instructorToDelete.key == null) {
             InstructorAttributes instructor = this.getInstructorForEmail(instructorToDelete.courseId, instructorToDelete.email);
@@ -242,6 +258,12 @@ public class InstructorsDb extends EntitiesDb {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        String cacheKey = getCacheKey(courseId, "instructors");
+        List<InstructorAttributes> cachedInstructors = getFromCache(cacheKey, INSTRUCTOR_LIST_TYPE);
+        if (cachedInstructors != null) {
+            return cachedInstructors;
+        }
+        
         List<Instructor> instructorList = getInstructorEntitiesForCourse(courseId);
         
         List<InstructorAttributes> instructorDataList = new ArrayList<InstructorAttributes>();
@@ -251,6 +273,7 @@ public class InstructorsDb extends EntitiesDb {
             }
         }
         
+        putInCache(cacheKey, instructorDataList);
         return instructorDataList;
     }
     
@@ -312,6 +335,7 @@ public class InstructorsDb extends EntitiesDb {
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
         getPm().close();
+        invalidateCache(instructorAttributesToUpdate.courseId);
     }
     
     /**
@@ -349,6 +373,7 @@ public class InstructorsDb extends EntitiesDb {
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
         getPm().close();
+        invalidateCache(instructorAttributesToUpdate.courseId);
     }
     
     /**
@@ -371,28 +396,7 @@ public class InstructorsDb extends EntitiesDb {
 
         getPm().deletePersistent(instructorToDelete);
         getPm().flush();
-  
-        // Check delete operation persisted
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            Instructor instructorCheck = getInstructorEntityForEmail(courseId, email);
-            while (instructorCheck != null
-                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                instructorCheck = getInstructorEntityForEmail(courseId, email);
-                elapsedTime += ThreadHelper.WAIT_DURATION;
-            }
-            if (elapsedTime == Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: deleteInstructor->"
-                        + email);
-                                
-            }
-        }
-        
-        Instructor instructorCheck = getInstructorEntityForEmail(courseId, email);
-        if (instructorCheck != null) {
-            putDocument(new InstructorAttributes(instructorCheck));
-        }
+        invalidateCache(courseId);
 
         //TODO: reuse the method in the parent class instead
     }
@@ -409,6 +413,9 @@ public class InstructorsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(instructorsToDelete);
         getPm().flush();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
     }
     
     /**
@@ -425,8 +432,15 @@ public class InstructorsDb extends EntitiesDb {
             deleteDocument(new InstructorAttributes(instructor));
         }
         
+        Set<String> courseIds = new HashSet<String>();
+        for (Instructor instructor : instructorList) {
+            courseIds.add(instructor.getCourseId());
+        }
         getPm().deletePersistentAll(instructorList);
         getPm().flush();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
       
     }
     
@@ -445,6 +459,7 @@ public class InstructorsDb extends EntitiesDb {
         }
         getPm().deletePersistentAll(instructorList);
         getPm().flush();
+        invalidateCache(courseId);
 
     }
     
@@ -581,6 +596,11 @@ public class InstructorsDb extends EntitiesDb {
             
         return getInstructorEntityForEmail(instructorToGet.courseId, instructorToGet.email);
     }
+    
+    @Override
+    protected void invalidateCache(EntityAttributes attributes) {
+        invalidateCache(((InstructorAttributes) attributes).courseId);
+    }
 
 }
 
@@ -0,0 +1,158 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import teammates.common.util.RequestMetrics;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.datastore.EntitiesCache;
+
+import com.google.appengine.api.ThreadManager;
+
+/**
+ * Runs reads of the storage layer that do not depend on each other at the same time, so that a page
+ * which needs several of them waits about as long as the slowest read rather than the sum of all.<br>
+ * Each read runs on its own request thread (see {@link ThreadManager#currentRequestThreadFactory()}),
+ * with its own persistence manager and request tier of the {@link EntitiesCache}, and counts in the
+ * {@link RequestMetrics} of the request that started it. Where request threads cannot be created,
+ * e.g. outside of a request, the reads run one after another in the calling thread.<br>
+ * Reads only: the datastore makes no guarantees about the order of writes made by different threads.
+ */
+public final class ParallelReads {
+
+    /** Maximum number of threads used by {@link #readAll(List)}, within the limit of threads per request */
+    public static final int MAX_THREADS = 10;
+
+    private ParallelReads() {
+        // utility class
+    }
+
+    /**
+     * Starts {@code read} in a new request thread.
+     * @return the result of the read, to be obtained with {@link #get(Future)} before the request ends
+     */
+    public static <T> Future<T> start(Callable<T> read) {
+        return start(read, getThreadFactory());
+    }
+
+    /**
+     * Starts {@code read} in a new thread of {@code threadFactory}, or runs it in the calling thread
+     * if {@code threadFactory} is null. To be used directly only by tests, which have no request threads.
+     */
+    public static <T> Future<T> start(Callable<T> read, ThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            FutureTask<T> task = new FutureTask<T>(read);
+            task.run();
+            return task;
+        }
+        FutureTask<T> task = new FutureTask<T>(inOtherThread(read));
+        threadFactory.newThread(task).start();
+        return task;
+    }
+
+    /**
+     * Runs {@code reads}, up to {@link #MAX_THREADS} at the same time, and waits for all of them.
+     * @return the results of the reads, in the same order
+     */
+    public static <T> List<T> readAll(List<Callable<T>> reads) {
+        return readAll(reads, reads.size() > 1 ? getThreadFactory() : null);
+    }
+
+    /**
+     * Runs {@code reads} in threads of {@code threadFactory}, up to {@link #MAX_THREADS} at the same time,
+     * or one after another in the calling thread if {@code threadFactory} is null, and waits for all of them.
+     * To be used directly only by tests, which have no request threads.
+     * @return the results of the reads, in the same order
+     */
+    public static <T> List<T> readAll(List<Callable<T>> reads, ThreadFactory threadFactory) {
+        List<T> results = new ArrayList<T>();
+        if (threadFactory == null) {
+            for (Callable<T> read : reads) {
+                FutureTask<T> task = new FutureTask<T>(read);
+                task.run();
+                results.add(get(task));
+            }
+            return results;
+        }
+
+        List<Callable<T>> readsInOtherThreads = new ArrayList<Callable<T>>();
+        for (Callable<T> read : reads) {
+            readsInOtherThreads.add(inOtherThread(read));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(reads.size(), MAX_THREADS), threadFactory);
+        try {
+            for (Future<T> result : executor.invokeAll(readsInOtherThreads)) {
+                results.add(get(result));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for reads", e);
+        } finally {
+            // request threads must end before the request does
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Waits for the read to complete.
+     * @return the result of the read. An unchecked exception thrown by the read is thrown as is;
+     *         a checked exception is wrapped in a {@link RuntimeException}.
+     */
+    public static <T> T get(Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a read", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * @return the read, made to run in another thread on behalf of the request that calls this method
+     */
+    private static <T> Callable<T> inOtherThread(final Callable<T> read) {
+        final RequestMetrics metrics = RequestMetrics.current();
+        return new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                RequestMetrics.continueRequest(metrics);
+                try {
+                    return read.call();
+                } finally {
+                    Datastore.finishRequest();
+                    EntitiesCache.finishRequest();
+                    RequestMetrics.finishRequest();
+                }
+            }
+        };
+    }
+
+    /**
+     * @return the factory of request threads, or null if there is none, e.g. outside of a request
+     */
+    private static ThreadFactory getThreadFactory() {
+        try {
+            return ThreadManager.currentRequestThreadFactory();
+        } catch (RuntimeException e) {
+            // no current request
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package teammates.storage.api;
+
+import teammates.common.datatransfer.StudentCourseDashboard;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.datastore.EntitiesCache;
+
+/**
+ * Keeps the {@link StudentCourseDashboard} of each student of a course in the shared tier of the
+ * {@link EntitiesCache}, so that the student home page can be shown without reading the sessions,
+ * questions and respondents of every course of the student.<br>
+ * The dashboards of a course are invalidated by every write that {@link EntitiesDb} invalidates for
+ * the course (see {@link EntitiesDb#invalidateCache(String)}), which includes saving responses
+ * and publishing or editing sessions.
+ */
+public class StudentCourseDashboardsDb {
+
+    public static final String CACHE_REGION = "StudentCourseDashboard";
+
+    /**
+     * @return the dashboard of the student in the course, or null if there is no up-to-date dashboard.
+     *         Preconditions: all parameters are non-null.
+     */
+    public StudentCourseDashboard getDashboard(String courseId, String studentEmail) {
+        return EntitiesCache.get(getCacheKey(courseId, studentEmail), StudentCourseDashboard.class);
+    }
+
+    /**
+     * Keeps a copy of {@code dashboard} as the dashboard of the student in the course.
+     * Preconditions: all parameters are non-null.
+     */
+    public void putDashboard(String courseId, String studentEmail, StudentCourseDashboard dashboard) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, dashboard);
+        EntitiesCache.put(getCacheKey(courseId, studentEmail), dashboard);
+    }
+
+    private String getCacheKey(String courseId, String studentEmail) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, studentEmail);
+        return EntitiesCache.generateKey(CACHE_REGION, courseId, studentEmail);
+    }
+}
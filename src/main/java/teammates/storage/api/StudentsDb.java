@@ -1,26 +1,31 @@
 package teammates.storage.api;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.Page;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentRosterEntry;
 import teammates.common.datatransfer.StudentSearchResultBundle;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
-import teammates.common.util.ThreadHelper;
 import teammates.storage.entity.Student;
 import teammates.storage.search.StudentSearchDocument;
 import teammates.storage.search.StudentSearchQuery;
@@ -28,6 +33,7 @@ import teammates.storage.search.StudentSearchQuery;
 import com.google.appengine.api.datastore.KeyFactory;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
+import com.google.gson.reflect.TypeToken;
 
 /**
  * Handles CRUD Operations for student entities.
@@ -38,10 +44,22 @@ public class StudentsDb extends EntitiesDb {
 
     public static final String ERROR_UPDATE_EMAIL_ALREADY_USED = "Trying to update to an email that is already used by: ";
     
+    private static final Type STUDENT_LIST_TYPE = new TypeToken<List<StudentAttributes>>() { }.getType();
+    
+    private static final Type ROSTER_ENTRY_LIST_TYPE = new TypeToken<List<StudentRosterEntry>>() { }.getType();
+    
     public void putDocument(StudentAttributes student) {
         putDocument(Const.SearchIndex.STUDENT, new StudentSearchDocument(student));
     }
     
+    public void putDocuments(List<StudentAttributes> students) {
+        List<StudentSearchDocument> documents = new ArrayList<StudentSearchDocument>();
+        for (StudentAttributes student : students) {
+            documents.add(new StudentSearchDocument(student));
+        }
+        putDocuments(Const.SearchIndex.STUDENT, documents);
+    }
+    
     /**
      * Search for students
      * @return {@link StudentSearchResultBundle}
@@ -222,6 +240,12 @@ public class StudentsDb extends EntitiesDb {
     public List<StudentAttributes> getStudentsForCourse(String courseId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        String cacheKey = getCacheKey(courseId, "students");
+        List<StudentAttributes> cachedStudents = getFromCache(cacheKey, STUDENT_LIST_TYPE);
+        if (cachedStudents != null) {
+            return cachedStudents;
+        }
+        
         List<Student> studentList = getStudentEntitiesForCourse(courseId);
         
         List<StudentAttributes> studentDataList = new ArrayList<StudentAttributes>();
@@ -232,9 +256,59 @@ public class StudentsDb extends EntitiesDb {
             }
         }
     
+        putInCache(cacheKey, studentDataList);
         return studentDataList;
     }
     
+    /**
+     * Gets the roster fields of the students in the course, which are cached separately from
+     * the full attributes given by {@link #getStudentsForCourse(String)}.
+     * Preconditions: <br>
+     *  * All parameters are non-null.
+     * @return an empty list if no students in the course.
+     */
+    public List<StudentRosterEntry> getStudentRosterEntriesForCourse(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        String cacheKey = getCacheKey(courseId, "rosterEntries");
+        List<StudentRosterEntry> cachedEntries = getFromCache(cacheKey, ROSTER_ENTRY_LIST_TYPE);
+        if (cachedEntries != null) {
+            return cachedEntries;
+        }
+        
+        List<StudentRosterEntry> rosterEntries = new ArrayList<StudentRosterEntry>();
+        for (Student s : getStudentEntitiesForCourse(courseId)) {
+            if (!JDOHelper.isDeleted(s)) {
+                rosterEntries.add(new StudentRosterEntry(s));
+            }
+        }
+        
+        putInCache(cacheKey, rosterEntries);
+        return rosterEntries;
+    }
+    
+    /**
+     * Gets the students of the course one page at a time, bypassing the cache.
+     * Preconditions: <br>
+     *  * {@code courseId} is non-null.
+     * @param cursorString the cursor of the previous page, or null to get the first page.
+     */
+    public Page<StudentAttributes> getStudentsForCourse(String courseId, String cursorString, int pageSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(Student.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseID == courseIdParam");
+        
+        Page<Student> studentPage = getEntityPage(q, cursorString, pageSize, courseId);
+        
+        List<StudentAttributes> studentDataList = new ArrayList<StudentAttributes>();
+        for (Student s : studentPage.getItems()) {
+            studentDataList.add(new StudentAttributes(s));
+        }
+        return new Page<StudentAttributes>(studentDataList, studentPage.getCursor());
+    }
+    
     /**
      * Preconditions: <br>
      *  * All parameters are non-null.
@@ -409,6 +483,62 @@ public class StudentsDb extends EntitiesDb {
         
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+        invalidateCache(courseId);
+    }
+
+    /**
+     * Creates and updates students of a course with one read and one batched write, e.g. for enrollment.
+     * The students to update are matched with the existing students of the course by email,
+     * and all their other fields are overwritten. No search documents are put. <br>
+     * Nothing is written if any of the students is invalid or if a student to update does not exist.
+     */
+    public void createAndUpdateStudents(String courseId, Collection<StudentAttributes> studentsToCreate,
+            Collection<StudentAttributes> studentsToUpdate)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, studentsToCreate);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, studentsToUpdate);
+
+        List<Student> newStudents = new ArrayList<Student>();
+        for (StudentAttributes student : studentsToCreate) {
+            student.sanitizeForSaving();
+            if (!student.isValid()) {
+                throw new InvalidParametersException(student.getInvalidityInfo());
+            }
+            newStudents.add(student.toEntity());
+        }
+
+        Map<String, Student> existingStudents = new HashMap<String, Student>();
+        if (!studentsToUpdate.isEmpty()) {
+            for (Student student : getStudentEntitiesForCourse(courseId)) {
+                if (!JDOHelper.isDeleted(student)) {
+                    existingStudents.put(student.getEmail(), student);
+                }
+            }
+        }
+        for (StudentAttributes student : studentsToUpdate) {
+            if (!student.isValid()) {
+                throw new InvalidParametersException(student.getInvalidityInfo());
+            }
+            if (!existingStudents.containsKey(student.email)) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT_STUDENT + courseId + "/" + student.email);
+            }
+        }
+
+        for (StudentAttributes student : studentsToUpdate) {
+            Student studentToUpdate = existingStudents.get(student.email);
+            studentToUpdate.setName(student.name);
+            studentToUpdate.setLastName(StringHelper.splitName(student.name)[1]);
+            studentToUpdate.setComments(student.comments);
+            studentToUpdate.setGoogleId(student.googleId);
+            studentToUpdate.setTeamName(student.team);
+            studentToUpdate.setSectionName(student.section);
+        }
+        getPm().makePersistentAll(newStudents);
+
+        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        getPm().close();
+        invalidateCache(courseId);
     }
 
     //TODO: add an updateStudent(StudentAttributes) version and make the above private
@@ -444,22 +574,7 @@ public class StudentsDb extends EntitiesDb {
        
         getPm().deletePersistent(studentToDelete);
         getPm().flush();
-    
-        // Check delete operation persisted
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            Student studentCheck = getStudentEntityForEmail(courseId, email);
-            while (studentCheck != null
-                    && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                studentCheck = getStudentEntityForEmail(courseId, email);
-                elapsedTime += ThreadHelper.WAIT_DURATION;
-            }
-            if (elapsedTime == Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: deleteStudent->"
-                        + courseId + "/" + email);
-            }
-        }
+        invalidateCache(courseId);
         //TODO: use the method in the parent class instead.
     }
 
@@ -488,8 +603,15 @@ public class StudentsDb extends EntitiesDb {
                 deleteDocument(new StudentAttributes(student));
             }
         }
+        Set<String> courseIds = new HashSet<String>();
+        for (Student student : studentList) {
+            courseIds.add(student.getCourseId());
+        }
         getPm().deletePersistentAll(studentList);
         getPm().flush();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
     }
 
     /**
@@ -518,6 +640,7 @@ public class StudentsDb extends EntitiesDb {
         }
         getPm().deletePersistentAll(studentList);
         getPm().flush();
+        invalidateCache(courseId);
     }
 
     public void deleteStudentsForCourses(List<String> courseIds) {
@@ -528,6 +651,9 @@ public class StudentsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(studentsToDelete);
         getPm().flush();
+        for (String courseId : courseIds) {
+            invalidateCache(courseId);
+        }
     }
     
     public void verifyStudentExists(String courseId, String email)
@@ -627,6 +753,11 @@ public class StudentsDb extends EntitiesDb {
         StudentAttributes studentToGet = (StudentAttributes) entity;
         return getStudentForEmail(studentToGet.course, studentToGet.email);
     }
+    
+    @Override
+    protected void invalidateCache(EntityAttributes attributes) {
+        invalidateCache(((StudentAttributes) attributes).course);
+    }
 
 }
 
@@ -29,6 +29,7 @@ public final class Datastore {
         if (pmf == null) {
             pmf = JDOHelper
                     .getPersistenceManagerFactory("transactions-optional");
+            pmf.addInstanceLifecycleListener(new RequestMetricsLifecycleListener(), null);
         } else {
             log.warning("Trying to initialize Datastore again");
         }
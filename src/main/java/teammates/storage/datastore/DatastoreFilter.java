@@ -8,16 +8,20 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 
+import teammates.common.util.RequestMetrics;
+
 //TODO: Do we really need this filter? To be reconsidered.
 /**
  * Servlet Filter to ensure that the datastore is initialized before a request
- * is processed.
+ * is processed, that the request tier of {@link EntitiesCache} is emptied after it,
+ * and that the {@link RequestMetrics} of the request are collected.
  */
 public final class DatastoreFilter implements javax.servlet.Filter {
 
     @Override
     public void init(FilterConfig config) {
         Datastore.initialize();
+        RequestMetricsDelegate.install();
     }
 
     @Override
@@ -26,7 +30,13 @@ public final class DatastoreFilter implements javax.servlet.Filter {
         //There was a Datastore.finishRequest() here inside a finally clause.
         //  It was removed at 4.19 because some requests span multiple entity
         //  groups. We are not allowed to apply transactions to such requests.
-        chain.doFilter(request, response);
+        RequestMetrics.startRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            EntitiesCache.finishRequest();
+            RequestMetrics.finishRequest();
+        }
 
     }
 
@@ -0,0 +1,408 @@
+package teammates.storage.datastore;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.FeedbackDetailsCodec;
+import teammates.common.util.Config;
+import teammates.common.util.Utils;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Two-tier cache for the results of reads that are repeated often by the storage layer.
+ * <ul>
+ * <li>The request tier is an identity map local to the current thread. It is emptied
+ * by {@link #finishRequest()} at the end of every request.</li>
+ * <li>The shared tier is a {@link SharedCache} chosen by "app.cache.shared.backend" in build.properties:
+ * memcache, which is shared by all instances, or an LRU map local to this instance whose size is
+ * "app.cache.shared.size". It is disabled if the backend is "none" or the local map has size 0.</li>
+ * </ul>
+ * Values are kept as serialized snapshots, so callers are free to modify the objects they get back.<br>
+ * Keys are of the form {@code region/courseId/qualifier} (see {@link #generateKey}) so that a write can
+ * invalidate everything cached for a course with {@link #invalidate(String, String)}.
+ * Invalidation removes the affected values from the request tiers of all threads in this instance.
+ * In the shared tier, it bumps the version stamp of the course (or of the region), which every shared value
+ * is stamped with when it is cached. Values with an outdated stamp are stale and are treated as misses,
+ * so invalidation reaches all instances without having to enumerate the keys.
+ * If a stamp cannot be bumped, it is removed instead, which also makes every value stamped with it stale.
+ * Shared values and stamps expire after "app.cache.shared.expiry" seconds.
+ */
+public final class EntitiesCache {
+
+    private static final String KEY_SEPARATOR = "/";
+    
+    private static final String VERSION_QUALIFIER = "#version";
+
+    private static final Logger log = Utils.getLogger();
+
+    private static final Gson SNAPSHOT_GSON = new GsonBuilder()
+            .excludeFieldsWithModifiers(Modifier.STATIC)
+            .setExclusionStrategies(new ParsedDetailsExclusionStrategy())
+            .registerTypeAdapter(Date.class, new DateAsMillisAdapter())
+            .serializeNulls()
+            .create();
+
+    private static final ThreadLocal<Map<String, String>> PER_REQUEST_CACHE = new ThreadLocal<Map<String, String>>();
+
+    /**
+     * The version stamps seen by the latest miss of each key in the current thread, so that the value
+     * read from the datastore after the miss is stamped with versions that are not newer than the value.
+     */
+    private static final ThreadLocal<Map<String, long[]>> PER_REQUEST_MISSED_VERSIONS =
+            new ThreadLocal<Map<String, long[]>>();
+
+    /** All request tiers that are currently alive, so that invalidation can reach them. */
+    private static final Set<Map<String, String>> LIVE_REQUEST_CACHES =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Map<String, String>, Boolean>()));
+
+    private static final SharedCache SHARED_CACHE = createSharedCache();
+
+    private static final AtomicLong REQUEST_HITS = new AtomicLong();
+    private static final AtomicLong SHARED_HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong STALE_MISSES = new AtomicLong();
+    private static final AtomicLong INVALIDATIONS = new AtomicLong();
+
+    private EntitiesCache() {
+        // utility class
+    }
+
+    public static String generateKey(String region, String courseId, String... qualifiers) {
+        StringBuilder key = new StringBuilder(region).append(KEY_SEPARATOR).append(courseId).append(KEY_SEPARATOR);
+        for (String qualifier : qualifiers) {
+            key.append(qualifier).append(KEY_SEPARATOR);
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return a fresh copy of the value cached under {@code key}, or null if there is no such value.
+     */
+    public static <T> T get(String key, Type type) {
+        String snapshot = getRequestCache().get(key);
+        if (snapshot != null) {
+            REQUEST_HITS.incrementAndGet();
+            return SNAPSHOT_GSON.fromJson(snapshot, type);
+        }
+
+        if (SHARED_CACHE == null) {
+            MISSES.incrementAndGet();
+            return null;
+        }
+
+        String regionVersionKey = getRegionVersionKey(key);
+        String courseVersionKey = getCourseVersionKey(key);
+        Map<String, Object> values = SHARED_CACHE.getAll(Arrays.asList(regionVersionKey, courseVersionKey, key));
+        long[] versions = {
+                getVersion(values, regionVersionKey),
+                getVersion(values, courseVersionKey)
+        };
+
+        VersionedSnapshot versionedSnapshot = (VersionedSnapshot) values.get(key);
+        if (versionedSnapshot == null || !versionedSnapshot.hasVersions(versions)) {
+            if (versionedSnapshot == null) {
+                MISSES.incrementAndGet();
+            } else {
+                STALE_MISSES.incrementAndGet();
+            }
+            getMissedVersions().put(key, versions);
+            return null;
+        }
+
+        SHARED_HITS.incrementAndGet();
+        getRequestCache().put(key, versionedSnapshot.snapshot);
+        return SNAPSHOT_GSON.fromJson(versionedSnapshot.snapshot, type);
+    }
+
+    /**
+     * Caches a snapshot of {@code value}. Null values are not cached.
+     */
+    public static void put(String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        String snapshot = SNAPSHOT_GSON.toJson(value);
+        getRequestCache().put(key, snapshot);
+        if (SHARED_CACHE == null) {
+            return;
+        }
+        
+        long[] versions = getMissedVersions().remove(key);
+        if (versions == null) {
+            String regionVersionKey = getRegionVersionKey(key);
+            String courseVersionKey = getCourseVersionKey(key);
+            Map<String, Object> values = SHARED_CACHE.getAll(Arrays.asList(regionVersionKey, courseVersionKey));
+            versions = new long[] { getVersion(values, regionVersionKey), getVersion(values, courseVersionKey) };
+        }
+        SHARED_CACHE.put(key, new VersionedSnapshot(versions, snapshot));
+    }
+
+    /**
+     * Removes all values cached for the course {@code courseId} in {@code region}.
+     */
+    public static void invalidate(String region, String courseId) {
+        String keyPrefix = region + KEY_SEPARATOR + courseId + KEY_SEPARATOR;
+        invalidateRequestCachesForKeysStartingWith(keyPrefix);
+        if (SHARED_CACHE != null) {
+            bumpVersion(keyPrefix + VERSION_QUALIFIER);
+        }
+    }
+
+    /**
+     * Removes all values cached in {@code region}.
+     * Used by writes that span several courses.
+     */
+    public static void invalidate(String region) {
+        String keyPrefix = region + KEY_SEPARATOR;
+        invalidateRequestCachesForKeysStartingWith(keyPrefix);
+        if (SHARED_CACHE != null) {
+            bumpVersion(keyPrefix + VERSION_QUALIFIER);
+        }
+    }
+
+    /**
+     * Empties the request tier of the current thread. To be called at the end of every request.
+     */
+    public static void finishRequest() {
+        PER_REQUEST_MISSED_VERSIONS.remove();
+        Map<String, String> requestCache = PER_REQUEST_CACHE.get();
+        if (requestCache == null) {
+            return;
+        }
+        PER_REQUEST_CACHE.remove();
+        LIVE_REQUEST_CACHES.remove(requestCache);
+    }
+
+    /**
+     * Empties both tiers, e.g. when the underlying datastore is replaced.
+     * If the shared tier is in memcache, all of memcache is emptied.
+     */
+    public static void clear() {
+        synchronized (LIVE_REQUEST_CACHES) {
+            for (Map<String, String> requestCache : LIVE_REQUEST_CACHES) {
+                requestCache.clear();
+            }
+        }
+        PER_REQUEST_MISSED_VERSIONS.remove();
+        if (SHARED_CACHE != null) {
+            SHARED_CACHE.clear();
+        }
+    }
+
+    public static long getRequestHitCount() {
+        return REQUEST_HITS.get();
+    }
+
+    public static long getSharedHitCount() {
+        return SHARED_HITS.get();
+    }
+
+    public static long getMissCount() {
+        return MISSES.get();
+    }
+
+    /**
+     * @return the number of lookups that found a shared value with an outdated version stamp.
+     *         These are not included in {@link #getMissCount()}.
+     */
+    public static long getStaleMissCount() {
+        return STALE_MISSES.get();
+    }
+
+    public static long getInvalidationCount() {
+        return INVALIDATIONS.get();
+    }
+
+    /**
+     * @return the percentage of lookups that were hits in either tier, 0 if there were no lookups
+     */
+    public static double getHitRate() {
+        long hits = getRequestHitCount() + getSharedHitCount();
+        long lookups = hits + getMissCount() + getStaleMissCount();
+        return lookups == 0 ? 0 : 100.0 * hits / lookups;
+    }
+
+    /**
+     * @return the hit and miss counters in a form suitable for logging
+     */
+    public static String getStatistics() {
+        return "request hits: " + getRequestHitCount() + ", shared hits: " + getSharedHitCount()
+               + ", misses: " + getMissCount() + ", stale misses: " + getStaleMissCount()
+               + ", hit rate: " + String.format("%.1f%%", getHitRate())
+               + ", invalidations: " + getInvalidationCount();
+    }
+
+    private static void invalidateRequestCachesForKeysStartingWith(String keyPrefix) {
+        INVALIDATIONS.incrementAndGet();
+        synchronized (LIVE_REQUEST_CACHES) {
+            for (Map<String, String> requestCache : LIVE_REQUEST_CACHES) {
+                removeKeysStartingWith(requestCache, keyPrefix);
+            }
+        }
+    }
+
+    private static void removeKeysStartingWith(Map<String, String> cache, String keyPrefix) {
+        Iterator<String> keys = cache.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().startsWith(keyPrefix)) {
+                keys.remove();
+            }
+        }
+    }
+
+    private static SharedCache createSharedCache() {
+        if ("memcache".equals(Config.SHARED_CACHE_BACKEND)) {
+            return new MemcacheSharedCache(Config.SHARED_CACHE_EXPIRY_SECONDS);
+        }
+        if ("local".equals(Config.SHARED_CACHE_BACKEND) && Config.SHARED_CACHE_SIZE > 0) {
+            return new LocalSharedCache(Config.SHARED_CACHE_SIZE, Config.SHARED_CACHE_EXPIRY_SECONDS);
+        }
+        return null;
+    }
+
+    /**
+     * Makes every shared value stamped with the version under {@code versionKey} stale.
+     * If the version cannot be bumped, it is removed, so that the next read recreates it with a newer stamp.
+     * @throws IllegalStateException if the version can be neither bumped nor removed
+     */
+    private static void bumpVersion(String versionKey) {
+        try {
+            SHARED_CACHE.increment(versionKey, newVersion());
+        } catch (IllegalStateException e) {
+            log.warning("Failed to bump " + versionKey + ", removing it instead: " + e.getMessage());
+            SHARED_CACHE.remove(versionKey);
+        }
+    }
+
+    private static String getRegionVersionKey(String key) {
+        return key.substring(0, key.indexOf(KEY_SEPARATOR) + 1) + VERSION_QUALIFIER;
+    }
+
+    private static String getCourseVersionKey(String key) {
+        int regionEnd = key.indexOf(KEY_SEPARATOR);
+        return key.substring(0, key.indexOf(KEY_SEPARATOR, regionEnd + 1) + 1) + VERSION_QUALIFIER;
+    }
+
+    /**
+     * @return the version stamp under {@code versionKey} in {@code values}. A missing stamp is
+     *         (re)created, as the values stamped with it may outlive it in the shared tier.
+     */
+    private static long getVersion(Map<String, Object> values, String versionKey) {
+        Object version = values.get(versionKey);
+        if (version instanceof Long) {
+            return (Long) version;
+        }
+        SHARED_CACHE.putIfAbsent(versionKey, newVersion());
+        Object createdVersion = SHARED_CACHE.getAll(Arrays.asList(versionKey)).get(versionKey);
+        // a version that no value can have, if the shared tier dropped the stamp again
+        return createdVersion instanceof Long ? (Long) createdVersion : -1;
+    }
+
+    /**
+     * @return a version stamp that differs from earlier stamps of the same key,
+     *         even if the shared tier has dropped them
+     */
+    private static long newVersion() {
+        return System.currentTimeMillis();
+    }
+
+    private static Map<String, long[]> getMissedVersions() {
+        Map<String, long[]> missedVersions = PER_REQUEST_MISSED_VERSIONS.get();
+        if (missedVersions == null) {
+            missedVersions = new HashMap<String, long[]>();
+            PER_REQUEST_MISSED_VERSIONS.set(missedVersions);
+        }
+        return missedVersions;
+    }
+
+    private static Map<String, String> getRequestCache() {
+        Map<String, String> requestCache = PER_REQUEST_CACHE.get();
+        if (requestCache == null) {
+            requestCache = new ConcurrentHashMap<String, String>();
+            PER_REQUEST_CACHE.set(requestCache);
+            LIVE_REQUEST_CACHES.add(requestCache);
+        }
+        return requestCache;
+    }
+
+    /**
+     * A snapshot together with the version stamps of its region and course when it was read.
+     */
+    private static class VersionedSnapshot implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long regionVersion;
+        private final long courseVersion;
+        private final String snapshot;
+
+        VersionedSnapshot(long[] versions, String snapshot) {
+            this.regionVersion = versions[0];
+            this.courseVersion = versions[1];
+            this.snapshot = snapshot;
+        }
+
+        boolean hasVersions(long[] versions) {
+            return regionVersion == versions[0] && courseVersion == versions[1];
+        }
+    }
+
+    /**
+     * Leaves out the details memoized by feedback attributes, which are parsed again from their metadata.
+     */
+    private static class ParsedDetailsExclusionStrategy implements ExclusionStrategy {
+        @Override
+        public boolean shouldSkipField(FieldAttributes field) {
+            return false;
+        }
+
+        @Override
+        public boolean shouldSkipClass(Class<?> clazz) {
+            return clazz == FeedbackDetailsCodec.ParsedDetails.class;
+        }
+    }
+
+    /**
+     * Keeps the full precision of dates, unlike the default date format of Gson.
+     */
+    private static class DateAsMillisAdapter extends TypeAdapter<Date> {
+
+        @Override
+        public void write(JsonWriter out, Date date) throws IOException {
+            if (date == null) {
+                out.nullValue();
+            } else {
+                out.value(date.getTime());
+            }
+        }
+
+        @Override
+        public Date read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return new Date(in.nextLong());
+        }
+    }
+}
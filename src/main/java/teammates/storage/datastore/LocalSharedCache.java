@@ -0,0 +1,98 @@
+package teammates.storage.datastore;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link SharedCache} local to the app instance: a size-bounded LRU map.<br>
+ * It is only shared by the requests served by one instance, so it is meant for
+ * running a single instance, e.g. the dev server and the tests.
+ */
+public class LocalSharedCache implements SharedCache {
+
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final Map<String, Entry> cache;
+
+    private final long expiryMillis;
+
+    public LocalSharedCache(final int size, int expirySeconds) {
+        this.expiryMillis = expirySeconds * 1000L;
+        cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> values = new HashMap<String, Object>();
+        for (String key : keys) {
+            Entry entry = getUnexpired(key);
+            if (entry != null) {
+                values.put(key, entry.value);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized void put(String key, Serializable value) {
+        cache.put(key, new Entry(value, System.currentTimeMillis() + expiryMillis));
+    }
+
+    @Override
+    public synchronized void putIfAbsent(String key, Serializable value) {
+        if (getUnexpired(key) == null) {
+            put(key, value);
+        }
+    }
+
+    @Override
+    public synchronized long increment(String key, long initialValue) {
+        Entry entry = getUnexpired(key);
+        if (entry == null || !(entry.value instanceof Long)) {
+            cache.put(key, new Entry(initialValue, NEVER));
+            return initialValue;
+        }
+        long newValue = (Long) entry.value + 1;
+        cache.put(key, new Entry(newValue, entry.expiryTime));
+        return newValue;
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        cache.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    private Entry getUnexpired(String key) {
+        Entry entry = cache.get(key);
+        if (entry != null && entry.expiryTime <= System.currentTimeMillis()) {
+            cache.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private static class Entry {
+        final Object value;
+        final long expiryTime;
+
+        Entry(Object value, long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package teammates.storage.datastore;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import teammates.common.util.Utils;
+
+import com.google.appengine.api.memcache.ErrorHandlers;
+import com.google.appengine.api.memcache.Expiration;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheService.SetPolicy;
+import com.google.appengine.api.memcache.MemcacheServiceException;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+/**
+ * A {@link SharedCache} in App Engine memcache, which is shared by all instances of the app.<br>
+ * Failures to read or cache a value are logged and treated as misses, so that the datastore is read instead.
+ * Failures to increment or remove a value are reported to the caller, as they are needed for invalidation.
+ */
+public class MemcacheSharedCache implements SharedCache {
+
+    private static final String NAMESPACE = "entities-cache";
+
+    private static final Logger log = Utils.getLogger();
+
+    private final MemcacheService memcache;
+
+    /** The same memcache, but throwing on failures instead of logging them */
+    private final MemcacheService strictMemcache;
+
+    private final int expirySeconds;
+
+    public MemcacheSharedCache(int expirySeconds) {
+        this.expirySeconds = expirySeconds;
+        memcache = MemcacheServiceFactory.getMemcacheService(NAMESPACE);
+        memcache.setErrorHandler(ErrorHandlers.getConsistentLogAndContinue(Level.WARNING));
+        strictMemcache = MemcacheServiceFactory.getMemcacheService(NAMESPACE);
+        strictMemcache.setErrorHandler(ErrorHandlers.getStrict());
+    }
+
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        return memcache.getAll(keys);
+    }
+
+    @Override
+    public void put(String key, Serializable value) {
+        try {
+            memcache.put(key, value, Expiration.byDeltaSeconds(expirySeconds));
+        } catch (IllegalArgumentException e) {
+            // e.g. the value is larger than what memcache can hold
+            log.warning("Failed to cache " + key + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void putIfAbsent(String key, Serializable value) {
+        memcache.put(key, value, Expiration.byDeltaSeconds(expirySeconds), SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
+    }
+
+    @Override
+    public long increment(String key, long initialValue) {
+        Long newValue;
+        try {
+            // memcache increments a missing number after creating it from the given initial value
+            newValue = strictMemcache.increment(key, 1, initialValue - 1);
+        } catch (MemcacheServiceException e) {
+            throw new IllegalStateException("Failed to increment " + key, e);
+        }
+        if (newValue == null) {
+            throw new IllegalStateException("Failed to increment " + key);
+        }
+        return newValue;
+    }
+
+    @Override
+    public void remove(String key) {
+        try {
+            strictMemcache.delete(key);
+        } catch (MemcacheServiceException e) {
+            throw new IllegalStateException("Failed to remove " + key, e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        memcache.clearAll();
+    }
+}
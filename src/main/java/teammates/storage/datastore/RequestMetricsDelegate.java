@@ -0,0 +1,180 @@
+package teammates.storage.datastore;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.LogRecord;
+
+import teammates.common.util.RequestMetrics;
+
+import com.google.apphosting.api.ApiProxy;
+import com.google.apphosting.api.ApiProxy.ApiConfig;
+import com.google.apphosting.api.ApiProxy.ApiProxyException;
+import com.google.apphosting.api.ApiProxy.Delegate;
+import com.google.apphosting.api.ApiProxy.Environment;
+
+/**
+ * Wraps the delegate that makes the App Engine API calls, to add the calls of each request to its
+ * {@link RequestMetrics}: datastore queries and search API calls are counted, and the time of every
+ * datastore or search call made by a method of a *Db class in the storage layer is added to that method.
+ * A call is attributed to the outermost *Db method on the stack, i.e. the one called by the logic layer.
+ */
+public class RequestMetricsDelegate implements Delegate<Environment> {
+
+    private static final String STORAGE_API_PACKAGE = "teammates.storage.api.";
+    private static final String STORAGE_API_CLASS_SUFFIX = "Db";
+
+    private final Delegate<Environment> delegate;
+
+    private RequestMetricsDelegate(Delegate<Environment> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the current delegate, unless it is already wrapped.
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized void install() {
+        Delegate<Environment> currentDelegate = ApiProxy.getDelegate();
+        if (currentDelegate == null || currentDelegate instanceof RequestMetricsDelegate) {
+            return;
+        }
+        ApiProxy.setDelegate(new RequestMetricsDelegate(currentDelegate));
+    }
+
+    @Override
+    public byte[] makeSyncCall(Environment environment, String packageName, String methodName, byte[] request)
+            throws ApiProxyException {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) {
+            return delegate.makeSyncCall(environment, packageName, methodName, request);
+        }
+
+        String storageMethod = countCall(packageName, methodName);
+        long startTime = System.currentTimeMillis();
+        try {
+            return delegate.makeSyncCall(environment, packageName, methodName, request);
+        } finally {
+            if (storageMethod != null) {
+                metrics.addStorageCall(storageMethod, System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    @Override
+    public Future<byte[]> makeAsyncCall(Environment environment, String packageName, String methodName,
+                                        byte[] request, ApiConfig apiConfig) {
+        RequestMetrics metrics = RequestMetrics.current();
+        Future<byte[]> response = delegate.makeAsyncCall(environment, packageName, methodName, request, apiConfig);
+        if (metrics == null) {
+            return response;
+        }
+
+        String storageMethod = countCall(packageName, methodName);
+        return storageMethod == null ? response
+                                     : new TimedResponse(response, metrics, storageMethod, System.currentTimeMillis());
+    }
+
+    @Override
+    public void log(Environment environment, LogRecord record) {
+        delegate.log(environment, record);
+    }
+
+    @Override
+    public void flushLogs(Environment environment) {
+        delegate.flushLogs(environment);
+    }
+
+    @Override
+    public List<Thread> getRequestThreads(Environment environment) {
+        return delegate.getRequestThreads(environment);
+    }
+
+    /**
+     * Counts the call in the metrics of the current request.
+     * @return the storage method that made the call, or null if it was not made by the storage layer.
+     *         Only datastore and search calls are attributed, as the stack is walked to find the method:
+     *         the other calls, e.g. the memcache calls of the entities cache, are too frequent for that.
+     */
+    private static String countCall(String packageName, String methodName) {
+        if ("datastore_v3".equals(packageName)) {
+            if ("RunQuery".equals(methodName)) {
+                RequestMetrics.countQuery();
+            }
+            return getOutermostStorageMethod();
+        } else if ("search".equals(packageName)) {
+            RequestMetrics.countSearchCall();
+            return getOutermostStorageMethod();
+        }
+        return null;
+    }
+
+    private static String getOutermostStorageMethod() {
+        String storageMethod = null;
+        for (StackTraceElement frame : Thread.currentThread().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(STORAGE_API_PACKAGE) && className.endsWith(STORAGE_API_CLASS_SUFFIX)) {
+                storageMethod = className.substring(STORAGE_API_PACKAGE.length()) + "." + frame.getMethodName();
+            }
+        }
+        return storageMethod;
+    }
+
+    /**
+     * The response of an asynchronous call, which adds the time of the call to the metrics once it completes.
+     */
+    private static class TimedResponse implements Future<byte[]> {
+        private final Future<byte[]> response;
+        private final RequestMetrics metrics;
+        private final String storageMethod;
+        private final long startTime;
+        private boolean isTimeAdded;
+
+        TimedResponse(Future<byte[]> response, RequestMetrics metrics, String storageMethod, long startTime) {
+            this.response = response;
+            this.metrics = metrics;
+            this.storageMethod = storageMethod;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return response.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return response.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return response.isDone();
+        }
+
+        @Override
+        public byte[] get() throws InterruptedException, ExecutionException {
+            try {
+                return response.get();
+            } finally {
+                addTime();
+            }
+        }
+
+        @Override
+        public byte[] get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            byte[] result = response.get(timeout, unit);
+            addTime();
+            return result;
+        }
+
+        private synchronized void addTime() {
+            if (!isTimeAdded && response.isDone()) {
+                isTimeAdded = true;
+                metrics.addStorageCall(storageMethod, System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+}
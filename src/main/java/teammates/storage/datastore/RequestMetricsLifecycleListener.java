@@ -0,0 +1,41 @@
+package teammates.storage.datastore;
+
+import javax.jdo.listener.DeleteLifecycleListener;
+import javax.jdo.listener.InstanceLifecycleEvent;
+import javax.jdo.listener.LoadLifecycleListener;
+import javax.jdo.listener.StoreLifecycleListener;
+
+import teammates.common.util.RequestMetrics;
+
+/**
+ * Counts the entities read and written by the current request in its {@link RequestMetrics}.
+ * A deletion counts as a write.
+ */
+public class RequestMetricsLifecycleListener
+        implements LoadLifecycleListener, StoreLifecycleListener, DeleteLifecycleListener {
+
+    @Override
+    public void postLoad(InstanceLifecycleEvent event) {
+        RequestMetrics.countEntityRead();
+    }
+
+    @Override
+    public void preStore(InstanceLifecycleEvent event) {
+        // counted once stored
+    }
+
+    @Override
+    public void postStore(InstanceLifecycleEvent event) {
+        RequestMetrics.countEntityWritten();
+    }
+
+    @Override
+    public void preDelete(InstanceLifecycleEvent event) {
+        // counted once deleted
+    }
+
+    @Override
+    public void postDelete(InstanceLifecycleEvent event) {
+        RequestMetrics.countEntityWritten();
+    }
+}
@@ -0,0 +1,45 @@
+package teammates.storage.datastore;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The storage behind the shared tier of {@link EntitiesCache}.
+ * Values must be {@link Serializable} as they may be kept outside the instance.
+ * Implementations may drop any value at any time, and drop the values that are put
+ * into them once the expiry they were created with has passed.
+ */
+public interface SharedCache {
+
+    /**
+     * @return the values cached under {@code keys}. Keys without a value are left out.
+     */
+    Map<String, Object> getAll(Collection<String> keys);
+
+    /**
+     * Caches {@code value} under {@code key} until it expires.
+     */
+    void put(String key, Serializable value);
+
+    /**
+     * Caches {@code value} under {@code key} until it expires, only if there is no value under {@code key}.
+     */
+    void putIfAbsent(String key, Serializable value);
+
+    /**
+     * Atomically increments the number cached under {@code key} by one.
+     * If there is no such number, it is created as {@code initialValue} instead, and does not expire.
+     * @return the new value under {@code key}
+     * @throws IllegalStateException if the number could not be incremented, e.g. the cache is unavailable
+     */
+    long increment(String key, long initialValue);
+
+    /**
+     * Removes the value cached under {@code key}, if any.
+     * @throws IllegalStateException if the value could not be removed, e.g. the cache is unavailable
+     */
+    void remove(String key);
+
+    void clear();
+}
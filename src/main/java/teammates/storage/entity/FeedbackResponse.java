@@ -77,11 +77,18 @@ public class FeedbackResponse implements StoreCallback {
         this.receiverSection = recipientSection;
         this.answer = answer;
                 
-        this.feedbackResponseId = feedbackQuestionId + "%" + giverEmail + "%" + receiver;
+        this.feedbackResponseId = generateId(feedbackQuestionId, giverEmail, receiver);
         
         this.setCreatedAt(new Date());
     }
 
+    /**
+     * @return the id of the response to {@code feedbackQuestionId} given by {@code giverEmail} to {@code receiver}
+     */
+    public static String generateId(String feedbackQuestionId, String giverEmail, String receiver) {
+        return feedbackQuestionId + "%" + giverEmail + "%" + receiver;
+    }
+
     public String getId() {
         return feedbackResponseId;
     }
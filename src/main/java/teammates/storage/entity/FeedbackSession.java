@@ -1,7 +1,9 @@
 package teammates.storage.entity;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.jdo.annotations.Extension;
@@ -105,6 +107,23 @@ public class FeedbackSession {
     
     @Persistent
     private Boolean isPublishedEmailEnabled;
+
+    /** The start and end time as UTC instants, so that the sessions starting or ending within a period
+     * can be found with one range query over this property. <br>
+     * The value is null for legacy data.
+     */
+    @Persistent
+    private List<Date> startAndEndTimeUtc;
+    
+    // Number of users expected to respond to the session, null if it has to be recounted
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Integer expectedTotal;
+    
+    // When the number of users expected to respond was last cleared, null if it never was
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Date expectedTotalClearedTime;
     
     public FeedbackSession(String feedbackSessionName, String courseId,
             String creatorEmail, Text instructions, Date createdTime, Date startTime, Date endTime,
@@ -134,6 +153,7 @@ public class FeedbackSession {
         this.resultsVisibleFromTime = resultsVisibleFromTime;
         this.timeZone = Const.INT_UNINITIALIZED;
         this.timeZoneDouble = timeZone;
+        updateStartAndEndTimeUtc();
         this.gracePeriod = gracePeriod;
         this.feedbackSessionType = feedbackSessionType;
         this.sentOpenEmail = sentOpenEmail;
@@ -192,6 +212,7 @@ public class FeedbackSession {
 
     public void setStartTime(Date startTime) {
         this.startTime = startTime;
+        updateStartAndEndTimeUtc();
     }
 
     public Date getEndTime() {
@@ -200,6 +221,7 @@ public class FeedbackSession {
 
     public void setEndTime(Date endTime) {
         this.endTime = endTime;
+        updateStartAndEndTimeUtc();
     }
 
     public Date getSessionVisibleFromTime() {
@@ -235,6 +257,7 @@ public class FeedbackSession {
     public void setTimeZone(double timeZone) {
         this.timeZone = Const.INT_UNINITIALIZED;
         this.timeZoneDouble = timeZone;
+        updateStartAndEndTimeUtc();
     }
 
     public int getGracePeriod() {
@@ -324,6 +347,52 @@ public class FeedbackSession {
         this.respondingStudentList = studentList;
     }
 
+    public List<Date> getStartAndEndTimeUtc() {
+        return startAndEndTimeUtc;
+    }
+    
+    /**
+     * Stores the start and end time as UTC instants for legacy data that does not have them.
+     */
+    public void setStartAndEndTimeUtcIfNull() {
+        if (startAndEndTimeUtc == null) {
+            updateStartAndEndTimeUtc();
+        }
+    }
+    
+    private void updateStartAndEndTimeUtc() {
+        boolean isLegacyTimeZone = timeZone != Const.INT_UNINITIALIZED;
+        if (startTime == null || endTime == null || !isLegacyTimeZone && timeZoneDouble == null) {
+            return;
+        }
+        double sessionTimeZone = isLegacyTimeZone ? timeZone : timeZoneDouble;
+        long timeZoneOffsetMillis = (long) (60 * 60 * 1000 * sessionTimeZone);
+        List<Date> times = new ArrayList<Date>(2);
+        times.add(new Date(startTime.getTime() - timeZoneOffsetMillis));
+        times.add(new Date(endTime.getTime() - timeZoneOffsetMillis));
+        startAndEndTimeUtc = times;
+    }
+    
+    public Integer getExpectedTotal() {
+        return expectedTotal;
+    }
+
+    public void setExpectedTotal(Integer expectedTotal) {
+        this.expectedTotal = expectedTotal;
+    }
+
+    public Date getExpectedTotalClearedTime() {
+        return expectedTotalClearedTime;
+    }
+
+    /**
+     * Clears the number of users expected to respond, and records when it was cleared.
+     */
+    public void clearExpectedTotal() {
+        this.expectedTotal = null;
+        this.expectedTotalClearedTime = new Date();
+    }
+
     @Override
     public String toString() {
         return "FeedbackSession [feedbackSessionName=" + feedbackSessionName
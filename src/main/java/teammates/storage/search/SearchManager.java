@@ -1,6 +1,8 @@
 package teammates.storage.search;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -12,6 +14,7 @@ import teammates.common.util.Utils;
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Index;
 import com.google.appengine.api.search.IndexSpec;
+import com.google.appengine.api.search.OperationResult;
 import com.google.appengine.api.search.PutException;
 import com.google.appengine.api.search.PutResponse;
 import com.google.appengine.api.search.Query;
@@ -30,6 +33,9 @@ public final class SearchManager {
             "Failed to put document %s into search index %s due to non-transient backend issue.";
     private static final String ERROR_EXCEED_DURATION =
             "Operation did not succeed in time to put document %s into search index %s";
+    /** The maximum number of documents that can be put into an index in one call. */
+    public static final int MAX_DOCUMENTS_PER_PUT = 200;
+    
     private static final Logger log = Utils.getLogger();
     private static final ThreadLocal<Map<String, Index>> PER_THREAD_INDICES_TABLE = new ThreadLocal<Map<String, Index>>();
     
@@ -38,40 +44,101 @@ public final class SearchManager {
     }
     
     /*
-     * Create or update the search document for the given document and index
+     * Create or update the search document for the given document and index.
+     * Only transient errors are retried, as retrying any other error cannot succeed.
      */
     public static void putDocument(String indexName, Document document) {
         int elapsedTime = 0;
-        boolean isSuccessful = tryPutDocument(indexName, document);
-        while (!isSuccessful
+        StatusCode result = tryPutDocument(indexName, document);
+        while (StatusCode.TRANSIENT_ERROR.equals(result)
                 && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
             ThreadHelper.waitBriefly();
             //retry putting the document
-            isSuccessful = tryPutDocument(indexName, document);
+            result = tryPutDocument(indexName, document);
             //check before incrementing to avoid boundary case problem
-            if (!isSuccessful) {
+            if (StatusCode.TRANSIENT_ERROR.equals(result)) {
                 elapsedTime += ThreadHelper.WAIT_DURATION;
             }
-            log.info("TEST");
         }
-        if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
+        if (StatusCode.TRANSIENT_ERROR.equals(result)) {
             log.severe(String.format(ERROR_EXCEED_DURATION, document, indexName));
         }
     }
     
-    private static boolean tryPutDocument(String indexName, Document document) {
+    private static StatusCode tryPutDocument(String indexName, Document document) {
         Index index = getIndex(indexName);
         try {
             PutResponse result = index.put(document);
-            return result.getResults().get(0).getCode() == StatusCode.OK;
+            return result.getResults().get(0).getCode();
         } catch (PutException e) {
             //if it's a transient error in the server, it can be re-tried
-            if (!StatusCode.TRANSIENT_ERROR.equals(e.getOperationResult().getCode())) {
+            StatusCode code = e.getOperationResult().getCode();
+            if (!StatusCode.TRANSIENT_ERROR.equals(code)) {
                 log.severe(String.format(ERROR_NON_TRANSIENT_BACKEND_ISSUE, document, indexName)
                         + " e:\n" + TeammatesException.toStringWithStackTrace(e));
             }
-            return false;
+            return code;
+        }
+    }
+    
+    /*
+     * Create or update the given search documents in the given index, in batches of
+     * at most MAX_DOCUMENTS_PER_PUT documents per call to the search service.
+     * Only the documents that failed with transient errors are retried.
+     */
+    public static void putDocuments(String indexName, List<Document> documents) {
+        for (int start = 0; start < documents.size(); start += MAX_DOCUMENTS_PER_PUT) {
+            int end = Math.min(start + MAX_DOCUMENTS_PER_PUT, documents.size());
+            putDocumentsBatch(indexName, documents.subList(start, end));
+        }
+    }
+    
+    private static void putDocumentsBatch(String indexName, List<Document> batch) {
+        int elapsedTime = 0;
+        List<Document> documentsToRetry = tryPutDocuments(indexName, batch);
+        while (!documentsToRetry.isEmpty()
+                && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
+            ThreadHelper.waitBriefly();
+            //retry putting the documents with transient errors
+            documentsToRetry = tryPutDocuments(indexName, documentsToRetry);
+            //check before incrementing to avoid boundary case problem
+            if (!documentsToRetry.isEmpty()) {
+                elapsedTime += ThreadHelper.WAIT_DURATION;
+            }
+        }
+        for (Document document : documentsToRetry) {
+            log.severe(String.format(ERROR_EXCEED_DURATION, document, indexName));
+        }
+    }
+    
+    /**
+     * @return the documents that were not put due to transient errors
+     */
+    private static List<Document> tryPutDocuments(String indexName, List<Document> documents) {
+        Index index = getIndex(indexName);
+        List<OperationResult> results;
+        // the result of the documents that have no result of their own
+        OperationResult resultForMissing = null;
+        try {
+            results = index.put(documents).getResults();
+        } catch (PutException e) {
+            results = e.getResults();
+            resultForMissing = e.getOperationResult();
+        }
+        
+        List<Document> documentsToRetry = new ArrayList<Document>();
+        for (int i = 0; i < documents.size(); i++) {
+            OperationResult result = i < results.size() ? results.get(i) : resultForMissing;
+            // a document without any result is assumed to have failed transiently
+            StatusCode code = result == null ? StatusCode.TRANSIENT_ERROR : result.getCode();
+            if (StatusCode.TRANSIENT_ERROR.equals(code)) {
+                documentsToRetry.add(documents.get(i));
+            } else if (!StatusCode.OK.equals(code)) {
+                log.severe(String.format(ERROR_NON_TRANSIENT_BACKEND_ISSUE, documents.get(i), indexName)
+                        + " e:\n" + result.getMessage());
+            }
         }
+        return documentsToRetry;
     }
     
     /*
@@ -496,6 +496,19 @@ public abstract class Action {
                                       fileName,
                                       fileContent);
     }
+    
+    /**
+     * Generates a {@link FileDownloadResult} whose content is written directly
+     * to the response by {@code fileContentWriter}.
+     */
+    public FileDownloadResult createFileDownloadResult(String fileName,
+                                                       FileDownloadResult.FileContentWriter fileContentWriter) {
+        return new FileDownloadResult("filedownload",
+                                      account,
+                                      statusToUser,
+                                      fileName,
+                                      fileContentWriter);
+    }
 
     protected ActionResult createPleaseJoinCourseResponse(String courseId) {
         String errorMessage = "You are not registered in the course " + Sanitizer.sanitizeForHtml(courseId);
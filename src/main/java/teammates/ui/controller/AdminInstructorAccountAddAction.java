@@ -6,11 +6,8 @@ import java.util.Calendar;
 import java.util.List;
 import java.util.TimeZone;
 
-import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.DataBundle;
-import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
-import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.exception.TeammatesException;
@@ -171,15 +168,16 @@ public class AdminInstructorAccountAddAction extends Action {
         c.set(Calendar.YEAR, c.get(Calendar.YEAR) + 1);
         DateFormat formatter = new SimpleDateFormat("yyyy-MM-dd hh:mm a Z");
 
-        String jsonString = Templates.populateTemplate(Templates.INSTRUCTOR_SAMPLE_DATA,
+        // the sample data is not a template with placeholders; its values are replaced in order
+        String jsonString = Templates.INSTRUCTOR_SAMPLE_DATA
                 // replace email
-                "teammates.demo.instructor@demo.course", pageData.instructorEmail,
+                .replace("teammates.demo.instructor@demo.course", pageData.instructorEmail)
                 // replace name
-                "Demo_Instructor", pageData.instructorName,
+                .replace("Demo_Instructor", pageData.instructorName)
                 // replace course
-                "demo.course", courseId,
+                .replace("demo.course", courseId)
                 // update feedback session time
-                "2013-04-01 11:59 PM UTC", formatter.format(c.getTime()));
+                .replace("2013-04-01 11:59 PM UTC", formatter.format(c.getTime()));
 
         Gson gson = Utils.getTeammatesGson();
         DataBundle data = gson.fromJson(jsonString, DataBundle.class);
@@ -201,25 +199,7 @@ public class AdminInstructorAccountAddAction extends Action {
         }
         
         //produce searchable documents
-        List<CommentAttributes> comments = backdoor.getCommentsForGiver(courseId, pageData.instructorEmail);
-        List<FeedbackResponseCommentAttributes> frComments =
-                backdoor.getFeedbackResponseCommentForGiver(courseId, pageData.instructorEmail);
-        List<StudentAttributes> students = backdoor.getStudentsForCourse(courseId);
-        List<InstructorAttributes> instructors = backdoor.getInstructorsForCourse(courseId);
-        
-        for (CommentAttributes comment : comments) {
-            backdoor.putDocument(comment);
-        }
-        for (FeedbackResponseCommentAttributes comment : frComments) {
-            backdoor.putDocument(comment);
-        }
-        for (StudentAttributes student : students) {
-            backdoor.putDocument(student);
-        }
-        
-        for (InstructorAttributes instructor : instructors) {
-            backdoor.putDocument(instructor);
-        }
+        backdoor.scheduleSearchDocumentsRebuildForCourse(courseId);
         
         return courseId;
     }
@@ -19,6 +19,7 @@ import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
 import teammates.common.util.HttpRequestHelper;
+import teammates.common.util.RequestMetrics;
 import teammates.common.util.StatusMessage;
 import teammates.common.util.Utils;
 import teammates.logic.api.Logic;
@@ -68,7 +69,8 @@ public class ControllerServlet extends HttpServlet {
             long timeTaken = System.currentTimeMillis() - startTime;
             // This is the log message that is used to generate the 'activity log' for the admin.
             
-            log.info(c.getLogMessage() + "|||" + timeTaken);
+            RequestMetrics metrics = RequestMetrics.current();
+            log.info(c.getLogMessage() + "|||" + timeTaken + (metrics == null ? "" : "|||" + metrics.toLogString()));
             
         } catch (PageNotFoundException e) {
             log.warning(ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
@@ -14,16 +15,13 @@ import teammates.common.datatransfer.FeedbackResponseDetails;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
 import teammates.common.datatransfer.StudentAttributes;
-import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
-import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.StatusMessage;
 import teammates.common.util.StringHelper;
-import teammates.logic.core.StudentsLogic;
 
 import com.google.appengine.api.datastore.Text;
 
@@ -33,6 +31,9 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
     protected FeedbackSubmissionEditPageData data;
     protected boolean hasValidResponse;
     
+    /** Students of the course, loaded when the section of a recipient is first needed */
+    private CourseRoster roster;
+    
     @Override
     protected ActionResult execute() throws EntityDoesNotExistException {
         courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
@@ -62,6 +63,8 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
         String userTeamForCourse = getUserTeamForCourse();
         String userSectionForCourse = getUserSectionForCourse();
         
+        List<FeedbackResponseAttributes> responsesToSave = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> responsesToDelete = new ArrayList<FeedbackResponseAttributes>();
         int numOfQuestionsToGet = data.bundle.questionResponseBundle.size();
         for (int questionIndx = 1; questionIndx <= numOfQuestionsToGet; questionIndx++) {
             String totalResponsesForQuestion =
@@ -124,7 +127,9 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
                 
                 if (response.responseMetaData.getValue().isEmpty()) {
                     // deletes the response since answer is empty
-                    saveResponse(response);
+                    if (isExistingResponse) {
+                        responsesToDelete.add(response);
+                    }
                 } else {
                     response.giver = questionAttributes.giverType.isTeam() ? userTeamForCourse
                                                                                 : userEmailForCourse;
@@ -143,9 +148,7 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
             }
             
             if (errors.isEmpty()) {
-                for (FeedbackResponseAttributes response : responsesForQuestion) {
-                    saveResponse(response);
-                }
+                responsesToSave.addAll(responsesForQuestion);
             } else {
                 List<StatusMessage> errorMessages = new ArrayList<StatusMessage>();
                 
@@ -159,6 +162,9 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
             
         }
         
+        deleteResponses(responsesToDelete);
+        saveResponses(responsesToSave);
+        
         if (!isError) {
             statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_RESPONSES_SAVED, StatusMessageColor.SUCCESS));
         }
@@ -198,29 +204,32 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
         return existingResponsesId.contains(response.getId());
     }
 
-    private void saveResponse(FeedbackResponseAttributes response)
+    /**
+     * Deletes the existing responses whose answers were cleared, in one batch.
+     */
+    private void deleteResponses(List<FeedbackResponseAttributes> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+        logic.deleteFeedbackResponses(responses);
+    }
+    
+    /**
+     * Creates and updates the responses of all questions that passed validation in one batch,
+     * instead of looking up and writing each response separately.
+     * Each response that cannot be saved is reported on its own, and does not stop the others from being saved.
+     */
+    private void saveResponses(List<FeedbackResponseAttributes> responses)
             throws EntityDoesNotExistException {
-        boolean isExistingResponse = response.getId() != null;
-        if (isExistingResponse) {
-            // Delete away response if any empty fields
-            if (response.responseMetaData.getValue().isEmpty() || response.recipient.isEmpty()) {
-                logic.deleteFeedbackResponse(response);
-                return;
-            }
-            try {
-                logic.updateFeedbackResponse(response);
-                hasValidResponse = true;
-            } catch (EntityAlreadyExistsException | InvalidParametersException e) {
-                setStatusForException(e);
-            }
-        } else if (!response.responseMetaData.getValue().isEmpty()
-                   && !response.recipient.isEmpty()) {
-            try {
-                logic.createFeedbackResponse(response);
-                hasValidResponse = true;
-            } catch (InvalidParametersException e) {
-                setStatusForException(e);
-            }
+        if (responses.isEmpty()) {
+            return;
+        }
+        List<Exception> failures = logic.createOrUpdateFeedbackResponses(responses);
+        if (failures.size() < responses.size()) {
+            hasValidResponse = true;
+        }
+        for (Exception e : failures) {
+            setStatusForException(e);
         }
     }
     
@@ -267,9 +276,9 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
         if (recipientType == FeedbackParticipantType.INSTRUCTORS || recipientType == FeedbackParticipantType.NONE) {
             response.recipientSection = Const.DEFAULT_SECTION;
         } else if (recipientType == FeedbackParticipantType.TEAMS) {
-            response.recipientSection = StudentsLogic.inst().getSectionForTeam(courseId, response.recipient);
+            response.recipientSection = getRoster().getSectionForTeam(response.recipient);
         } else if (recipientType == FeedbackParticipantType.STUDENTS) {
-            StudentAttributes student = logic.getStudentForEmail(courseId, response.recipient);
+            StudentAttributes student = getRoster().getStudentForEmail(response.recipient);
             response.recipientSection = (student == null) ? Const.DEFAULT_SECTION : student.section;
         } else {
             response.recipientSection = getUserSectionForCourse();
@@ -292,6 +301,13 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
         return response;
     }
 
+    private CourseRoster getRoster() {
+        if (roster == null) {
+            roster = new CourseRoster(logic.getStudentsForCourse(courseId), null);
+        }
+        return roster;
+    }
+
     /**
      * To be used to set any extra parameters or attributes that
      * a class inheriting FeedbackSubmissionEditSaveAction requires
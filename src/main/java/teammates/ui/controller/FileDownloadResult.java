@@ -2,18 +2,31 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Assumption;
 import teammates.common.util.StatusMessage;
 
 public class FileDownloadResult extends ActionResult {
     
+    /**
+     * Writes the content of a file directly to the response, so that the content
+     * does not have to be held in memory as a whole.
+     */
+    public interface FileContentWriter {
+        void writeTo(Writer out) throws IOException;
+    }
+    
     String fileContent = "";
     String fileName = "";
+    FileContentWriter fileContentWriter;
 
     public FileDownloadResult(String destination, AccountAttributes account,
             List<StatusMessage> status) {
@@ -28,6 +41,15 @@ public class FileDownloadResult extends ActionResult {
         this.fileName = fileName;
         this.fileContent = fileContent;
     }
+    
+    public FileDownloadResult(
+            String destination, AccountAttributes account,
+            List<StatusMessage> status,
+            String fileName, FileContentWriter fileContentWriter) {
+        super(destination, account, status);
+        this.fileName = fileName;
+        this.fileContentWriter = fileContentWriter;
+    }
 
     @Override
     public void send(HttpServletRequest req, HttpServletResponse resp) throws IOException {
@@ -39,15 +61,37 @@ public class FileDownloadResult extends ActionResult {
         resp.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + ".csv\"");
         PrintWriter writer = resp.getWriter();
         writer.write("\uFEFF");
-        writer.append(fileContent);
+        writeFileContent(writer);
     }
     
     public String getFileName() {
         return this.fileName;
     }
     
+    /**
+     * @return the whole content of the file. For streamed files, the content is generated
+     *         anew on every call.
+     */
     public String getFileContent() {
-        return this.fileContent;
+        if (fileContentWriter == null) {
+            return this.fileContent;
+        }
+        StringWriter writer = new StringWriter();
+        try {
+            writeFileContent(writer);
+        } catch (IOException e) {
+            // a StringWriter does not throw IOException
+            Assumption.fail(TeammatesException.toStringWithStackTrace(e));
+        }
+        return writer.toString();
+    }
+    
+    private void writeFileContent(Writer writer) throws IOException {
+        if (fileContentWriter == null) {
+            writer.append(fileContent);
+        } else {
+            fileContentWriter.writeTo(writer);
+        }
     }
 
 }
@@ -2,7 +2,6 @@ package teammates.ui.controller;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -70,9 +69,9 @@ public class InstructorFeedbackResponseCommentsLoadAction extends Action {
     }
 
     private void removeQuestionsAndResponsesIfNotAllowed(FeedbackSessionResultsBundle bundle) {
-        Iterator<FeedbackResponseAttributes> iter = bundle.responses.iterator();
-        while (iter.hasNext()) {
-            FeedbackResponseAttributes fdr = iter.next();
+        // the responses are replaced rather than modified in place, as the bundle indexes them
+        List<FeedbackResponseAttributes> allowedResponses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes fdr : bundle.responses) {
             boolean canInstructorViewSessionInGiverSection =
                     instructor.isAllowedForPrivilege(fdr.giverSection, fdr.feedbackSessionName,
                                        Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
@@ -82,10 +81,11 @@ public class InstructorFeedbackResponseCommentsLoadAction extends Action {
             
             boolean instructorHasSessionViewingPrivileges = canInstructorViewSessionInGiverSection
                                                             && canInstructorViewSessionInRecipientSection;
-            if (!instructorHasSessionViewingPrivileges) {
-                iter.remove();
+            if (instructorHasSessionViewingPrivileges) {
+                allowedResponses.add(fdr);
             }
         }
+        bundle.responses = allowedResponses;
     }
 
     private void removeQuestionsAndResponsesWithoutFeedbackResponseComment(FeedbackSessionResultsBundle bundle) {
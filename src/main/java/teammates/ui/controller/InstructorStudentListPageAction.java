@@ -26,7 +26,14 @@ public class InstructorStudentListPageAction extends Action {
         Boolean displayArchive = getRequestParamAsBoolean(Const.ParamsNames.DISPLAY_ARCHIVE);
         Map<String, InstructorAttributes> instructors = new HashMap<String, InstructorAttributes>();
         
-        List<CourseAttributes> courses = logic.getCoursesForInstructor(account.googleId);
+        // Get instructor attributes, from which the courses are read
+        List<InstructorAttributes> instructorList = logic.getInstructorsForGoogleId(account.googleId);
+        
+        for (InstructorAttributes instructor : instructorList) {
+            instructors.put(instructor.courseId, instructor);
+        }
+        
+        List<CourseAttributes> courses = logic.getCoursesForInstructor(instructorList);
         // Sort by creation date
         Collections.sort(courses, new Comparator<CourseAttributes>() {
             @Override
@@ -35,13 +42,6 @@ public class InstructorStudentListPageAction extends Action {
             }
         });
         
-        // Get instructor attributes
-        List<InstructorAttributes> instructorList = logic.getInstructorsForGoogleId(account.googleId);
-        
-        for (InstructorAttributes instructor : instructorList) {
-            instructors.put(instructor.courseId, instructor);
-        }
-        
         if (courses.isEmpty()) {
             statusToUser.add(new StatusMessage(Const.StatusMessages.INSTRUCTOR_NO_COURSE_AND_STUDENTS,
                                                StatusMessageColor.WARNING));
@@ -154,6 +154,7 @@ public class BaseComponentTestCase extends BaseTestCase {
         FeedbackSessionAttributes actual = fsDb.getFeedbackSession(expected.getCourseId(), expected.getFeedbackSessionName());
         expected.setRespondingInstructorList(actual.getRespondingInstructorList());
         expected.setRespondingStudentList(actual.getRespondingStudentList());
+        expected.setExpectedTotal(actual.getExpectedTotal());
         assertEquals(gson.toJson(expected), gson.toJson(actual));
     }
 
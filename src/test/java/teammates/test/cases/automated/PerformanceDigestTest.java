@@ -0,0 +1,106 @@
+package teammates.test.cases.automated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActivityLogEntry;
+import teammates.logic.automated.PerformanceDigest;
+import teammates.test.cases.BaseTestCase;
+
+import com.google.appengine.api.log.AppLogLine;
+
+public class PerformanceDigestTest extends BaseTestCase {
+
+    @Test
+    public void testPercentilesAndSlowestRequests() {
+        List<ActivityLogEntry> currentLogs = new ArrayList<ActivityLogEntry>();
+        for (long timeTaken = 1; timeTaken <= 100; timeTaken++) {
+            currentLogs.add(createLogEntry("/page/instructorHomePage?user=UserId", timeTaken));
+        }
+        currentLogs.add(createLogEntry("/page/instructorCourseDetailsPage?user=UserId&courseid=CS1101", 5000L));
+        currentLogs.add(createLogEntry("/page/instructorCourseDetailsPage?courseid=CS2103&user=UserId", 3000L));
+        currentLogs.add(createLogEntry("/page/studentHomePage", null));
+
+        PerformanceDigest digest = new PerformanceDigest(currentLogs, new ArrayList<ActivityLogEntry>());
+
+        ______TS("percentiles per action URI, slowest at p95 first");
+        assertFalse(digest.isEmpty());
+        assertEquals(Arrays.asList("/page/instructorCourseDetailsPage", "/page/instructorHomePage"),
+                     digest.getActionUris());
+        assertEquals(100, digest.getRequestCount("/page/instructorHomePage"));
+        assertEquals(50, digest.getPercentile("/page/instructorHomePage", 50));
+        assertEquals(95, digest.getPercentile("/page/instructorHomePage", 95));
+        assertEquals(99, digest.getPercentile("/page/instructorHomePage", 99));
+        assertEquals(3000, digest.getPercentile("/page/instructorCourseDetailsPage", 50));
+        assertEquals(5000, digest.getPercentile("/page/instructorCourseDetailsPage", 95));
+        assertEquals(0, digest.getRequestCount("/page/studentHomePage"));
+
+        ______TS("slowest requests with their course ids");
+        List<ActivityLogEntry> slowestRequests = digest.getSlowestRequests();
+        assertEquals(PerformanceDigest.NUMBER_OF_SLOWEST_REQUESTS, slowestRequests.size());
+        assertEquals("CS1101", PerformanceDigest.getCourseId(slowestRequests.get(0)));
+        assertEquals("CS2103", PerformanceDigest.getCourseId(slowestRequests.get(1)));
+        assertEquals(Long.valueOf(100), slowestRequests.get(2).getTimeTaken());
+        assertNull(PerformanceDigest.getCourseId(slowestRequests.get(2)));
+
+        ______TS("no previous window to compare against");
+        assertNull(digest.getPreviousP95("/page/instructorHomePage"));
+        assertFalse(digest.isP95Regressed("/page/instructorHomePage"));
+    }
+
+    @Test
+    public void testP95Regression() {
+        List<ActivityLogEntry> previousLogs = new ArrayList<ActivityLogEntry>();
+        List<ActivityLogEntry> currentLogs = new ArrayList<ActivityLogEntry>();
+        for (int i = 0; i < PerformanceDigest.MIN_REQUESTS_TO_COMPARE; i++) {
+            previousLogs.add(createLogEntry("/page/instructorHomePage", 100L));
+            currentLogs.add(createLogEntry("/page/instructorHomePage", 151L));
+            previousLogs.add(createLogEntry("/page/studentHomePage", 100L));
+            currentLogs.add(createLogEntry("/page/studentHomePage", 150L));
+        }
+        previousLogs.add(createLogEntry("/page/instructorCoursesPage", 100L));
+        currentLogs.add(createLogEntry("/page/instructorCoursesPage", 1000L));
+
+        PerformanceDigest digest = new PerformanceDigest(currentLogs, previousLogs);
+
+        ______TS("regressed beyond the ratio");
+        assertEquals(Long.valueOf(100), digest.getPreviousP95("/page/instructorHomePage"));
+        assertTrue(digest.isP95Regressed("/page/instructorHomePage"));
+        assertTrue(digest.toHtml().contains("151 (regressed)"));
+
+        ______TS("within the ratio");
+        assertFalse(digest.isP95Regressed("/page/studentHomePage"));
+
+        ______TS("too few requests to compare");
+        assertNull(digest.getPreviousP95("/page/instructorCoursesPage"));
+        assertFalse(digest.isP95Regressed("/page/instructorCoursesPage"));
+
+        ______TS("empty window");
+        assertTrue(new PerformanceDigest(new ArrayList<ActivityLogEntry>(), previousLogs).isEmpty());
+    }
+
+    @Test
+    public void testToHtml() {
+        List<ActivityLogEntry> currentLogs = new ArrayList<ActivityLogEntry>();
+        currentLogs.add(createLogEntry("/page/<script>alert(1)</script>?courseid=<b>CS1101</b>", 100L));
+
+        ______TS("action URIs and course ids are sanitized");
+        String html = new PerformanceDigest(currentLogs, new ArrayList<ActivityLogEntry>()).toHtml();
+        assertFalse(html.contains("<script>"));
+        assertFalse(html.contains("<b>CS1101</b>"));
+        assertTrue(html.contains("&#x2f;page&#x2f;&lt;script&gt;alert(1)&lt;&#x2f;script&gt;"));
+        assertTrue(html.contains("&lt;b&gt;CS1101&lt;&#x2f;b&gt;"));
+    }
+
+    private static ActivityLogEntry createLogEntry(String url, Long timeTaken) {
+        AppLogLine appLog = new AppLogLine();
+        appLog.setLogMessage("TEAMMATESLOG|||instructorHomePage|||instructorHomePage|||true|||Instructor|||UserName"
+                             + "|||UserId|||UserEmail|||Message|||" + url + "|||UserId%20151019143729608"
+                             + (timeTaken == null ? "" : "|||" + timeTaken));
+        appLog.setTimeUsec(0);
+        return new ActivityLogEntry(appLog);
+    }
+}
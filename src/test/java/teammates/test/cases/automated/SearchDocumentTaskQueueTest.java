@@ -0,0 +1,139 @@
+package teammates.test.cases.automated;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CommentAttributes;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.common.util.StringHelper;
+import teammates.logic.core.SearchDocumentsLogic;
+import teammates.storage.api.CommentsDb;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+import teammates.storage.search.SearchManager;
+
+import com.google.appengine.api.urlfetch.URLFetchServicePb.URLFetchRequest;
+
+/**
+ * Tests the scheduling and the processing of search document updates,
+ * i.e. the SystemParams.SEARCH_DOCUMENT_TASK_QUEUE.
+ */
+public class SearchDocumentTaskQueueTest extends BaseComponentUsingTaskQueueTestCase {
+
+    private static final SearchDocumentsLogic searchDocumentsLogic = SearchDocumentsLogic.inst();
+    private static final DataBundle dataBundle = getTypicalDataBundle();
+
+    @SuppressWarnings("serial")
+    public static class SearchDocumentTaskQueueCallback extends BaseTaskQueueCallback {
+
+        @Override
+        public int execute(URLFetchRequest request) {
+            HashMap<String, String> paramMap = HttpRequestHelper.getParamMap(request);
+
+            assertTrue(request.getUrl().endsWith(Const.ActionURIs.SEARCH_DOCUMENT_WORKER));
+            assertNotNull(paramMap.get(ParamsNames.COURSE_ID));
+
+            SearchDocumentTaskQueueCallback.taskCount++;
+            return Const.StatusCodes.TASK_QUEUE_RESPONSE_OK;
+        }
+    }
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        gaeSimulation.tearDown();
+        gaeSimulation.setupWithTaskQueueCallbackClass(SearchDocumentTaskQueueCallback.class);
+        gaeSimulation.resetDatastore();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+    @Test
+    public void testScheduleDocumentUpdates() {
+
+        ______TS("repeated ids are coalesced and split into batches");
+
+        SearchDocumentTaskQueueCallback.resetTaskCount();
+
+        List<String> emails = new ArrayList<String>();
+        for (int i = 0; i < 450; i++) {
+            emails.add("student" + (i % 401) + "@tSDU.tmt");
+        }
+        searchDocumentsLogic.scheduleDocumentUpdates(Const.SearchIndex.STUDENT, "idOfTypicalCourse1", emails);
+
+        if (!SearchDocumentTaskQueueCallback.verifyTaskCount(3)) {
+            assertEquals(3, SearchDocumentTaskQueueCallback.taskCount);
+        }
+
+        ______TS("no task for no ids");
+
+        SearchDocumentTaskQueueCallback.resetTaskCount();
+        searchDocumentsLogic.scheduleDocumentUpdates(Const.SearchIndex.STUDENT, "idOfTypicalCourse1",
+                                                     new ArrayList<String>());
+        if (!SearchDocumentTaskQueueCallback.verifyTaskCount(0)) {
+            assertEquals(0, SearchDocumentTaskQueueCallback.taskCount);
+        }
+
+        ______TS("course rebuild");
+
+        SearchDocumentTaskQueueCallback.resetTaskCount();
+        searchDocumentsLogic.scheduleDocumentsRebuildForCourse("idOfTypicalCourse1");
+        if (!SearchDocumentTaskQueueCallback.verifyTaskCount(1)) {
+            assertEquals(1, SearchDocumentTaskQueueCallback.taskCount);
+        }
+    }
+
+    @Test
+    public void testUpdateDocuments() {
+
+        ______TS("documents are put for existing entities only");
+
+        StudentAttributes student = dataBundle.students.get("student1InCourse2");
+        String studentKey = new StudentsDb().getStudentForEmail(student.course, student.email).key;
+        assertNull(SearchManager.getDocument(Const.SearchIndex.STUDENT, studentKey));
+
+        searchDocumentsLogic.updateDocuments(Const.SearchIndex.STUDENT, student.course,
+                new String[] { student.email, student.email, "nonexistent@tUD.tmt" });
+
+        assertNotNull(SearchManager.getDocument(Const.SearchIndex.STUDENT, studentKey));
+    }
+
+    @Test
+    public void testRebuildDocumentsForCourse() {
+
+        ______TS("all documents of the course are put");
+
+        String courseId = "idOfTypicalCourse1";
+        StudentAttributes student = dataBundle.students.get("student2InCourse1");
+        String studentKey = new StudentsDb().getStudentForEmail(courseId, student.email).key;
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        String instructorDocumentId =
+                StringHelper.encrypt(new InstructorsDb().getInstructorForEmail(courseId, instructor.email).key);
+        CommentAttributes comment = new CommentsDb().getCommentsForCourse(courseId).get(0);
+        String commentDocumentId = comment.getCommentId().toString();
+
+        assertNull(SearchManager.getDocument(Const.SearchIndex.STUDENT, studentKey));
+        assertNull(SearchManager.getDocument(Const.SearchIndex.INSTRUCTOR, instructorDocumentId));
+        assertNull(SearchManager.getDocument(Const.SearchIndex.COMMENT, commentDocumentId));
+
+        searchDocumentsLogic.rebuildDocumentsForCourse(courseId);
+
+        assertNotNull(SearchManager.getDocument(Const.SearchIndex.STUDENT, studentKey));
+        assertNotNull(SearchManager.getDocument(Const.SearchIndex.INSTRUCTOR, instructorDocumentId));
+        assertNotNull(SearchManager.getDocument(Const.SearchIndex.COMMENT, commentDocumentId));
+    }
+}
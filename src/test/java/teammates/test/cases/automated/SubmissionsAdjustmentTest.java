@@ -58,9 +58,6 @@ public class SubmissionsAdjustmentTest extends BaseComponentUsingTaskQueueTestCa
             assertTrue(paramMap.containsKey(ParamsNames.ENROLLMENT_DETAILS));
             assertNotNull(paramMap.get(ParamsNames.ENROLLMENT_DETAILS));
             
-            assertTrue(paramMap.containsKey(ParamsNames.FEEDBACK_SESSION_NAME));
-            assertNotNull(paramMap.get(ParamsNames.FEEDBACK_SESSION_NAME));
-            
             SubmissionsAdjustmentTaskQueueCallback.taskCount++;
             return Const.StatusCodes.TASK_QUEUE_RESPONSE_OK;
         }
@@ -134,24 +131,16 @@ public class SubmissionsAdjustmentTest extends BaseComponentUsingTaskQueueTestCa
         enrollLines = "Section | Team | Name | Email | Comment" + Const.EOL
                     + newStudentLine + Const.EOL + "\t";
         
-        int counter = 0;
-        while (counter != 10) {
-            SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
-            studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, course1.getId());
+        SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
+        studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, course1.getId());
         
-            //Check whether students are present in database
-            assertNotNull(studentsLogic.getStudentForEmail(course1.getId(), "s@g"));
-
-            //Verify no tasks sent to the task queue
-            if (SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(
-                    fsLogic.getFeedbackSessionsForCourse(course1.getId()).size())) {
-                break;
-            }
-            counter++;
-        }
+        //Check whether students are present in database
+        assertNotNull(studentsLogic.getStudentForEmail(course1.getId(), "s@g"));
         
-        assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount,
-                    fsLogic.getFeedbackSessionsForCourse(course1.getId()).size());
+        //Verify no tasks sent to the task queue, as new students have no responses to adjust
+        if (!SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(0)) {
+            assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount, 0);
+        }
         
         
         ______TS("change an existing students email and verify update "
@@ -184,23 +173,14 @@ public class SubmissionsAdjustmentTest extends BaseComponentUsingTaskQueueTestCa
         
         studentInTeam1.section = "Section 2";
         studentInTeam1.team = "Team 1.2";
-        enrollLines = "Section | Team | Name | Email | Comment" + studentInTeam1.toEnrollmentString();
+        enrollLines = "Section | Team | Name | Email | Comment" + Const.EOL + studentInTeam1.toEnrollmentString();
         
-        counter = 0;
-        while (counter != 10) {
-            SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
-            studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, studentInTeam1.course);
-            
-            //Verify scheduling of adjustment of responses
-            if (SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(
-                    fsLogic.getFeedbackSessionsForCourse(studentInTeam1.course).size())) {
-                break;
-            }
-            counter++;
-        }
-        if (counter == 10) {
-            assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount,
-                        fsLogic.getFeedbackSessionsForCourse(studentInTeam1.course).size());
+        SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
+        studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, studentInTeam1.course);
+        
+        //Verify scheduling of adjustment of responses, in one task for all sessions of the course
+        if (!SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(1)) {
+            assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount, 1);
         }
        
         
@@ -273,6 +253,42 @@ public class SubmissionsAdjustmentTest extends BaseComponentUsingTaskQueueTestCa
         int numberOfNewResponses =
                 getAllResponsesForStudentForSession(student, session.getFeedbackSessionName()).size();
         assertEquals(0, numberOfNewResponses);
+
+        ______TS("typical case : existing student changes team, all sessions of the course adjusted");
+        student = dataBundle.students.get("student4InCourse1");
+        assertFalse(getAllTeamResponsesForStudent(student).isEmpty());
+
+        oldTeam = student.team;
+        oldSection = student.section;
+        String storedOldTeam = studentsLogic.getStudentForEmail(student.course, student.email).team;
+        List<String> oldTeammates = new ArrayList<String>();
+        for (StudentAttributes teammate : studentsLogic.getStudentsForCourse(student.course)) {
+            if (teammate.team.equals(storedOldTeam) && !teammate.email.equals(student.email)) {
+                oldTeammates.add(teammate.email);
+            }
+        }
+        assertFalse(getTeamMemberResponsesBetween(student, oldTeammates).isEmpty());
+
+        student.team = newTeam;
+        student.section = newSection;
+
+        enrollList = new ArrayList<StudentEnrollDetails>();
+        enrollList.add(new StudentEnrollDetails(UpdateStatus.MODIFIED, student.course, student.email,
+                                                oldTeam, newTeam, oldSection, newSection));
+
+        paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.COURSE_ID, student.course);
+        paramMap.put(ParamsNames.ENROLLMENT_DETAILS, gsonBuilder.toJson(enrollList));
+
+        studentsLogic.updateStudentCascadeWithSubmissionAdjustmentScheduled(student.email, student, false);
+        responseAdjustmentAction = new FeedbackSubmissionAdjustmentAction(paramMap);
+        assertTrue(responseAdjustmentAction.execute());
+
+        assertEquals(0, getAllTeamResponsesForStudent(student).size());
+
+        // the responses between the other members of the old team and the student were removed too
+        assertEquals(0, getTeamMemberResponsesBetween(student, oldTeammates).size());
+        removeAndRestoreTypicalDataInDatastore();
     }
 
     private List<FeedbackResponseAttributes> getAllTeamResponsesForStudent(StudentAttributes student) {
@@ -304,6 +320,33 @@ public class SubmissionsAdjustmentTest extends BaseComponentUsingTaskQueueTestCa
         return returnList;
     }
     
+    /**
+     * @return the responses to team members given by {@code student} to any of {@code teammateEmails},
+     *         or given by any of {@code teammateEmails} to {@code student}
+     */
+    private List<FeedbackResponseAttributes> getTeamMemberResponsesBetween(StudentAttributes student,
+                                                                          List<String> teammateEmails) {
+        List<FeedbackResponseAttributes> returnList = new ArrayList<FeedbackResponseAttributes>();
+        
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        responses.addAll(FeedbackResponsesLogic.inst()
+                .getFeedbackResponsesForReceiverForCourse(student.course, student.email));
+        responses.addAll(FeedbackResponsesLogic.inst()
+                .getFeedbackResponsesFromGiverForCourse(student.course, student.email));
+        
+        for (FeedbackResponseAttributes response : responses) {
+            FeedbackQuestionAttributes question = FeedbackQuestionsLogic.inst()
+                    .getFeedbackQuestion(response.feedbackQuestionId);
+            boolean isBetweenTeammates = teammateEmails.contains(response.giver)
+                                         || teammateEmails.contains(response.recipient);
+            if (question.recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS && isBetweenTeammates) {
+                returnList.add(response);
+            }
+        }
+        
+        return returnList;
+    }
+    
     private List<FeedbackResponseAttributes> getAllResponsesForStudentForSession(StudentAttributes student,
             String feedbackSessionName) {
         List<FeedbackResponseAttributes> returnList = new ArrayList<FeedbackResponseAttributes>();
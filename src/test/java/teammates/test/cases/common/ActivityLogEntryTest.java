@@ -1,9 +1,12 @@
 package teammates.test.cases.common;
 
+import java.util.Arrays;
+
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.RequestMetrics;
 import teammates.test.cases.BaseTestCase;
 import teammates.test.driver.AssertHelper;
 
@@ -47,6 +50,57 @@ public class ActivityLogEntryTest extends BaseTestCase {
         assertEquals("Instructor", entry.getRole());
     }
     
+    @Test
+    public void testRequestMetrics() {
+        ______TS("Log without time taken or metrics");
+        String logMessage = "TEAMMATESLOG|||instructorHome|||Pageload|||true|||Instructor|||UserName|||UserId"
+                            + "|||UserEmail|||Message|||URL|||UserId20151019143729608";
+        AppLogLine appLog = new AppLogLine();
+        appLog.setLogMessage(logMessage);
+        ActivityLogEntry entry = new ActivityLogEntry(appLog);
+        assertNull(entry.getTimeTaken());
+        assertNull(entry.getRequestMetrics());
+        AssertHelper.assertContains("</td><td></td><td></td><td></td><td></td><td></td><td></td><td></td><td></td></tr>",
+                                    entry.getLogInfoForTableRowAsHtml());
+
+        ______TS("Log with time taken only");
+        appLog.setLogMessage(logMessage + "|||123");
+        entry = new ActivityLogEntry(appLog);
+        assertEquals(Long.valueOf(123), entry.getTimeTaken());
+        assertNull(entry.getRequestMetrics());
+
+        ______TS("Log with time taken and metrics");
+        appLog.setLogMessage(logMessage + "|||123|||queries=3;read=40;written=2;search=1;tasks=5;emails=0;cpu=;"
+                             + "calls=StudentsDb.getStudentsForCourse:2:35,CoursesDb.getCourse:1:60");
+        entry = new ActivityLogEntry(appLog);
+        assertEquals(Long.valueOf(123), entry.getTimeTaken());
+        RequestMetrics metrics = entry.getRequestMetrics();
+        assertEquals(3, metrics.getQueries());
+        assertEquals(40, metrics.getEntitiesRead());
+        assertEquals(2, metrics.getEntitiesWritten());
+        assertEquals(1, metrics.getSearchCalls());
+        assertEquals(5, metrics.getTaskEnqueues());
+        assertEquals(0, metrics.getEmails());
+        assertNull(metrics.getCpuMillis());
+        assertEquals(95, metrics.getStorageMillis());
+        assertEquals(Arrays.asList("CoursesDb.getCourse: 1 calls, 60 ms",
+                                   "StudentsDb.getStudentsForCourse: 2 calls, 35 ms"),
+                     metrics.getStorageCallsSlowestFirst());
+        assertEquals("queries=3;read=40;written=2;search=1;tasks=5;emails=0;cpu=;"
+                     + "calls=StudentsDb.getStudentsForCourse:2:35,CoursesDb.getCourse:1:60",
+                     metrics.toLogString());
+        AssertHelper.assertContains("</td><td>3</td><td>40</td><td>2</td><td>1</td><td>5</td><td>0</td>"
+                                    + "<td title=\"CoursesDb.getCourse: 1 calls, 60 ms&#10;"
+                                    + "StudentsDb.getStudentsForCourse: 2 calls, 35 ms\">95</td><td></td></tr>",
+                                    entry.getLogInfoForTableRowAsHtml());
+
+        ______TS("Malformed metrics are ignored");
+        metrics = RequestMetrics.fromLogString("queries=x;read=4;calls=StudentsDb.getStudentsForCourse:2");
+        assertEquals(0, metrics.getQueries());
+        assertEquals(4, metrics.getEntitiesRead());
+        assertEquals(0, metrics.getStorageMillis());
+    }
+    
     @Test
     public void testGetActionName() {
         assertEquals("instructorCourse", ActivityLogEntry.getActionName("/page/instructorCourse"));
@@ -0,0 +1,65 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.CompiledTemplate;
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+import teammates.test.cases.BaseTestCase;
+
+public class CompiledTemplateTest extends BaseTestCase {
+
+    @Test
+    public void testPopulate() {
+        StringBuilder buffer = new StringBuilder();
+
+        ______TS("typical case: repeated and unknown placeholders");
+
+        CompiledTemplate template = CompiledTemplate.compile("Hi ${name}, ${name} is ${status} in ${courseId}.");
+        assertEquals("Hi Alice, Alice is ${status} in CS101.",
+                     template.populate(buffer, "${name}", "Alice", "${courseId}", "CS101"));
+
+        ______TS("buffer reused for the next recipient");
+
+        assertEquals("Hi Bob, Bob is ${status} in CS101.",
+                     template.populate(buffer, "${courseId}", "CS101", "${name}", "Bob"));
+
+        ______TS("no placeholders, and placeholders at both ends");
+
+        assertEquals("plain text", CompiledTemplate.compile("plain text").populate(buffer, "${name}", "Alice"));
+        assertEquals("AliceBob", CompiledTemplate.compile("${a}${b}").populate(buffer, "${a}", "Alice", "${b}", "Bob"));
+
+        ______TS("unterminated placeholder is kept as text");
+
+        assertEquals("Alice ${name", CompiledTemplate.compile("${a} ${name").populate(buffer, "${a}", "Alice"));
+
+        ______TS("same result as populating the template directly");
+
+        String[] values = {
+                "${userName}", "Alice",
+                "${courseName}", "Software Engineering",
+                "${courseId}", "CS2103",
+                "${feedbackSessionName}", "First feedback session",
+                "${deadline}", "Sun, 01 Jan 2017, 11:59 PM",
+                "${instructorFragment}", "",
+                "${submitUrl}", "http://localhost:8888/submit",
+                "${reportUrl}", "http://localhost:8888/report" };
+        assertEquals(Templates.populateTemplate(EmailTemplates.USER_FEEDBACK_SESSION, values),
+                     CompiledTemplate.compile(EmailTemplates.USER_FEEDBACK_SESSION).populate(buffer, values));
+    }
+
+    @Test
+    public void testPopulateTemplate() {
+
+        ______TS("templates read from resource files are compiled once");
+
+        assertTrue(Templates.getCompiledTemplate(EmailTemplates.USER_FEEDBACK_SESSION)
+                   == Templates.getCompiledTemplate(EmailTemplates.USER_FEEDBACK_SESSION));
+        assertFalse(Templates.getCompiledTemplate("${a}") == Templates.getCompiledTemplate("${a}"));
+
+        ______TS("placeholders in the values are not populated");
+
+        assertEquals("${b} and 2", Templates.populateTemplate("${a} and ${b}", "${a}", "${b}", "${b}", "2"));
+    }
+
+}
@@ -8,6 +8,7 @@ import org.testng.annotations.Test;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
 import teammates.test.cases.BaseTestCase;
 
 public class CourseRosterTest extends BaseTestCase {
@@ -73,6 +74,20 @@ public class CourseRosterTest extends BaseTestCase {
         assertEquals(roster.getInstructorForEmail("ins2@email.com").email, "ins2@email.com");
         assertEquals(roster.getInstructorForEmail("ins2@email.com").name, "Jean");
         
+        ______TS("sections of teams");
+        
+        List<StudentAttributes> students = createStudentList("team 1", "s1@gmail.com",
+                                                             "team 1", "s2@gmail.com",
+                                                             "team 2", "s3@gmail.com");
+        students.get(0).section = "section 1";
+        students.get(1).section = "section 1";
+        students.get(2).section = "section 2";
+        roster = new CourseRoster(students, null);
+        
+        assertEquals("section 1", roster.getSectionForTeam("team 1"));
+        assertEquals("section 2", roster.getSectionForTeam("team 2"));
+        assertEquals(Const.DEFAULT_SECTION, roster.getSectionForTeam("non-existent team"));
+        
     }
 
     private List<StudentAttributes> createStudentList(String... studentData) {
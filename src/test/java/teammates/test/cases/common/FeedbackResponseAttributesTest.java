@@ -4,12 +4,17 @@ import java.util.Date;
 
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.test.cases.BaseTestCase;
 
+import com.google.appengine.api.datastore.Text;
+
 public class FeedbackResponseAttributesTest extends BaseTestCase {
 
     private class FeedbackResponseAttributesWithModifiableTimestamp extends FeedbackResponseAttributes {
@@ -43,4 +48,35 @@ public class FeedbackResponseAttributesTest extends BaseTestCase {
         assertEquals(defaultTimeStamp, fra.getUpdatedAt());
     }
     
+    @Test
+    public void testGetResponseDetails() {
+        FeedbackResponseAttributes fra = new FeedbackResponseAttributes();
+        fra.feedbackQuestionType = FeedbackQuestionType.NUMSCALE;
+        fra.responseMetaData = new Text("{\n  \"answer\": 3.5,\n  \"questionType\": \"NUMSCALE\"\n}");
+        
+        ______TS("success : stored pretty-printed details are parsed once");
+        
+        FeedbackResponseDetails details = fra.getResponseDetails();
+        assertEquals(3.5, ((FeedbackNumericalScaleResponseDetails) details).getAnswer(), 0.001);
+        assertTrue(details == fra.getResponseDetails());
+        
+        ______TS("success : details are parsed again after the metadata is replaced");
+        
+        fra.setResponseDetails(details);
+        assertEquals("{\"answer\":3.5,\"questionType\":\"NUMSCALE\"}", fra.responseMetaData.getValue());
+        FeedbackResponseDetails reparsedDetails = fra.getResponseDetails();
+        assertFalse(details == reparsedDetails);
+        assertEquals(3.5, ((FeedbackNumericalScaleResponseDetails) reparsedDetails).getAnswer(), 0.001);
+        
+        ______TS("success : details are parsed again after the question type is replaced");
+        
+        fra.feedbackQuestionType = FeedbackQuestionType.TEXT;
+        assertEquals(fra.responseMetaData.getValue(), fra.getResponseDetails().getAnswerString());
+        
+        ______TS("success : missing response");
+        
+        fra.responseMetaData = null;
+        assertNull(fra.getResponseDetails());
+    }
+    
 }
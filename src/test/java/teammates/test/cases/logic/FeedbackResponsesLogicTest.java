@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.testng.annotations.AfterClass;
@@ -57,6 +58,7 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
         testIsNameVisibleTo();
         testGetViewableResponsesForQuestionInSection();
         testUpdateFeedbackResponse();
+        testCreateOrUpdateFeedbackResponses();
         testUpdateFeedbackResponsesForChangingTeam();
         testUpdateFeedbackResponsesForChangingTeam_deleteLastResponse_decreaseResponseRate();
         testUpdateFeedbackResponsesForChangingTeam_deleteNotLastResponse_sameResponseRate();
@@ -219,6 +221,83 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
         }
     }
     
+    public void testCreateOrUpdateFeedbackResponses() throws Exception {
+        
+        ______TS("success: new and existing responses saved together");
+        
+        FeedbackResponseAttributes existingResponse = getResponseFromDatastore("response1ForQ1S1C1");
+        existingResponse.responseMetaData = new Text("Batch updated response");
+        
+        FeedbackResponseAttributes newResponse =
+                new FeedbackResponseAttributes(
+                        existingResponse.feedbackSessionName,
+                        existingResponse.courseId,
+                        existingResponse.feedbackQuestionId,
+                        existingResponse.feedbackQuestionType,
+                        "student3InCourse1@gmail.tmt",
+                        existingResponse.giverSection,
+                        "student3InCourse1@gmail.tmt",
+                        existingResponse.recipientSection,
+                        new Text("Batch created response"));
+        assertNull(frLogic.getFeedbackResponse(
+                newResponse.feedbackQuestionId, newResponse.giver, newResponse.recipient));
+        
+        assertTrue(frLogic.createOrUpdateFeedbackResponses(Arrays.asList(existingResponse, newResponse)).isEmpty());
+        
+        assertEquals("Batch updated response",
+                     frLogic.getFeedbackResponse(existingResponse.getId()).responseMetaData.getValue());
+        FeedbackResponseAttributes createdResponse = frLogic.getFeedbackResponse(
+                newResponse.feedbackQuestionId, newResponse.giver, newResponse.recipient);
+        assertEquals("Batch created response", createdResponse.responseMetaData.getValue());
+        
+        ______TS("success: new response for an existing giver and recipient updates that response");
+        
+        newResponse.responseMetaData = new Text("Batch updated response 2");
+        
+        frLogic.createOrUpdateFeedbackResponses(Arrays.asList(newResponse));
+        
+        FeedbackResponseAttributes updatedResponse = frLogic.getFeedbackResponse(
+                newResponse.feedbackQuestionId, newResponse.giver, newResponse.recipient);
+        assertEquals(createdResponse.getId(), updatedResponse.getId());
+        assertEquals("Batch updated response 2", updatedResponse.responseMetaData.getValue());
+        
+        ______TS("failure: no such response, nothing is saved");
+        
+        FeedbackResponseAttributes nonExistentResponse = new FeedbackResponseAttributes(existingResponse);
+        nonExistentResponse.setId("invalidId");
+        newResponse.responseMetaData = new Text("Should not be saved");
+        
+        try {
+            frLogic.createOrUpdateFeedbackResponses(Arrays.asList(newResponse, nonExistentResponse));
+            signalFailureToDetectException("Should have detected that this response does not exist");
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains(
+                        "Trying to update a feedback response that does not exist.",
+                        e.getMessage());
+        }
+        assertEquals("Batch updated response 2",
+                     frLogic.getFeedbackResponse(createdResponse.getId()).responseMetaData.getValue());
+        
+        ______TS("failure: invalid params, only the valid responses are saved");
+        
+        FeedbackResponseAttributes invalidResponse = new FeedbackResponseAttributes(newResponse);
+        invalidResponse.recipient = "student4InCourse1@gmail.tmt";
+        invalidResponse.courseId = "invalid course id";
+        newResponse.responseMetaData = new Text("Saved alongside an invalid response");
+        
+        List<Exception> failures = frLogic.createOrUpdateFeedbackResponses(Arrays.asList(newResponse, invalidResponse));
+        
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0) instanceof InvalidParametersException);
+        AssertHelper.assertContains("invalid course id", failures.get(0).getMessage());
+        assertEquals("Saved alongside an invalid response",
+                     frLogic.getFeedbackResponse(createdResponse.getId()).responseMetaData.getValue());
+        assertNull(frLogic.getFeedbackResponse(
+                invalidResponse.feedbackQuestionId, invalidResponse.giver, invalidResponse.recipient));
+        
+        frLogic.deleteFeedbackResponseAndCascade(createdResponse);
+    }
+    
     public void testUpdateFeedbackResponsesForChangingTeam() throws Exception {
         
         ______TS("standard update team case");
@@ -1,5 +1,6 @@
 package teammates.test.cases.logic;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -7,6 +8,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
@@ -23,6 +25,7 @@ import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
@@ -31,6 +34,8 @@ import teammates.common.datatransfer.FeedbackSessionStats;
 import teammates.common.datatransfer.FeedbackSessionType;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentCourseDashboard;
+import teammates.common.datatransfer.UserType;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
@@ -47,6 +52,10 @@ import teammates.logic.core.Emails.EmailType;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.logic.core.InstructorsLogic;
+import teammates.logic.core.StudentsLogic;
+import teammates.storage.api.FeedbackSessionResultsViewsDb;
+import teammates.storage.datastore.EntitiesCache;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 
@@ -69,6 +78,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
     public void testAll() throws Exception {
         
         testGetFeedbackSessionsForCourse();
+        testGetStudentCourseDashboards();
         testGetFeedbackSessionsListForInstructor();
         testGetFeedbackSessionsClosingWithinTimeLimit();
         testGetFeedbackSessionsWhichNeedOpenMailsToBeSent();
@@ -79,6 +89,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         testGetFeedbackSessionResultsForUser();
         testGetFeedbackSessionResultsSummaryAsCsv();
         testIsFeedbackSessionViewableToStudents();
+        testGetFeedbackSessionResultsForStudentInPublishedSession();
         
         testCreateAndDeleteFeedbackSession();
         testCopyFeedbackSession();
@@ -90,6 +101,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         testIsFeedbackSessionCompletedByStudent();
         testIsFeedbackSessionCompletedByInstructor();
         testIsFeedbackSessionFullyCompletedByStudent();
+        testGetStudentsWhoHaveNotFullyCompletedFeedbackSession();
                 
         testSendReminderForFeedbackSession();
         testSendReminderForFeedbackSessionParticularUsers();
@@ -409,6 +421,32 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         // 1 instructor, 1 student, did not respond => 8-2=6
         assertEquals(6, stats.submittedTotal);
 
+        ______TS("standard session: expected total is stored, and recounted after the roster changes");
+        
+        FeedbackSessionAttributes standardSession = newDataBundle.feedbackSessions.get("standard.session");
+        String standardSessionName = standardSession.getFeedbackSessionName();
+        String standardCourseId = standardSession.getCourseId();
+        assertEquals(Integer.valueOf(8),
+                     fsLogic.getFeedbackSession(standardSessionName, standardCourseId).getExpectedTotal());
+        
+        StudentAttributes newStudent = new StudentAttributes("Section 1", "Team 1.1", "New Student",
+                                                             "new.student@FSDTest.tmt", "", standardCourseId);
+        StudentsLogic.inst().createStudentCascadeWithoutDocument(newStudent);
+        assertNull(fsLogic.getFeedbackSession(standardSessionName, standardCourseId).getExpectedTotal());
+        stats = fsLogic.getFeedbackSessionDetails(fsLogic.getFeedbackSession(standardSessionName, standardCourseId))
+                       .stats;
+        assertEquals(9, stats.expectedTotal);
+        assertEquals(6, stats.submittedTotal);
+        // a recount right after the roster changes may have missed the change, so it is not stored
+        assertNull(fsLogic.getFeedbackSession(standardSessionName, standardCourseId).getExpectedTotal());
+        
+        StudentsLogic.inst().deleteStudentCascadeWithoutDocument(standardCourseId, newStudent.email);
+        assertNull(fsLogic.getFeedbackSession(standardSessionName, standardCourseId).getExpectedTotal());
+        stats = fsLogic.getFeedbackSessionDetails(fsLogic.getFeedbackSession(standardSessionName, standardCourseId))
+                       .stats;
+        assertEquals(8, stats.expectedTotal);
+        assertNull(fsLogic.getFeedbackSession(standardSessionName, standardCourseId).getExpectedTotal());
+
         ______TS("No recipients session");
         stats = detailsMap.get(newDataBundle.feedbackSessions.get("no.recipients.session").getFeedbackSessionName() + "%"
                                + newDataBundle.feedbackSessions.get("no.recipients.session").getCourseId()).stats;
@@ -600,6 +638,104 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
                 actualSessions.toString());
     }
     
+    public void testGetStudentCourseDashboards() throws Exception {
+        
+        ______TS("non-existent student");
+        
+        try {
+            fsLogic.getStudentCourseDashboards("non-existent-student");
+            signalFailureToDetectException("Did not detect that student does not exist.");
+        } catch (EntityDoesNotExistException edne) {
+            assertEquals("Student with Google ID non-existent-student does not exist", edne.getMessage());
+        }
+        
+        ______TS("student in two courses, built and then read from the cache");
+        
+        // student2InCourse1 is also enrolled in course 2, under the same email
+        String studentEmail = dataBundle.students.get("student2InCourse1").email;
+        for (int i = 0; i < 2; i++) {
+            List<StudentCourseDashboard> dashboards = fsLogic.getStudentCourseDashboards("student2InCourse1");
+            assertEquals(2, dashboards.size());
+            
+            for (StudentCourseDashboard dashboard : dashboards) {
+                String courseId = dashboard.course.getId();
+                List<FeedbackSessionAttributes> expectedSessions =
+                        fsLogic.getFeedbackSessionsForUserInCourse(courseId, studentEmail);
+                assertEquals(expectedSessions.size(), dashboard.feedbackSessions.size());
+                for (FeedbackSessionAttributes session : dashboard.feedbackSessions) {
+                    AssertHelper.assertContains(session.toString(), expectedSessions.toString());
+                    assertEquals(fsLogic.isFeedbackSessionCompletedByStudent(session, studentEmail),
+                                 dashboard.hasSubmitted(session));
+                }
+            }
+        }
+
+        FeedbackSessionAttributes session = fsLogic.getFeedbackSession("First feedback session", "idOfTypicalCourse1");
+
+        ______TS("cached dashboard refreshed after the student saves a response");
+
+        // as if the student had deleted all the responses to the session
+        fsLogic.deleteStudentFromRespondentList(studentEmail, session.getFeedbackSessionName(), session.getCourseId());
+        EntitiesCache.finishRequest();
+        assertFalse(getDashboard("student2InCourse1", session.getCourseId()).hasSubmitted(session));
+
+        // saved as FeedbackSubmissionEditSaveAction does
+        FeedbackQuestionAttributes question =
+                fqLogic.getFeedbackQuestion(session.getFeedbackSessionName(), session.getCourseId(), 2);
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                session.getFeedbackSessionName(), session.getCourseId(), question.getId(), question.questionType,
+                studentEmail, "Section 1", dataBundle.students.get("student3InCourse1").email, "Section 1",
+                new Text("Response saved while the dashboard is cached"));
+        frLogic.createFeedbackResponse(response);
+        fsLogic.addStudentRespondant(studentEmail, session.getFeedbackSessionName(), session.getCourseId());
+        EntitiesCache.finishRequest();
+        assertTrue(getDashboard("student2InCourse1", session.getCourseId()).hasSubmitted(session));
+
+        ______TS("cached dashboard refreshed after the session is edited");
+
+        FeedbackSessionAttributes editedSession = fsLogic.getFeedbackSession(session.getFeedbackSessionName(),
+                                                                             session.getCourseId());
+        editedSession.setInstructions(new Text("Instructions edited while the dashboard is cached"));
+        fsLogic.updateFeedbackSession(editedSession);
+        EntitiesCache.finishRequest();
+        assertEquals("Instructions edited while the dashboard is cached",
+                     getDashboardSession("student2InCourse1", session).getInstructions().getValue());
+
+        ______TS("cached dashboard refreshed after the session is published");
+
+        assertFalse(getDashboardSession("student2InCourse1", session).isPublished());
+        fsLogic.publishFeedbackSession(session.getFeedbackSessionName(), session.getCourseId());
+        EntitiesCache.finishRequest();
+        assertTrue(getDashboardSession("student2InCourse1", session).isPublished());
+
+        // restore the data for the other tests
+        frLogic.deleteFeedbackResponseAndCascade(
+                frLogic.getFeedbackResponse(question.getId(), response.giver, response.recipient));
+        fsLogic.updateFeedbackSession(session);
+    }
+
+    private StudentCourseDashboard getDashboard(String googleId, String courseId) throws EntityDoesNotExistException {
+        for (StudentCourseDashboard dashboard : fsLogic.getStudentCourseDashboards(googleId)) {
+            if (dashboard.course.getId().equals(courseId)) {
+                return dashboard;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code session} as found in the dashboard of the student for the course of the session
+     */
+    private FeedbackSessionAttributes getDashboardSession(String googleId, FeedbackSessionAttributes session)
+            throws EntityDoesNotExistException {
+        for (FeedbackSessionAttributes dashboardSession : getDashboard(googleId, session.getCourseId()).feedbackSessions) {
+            if (dashboardSession.getFeedbackSessionName().equals(session.getFeedbackSessionName())) {
+                return dashboardSession;
+            }
+        }
+        return null;
+    }
+    
     public void testGetFeedbackSessionQuestionsForStudent() throws Exception {
         
         ______TS("standard test");
@@ -998,6 +1134,43 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         AssertHelper.assertContains(expectedStrings, mapString);
         assertEquals(10, results.visibilityTable.size());
         
+        // Test the secondary indexes of the bundle against its flat list of responses
+        for (FeedbackQuestionAttributes question : results.questions.values()) {
+            List<FeedbackResponseAttributes> expectedResponses = new ArrayList<FeedbackResponseAttributes>();
+            for (FeedbackResponseAttributes response : results.responses) {
+                if (response.feedbackQuestionId.equals(question.getId())) {
+                    expectedResponses.add(response);
+                }
+            }
+            AssertHelper.assertSameContentIgnoreOrder(expectedResponses,
+                                                      results.getResponsesForQuestion(question.getId()));
+            AssertHelper.assertSameContentIgnoreOrder(expectedResponses,
+                                                      results.getQuestionResponseMap().get(question));
+        }
+        FeedbackResponseAttributes firstResponse = results.responses.get(0);
+        assertTrue(results.getResponsesSortedByGiverRecipientQuestion(false)
+                   == results.getResponsesSortedByGiverRecipientQuestion(false));
+
+        // The memoized views are shared by all callers, hence they cannot be modified
+        try {
+            results.getResponsesSortedByGiverRecipientQuestion(false).clear();
+            signalFailureToDetectException();
+        } catch (UnsupportedOperationException e) {
+            ignoreExpectedException();
+        }
+        try {
+            results.getQuestionResponseMap().values().iterator().next().clear();
+            signalFailureToDetectException();
+        } catch (UnsupportedOperationException e) {
+            ignoreExpectedException();
+        }
+
+        // Replacing the responses discards the views built from the previous responses
+        results.responses = new ArrayList<FeedbackResponseAttributes>();
+        results.responses.add(firstResponse);
+        assertEquals(1, results.getResponsesSortedByGiverRecipientQuestion(false).size());
+        assertEquals(1, results.getResponsesForQuestion(firstResponse.feedbackQuestionId).size());
+        
         /*** Test result bundle for instructor1 within a section ***/
         
         results = fsLogic.getFeedbackSessionResultsForInstructorInSection(
@@ -1125,6 +1298,87 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         //TODO: check for cases where a person is both a student and an instructor
     }
 
+    public void testGetFeedbackSessionResultsForStudentInPublishedSession() throws Exception {
+        
+        // uses the data persisted by testGetFeedbackSessionResultsForUser
+        DataBundle responseBundle = loadDataBundle("/FeedbackSessionResultsTest.json");
+        FeedbackSessionAttributes session = responseBundle.feedbackSessions.get("standard.session");
+        StudentAttributes student = responseBundle.students.get("student1InCourse1");
+        FeedbackSessionResultsViewsDb resultsViewsDb = new FeedbackSessionResultsViewsDb();
+        
+        ______TS("unpublished session: results view not kept");
+        
+        fsLogic.getFeedbackSessionResultsForStudent(session.getFeedbackSessionName(),
+                session.getCourseId(), student.email);
+        assertNull(resultsViewsDb.getResultsView(session.getFeedbackSessionName(), session.getCourseId(),
+                student.email, UserType.Role.STUDENT, null));
+        
+        ______TS("published session: results view kept and reused");
+        
+        fsLogic.publishFeedbackSession(session.getFeedbackSessionName(), session.getCourseId());
+        
+        FeedbackSessionResultsBundle results =
+                fsLogic.getFeedbackSessionResultsForStudent(session.getFeedbackSessionName(),
+                        session.getCourseId(), student.email);
+        assertNotNull(resultsViewsDb.getResultsView(session.getFeedbackSessionName(), session.getCourseId(),
+                student.email, UserType.Role.STUDENT, null));
+        
+        FeedbackSessionResultsBundle resultsFromView =
+                fsLogic.getFeedbackSessionResultsForStudent(session.getFeedbackSessionName(),
+                        session.getCourseId(), student.email);
+        assertEquals(11, resultsFromView.responses.size());
+        assertEquals(7, resultsFromView.questions.size());
+        assertEquals(results.responses.toString(), resultsFromView.responses.toString());
+        // the tables are compared sorted, as their iteration order is not kept by the view
+        assertEquals(new TreeMap<String, String>(results.emailNameTable).toString(),
+                     new TreeMap<String, String>(resultsFromView.emailNameTable).toString());
+        assertEquals(new TreeMap<String, String>(results.emailTeamNameTable).toString(),
+                     new TreeMap<String, String>(resultsFromView.emailTeamNameTable).toString());
+        assertEquals(tableToString(new TreeMap<String, boolean[]>(results.visibilityTable)),
+                     tableToString(new TreeMap<String, boolean[]>(resultsFromView.visibilityTable)));
+        assertEquals(new TreeMap<String, List<FeedbackResponseCommentAttributes>>(results.responseComments).toString(),
+                     new TreeMap<String, List<FeedbackResponseCommentAttributes>>(resultsFromView.responseComments)
+                             .toString());
+        
+        ______TS("published session: results view invalidated by a late edit");
+        
+        FeedbackResponseAttributes response = getResponseFromDatastore("qn1.resp1", responseBundle);
+        Text originalAnswer = response.responseMetaData;
+        response.responseMetaData = new Text("student self feedback, edited after publishing.");
+        frLogic.updateFeedbackResponse(response);
+        
+        assertNull(resultsViewsDb.getResultsView(session.getFeedbackSessionName(), session.getCourseId(),
+                student.email, UserType.Role.STUDENT, null));
+        results = fsLogic.getFeedbackSessionResultsForStudent(session.getFeedbackSessionName(),
+                session.getCourseId(), student.email);
+        AssertHelper.assertContains("student self feedback, edited after publishing.",
+                                    results.responses.toString());
+
+        ______TS("published session: late edit seen by the next request");
+
+        // a new request can only find the view in the shared tier, where it is checked against its version stamps
+        EntitiesCache.finishRequest();
+        results = fsLogic.getFeedbackSessionResultsForStudent(session.getFeedbackSessionName(),
+                session.getCourseId(), student.email);
+        AssertHelper.assertContains("student self feedback, edited after publishing.",
+                                    results.responses.toString());
+
+        response.responseMetaData = new Text("student self feedback, edited again after publishing.");
+        frLogic.updateFeedbackResponse(response);
+        EntitiesCache.finishRequest();
+
+        results = fsLogic.getFeedbackSessionResultsForStudent(session.getFeedbackSessionName(),
+                session.getCourseId(), student.email);
+        AssertHelper.assertContains("student self feedback, edited again after publishing.",
+                                    results.responses.toString());
+        assertFalse(results.responses.toString().contains("student self feedback, edited after publishing."));
+
+        // restore the data for the other tests
+        response.responseMetaData = originalAnswer;
+        frLogic.updateFeedbackResponse(response);
+        fsLogic.updateFeedbackSession(session);
+    }
+    
     public void testGetFeedbackSessionResultsSummaryAsCsv() throws Exception {
 
         ______TS("typical case");
@@ -1212,6 +1466,17 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         };
         
         assertEquals(StringUtils.join(expected, Const.EOL), export);
+        
+        ______TS("typical case: streamed export is the same as the in-memory export");
+        
+        assertEquals(export, getStreamedResultsSummaryAsCsv(session, instructor.email, null));
+        
+        ______TS("typical case: streamed export within a section");
+        
+        assertEquals(fsLogic.getFeedbackSessionResultsSummaryInSectionAsCsv(session.getFeedbackSessionName(),
+                                                                           session.getCourseId(),
+                                                                           instructor.email, "Section 1"),
+                     getStreamedResultsSummaryAsCsv(session, instructor.email, "Section 1"));
 
         ______TS("MCQ results");
         
@@ -1278,6 +1543,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         };
         
         assertEquals(StringUtils.join(expected, Const.EOL), export);
+        assertEquals(export, getStreamedResultsSummaryAsCsv(session, instructor.email, null));
 
         ______TS("MSQ results");
         
@@ -1992,6 +2258,45 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
                                                                      student3OfCourse1.email));
     }
     
+    public void testGetStudentsWhoHaveNotFullyCompletedFeedbackSession() throws Exception {
+
+        FeedbackSessionAttributes fs = dataBundle.feedbackSessions.get("session1InCourse1");
+        StudentAttributes student1OfCourse1 = dataBundle.students.get("student1InCourse1");
+        StudentAttributes student3OfCourse1 = dataBundle.students.get("student3InCourse1");
+
+        ______TS("typical case: fully done by student 1, partially done by student 3");
+
+        List<String> incompleteStudentEmails = new ArrayList<String>();
+        for (StudentAttributes student : fsLogic.getStudentsWhoHaveNotFullyCompletedFeedbackSession(fs)) {
+            incompleteStudentEmails.add(student.email);
+        }
+        assertFalse(incompleteStudentEmails.contains(student1OfCourse1.email));
+        assertTrue(incompleteStudentEmails.contains(student3OfCourse1.email));
+
+        ______TS("same students as checking each student of each session separately");
+
+        for (FeedbackSessionAttributes typicalSession : dataBundle.feedbackSessions.values()) {
+            FeedbackSessionAttributes session =
+                    fsLogic.getFeedbackSession(typicalSession.getFeedbackSessionName(), typicalSession.getCourseId());
+            if (session == null) {
+                // deleted by an earlier test
+                continue;
+            }
+            List<String> expected = new ArrayList<String>();
+            for (StudentAttributes student : StudentsLogic.inst().getStudentsForCourse(session.getCourseId())) {
+                if (!fsLogic.isFeedbackSessionFullyCompletedByStudent(session.getFeedbackSessionName(),
+                                                                      session.getCourseId(), student.email)) {
+                    expected.add(student.email);
+                }
+            }
+            List<String> actual = new ArrayList<String>();
+            for (StudentAttributes student : fsLogic.getStudentsWhoHaveNotFullyCompletedFeedbackSession(session)) {
+                actual.add(student.email);
+            }
+            assertEquals(session.getIdentificationString(), expected.toString(), actual.toString());
+        }
+    }
+
     public void testScheduleFeedbackSessionOpeningEmails() {
         // this method is tested in FeedbackSessionEmailTaskQueueTest.java
     }
@@ -2243,6 +2548,15 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         return paramMap;
     }
     
+    private String getStreamedResultsSummaryAsCsv(FeedbackSessionAttributes session, String instructorEmail,
+                                                  String section) throws Exception {
+        StringWriter out = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session, InstructorsLogic.inst().getInstructorForEmail(session.getCourseId(), instructorEmail),
+                section, out);
+        return out.toString();
+    }
+    
     private MimeMessage getEmailToStudent(StudentAttributes s, List<MimeMessage> emailsSent)
                                     throws MessagingException {
         for (MimeMessage m : emailsSent) {
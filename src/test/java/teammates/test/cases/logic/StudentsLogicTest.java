@@ -2,6 +2,7 @@ package teammates.test.cases.logic;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -1188,13 +1189,15 @@ public class StudentsLogicTest extends BaseComponentTestCase {
         }
     }
 
+    @SuppressWarnings("unchecked")
     private static StudentEnrollDetails invokeEnrollStudent(StudentAttributes student)
             throws Exception {
-        Method privateMethod = StudentsLogic.class.getDeclaredMethod("enrollStudent",
-                new Class[] { StudentAttributes.class, Boolean.class });
+        Method privateMethod = StudentsLogic.class.getDeclaredMethod("enrollStudentList",
+                new Class[] { List.class, String.class, List.class });
         privateMethod.setAccessible(true);
-        Object[] params = new Object[] { student, false };
-        return (StudentEnrollDetails) privateMethod.invoke(StudentsLogic.inst(), params);
+        Object[] params = new Object[] { Arrays.asList(student), student.course,
+                                         studentsLogic.getStudentsForCourse(student.course) };
+        return ((List<StudentEnrollDetails>) privateMethod.invoke(StudentsLogic.inst(), params)).get(0);
     }
     
     @SuppressWarnings("unchecked")
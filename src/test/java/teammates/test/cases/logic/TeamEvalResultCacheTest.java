@@ -0,0 +1,75 @@
+package teammates.test.cases.logic;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.logic.core.TeamEvalResult;
+import teammates.logic.core.TeamEvalResultCache;
+import teammates.test.cases.BaseTestCase;
+
+public class TeamEvalResultCacheTest extends BaseTestCase {
+
+    @BeforeClass
+    public static void setUp() {
+        printTestClassHeader();
+        TeamEvalResultCache.clear();
+    }
+
+    @Test
+    public void testGetTeamEvalResult() {
+        List<String> emails = Arrays.asList("alice@example.com", "bob@example.com");
+        Date lastUpdated = new Date(1000);
+
+        ______TS("typical case: result is calculated, then reused for the same responses");
+
+        TeamEvalResult result = TeamEvalResultCache.getTeamEvalResult(
+                "qn-1", "Team 1", lastUpdated, emails, new int[][] { { 100, 120 }, { 80, 100 } });
+        assertEquals(emails, result.studentEmails);
+        assertEquals(Arrays.deepToString(new TeamEvalResult(new int[][] { { 100, 120 }, { 80, 100 } }).normalizedClaimed),
+                     Arrays.deepToString(result.normalizedClaimed));
+
+        assertTrue(result == TeamEvalResultCache.getTeamEvalResult(
+                "qn-1", "Team 1", lastUpdated, emails, new int[][] { { 100, 120 }, { 80, 100 } }));
+
+        ______TS("other question or team: not reused");
+
+        assertFalse(result == TeamEvalResultCache.getTeamEvalResult(
+                "qn-2", "Team 1", lastUpdated, emails, new int[][] { { 100, 120 }, { 80, 100 } }));
+        assertFalse(result == TeamEvalResultCache.getTeamEvalResult(
+                "qn-1", "Team 2", lastUpdated, emails, new int[][] { { 100, 120 }, { 80, 100 } }));
+
+        ______TS("responses updated: recalculated");
+
+        TeamEvalResult updated = TeamEvalResultCache.getTeamEvalResult(
+                "qn-1", "Team 1", new Date(2000), emails, new int[][] { { 100, 100 }, { 100, 100 } });
+        assertFalse(result == updated);
+        assertEquals(100, updated.normalizedAveragePerceived[0]);
+
+        ______TS("same update time but a response deleted: recalculated");
+
+        int[][] claimsWithDeletedResponse = { { 100, 100 }, { 100, TeamEvalResult.NSB } };
+        TeamEvalResult afterDeletion = TeamEvalResultCache.getTeamEvalResult(
+                "qn-1", "Team 1", new Date(2000), emails, claimsWithDeletedResponse);
+        assertFalse(updated == afterDeletion);
+        assertEquals(TeamEvalResult.NSB, afterDeletion.claimed[1][1]);
+
+        ______TS("same claims but different members: recalculated");
+
+        List<String> otherEmails = Arrays.asList("alice@example.com", "charlie@example.com");
+        TeamEvalResult otherMembers = TeamEvalResultCache.getTeamEvalResult(
+                "qn-1", "Team 1", new Date(2000), otherEmails, claimsWithDeletedResponse);
+        assertFalse(afterDeletion == otherMembers);
+        assertEquals(otherEmails, otherMembers.studentEmails);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        TeamEvalResultCache.clear();
+        printTestClassFooter();
+    }
+}
@@ -5,6 +5,7 @@ import static teammates.common.util.FieldValidator.EMAIL_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -157,6 +158,83 @@ public class CommentsDbTest extends BaseComponentTestCase {
         }
     }
 
+    @Test
+    public void testGetCommentsForCommentViewerAndRecipients() throws Exception {
+        
+        String courseIdForViewer = "CDT.tGCFCVAR.courseId";
+        List<String> teams = new ArrayList<String>();
+        for (int i = 0; i < CommentsDb.MAX_VALUES_PER_IN_FILTER + 5; i++) {
+            teams.add("CDT.tGCFCVAR.team" + i);
+        }
+        
+        CommentAttributes toTeam = createCommentForViewer(courseIdForViewer, 1, CommentParticipantType.TEAM,
+                                                          CommentParticipantType.SECTION, teams.get(0));
+        CommentAttributes toTeamsInTwoQueries = createCommentForViewer(courseIdForViewer, 2,
+                CommentParticipantType.TEAM, CommentParticipantType.SECTION, teams.get(1), teams.get(teams.size() - 1));
+        CommentAttributes toOtherTeam = createCommentForViewer(courseIdForViewer, 3, CommentParticipantType.TEAM,
+                                                               CommentParticipantType.SECTION, "CDT.tGCFCVAR.other");
+        CommentAttributes toSectionOfSameName = createCommentForViewer(courseIdForViewer, 4,
+                CommentParticipantType.SECTION, CommentParticipantType.SECTION, teams.get(0));
+        CommentAttributes notVisibleToViewer = createCommentForViewer(courseIdForViewer, 5,
+                CommentParticipantType.TEAM, CommentParticipantType.TEAM, teams.get(0));
+        CommentAttributes toStudent = createCommentForViewer(courseIdForViewer, 6, CommentParticipantType.PERSON,
+                                                             CommentParticipantType.SECTION, "CDT.tGCFCVAR@mail.com");
+        
+        ______TS("only comments to the recipients of the type and visible to the viewer, each once");
+        
+        List<String> commentTexts = getCommentTexts(commentsDb.getCommentsForCommentViewerAndRecipients(
+                courseIdForViewer, CommentParticipantType.SECTION, CommentParticipantType.TEAM, teams));
+        assertEquals(2, commentTexts.size());
+        assertTrue(commentTexts.contains(toTeam.commentText.getValue()));
+        assertTrue(commentTexts.contains(toTeamsInTwoQueries.commentText.getValue()));
+        assertFalse(commentTexts.contains(toOtherTeam.commentText.getValue()));
+        assertFalse(commentTexts.contains(toSectionOfSameName.commentText.getValue()));
+        assertFalse(commentTexts.contains(notVisibleToViewer.commentText.getValue()));
+        
+        ______TS("no recipients");
+        
+        assertEquals(0, commentsDb.getCommentsForCommentViewerAndRecipients(
+                                courseIdForViewer, CommentParticipantType.SECTION, CommentParticipantType.TEAM,
+                                new ArrayList<String>()).size());
+        
+        ______TS("all comments to recipients of the type and visible to the viewer");
+        
+        commentTexts = getCommentTexts(commentsDb.getCommentsForCommentViewerAndRecipientType(
+                courseIdForViewer, CommentParticipantType.SECTION, CommentParticipantType.PERSON));
+        assertEquals(1, commentTexts.size());
+        assertTrue(commentTexts.contains(toStudent.commentText.getValue()));
+        
+        commentTexts = getCommentTexts(commentsDb.getCommentsForCommentViewerAndRecipientType(
+                courseIdForViewer, CommentParticipantType.SECTION, CommentParticipantType.TEAM));
+        assertEquals(3, commentTexts.size());
+        assertFalse(commentTexts.contains(notVisibleToViewer.commentText.getValue()));
+        
+        commentsDb.deleteCommentsForCourse(courseIdForViewer);
+    }
+    
+    private List<String> getCommentTexts(List<CommentAttributes> comments) {
+        List<String> commentTexts = new ArrayList<String>();
+        for (CommentAttributes comment : comments) {
+            commentTexts.add(comment.commentText.getValue());
+        }
+        return commentTexts;
+    }
+    
+    private CommentAttributes createCommentForViewer(String courseId, long createdAt,
+            CommentParticipantType recipientType, CommentParticipantType viewerType, String... recipients)
+            throws Exception {
+        CommentAttributes c = createNewComment();
+        c.courseId = courseId;
+        c.recipientType = recipientType;
+        c.recipients = new HashSet<String>(Arrays.asList(recipients));
+        c.showCommentTo = new ArrayList<CommentParticipantType>();
+        c.showCommentTo.add(viewerType);
+        c.createdAt = new Date(createdAt);
+        c.commentText = new Text("comment " + createdAt);
+        commentsDb.createEntity(c);
+        return c;
+    }
+    
     private void compareComments(CommentAttributes retrievedComment,
             CommentAttributes anotherRetrievedComment) {
         assertEquals(retrievedComment.commentText, anotherRetrievedComment.commentText);
@@ -0,0 +1,187 @@
+package teammates.test.cases.storage;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.StudentsDb;
+import teammates.storage.datastore.EntitiesCache;
+import teammates.storage.datastore.LocalSharedCache;
+import teammates.storage.datastore.MemcacheSharedCache;
+import teammates.storage.datastore.SharedCache;
+import teammates.test.cases.BaseComponentTestCase;
+import teammates.test.driver.ThreadHelper;
+
+import com.google.gson.reflect.TypeToken;
+
+public class EntitiesCacheTest extends BaseComponentTestCase {
+
+    private CoursesDb coursesDb = new CoursesDb();
+    private StudentsDb studentsDb = new StudentsDb();
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testGetAndPut() {
+
+        ______TS("miss");
+
+        String key = EntitiesCache.generateKey("EntitiesCacheTest", "ECT.course", "course");
+        long misses = EntitiesCache.getMissCount();
+        assertNull(EntitiesCache.get(key, CourseAttributes.class));
+        assertEquals(misses + 1, EntitiesCache.getMissCount());
+
+        ______TS("hit returns a copy");
+
+        CourseAttributes course = new CourseAttributes("ECT.course", "Cached Course");
+        EntitiesCache.put(key, course);
+        course.isArchived = true;
+
+        long hits = EntitiesCache.getRequestHitCount();
+        CourseAttributes cached = EntitiesCache.get(key, CourseAttributes.class);
+        assertEquals(hits + 1, EntitiesCache.getRequestHitCount());
+        assertEquals("Cached Course", cached.getName());
+        assertFalse(cached.isArchived);
+
+        cached.isArchived = true;
+        assertFalse(EntitiesCache.<CourseAttributes>get(key, CourseAttributes.class).isArchived);
+
+        ______TS("null values are not cached");
+
+        String otherKey = EntitiesCache.generateKey("EntitiesCacheTest", "ECT.course", "other");
+        EntitiesCache.put(otherKey, null);
+        assertNull(EntitiesCache.get(otherKey, CourseAttributes.class));
+
+        ______TS("invalidation by course");
+
+        String otherCourseKey = EntitiesCache.generateKey("EntitiesCacheTest", "ECT.course2", "course");
+        EntitiesCache.put(otherCourseKey, course);
+        EntitiesCache.invalidate("EntitiesCacheTest", "ECT.course");
+        assertNull(EntitiesCache.get(key, CourseAttributes.class));
+        assertNotNull(EntitiesCache.get(otherCourseKey, CourseAttributes.class));
+
+        ______TS("invalidation by region");
+
+        EntitiesCache.invalidate("EntitiesCacheTest");
+        assertNull(EntitiesCache.get(otherCourseKey, CourseAttributes.class));
+
+        ______TS("end of request empties the request tier");
+
+        EntitiesCache.put(key, course);
+        EntitiesCache.finishRequest();
+        assertNull(EntitiesCache.get(key, CourseAttributes.class));
+    }
+
+    @Test
+    public void testWritesInvalidateCachedReads() throws Exception {
+
+        ______TS("cached course is refreshed after update");
+
+        CourseAttributes course = new CourseAttributes("ECT.tWICR.course", "Cached Course");
+        coursesDb.createEntity(course);
+        assertFalse(coursesDb.getCourse(course.getId()).isArchived);
+
+        course.isArchived = true;
+        coursesDb.updateCourse(course);
+        assertTrue(coursesDb.getCourse(course.getId()).isArchived);
+
+        ______TS("cached roster is refreshed after enrollment and deletion");
+
+        assertEquals(0, studentsDb.getStudentsForCourse(course.getId()).size());
+
+        StudentAttributes student = new StudentAttributes("Section 1", "Team 1", "Student",
+                                                          "student@ECT.tWICR.tmt", "", course.getId());
+        studentsDb.createEntity(student);
+        List<StudentAttributes> students = studentsDb.getStudentsForCourse(course.getId());
+        assertEquals(1, students.size());
+        assertNotNull(students.get(0).getCreatedAt());
+
+        String key = EntitiesCache.generateKey(StudentsDb.class.getSimpleName(), course.getId(), "students");
+        List<StudentAttributes> cached = EntitiesCache.get(key, new TypeToken<List<StudentAttributes>>() { }.getType());
+        assertEquals(students.get(0).email, cached.get(0).email);
+        assertEquals(students.get(0).getCreatedAt(), cached.get(0).getCreatedAt());
+
+        studentsDb.deleteStudentsForCourse(course.getId());
+        assertEquals(0, studentsDb.getStudentsForCourse(course.getId()).size());
+
+        coursesDb.deleteCourse(course.getId());
+        assertNull(coursesDb.getCourse(course.getId()));
+    }
+
+    @Test
+    public void testSharedCacheContract() {
+        verifySharedCacheContract(new LocalSharedCache(10, 1));
+        verifySharedCacheContract(new MemcacheSharedCache(1));
+    }
+
+    @Test
+    public void testLocalSharedCache() {
+        
+        LocalSharedCache sharedCache = new LocalSharedCache(3, 3600);
+        
+        sharedCache.putIfAbsent("region/course/#version", 101L);
+        sharedCache.putIfAbsent("region/#version", 5L);
+        
+        ______TS("least recently used values are dropped beyond the size");
+        
+        sharedCache.put("region/course/students/", "snapshot");
+        sharedCache.put("region/course/instructors/", "snapshot");
+        Map<String, Object> values = sharedCache.getAll(Arrays.asList("region/course/#version", "region/#version"));
+        assertEquals(1, values.size());
+        assertFalse(values.containsKey("region/course/#version"));
+    }
+
+    /**
+     * Checks the behaviour that {@link EntitiesCache} relies on, for a shared cache whose values expire after 1s.
+     */
+    private void verifySharedCacheContract(SharedCache sharedCache) {
+        String implementation = sharedCache.getClass().getSimpleName() + ": ";
+        sharedCache.clear();
+        
+        ______TS(implementation + "version stamps start from the initial value and are then incremented");
+        
+        assertEquals(100L, sharedCache.increment("region/course/#version", 100L));
+        assertEquals(101L, sharedCache.increment("region/course/#version", 100L));
+        
+        ______TS(implementation + "values are only added if absent when asked to");
+        
+        sharedCache.putIfAbsent("region/course/#version", 5L);
+        sharedCache.putIfAbsent("region/#version", 5L);
+        Map<String, Object> values = sharedCache.getAll(
+                Arrays.asList("region/course/#version", "region/#version", "region/course/missing/"));
+        assertEquals(101L, values.get("region/course/#version"));
+        assertEquals(5L, values.get("region/#version"));
+        assertFalse(values.containsKey("region/course/missing/"));
+        
+        ______TS(implementation + "values can be replaced and removed");
+        
+        sharedCache.put("region/course/students/", "snapshot");
+        sharedCache.put("region/course/students/", "newer snapshot");
+        assertEquals("newer snapshot",
+                     sharedCache.getAll(Arrays.asList("region/course/students/")).get("region/course/students/"));
+        
+        sharedCache.remove("region/course/#version");
+        sharedCache.remove("region/course/missing/");
+        assertTrue(sharedCache.getAll(Arrays.asList("region/course/#version")).isEmpty());
+        assertEquals(200L, sharedCache.increment("region/course/#version", 200L));
+        
+        ______TS(implementation + "values expire, incremented version stamps do not");
+        
+        ThreadHelper.waitFor(2000);
+        values = sharedCache.getAll(Arrays.asList("region/course/#version", "region/#version", "region/course/students/"));
+        assertEquals(1, values.size());
+        assertEquals(200L, values.get("region/course/#version"));
+        
+        sharedCache.clear();
+        assertTrue(sharedCache.getAll(Arrays.asList("region/course/#version")).isEmpty());
+    }
+}
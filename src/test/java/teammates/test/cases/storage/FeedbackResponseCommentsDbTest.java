@@ -1,6 +1,7 @@
 package teammates.test.cases.storage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -72,6 +73,8 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
         
         testDeleteFeedbackResponseCommentsForResponse();
         
+        testDeleteFeedbackResponseCommentsForResponses();
+        
         testGetFeedbackResponseCommentsForCourse();
         
         testGetAndDeleteFeedbackResponseCommentsForCourses();
@@ -401,6 +404,51 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
         }
     }
     
+    public void testDeleteFeedbackResponseCommentsForResponses() throws Exception {
+        
+        String courseId = frcaData.courseId;
+        String sessionName = frcaData.feedbackSessionName;
+        String responseIdToDelete = "1%student1.tDFRCFRs@gmail.tmt%student1.tDFRCFRs@gmail.tmt";
+        String otherResponseId = "1%student2.tDFRCFRs@gmail.tmt%student2.tDFRCFRs@gmail.tmt";
+        frcDb.createEntity(new FeedbackResponseCommentAttributes(courseId, sessionName, "1", frcaData.giverEmail,
+                responseIdToDelete, new Date(), new Text("first comment of the response to delete")));
+        frcDb.createEntity(new FeedbackResponseCommentAttributes(courseId, sessionName, "1", frcaData.giverEmail,
+                responseIdToDelete, new Date(new Date().getTime() + 1000), new Text("second comment")));
+        frcDb.createEntity(new FeedbackResponseCommentAttributes(courseId, sessionName, "1", frcaData.giverEmail,
+                otherResponseId, new Date(), new Text("comment of another response")));
+        
+        ______TS("typical success case: comments of other responses in the session are kept");
+        
+        frcDb.deleteFeedbackResponseCommentsForResponses(courseId, sessionName,
+                                                         Arrays.asList(responseIdToDelete, "non-existent response id"));
+        assertEquals(0, frcDb.getFeedbackResponseCommentsForResponse(responseIdToDelete).size());
+        assertEquals(1, frcDb.getFeedbackResponseCommentsForResponse(otherResponseId).size());
+        assertNotNull(frcDb.getFeedbackResponseComment(frcaData.getId()));
+        assertNotNull(frcDb.getFeedbackResponseComment(anotherFrcaData.getId()));
+        
+        ______TS("responses of another session: nothing deleted");
+        
+        frcDb.deleteFeedbackResponseCommentsForResponses(courseId, "Second feedback session",
+                                                         Arrays.asList(otherResponseId));
+        assertEquals(1, frcDb.getFeedbackResponseCommentsForResponse(otherResponseId).size());
+        
+        ______TS("no responses: nothing deleted");
+        
+        frcDb.deleteFeedbackResponseCommentsForResponses(courseId, sessionName, new ArrayList<String>());
+        assertEquals(1, frcDb.getFeedbackResponseCommentsForResponse(otherResponseId).size());
+        
+        frcDb.deleteFeedbackResponseCommentsForResponse(otherResponseId);
+        
+        ______TS("null parameter");
+        
+        try {
+            frcDb.deleteFeedbackResponseCommentsForResponses(courseId, sessionName, null);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+    }
+    
     public void testGetFeedbackResponseCommentsForCourse() {
         String courseId = "idOfTypicalCourse1";
         List<FeedbackResponseCommentAttributes> expectedFrcs =
@@ -1,7 +1,11 @@
 package teammates.test.cases.storage;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.testng.annotations.AfterClass;
@@ -13,12 +17,14 @@ import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseDetails;
 import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.Page;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.entity.FeedbackResponse;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 
@@ -142,7 +148,50 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
                                                       "invalid course id!", FieldValidator.REASON_INCORRECT_FORMAT),
                                         e.getLocalizedMessage());
         }
-        
+
+    }
+
+    @Test
+    public void testDeleteFeedbackResponses() throws Exception {
+
+        FeedbackResponseAttributes responseToDelete = getNewFeedbackResponseAttributes();
+        responseToDelete.giver = "giver1.tDFR@email.tmt";
+        FeedbackResponseAttributes responseToKeep = getNewFeedbackResponseAttributes();
+        responseToKeep.giver = "giver2.tDFR@email.tmt";
+        frDb.createEntity(responseToDelete);
+        frDb.createEntity(responseToKeep);
+        responseToDelete = frDb.getFeedbackResponse(responseToDelete.feedbackQuestionId,
+                                                    responseToDelete.giver, responseToDelete.recipient);
+        responseToKeep = frDb.getFeedbackResponse(responseToKeep.feedbackQuestionId,
+                                                  responseToKeep.giver, responseToKeep.recipient);
+
+        FeedbackResponseAttributes missingResponse = getNewFeedbackResponseAttributes();
+        missingResponse.giver = "giver3.tDFR@email.tmt";
+        missingResponse.setId("non-existent fr id");
+
+        ______TS("batch of existing and missing responses: existing ones deleted, missing ones ignored");
+
+        frDb.deleteFeedbackResponses(Arrays.asList(responseToDelete, missingResponse));
+        verifyAbsentInDatastore(responseToDelete);
+        verifyAbsentInDatastore(missingResponse);
+        verifyPresentInDatastore(responseToKeep);
+
+        ______TS("batch of missing responses only: nothing deleted");
+
+        frDb.deleteFeedbackResponses(Arrays.asList(responseToDelete, missingResponse));
+        verifyPresentInDatastore(responseToKeep);
+
+        frDb.deleteFeedbackResponses(Arrays.asList(responseToKeep));
+        verifyAbsentInDatastore(responseToKeep);
+
+        ______TS("null params");
+
+        try {
+            frDb.deleteFeedbackResponses(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
     }
 
     @Test
@@ -202,6 +251,42 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         assertNull(actual);
     }
     
+    @Test
+    public void testGetFeedbackResponseEntities() {
+        
+        ______TS("standard success case");
+        
+        FeedbackResponseAttributes first = getResponseAttributes("response1ForQ1S1C1");
+        FeedbackResponseAttributes second = getResponseAttributes("response2ForQ1S1C1");
+        String firstId = frDb.getFeedbackResponse(first.feedbackQuestionId, first.giver, first.recipient).getId();
+        String secondId = FeedbackResponse.generateId(second.feedbackQuestionId, second.giver, second.recipient);
+        
+        Map<String, FeedbackResponse> entities = frDb.getFeedbackResponseEntities(Arrays.asList(secondId, firstId));
+        
+        assertEquals(Arrays.asList(secondId, firstId), new ArrayList<String>(entities.keySet()));
+        assertEquals(first.toString(), new FeedbackResponseAttributes(entities.get(firstId)).toString());
+        assertEquals(second.toString(), new FeedbackResponseAttributes(entities.get(secondId)).toString());
+        
+        ______TS("non-existent responses are left out");
+        
+        entities = frDb.getFeedbackResponseEntities(Arrays.asList("non-existent id", firstId));
+        
+        assertEquals(Arrays.asList(firstId), new ArrayList<String>(entities.keySet()));
+        
+        ______TS("empty collection");
+        
+        assertTrue(frDb.getFeedbackResponseEntities(new ArrayList<String>()).isEmpty());
+        
+        ______TS("null params");
+        
+        try {
+            frDb.getFeedbackResponseEntities(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+    
     @Test
     public void testGetFeedbackResponsesForQuestion() {
         
@@ -301,6 +386,50 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
     }
     
+    @Test
+    public void testGetFeedbackResponsesForSessionByPage() {
+        
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+        
+        ______TS("pages follow one another until all responses are returned");
+        
+        Page<FeedbackResponseAttributes> firstPage =
+                frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId, null, 4);
+        assertEquals(4, firstPage.getItems().size());
+        assertTrue(firstPage.hasNextPage());
+        
+        Page<FeedbackResponseAttributes> secondPage =
+                frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId, firstPage.getCursor(), 4);
+        assertEquals(2, secondPage.getItems().size());
+        assertFalse(secondPage.hasNextPage());
+        
+        Set<String> responseIds = new HashSet<String>();
+        for (FeedbackResponseAttributes response : firstPage.getItems()) {
+            responseIds.add(response.getId());
+        }
+        for (FeedbackResponseAttributes response : secondPage.getItems()) {
+            responseIds.add(response.getId());
+        }
+        assertEquals(6, responseIds.size());
+        
+        ______TS("non-existent feedback session");
+        
+        Page<FeedbackResponseAttributes> emptyPage =
+                frDb.getFeedbackResponsesForSession("non-existent feedback session", courseId, null, 4);
+        assertTrue(emptyPage.getItems().isEmpty());
+        assertFalse(emptyPage.hasNextPage());
+        
+        ______TS("null params");
+        
+        try {
+            frDb.getFeedbackResponsesForSession(null, courseId, null, 4);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+    
     @Test
     public void testGetFeedbackResponsesForReceiverForQuestion() {
         
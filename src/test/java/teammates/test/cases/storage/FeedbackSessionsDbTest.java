@@ -9,6 +9,7 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.TimeZone;
 
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -217,6 +218,62 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         
     }
     
+    @Test
+    public void testGetFeedbackSessionsStartingOrEndingWithin() throws Exception {
+        FeedbackSessionAttributes startingInRange = getNewFeedbackSession("starting", 8,
+                getUtcDate(2030, 1, 1, 10), getUtcDate(2030, 1, 5, 10));
+        FeedbackSessionAttributes startingLaterInRange = getNewFeedbackSession("startingLater", -5,
+                getUtcDate(2030, 1, 1, 0), getUtcDate(2030, 1, 3, 0));
+        FeedbackSessionAttributes startingAndEndingInRange = getNewFeedbackSession("startingAndEnding", 0,
+                getUtcDate(2030, 1, 1, 3), getUtcDate(2030, 1, 1, 4));
+        FeedbackSessionAttributes spanningRange = getNewFeedbackSession("spanning", 0,
+                getUtcDate(2029, 12, 1, 0), getUtcDate(2030, 2, 1, 0));
+        fsDb.createEntity(startingInRange);
+        fsDb.createEntity(startingLaterInRange);
+        fsDb.createEntity(startingAndEndingInRange);
+        fsDb.createEntity(spanningRange);
+        
+        ______TS("sessions found by their start and end time in UTC, each session once");
+        
+        // starting at 02:00, 05:00 and 03:00 UTC respectively
+        List<FeedbackSessionAttributes> sessions =
+                fsDb.getFeedbackSessionsStartingOrEndingWithin(getUtcDate(2030, 1, 1, 2), getUtcDate(2030, 1, 1, 6));
+        assertEquals(3, sessions.size());
+        for (FeedbackSessionAttributes session : sessions) {
+            assertFalse("spanning".equals(session.getFeedbackSessionName()));
+        }
+        
+        // both ends of the range are included: ending at 04:00 and starting at 05:00 UTC
+        assertEquals(2, fsDb.getFeedbackSessionsStartingOrEndingWithin(getUtcDate(2030, 1, 1, 4),
+                                                                       getUtcDate(2030, 1, 1, 5)).size());
+        
+        ______TS("range in a time zone: start of range included, end of range excluded for start times");
+        
+        sessions = fsDb.getAllOpenFeedbackSessions(getUtcDate(2030, 1, 1, 10), getUtcDate(2030, 1, 1, 13), 8);
+        assertEquals(2, sessions.size());
+        for (FeedbackSessionAttributes session : sessions) {
+            assertFalse("startingLater".equals(session.getFeedbackSessionName()));
+        }
+        
+        ______TS("range in a time zone: start of range excluded, end of range included for end times");
+        
+        // "starting" ends at 02:00 on 5 Jan UTC, which is the end of the range
+        sessions = fsDb.getAllOpenFeedbackSessions(getUtcDate(2030, 1, 1, 23), getUtcDate(2030, 1, 5, 0), -2);
+        assertEquals(2, sessions.size());
+        
+        // "startingLater" ends at 05:00 on 3 Jan UTC, which is the start of the range
+        assertTrue(fsDb.getAllOpenFeedbackSessions(getUtcDate(2030, 1, 3, 3), getUtcDate(2030, 1, 4, 0), -2).isEmpty());
+        
+        ______TS("no sessions in range");
+        
+        assertTrue(fsDb.getAllOpenFeedbackSessions(getUtcDate(2031, 1, 1, 0), getUtcDate(2031, 1, 2, 0), 0).isEmpty());
+        
+        fsDb.deleteEntity(startingInRange);
+        fsDb.deleteEntity(startingLaterInRange);
+        fsDb.deleteEntity(startingAndEndingInRange);
+        fsDb.deleteEntity(spanningRange);
+    }
+    
     @Test
     public void testUpdateFeedbackSession() throws Exception {
         
@@ -266,6 +323,45 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         verifyPresentInDatastore(modifiedSession);
     }
     
+    @Test
+    public void testStoreAndClearExpectedTotal() throws Exception {
+        FeedbackSessionAttributes fs = getNewFeedbackSession();
+        fsDb.deleteEntity(fs);
+        fsDb.createEntity(fs);
+        String courseId = fs.getCourseId();
+        String fsName = fs.getFeedbackSessionName();
+
+        ______TS("count of a session never cleared is stored");
+        assertNull(fsDb.getFeedbackSession(courseId, fsName).getExpectedTotal());
+        assertTrue(fsDb.storeExpectedTotal(courseId, fsName, 5, new Date()));
+        assertEquals(Integer.valueOf(5), fsDb.getFeedbackSession(courseId, fsName).getExpectedTotal());
+
+        ______TS("count is not stored over a stored total");
+        assertFalse(fsDb.storeExpectedTotal(courseId, fsName, 6, new Date()));
+        assertEquals(Integer.valueOf(5), fsDb.getFeedbackSession(courseId, fsName).getExpectedTotal());
+
+        ______TS("count started just after the total is cleared is not stored");
+        fsDb.clearExpectedTotal(courseId, fsName);
+        assertNull(fsDb.getFeedbackSession(courseId, fsName).getExpectedTotal());
+        assertFalse(fsDb.storeExpectedTotal(courseId, fsName, 7, new Date()));
+        assertNull(fsDb.getFeedbackSession(courseId, fsName).getExpectedTotal());
+
+        ______TS("count started long enough after the total is cleared is stored");
+        Date laterTime = new Date(System.currentTimeMillis() + 60 * 1000);
+        assertTrue(fsDb.storeExpectedTotal(courseId, fsName, 7, laterTime));
+        assertEquals(Integer.valueOf(7), fsDb.getFeedbackSession(courseId, fsName).getExpectedTotal());
+
+        ______TS("clearing the totals of the course clears the total of the session");
+        fsDb.clearExpectedTotalsForCourse(courseId);
+        assertNull(fsDb.getFeedbackSession(courseId, fsName).getExpectedTotal());
+
+        ______TS("non-existent session");
+        assertFalse(fsDb.storeExpectedTotal(courseId, "non existent fs", 1, laterTime));
+        fsDb.clearExpectedTotal(courseId, "non existent fs");
+
+        fsDb.deleteEntity(fs);
+    }
+    
     private FeedbackSessionAttributes getNewFeedbackSession() {
         FeedbackSessionAttributes fsa = new FeedbackSessionAttributes();
         fsa.setFeedbackSessionType(FeedbackSessionType.STANDARD);
@@ -284,6 +380,25 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         return fsa;
     }
     
+    private FeedbackSessionAttributes getNewFeedbackSession(String feedbackSessionName, double timeZone,
+                                                           Date startTime, Date endTime) {
+        FeedbackSessionAttributes fsa = getNewFeedbackSession();
+        fsa.setFeedbackSessionName(feedbackSessionName);
+        fsa.setTimeZone(timeZone);
+        fsa.setStartTime(startTime);
+        fsa.setEndTime(endTime);
+        fsa.setSessionVisibleFromTime(startTime);
+        fsa.setResultsVisibleFromTime(endTime);
+        return fsa;
+    }
+    
+    private Date getUtcDate(int year, int month, int day, int hour) {
+        Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        cal.clear();
+        cal.set(year, month - 1, day, hour, 0);
+        return cal.getTime();
+    }
+    
     @AfterClass
     public static void classTearDown() {
         deleteSessionsFromDb();
@@ -0,0 +1,221 @@
+package teammates.test.cases.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import javax.jdo.PersistenceManager;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.ParallelReads;
+import teammates.storage.datastore.Datastore;
+import teammates.test.cases.BaseComponentTestCase;
+
+import com.google.apphosting.api.ApiProxy;
+
+public class ParallelReadsTest extends BaseComponentTestCase {
+
+    private CoursesDb coursesDb = new CoursesDb();
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testReads() throws Exception {
+
+        List<String> courseIds = Arrays.asList("PRT.course1", "PRT.course2", "PRT.course3");
+        for (String courseId : courseIds) {
+            coursesDb.createEntity(new CourseAttributes(courseId, "Name of " + courseId));
+        }
+
+        ______TS("all reads, results in order");
+
+        List<Callable<CourseAttributes>> reads = new ArrayList<Callable<CourseAttributes>>();
+        for (final String courseId : courseIds) {
+            reads.add(new Callable<CourseAttributes>() {
+                @Override
+                public CourseAttributes call() {
+                    return coursesDb.getCourse(courseId);
+                }
+            });
+        }
+        List<CourseAttributes> courses = ParallelReads.readAll(reads);
+        assertEquals(courseIds.size(), courses.size());
+        for (int i = 0; i < courseIds.size(); i++) {
+            assertEquals("Name of " + courseIds.get(i), courses.get(i).getName());
+        }
+
+        ______TS("single read");
+
+        Future<CourseAttributes> course = ParallelReads.start(reads.get(1));
+        assertEquals("PRT.course2", ParallelReads.get(course).getId());
+
+        ______TS("unchecked exception thrown as is");
+
+        try {
+            ParallelReads.get(ParallelReads.start(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    throw new IllegalStateException("read failed");
+                }
+            }));
+            signalFailureToDetectException();
+        } catch (IllegalStateException e) {
+            assertEquals("read failed", e.getMessage());
+        }
+
+        ______TS("checked exception wrapped");
+
+        List<Callable<Object>> failingReads = new ArrayList<Callable<Object>>();
+        failingReads.add(new Callable<Object>() {
+            @Override
+            public Object call() throws IOException {
+                throw new IOException("read failed");
+            }
+        });
+        try {
+            ParallelReads.readAll(failingReads);
+            signalFailureToDetectException();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+
+        for (String courseId : courseIds) {
+            coursesDb.deleteCourse(courseId);
+        }
+    }
+
+    @Test
+    public void testReadsInOtherThreads() throws Exception {
+
+        List<String> courseIds = Arrays.asList("PRT.tRIOT.course1", "PRT.tRIOT.course2", "PRT.tRIOT.course3");
+        for (String courseId : courseIds) {
+            coursesDb.createEntity(new CourseAttributes(courseId, "Name of " + courseId));
+        }
+        TestThreadFactory threadFactory = new TestThreadFactory();
+        final List<PersistenceManager> workerPms =
+                Collections.synchronizedList(new ArrayList<PersistenceManager>());
+        final List<Thread> workerThreads = Collections.synchronizedList(new ArrayList<Thread>());
+
+        ______TS("all reads in other threads, results in order");
+
+        List<Callable<CourseAttributes>> reads = new ArrayList<Callable<CourseAttributes>>();
+        for (final String courseId : courseIds) {
+            reads.add(new Callable<CourseAttributes>() {
+                @Override
+                public CourseAttributes call() {
+                    workerThreads.add(Thread.currentThread());
+                    workerPms.add(Datastore.getPersistenceManager());
+                    return coursesDb.getCourse(courseId);
+                }
+            });
+        }
+        List<CourseAttributes> courses = ParallelReads.readAll(reads, threadFactory);
+        assertEquals(courseIds.size(), courses.size());
+        for (int i = 0; i < courseIds.size(); i++) {
+            assertEquals("Name of " + courseIds.get(i), courses.get(i).getName());
+        }
+        assertEquals(courseIds.size(), workerThreads.size());
+        assertFalse(workerThreads.contains(Thread.currentThread()));
+        assertTrue(threadFactory.threads.containsAll(workerThreads));
+
+        ______TS("persistence managers of the other threads closed");
+
+        assertEquals(courseIds.size(), workerPms.size());
+        for (PersistenceManager workerPm : workerPms) {
+            assertTrue(workerPm.isClosed());
+        }
+        assertFalse(Datastore.getPersistenceManager().isClosed());
+
+        ______TS("single read in another thread");
+
+        workerPms.clear();
+        Future<CourseAttributes> course = ParallelReads.start(reads.get(1), threadFactory);
+        assertEquals("PRT.tRIOT.course2", ParallelReads.get(course).getId());
+        assertEquals(1, workerPms.size());
+        assertTrue(workerPms.get(0).isClosed());
+
+        ______TS("unchecked exception thrown as is, persistence manager closed");
+
+        workerPms.clear();
+        List<Callable<Object>> failingReads = new ArrayList<Callable<Object>>();
+        failingReads.add(new Callable<Object>() {
+            @Override
+            public Object call() {
+                workerPms.add(Datastore.getPersistenceManager());
+                throw new IllegalStateException("read failed");
+            }
+        });
+        failingReads.add(new Callable<Object>() {
+            @Override
+            public Object call() {
+                return "read succeeded";
+            }
+        });
+        try {
+            ParallelReads.readAll(failingReads, threadFactory);
+            signalFailureToDetectException();
+        } catch (IllegalStateException e) {
+            assertEquals("read failed", e.getMessage());
+        }
+        assertEquals(1, workerPms.size());
+        assertTrue(workerPms.get(0).isClosed());
+
+        ______TS("checked exception wrapped");
+
+        try {
+            ParallelReads.get(ParallelReads.start(new Callable<Object>() {
+                @Override
+                public Object call() throws IOException {
+                    throw new IOException("read failed");
+                }
+            }, threadFactory));
+            signalFailureToDetectException();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+
+        for (String courseId : courseIds) {
+            coursesDb.deleteCourse(courseId);
+        }
+    }
+
+    /**
+     * Creates threads that can call the App Engine services of the test, like the request threads
+     * of App Engine can call the services of their request.
+     */
+    private static class TestThreadFactory implements ThreadFactory {
+
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+
+        private final ApiProxy.Environment environment = ApiProxy.getCurrentEnvironment();
+
+        @Override
+        public Thread newThread(final Runnable task) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    ApiProxy.setEnvironmentForCurrentThread(environment);
+                    try {
+                        task.run();
+                    } finally {
+                        ApiProxy.clearEnvironmentForCurrentThread();
+                    }
+                }
+            });
+            threads.add(thread);
+            return thread;
+        }
+    }
+}
@@ -3,10 +3,17 @@ package teammates.test.cases.storage;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.Page;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentRosterEntry;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
@@ -175,6 +182,98 @@ public class StudentsDbTest extends BaseComponentTestCase {
         studentsDb.deleteStudent(s2.course, s2.email);
     }
     
+    @Test
+    public void testGetStudentRosterEntriesForCourse() throws Exception {
+        
+        StudentAttributes s = new StudentAttributes("validGoogleId", "roster@email.com", "roster student", "",
+                                                    "roster-course", "validTeamName", "validSectionName");
+        studentsDb.createEntity(s);
+        
+        ______TS("typical success case: roster fields of the students in the course");
+        
+        List<StudentRosterEntry> rosterEntries = studentsDb.getStudentRosterEntriesForCourse(s.course);
+        assertEquals(1, rosterEntries.size());
+        StudentRosterEntry rosterEntry = rosterEntries.get(0);
+        assertEquals(s.email, rosterEntry.email);
+        assertEquals(s.name, rosterEntry.name);
+        assertEquals(s.team, rosterEntry.team);
+        assertEquals(s.section, rosterEntry.section);
+        assertTrue(rosterEntry.isRegistered());
+        
+        ______TS("roster is up to date after a write to the course");
+        
+        studentsDb.deleteStudentWithoutDocument(s.course, s.email);
+        assertTrue(studentsDb.getStudentRosterEntriesForCourse(s.course).isEmpty());
+        
+        ______TS("null params case");
+        
+        try {
+            studentsDb.getStudentRosterEntriesForCourse(null);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+    }
+    
+    @Test
+    public void testGetStudentsForCourseByPage() throws Exception {
+        
+        String courseId = "paged-course";
+        for (int i = 1; i <= 5; i++) {
+            studentsDb.createEntity(new StudentAttributes("", "paged" + i + "@email.com", "paged student " + i, "",
+                                                          courseId, "validTeamName", "validSectionName"));
+        }
+        
+        ______TS("cursors of earlier pages resume where they ended until the last page");
+        
+        Page<StudentAttributes> firstPage = studentsDb.getStudentsForCourse(courseId, null, 2);
+        assertEquals(2, firstPage.getItems().size());
+        assertTrue(firstPage.hasNextPage());
+        
+        Page<StudentAttributes> secondPage = studentsDb.getStudentsForCourse(courseId, firstPage.getCursor(), 2);
+        assertEquals(2, secondPage.getItems().size());
+        assertTrue(secondPage.hasNextPage());
+        
+        Page<StudentAttributes> lastPage = studentsDb.getStudentsForCourse(courseId, secondPage.getCursor(), 2);
+        assertEquals(1, lastPage.getItems().size());
+        assertFalse(lastPage.hasNextPage());
+        
+        Set<String> emails = new HashSet<String>();
+        for (Page<StudentAttributes> page : Arrays.asList(firstPage, secondPage, lastPage)) {
+            for (StudentAttributes student : page.getItems()) {
+                emails.add(student.email);
+            }
+        }
+        assertEquals(5, emails.size());
+        
+        ______TS("a cursor can be used again to get the same page");
+        
+        Page<StudentAttributes> secondPageAgain = studentsDb.getStudentsForCourse(courseId, firstPage.getCursor(), 2);
+        assertEquals(secondPage.getItems().get(0).email, secondPageAgain.getItems().get(0).email);
+        assertEquals(secondPage.getItems().get(1).email, secondPageAgain.getItems().get(1).email);
+        
+        ______TS("a full last page is followed by an empty page without a cursor");
+        
+        Page<StudentAttributes> fullPage = studentsDb.getStudentsForCourse(courseId, null, 5);
+        assertEquals(5, fullPage.getItems().size());
+        Page<StudentAttributes> emptyPage = studentsDb.getStudentsForCourse(courseId, fullPage.getCursor(), 5);
+        assertTrue(emptyPage.getItems().isEmpty());
+        assertFalse(emptyPage.hasNextPage());
+        
+        ______TS("null params case");
+        
+        try {
+            studentsDb.getStudentsForCourse(null, null, 2);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+        
+        for (int i = 1; i <= 5; i++) {
+            studentsDb.deleteStudentWithoutDocument(courseId, "paged" + i + "@email.com");
+        }
+    }
+    
     @Test
     public void testupdateStudentWithoutDocument() throws InvalidParametersException, EntityDoesNotExistException {
         
@@ -240,6 +339,48 @@ public class StudentsDbTest extends BaseComponentTestCase {
         assertTrue(updatedStudent.isEnrollInfoSameAs(s));
     }
 
+    @Test
+    public void testCreateAndUpdateStudents() throws Exception {
+        StudentAttributes existing = createNewStudent();
+
+        StudentAttributes newStudent = new StudentAttributes();
+        newStudent.name = "new student";
+        newStudent.course = existing.course;
+        newStudent.email = "new.student@email.com";
+        newStudent.team = "validTeamName";
+        newStudent.section = "validSectionName";
+        newStudent.comments = "";
+        newStudent.googleId = "";
+
+        ______TS("fail : student to update does not exist, nothing written");
+
+        StudentAttributes nonExistent = new StudentAttributes(existing.section, existing.team, "n",
+                                                              "non.existent@email.com", "", existing.course);
+        try {
+            studentsDb.createAndUpdateStudents(existing.course, Arrays.asList(newStudent),
+                                               Arrays.asList(nonExistent));
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            assertEquals(StudentsDb.ERROR_UPDATE_NON_EXISTENT_STUDENT + existing.course + "/"
+                         + nonExistent.email, e.getMessage());
+        }
+        assertNull(studentsDb.getStudentForEmail(newStudent.course, newStudent.email));
+
+        ______TS("success : create and update together");
+
+        existing.name = "updated name";
+        existing.team = "new team";
+        existing.section = "new section";
+        existing.comments = "new comments";
+        studentsDb.createAndUpdateStudents(existing.course, Arrays.asList(newStudent), Arrays.asList(existing));
+
+        assertTrue(studentsDb.getStudentForEmail(newStudent.course, newStudent.email).isEnrollInfoSameAs(newStudent));
+        assertTrue(studentsDb.getStudentForEmail(existing.course, existing.email).isEnrollInfoSameAs(existing));
+
+        studentsDb.deleteStudentWithoutDocument(newStudent.course, newStudent.email);
+        studentsDb.deleteStudentWithoutDocument(existing.course, existing.email);
+    }
+
     @SuppressWarnings("deprecation")
     @Test
     public void testDeleteStudent() throws InvalidParametersException, EntityDoesNotExistException {
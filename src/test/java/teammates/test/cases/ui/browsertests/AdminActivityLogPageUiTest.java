@@ -1,6 +1,8 @@
 package teammates.test.cases.ui.browsertests;
 
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.List;
 
 import org.openqa.selenium.NoSuchElementException;
 import org.testng.annotations.AfterClass;
@@ -66,7 +68,20 @@ public class AdminActivityLogPageUiTest extends BaseUiTestCase {
         logPage.waitForPageToLoad();
         assertNotNull(logPage.getFirstActivityLogRow());
         assertTrue(logPage.isLogsTableVisible());
-        assertEquals(2, logPage.getNumberOfTableHeaders());
+        assertEquals(10, logPage.getNumberOfTableHeaders());
+        assertEquals(Arrays.asList("Date [Timing]", "[Role][Action][Google ID][Name][Email]", "Queries", "Read",
+                                   "Written", "Search", "Tasks", "Emails", "Storage (ms)", "CPU (ms)"),
+                     logPage.getTableHeaderTexts());
+        
+        ______TS("content: request metrics of the latest request");
+        // the admin activity log page just visited is logged with its metrics
+        List<String> firstRowCells = logPage.getCellTextsOfFirstRow();
+        assertEquals(10, firstRowCells.size());
+        for (String metric : firstRowCells.subList(2, 9)) {
+            assertTrue(metric.matches("\\d+"));
+        }
+        // CPU time is left empty where the runtime does not report it
+        assertTrue(firstRowCells.get(9).matches("\\d*"));
         
         ______TS("content: ensure default search period is not more than one day");
         Calendar yesterday = TimeHelper.now(Const.SystemParams.ADMIN_TIME_ZONE_DOUBLE);
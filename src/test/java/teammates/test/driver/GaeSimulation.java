@@ -13,12 +13,14 @@ import javax.servlet.http.HttpServletRequest;
 import teammates.common.util.Const;
 import teammates.logic.api.Logic;
 import teammates.storage.datastore.Datastore;
+import teammates.storage.datastore.EntitiesCache;
 import teammates.ui.controller.Action;
 import teammates.ui.controller.ActionFactory;
 
 import com.google.appengine.api.taskqueue.dev.LocalTaskQueueCallback;
 import com.google.appengine.tools.development.testing.LocalDatastoreServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalMailServiceTestConfig;
+import com.google.appengine.tools.development.testing.LocalMemcacheServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalSearchServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalServiceTestHelper;
 import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
@@ -58,11 +60,14 @@ public class GaeSimulation {
         LocalDatastoreServiceTestConfig localDatastore = new LocalDatastoreServiceTestConfig();
         LocalMailServiceTestConfig localMail = new LocalMailServiceTestConfig();
         LocalSearchServiceTestConfig localSearch = new LocalSearchServiceTestConfig();
+        LocalMemcacheServiceTestConfig localMemcache = new LocalMemcacheServiceTestConfig();
         localSearch.setPersistent(false);
-        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch);
+        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch,
+                                            localMemcache);
         helper.setUp();
         
         Datastore.initialize();
+        EntitiesCache.clear();
         
         sc = new ServletRunner().newClient();
     }
@@ -80,11 +85,14 @@ public class GaeSimulation {
         LocalDatastoreServiceTestConfig localDatastore = new LocalDatastoreServiceTestConfig();
         LocalMailServiceTestConfig localMail = new LocalMailServiceTestConfig();
         LocalSearchServiceTestConfig localSearch = new LocalSearchServiceTestConfig();
+        LocalMemcacheServiceTestConfig localMemcache = new LocalMemcacheServiceTestConfig();
         localSearch.setPersistent(false);
-        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch);
+        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch,
+                                            localMemcache);
         helper.setUp();
         
         Datastore.initialize();
+        EntitiesCache.clear();
         
         sc = new ServletRunner().newClient();
     }
@@ -149,6 +157,7 @@ public class GaeSimulation {
             helper.tearDown();
         }
         helper.setUp();
+        EntitiesCache.clear();
     }
 
     public void tearDown() {
@@ -156,6 +165,7 @@ public class GaeSimulation {
             if (helper != null) {
                 helper.tearDown();
             }
+            EntitiesCache.clear();
         } catch (Exception e) {
             //TODO: eliminate this exception
             System.out.println("Ignoring exception during teardown...");
@@ -5,6 +5,7 @@ import static org.testng.AssertJUnit.assertTrue;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -87,6 +88,22 @@ public class AdminActivityLogPage extends AppPage {
         return 0;
     }
     
+    public List<String> getTableHeaderTexts() {
+        List<String> headerTexts = new ArrayList<String>();
+        for (WebElement header : browser.driver.findElements(By.cssSelector("#logsTable > thead > tr > th"))) {
+            headerTexts.add(header.getText().trim());
+        }
+        return headerTexts;
+    }
+    
+    public List<String> getCellTextsOfFirstRow() {
+        List<String> cellTexts = new ArrayList<String>();
+        for (WebElement cell : browser.driver.findElements(By.cssSelector("#first-row > td"))) {
+            cellTexts.add(cell.getText().trim());
+        }
+        return cellTexts;
+    }
+    
     public String getQueryMessage() {
         
         WebElement alert = browser.driver.findElement(By.id("queryMessage"));